@@ -15,6 +15,9 @@ plugins {
     */
     id("com.gradleup.shadow") version "9.2.1"
 
+    // JMH plugin to run the benchmarks in src/jmh/java, with "./gradlew jmh"
+    id("me.champeau.jmh") version "0.7.3"
+
 }
 
 repositories {
@@ -68,7 +71,26 @@ javafx {
     )
 }
 
+jmh {
+    // Results are written to build/results/jmh/results.json
+    jmhVersion = "1.37"
+    resultFormat = "JSON"
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    // Keep the simulation on the benchmark thread and its garbage measurable.
+    profilers = listOf("gc")
+}
+
 tasks.named<Test>("test") {
     // Use JUnit Platform for unit tests.
     useJUnitPlatform()
 }
+
+// Plays a level without a window, e.g. ./gradlew runHeadless --args="--ticks 72000 --balls 100"
+tasks.register<JavaExec>("runHeadless") {
+    group = "application"
+    description = "Runs the simulation headless and reports its speed, allocations and GC."
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "com.zekecode.hakai.engine.headless.HeadlessRunner"
+}
@@ -0,0 +1,104 @@
+package com.zekecode.hakai.benchmarks;
+
+import com.zekecode.hakai.components.graphics.RenderComponent;
+import com.zekecode.hakai.config.GameConfig;
+import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.engine.events.FastEventBus;
+import com.zekecode.hakai.engine.game.GameSystems;
+import com.zekecode.hakai.engine.input.InputManager;
+import com.zekecode.hakai.entities.EntityFactory;
+import com.zekecode.hakai.powerups.EffectRegistry;
+import com.zekecode.hakai.systems.PhysicsSystem;
+import com.zekecode.hakai.systems.collisions.CollisionSystem;
+import java.util.List;
+import javafx.scene.paint.Color;
+
+/**
+ * A game world for the benchmarks, wired with the same systems as the game but without a window.
+ *
+ * <p>The world holds a paddle as wide as the screen, so no ball is ever lost, a grid of bricks that
+ * cannot be broken, and balls launched from below the bricks. The number of entities therefore
+ * stays the same however long a benchmark runs, while the balls keep hitting bricks, walls and the
+ * paddle.
+ */
+public class BenchmarkWorld {
+
+  /** The duration of a simulation step, as in the game. */
+  public static final double STEP = 1.0 / GameConfig.SIMULATION_RATE;
+
+  private static final double BRICK_AREA_TOP = 40;
+  private static final double BRICK_AREA_HEIGHT = GameConfig.SCREEN_HEIGHT * 0.6;
+  private static final double BALL_AREA_TOP = BRICK_AREA_TOP + BRICK_AREA_HEIGHT + 10;
+  private static final double PADDLE_Y = GameConfig.SCREEN_HEIGHT - GameConfig.PADDLE_Y_OFFSET;
+
+  public final World world = new World();
+  public final FastEventBus eventBus = new FastEventBus();
+  public final EntityFactory entityFactory = new EntityFactory(world);
+  public final CollisionSystem collisionSystem;
+  public final PhysicsSystem physicsSystem;
+
+  /**
+   * @param entityCount The total number of entities, bricks included.
+   * @param ballCount The number of balls among them.
+   */
+  public BenchmarkWorld(int entityCount, int ballCount) {
+    GameSystems systems =
+        new GameSystems(
+            world, eventBus, new InputManager(), entityFactory, new EffectRegistry(entityFactory));
+    collisionSystem = systems.getCollisionSystem();
+    physicsSystem = systems.getPhysicsSystem();
+
+    entityFactory.createPlayerState();
+    Entity paddle = entityFactory.createPlayer(0, PADDLE_Y);
+    paddle.getComponent(RenderComponent.class).get().width = GameConfig.SCREEN_WIDTH;
+    createBricks(Math.max(0, entityCount - ballCount - 2));
+    createBalls(ballCount);
+  }
+
+  /** Returns the entities of the world, as handed to its systems. */
+  public List<Entity> entities() {
+    return world.getEntities();
+  }
+
+  /** Runs the given number of simulation steps. */
+  public void run(int steps) {
+    for (int i = 0; i < steps; i++) {
+      world.update(STEP);
+    }
+  }
+
+  /** Lays the bricks out in a grid roughly as dense horizontally as vertically. */
+  private void createBricks(int count) {
+    if (count == 0) {
+      return;
+    }
+    double aspect = GameConfig.SCREEN_WIDTH / BRICK_AREA_HEIGHT;
+    int columns = (int) Math.ceil(Math.sqrt(count * aspect));
+    int rows = (int) Math.ceil(count / (double) columns);
+    double width = GameConfig.SCREEN_WIDTH / (double) columns;
+    double height = BRICK_AREA_HEIGHT / rows;
+    for (int i = 0; i < count; i++) {
+      entityFactory.createBrick(
+          (i % columns) * width,
+          BRICK_AREA_TOP + (i / columns) * height,
+          width,
+          height,
+          Color.GRAY,
+          Integer.MAX_VALUE,
+          null);
+    }
+  }
+
+  /** Spreads the balls over the empty band between the bricks and the paddle. */
+  private void createBalls(int count) {
+    double bandWidth = GameConfig.SCREEN_WIDTH - GameConfig.BALL_WIDTH;
+    double bandHeight = PADDLE_Y - BALL_AREA_TOP - 2 * GameConfig.BALL_HEIGHT;
+    for (int i = 0; i < count; i++) {
+      // A fixed, well spread layout, so every run starts from the same positions.
+      double x = (i * 0.618034 % 1.0) * bandWidth;
+      double y = BALL_AREA_TOP + (i * 0.414214 % 1.0) * bandHeight;
+      entityFactory.createLaunchedBall(x, y);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package com.zekecode.hakai.benchmarks;
+
+import com.zekecode.hakai.core.Entity;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the discrete collision pass alone: the broadphase of the moving entities and the
+ * contacts delivered to the handlers. Nothing moves between invocations, so every invocation tests
+ * the same pairs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionSystemBenchmark {
+
+  @Param({"100", "1000", "10000", "100000"})
+  public int entityCount;
+
+  @Param({"1", "10", "100"})
+  public int ballCount;
+
+  private BenchmarkWorld benchmarkWorld;
+  private List<Entity> entities;
+
+  @Setup
+  public void setUp() {
+    benchmarkWorld = new BenchmarkWorld(entityCount, ballCount);
+    benchmarkWorld.run(60); // Lets the balls leave their spawn positions
+    entities = benchmarkWorld.entities();
+  }
+
+  @Benchmark
+  public void update() {
+    benchmarkWorld.collisionSystem.update(entities, BenchmarkWorld.STEP);
+  }
+}
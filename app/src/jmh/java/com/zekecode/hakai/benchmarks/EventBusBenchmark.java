@@ -0,0 +1,63 @@
+package com.zekecode.hakai.benchmarks;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.engine.events.FastEventBus;
+import com.zekecode.hakai.events.brick.BrickHitEvent;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures posting an event to {@link Subscribe} methods, through Guava's reflective {@link
+ * EventBus} and through the {@link FastEventBus} the game uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventBusBenchmark {
+
+  @Param({"guava", "fast"})
+  public String bus;
+
+  @Param({"1", "8"})
+  public int subscriberCount;
+
+  private EventBus eventBus;
+  private final BrickHitEvent event = new BrickHitEvent(new Entity(1));
+
+  /** A subscriber doing as little as possible with the events it receives. */
+  public static class Subscriber {
+    private final Blackhole blackhole;
+
+    Subscriber(Blackhole blackhole) {
+      this.blackhole = blackhole;
+    }
+
+    @Subscribe
+    public void onBrickHit(BrickHitEvent event) {
+      blackhole.consume(event.brickEntity);
+    }
+  }
+
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    eventBus = "fast".equals(bus) ? new FastEventBus() : new EventBus();
+    for (int i = 0; i < subscriberCount; i++) {
+      eventBus.register(new Subscriber(blackhole));
+    }
+  }
+
+  @Benchmark
+  public void post() {
+    eventBus.post(event);
+  }
+}
@@ -0,0 +1,37 @@
+package com.zekecode.hakai.benchmarks;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import javafx.application.Platform;
+
+/** Runs benchmark code on the JavaFX thread, starting the toolkit the first time it is needed. */
+final class FxThread {
+
+  private static boolean started = false;
+
+  private FxThread() {}
+
+  /** Runs a task on the JavaFX thread and waits for it to finish. */
+  static void run(Runnable task) {
+    start();
+    FutureTask<Void> future = new FutureTask<>(task, null);
+    Platform.runLater(future);
+    try {
+      future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the JavaFX thread", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Benchmark task failed on the JavaFX thread", e.getCause());
+    }
+  }
+
+  private static synchronized void start() {
+    if (!started) {
+      // The toolkit can only be started once per JVM, and JMH runs every trial of a fork in one.
+      Platform.startup(() -> {});
+      Platform.setImplicitExit(false);
+      started = true;
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package com.zekecode.hakai.benchmarks;
+
+import com.zekecode.hakai.core.Entity;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the physics pass alone: the movement of every entity, including the swept collision
+ * tests of the balls against the bricks, and the wall rules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PhysicsSystemBenchmark {
+
+  @Param({"100", "1000", "10000", "100000"})
+  public int entityCount;
+
+  @Param({"1", "10", "100"})
+  public int ballCount;
+
+  private BenchmarkWorld benchmarkWorld;
+  private List<Entity> entities;
+
+  @Setup
+  public void setUp() {
+    benchmarkWorld = new BenchmarkWorld(entityCount, ballCount);
+    benchmarkWorld.run(1); // Builds the static collision grids the sweeps query
+    entities = benchmarkWorld.entities();
+  }
+
+  @Benchmark
+  public void update() {
+    benchmarkWorld.physicsSystem.update(entities, BenchmarkWorld.STEP);
+  }
+}
@@ -0,0 +1,87 @@
+package com.zekecode.hakai.benchmarks;
+
+import com.zekecode.hakai.config.GameConfig;
+import com.zekecode.hakai.engine.render.RenderSnapshot;
+import com.zekecode.hakai.entities.RendererFactory;
+import com.zekecode.hakai.systems.RenderSystem;
+import java.util.concurrent.TimeUnit;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the two halves of the render pass against an off-screen canvas: capturing a snapshot of
+ * the world, on the simulation side, and drawing it, on the JavaFX thread.
+ *
+ * <p>A canvas only records drawing commands, which are executed when it is synchronized with the
+ * renderer, so the drawing benchmark snapshots the canvas into an image after a batch of frames to
+ * include the actual rasterization. Batching frames keeps the cost of handing work to the JavaFX
+ * thread out of the per-frame time. The JavaFX toolkit needs a graphics pipeline, so this benchmark
+ * needs a display, like the game.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RenderSystemBenchmark {
+
+  private static final int FRAMES_PER_INVOCATION = 10;
+
+  @Param({"100", "1000", "10000", "100000"})
+  public int entityCount;
+
+  @Param({"1", "10", "100"})
+  public int ballCount;
+
+  private BenchmarkWorld benchmarkWorld;
+  private Canvas canvas;
+  private GraphicsContext gc;
+  private WritableImage image;
+  private RenderSystem renderSystem;
+  private final RenderSnapshot snapshot = new RenderSnapshot();
+
+  @Setup
+  public void setUp() {
+    benchmarkWorld = new BenchmarkWorld(entityCount, ballCount);
+    benchmarkWorld.run(60); // Lets the balls leave their spawn positions
+    FxThread.run(
+        () -> {
+          canvas = new Canvas(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
+          gc = canvas.getGraphicsContext2D();
+          image = new WritableImage(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
+          renderSystem =
+              new RenderSystem(benchmarkWorld.world, gc, RendererFactory.createRenderers());
+        });
+    renderSystem.capture(snapshot);
+    FxThread.run(this::drawFrames); // Draws the static layer once, as the game does
+  }
+
+  @Benchmark
+  public RenderSnapshot capture() {
+    renderSystem.capture(snapshot);
+    return snapshot;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(FRAMES_PER_INVOCATION)
+  public WritableImage render() {
+    FxThread.run(this::drawFrames);
+    return image;
+  }
+
+  private void drawFrames() {
+    for (int i = 0; i < FRAMES_PER_INVOCATION; i++) {
+      gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+      renderSystem.render(snapshot, 0.5);
+    }
+    canvas.snapshot(null, image);
+  }
+}
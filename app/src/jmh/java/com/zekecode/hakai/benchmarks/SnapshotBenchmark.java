@@ -0,0 +1,50 @@
+package com.zekecode.hakai.benchmarks;
+
+import com.zekecode.hakai.core.SnapshotBuffer;
+import com.zekecode.hakai.core.WorldSnapshot;
+import com.zekecode.hakai.engine.snapshot.GameSnapshots;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures capturing and restoring the whole world, as done for checkpoints and rewinding. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SnapshotBenchmark {
+
+  @Param({"100", "1000", "10000", "100000"})
+  public int entityCount;
+
+  @Param({"10"})
+  public int ballCount;
+
+  private final WorldSnapshot snapshot = GameSnapshots.create();
+  private final SnapshotBuffer captureBuffer = new SnapshotBuffer();
+  private final SnapshotBuffer restoreBuffer = new SnapshotBuffer();
+  private BenchmarkWorld benchmarkWorld;
+
+  @Setup
+  public void setUp() {
+    benchmarkWorld = new BenchmarkWorld(entityCount, ballCount);
+    benchmarkWorld.run(60); // Lets the balls leave their spawn positions
+    snapshot.capture(benchmarkWorld.world, restoreBuffer);
+  }
+
+  @Benchmark
+  public SnapshotBuffer capture() {
+    snapshot.capture(benchmarkWorld.world, captureBuffer);
+    return captureBuffer;
+  }
+
+  @Benchmark
+  public void restore() {
+    snapshot.restore(benchmarkWorld.world, restoreBuffer);
+  }
+}
@@ -0,0 +1,37 @@
+package com.zekecode.hakai.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures a whole simulation step, every system of the world included. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorldBenchmark {
+
+  @Param({"100", "1000", "10000", "100000"})
+  public int entityCount;
+
+  @Param({"1", "10", "100"})
+  public int ballCount;
+
+  private BenchmarkWorld benchmarkWorld;
+
+  @Setup
+  public void setUp() {
+    benchmarkWorld = new BenchmarkWorld(entityCount, ballCount);
+    benchmarkWorld.run(1); // Builds the static collision grids
+  }
+
+  @Benchmark
+  public void update() {
+    benchmarkWorld.world.update(BenchmarkWorld.STEP);
+  }
+}
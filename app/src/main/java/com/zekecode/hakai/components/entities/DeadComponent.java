@@ -2,5 +2,12 @@ package com.zekecode.hakai.components.entities;
 
 import com.zekecode.hakai.core.Component;
 
-/** A marker component for entities that should be removed from the world. */
-public class DeadComponent implements Component {}
+/**
+ * A marker component for entities that should be removed from the world. It holds no state, so the
+ * shared {@link #INSTANCE} can be added to any number of entities instead of a new one each time.
+ */
+public class DeadComponent implements Component {
+
+  /** The instance to mark entities with. */
+  public static final DeadComponent INSTANCE = new DeadComponent();
+}
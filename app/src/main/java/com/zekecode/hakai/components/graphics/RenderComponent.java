@@ -5,16 +5,23 @@ import javafx.scene.paint.Color;
 
 /**
  * A component that represents the rendering properties of an entity, including its width, height,
- * and color. In future implementations, we need to add texture support.
+ * color and the layer it is drawn in. In future implementations, we need to add texture support.
  */
 public class RenderComponent implements Component {
   public double width;
   public double height;
   public Color color;
+  public final RenderLayer layer;
 
+  /** Creates a render component drawn in the {@link RenderLayer#DEFAULT} layer. */
   public RenderComponent(double width, double height, Color color) {
+    this(width, height, color, RenderLayer.DEFAULT);
+  }
+
+  public RenderComponent(double width, double height, Color color, RenderLayer layer) {
     this.width = width;
     this.height = height;
     this.color = color;
+    this.layer = layer;
   }
 }
@@ -0,0 +1,14 @@
+package com.zekecode.hakai.components.graphics;
+
+/**
+ * The layers entities are drawn in, from back to front. Entities of the same layer are drawn in no
+ * particular order, so anything that must appear on top of something else needs a higher layer.
+ */
+public enum RenderLayer {
+  /** Entities that did not choose a layer. They are drawn below everything else. */
+  DEFAULT,
+  BRICK,
+  DROP,
+  PADDLE,
+  BALL
+}
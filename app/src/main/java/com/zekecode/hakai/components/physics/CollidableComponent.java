@@ -3,8 +3,37 @@ package com.zekecode.hakai.components.physics;
 import com.zekecode.hakai.core.Component;
 
 /**
- * A marker component indicating that an entity can participate in collision detection and response.
+ * A component indicating that an entity can participate in collision detection and response.
  * Entities with this component will be considered by the CollisionSystem when checking for
  * overlaps.
+ *
+ * <p>The layer tells the CollisionSystem what kind of collider the entity is. The mask can further
+ * restrict the layers this particular entity collides with, on top of the global collision matrix
+ * (for example to let a ball go through bricks for a while).
+ *
+ * <p>Continuous colliders are fast movers (the balls) whose collisions are resolved while they
+ * move, with a swept test, instead of by checking overlaps once they have moved. This keeps them
+ * from tunnelling through thin colliders on long frames.
  */
-public class CollidableComponent implements Component {}
+public class CollidableComponent implements Component {
+  /** A mask accepting every layer. */
+  public static final int ALL_LAYERS = -1;
+
+  public final CollisionLayer layer;
+  public int mask;
+  public boolean continuous;
+
+  /** Creates a collider on the {@link CollisionLayer#DEFAULT} layer, colliding with everything. */
+  public CollidableComponent() {
+    this(CollisionLayer.DEFAULT);
+  }
+
+  public CollidableComponent(CollisionLayer layer) {
+    this(layer, ALL_LAYERS);
+  }
+
+  public CollidableComponent(CollisionLayer layer, int mask) {
+    this.layer = layer;
+    this.mask = mask;
+  }
+}
@@ -0,0 +1,20 @@
+package com.zekecode.hakai.components.physics;
+
+/**
+ * The collision layers an entity can belong to. Which layers interact with each other is decided
+ * by the CollisionMatrix used by the CollisionSystem, so pairs that no system cares about (a drop
+ * and a brick, two balls...) are discarded before any geometry test.
+ */
+public enum CollisionLayer {
+  /** Entities that did not choose a layer. They interact with every layer. */
+  DEFAULT,
+  BALL,
+  PADDLE,
+  BRICK,
+  DROP;
+
+  /** Returns the bit representing this layer in a collision mask. */
+  public int bit() {
+    return 1 << ordinal();
+  }
+}
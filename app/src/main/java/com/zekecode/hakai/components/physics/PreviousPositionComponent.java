@@ -0,0 +1,18 @@
+package com.zekecode.hakai.components.physics;
+
+import com.zekecode.hakai.core.Component;
+
+/**
+ * The position an entity had at the start of the current simulation step. When the simulation runs
+ * at a fixed rate, the RenderSystem draws moving entities between this position and the current one
+ * so that their motion looks smooth whatever the display refresh rate.
+ */
+public class PreviousPositionComponent implements Component {
+  public double x;
+  public double y;
+
+  public PreviousPositionComponent(double x, double y) {
+    this.x = x;
+    this.y = y;
+  }
+}
@@ -0,0 +1,71 @@
+package com.zekecode.hakai.components.powerups;
+
+import com.zekecode.hakai.powerups.PowerUpType;
+
+/**
+ * The time remaining for each active effect of an entity, kept in a primitive array indexed by
+ * {@link PowerUpType} so that counting down the timers every frame does not box any value. It
+ * offers the subset of the {@link java.util.Map} methods the effects need.
+ */
+public class EffectTimers {
+
+  private static final PowerUpType[] TYPES = PowerUpType.values();
+
+  private final double[] remaining = new double[TYPES.length];
+  private final boolean[] active = new boolean[TYPES.length];
+  private int size;
+
+  /**
+   * Starts or restarts the timer of an effect.
+   *
+   * @param type The effect.
+   * @param timeRemaining How long the effect stays active, in seconds.
+   */
+  public void put(PowerUpType type, double timeRemaining) {
+    int slot = type.ordinal();
+    if (!active[slot]) {
+      active[slot] = true;
+      size++;
+    }
+    remaining[slot] = timeRemaining;
+  }
+
+  /** Returns the time remaining for an effect, or 0 if it is not active. */
+  public double get(PowerUpType type) {
+    return remaining[type.ordinal()];
+  }
+
+  /** Returns true if the effect is active. */
+  public boolean containsKey(PowerUpType type) {
+    return active[type.ordinal()];
+  }
+
+  /** Stops the timer of an effect, if it was active. */
+  public void remove(PowerUpType type) {
+    int slot = type.ordinal();
+    if (active[slot]) {
+      active[slot] = false;
+      remaining[slot] = 0;
+      size--;
+    }
+  }
+
+  /** Returns the number of active effects. */
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Returns the number of effect types, to iterate over them with {@link #typeAt(int)}. */
+  public static int typeCount() {
+    return TYPES.length;
+  }
+
+  /** Returns the effect type with the given ordinal, without copying the values of the enum. */
+  public static PowerUpType typeAt(int ordinal) {
+    return TYPES[ordinal];
+  }
+}
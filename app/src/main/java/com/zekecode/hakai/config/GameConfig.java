@@ -39,6 +39,32 @@ public final class GameConfig {
   // --- GAMEPLAY SETTINGS ---
   public static final int POINTS_PER_BRICK = 10;
 
+  // --- SIMULATION SETTINGS ---
+  public static final boolean FIXED_TIMESTEP_ENABLED = true; // Off: one update per rendered frame
+  public static final int SIMULATION_RATE = 120; // Simulation steps per second
+  public static final int MAX_SIMULATION_STEPS_PER_FRAME = 8; // Beyond this, time is dropped
+  public static final boolean SIMULATION_THREAD_ENABLED = false; // Run the world on its own thread
+
+  // --- REPLAY SETTINGS ---
+  public static final boolean REPLAY_RECORDING_ENABLED = true; // Needs the fixed timestep
+  public static final String REPLAY_DIRECTORY = "replays"; // Relative to the working directory
+
+  // --- LEVEL SETTINGS ---
+  public static final String LEVEL_CACHE_DIRECTORY = "cache/levels"; // Compiled levels, on disk
+
+  // --- REWIND SETTINGS ---
+  public static final boolean REWIND_ENABLED = true; // Needs the fixed timestep
+  public static final int REWIND_SECONDS = 10; // How far back the game can be stepped
+  public static final int REWIND_KEYFRAME_INTERVAL = 60; // Frames between two full snapshots
+  public static final int REWIND_MEMORY_BYTES = 8 * 1024 * 1024; // Storage of the frames
+
+  // --- RENDERING SETTINGS ---
+  public static final boolean DIRTY_RECT_RENDERING_ENABLED = false; // Only redraw what moved
+  public static final int BACKGROUND_FRAME_BUFFER_SIZE = 16; // Decoded frames kept in memory
+
+  // --- COLLISION SETTINGS ---
+  public static final double COLLISION_CELL_SIZE = 64.0; // Side of a broadphase grid cell
+
   // --- RENDERERS LOCATION ---
   public static final String ENTITIY_RENDERERS_PACKAGE = "com.zekecode.hakai.entities.renderers";
 }
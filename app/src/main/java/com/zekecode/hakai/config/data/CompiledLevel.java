@@ -0,0 +1,33 @@
+package com.zekecode.hakai.config.data;
+
+/**
+ * A level ready to be built: the bricks of its layout, already placed and resolved from their
+ * types, stored as parallel arrays. It is compiled once from a {@link LevelData} and then cached,
+ * so starting a level does not parse its YAML file nor walk its pattern again.
+ *
+ * <p>Colors and power-ups are shared by many bricks, so they are stored once, in palettes, and each
+ * brick holds an index into them.
+ */
+public class CompiledLevel {
+  public String levelName;
+  public int levelNumber;
+  public String background;
+  public Long seed; // Optional: the same randomness every time the level is played
+
+  public int[] colors; // Palette of the brick colors, as ARGB
+  public PowerUpData[] powerUps; // Palette of the power-ups carried by bricks
+
+  // One entry per brick, in the order of the pattern
+  public double[] x;
+  public double[] y;
+  public double[] width;
+  public double[] height;
+  public int[] color; // Index into the color palette
+  public int[] hp;
+  public int[] powerUp; // Index into the power-up palette, -1 for none
+
+  /** Returns the number of bricks of the level. */
+  public int brickCount() {
+    return x.length;
+  }
+}
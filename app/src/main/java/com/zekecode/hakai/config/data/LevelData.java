@@ -9,4 +9,5 @@ public class LevelData {
   public String background;
   public LayoutData layout;
   public Map<Character, BrickTypeData> brickTypes;
+  public Long seed; // Optional: the same randomness every time the level is played
 }
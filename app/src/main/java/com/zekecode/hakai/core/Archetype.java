@@ -0,0 +1,249 @@
+package com.zekecode.hakai.core;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Stores every entity that has exactly the same set of component types. Components are kept in one
+ * contiguous array (a "column") per component type, so all the positions of the entities of an
+ * archetype sit next to each other in memory, all the velocities next to each other, and so on.
+ *
+ * <p>Rows are kept dense: removing an entity moves the last row into the freed slot. Systems that
+ * iterate an archetype directly should therefore not add or remove components of the entities they
+ * are iterating.
+ *
+ * <p>Each component is also stored wrapped in an {@link Optional}, created once when the component
+ * is set, so that {@link Entity#getComponent} can hand out the same wrapper on every call instead
+ * of allocating a new one on every lookup of the game loop.
+ */
+public final class Archetype {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final ComponentSignature signature;
+  private final int[] typeIds; // The component type id of each column
+
+  /** The position of this archetype in the storage that created it. */
+  int index;
+
+  /** Maps a component type id to its column index, or -1 if the type is not stored here. */
+  private final int[] columnIndex;
+
+  private final Component[][] columns;
+  private final Optional<?>[][] wrapped; // The same components, wrapped for Entity#getComponent
+  private Entity[] entities = new Entity[INITIAL_CAPACITY];
+  private int size;
+
+  /** Cached archetype transitions, indexed by the id of the component type added or removed. */
+  private Archetype[] addEdges = new Archetype[0];
+
+  private Archetype[] removeEdges = new Archetype[0];
+
+  /** The queries whose results include this archetype. */
+  private EntityQuery[] queries = new EntityQuery[0];
+
+  Archetype(ComponentSignature signature) {
+    this.signature = signature;
+    this.typeIds = signature.typeIds();
+    int maxTypeId = typeIds.length == 0 ? -1 : typeIds[typeIds.length - 1];
+
+    this.columnIndex = new int[maxTypeId + 1];
+    Arrays.fill(columnIndex, -1);
+    this.columns = new Component[typeIds.length][];
+    this.wrapped = new Optional<?>[typeIds.length][INITIAL_CAPACITY];
+    for (int i = 0; i < typeIds.length; i++) {
+      columnIndex[typeIds[i]] = i;
+      // Columns are created with their concrete component type so they can be handed out typed.
+      columns[i] =
+          (Component[]) Array.newInstance(ComponentTypes.typeOf(typeIds[i]), INITIAL_CAPACITY);
+    }
+  }
+
+  /** Returns the set of component types shared by the entities of this archetype. */
+  public ComponentSignature getSignature() {
+    return signature;
+  }
+
+  /** Returns the number of entities currently stored in this archetype. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the entity stored at the given row.
+   *
+   * @param row A row between 0 (inclusive) and {@link #size()} (exclusive).
+   * @return The entity at that row.
+   */
+  public Entity getEntity(int row) {
+    return entities[row];
+  }
+
+  /**
+   * Returns the column holding the components of the given type. The array is shared with the
+   * archetype and only its first {@link #size()} slots are meaningful; it must not be modified.
+   *
+   * @param componentClass The component type of the column.
+   * @param <T> The type of the component.
+   * @return The column, or null if this archetype does not store the given type.
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Component> T[] getColumn(Class<T> componentClass) {
+    int column = columnOf(ComponentTypes.idOf(componentClass));
+    return column < 0 ? null : (T[]) columns[column];
+  }
+
+  /** Returns the number of component types stored by this archetype, one per column. */
+  int columnCount() {
+    return columns.length;
+  }
+
+  /** Returns the component type id stored in the given column. */
+  int typeIdOfColumn(int column) {
+    return typeIds[column];
+  }
+
+  /** Returns the component stored in the given column and row. */
+  Component getAt(int column, int row) {
+    return columns[column][row];
+  }
+
+  /** Returns true if this archetype stores the component type with the given id. */
+  boolean has(int typeId) {
+    return columnOf(typeId) >= 0;
+  }
+
+  /** Returns the component of the given type stored at the given row, or null if there is none. */
+  Component get(int row, int typeId) {
+    int column = columnOf(typeId);
+    return column < 0 ? null : columns[column][row];
+  }
+
+  /**
+   * Returns the component of the given type stored at the given row, wrapped in an Optional that is
+   * reused until the component is replaced.
+   */
+  Optional<?> getWrapped(int row, int typeId) {
+    int column = columnOf(typeId);
+    Optional<?> component = column < 0 ? null : wrapped[column][row];
+    return component == null ? Optional.empty() : component;
+  }
+
+  /** Replaces the component of the given type stored at the given row. */
+  void set(int row, int typeId, Component component) {
+    int column = columnOf(typeId);
+    columns[column][row] = component;
+    wrapped[column][row] = Optional.of(component);
+  }
+
+  /** Appends an entity with empty component slots and returns its row. */
+  int add(Entity entity) {
+    if (size == entities.length) {
+      grow();
+    }
+    entities[size] = entity;
+    return size++;
+  }
+
+  /**
+   * Copies all the components of a row of another archetype that this archetype also stores.
+   *
+   * @param source The archetype the entity is moving from.
+   * @param sourceRow The row of the entity in the source archetype.
+   * @param row The row of the entity in this archetype.
+   */
+  void copyRow(Archetype source, int sourceRow, int row) {
+    for (int typeId = 0; typeId < columnIndex.length; typeId++) {
+      int column = columnIndex[typeId];
+      if (column >= 0) {
+        Component component = source.get(sourceRow, typeId);
+        if (component != null) {
+          columns[column][row] = component;
+          wrapped[column][row] = source.getWrapped(sourceRow, typeId);
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes a row by moving the last row into its place.
+   *
+   * @param row The row to remove.
+   * @return The entity that now occupies the row, or null if the last row was removed.
+   */
+  Entity remove(int row) {
+    int last = --size;
+    Entity moved = null;
+    if (row != last) {
+      moved = entities[last];
+      entities[row] = moved;
+      for (int i = 0; i < columns.length; i++) {
+        columns[i][row] = columns[i][last];
+        wrapped[i][row] = wrapped[i][last];
+      }
+    }
+    entities[last] = null;
+    for (int i = 0; i < columns.length; i++) {
+      columns[i][last] = null;
+      wrapped[i][last] = null;
+    }
+    return moved;
+  }
+
+  EntityQuery[] getQueries() {
+    return queries;
+  }
+
+  void addQuery(EntityQuery query) {
+    queries = Arrays.copyOf(queries, queries.length + 1);
+    queries[queries.length - 1] = query;
+  }
+
+  /** Returns true if the given query includes this archetype. */
+  boolean isMatchedBy(EntityQuery query) {
+    for (EntityQuery matching : queries) {
+      if (matching == query) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns the cached archetype reached by adding the given type, or null if not yet known. */
+  Archetype getAddEdge(int typeId) {
+    return typeId < addEdges.length ? addEdges[typeId] : null;
+  }
+
+  void setAddEdge(int typeId, Archetype target) {
+    if (typeId >= addEdges.length) {
+      addEdges = Arrays.copyOf(addEdges, typeId + 1);
+    }
+    addEdges[typeId] = target;
+  }
+
+  /** Returns the cached archetype reached by removing the given type, or null if not yet known. */
+  Archetype getRemoveEdge(int typeId) {
+    return typeId < removeEdges.length ? removeEdges[typeId] : null;
+  }
+
+  void setRemoveEdge(int typeId, Archetype target) {
+    if (typeId >= removeEdges.length) {
+      removeEdges = Arrays.copyOf(removeEdges, typeId + 1);
+    }
+    removeEdges[typeId] = target;
+  }
+
+  private int columnOf(int typeId) {
+    return typeId < columnIndex.length ? columnIndex[typeId] : -1;
+  }
+
+  private void grow() {
+    int capacity = entities.length * 2;
+    entities = Arrays.copyOf(entities, capacity);
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = Arrays.copyOf(columns[i], capacity);
+      wrapped[i] = Arrays.copyOf(wrapped[i], capacity);
+    }
+  }
+}
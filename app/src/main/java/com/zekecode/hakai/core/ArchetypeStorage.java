@@ -0,0 +1,184 @@
+package com.zekecode.hakai.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The storage engine behind a {@link World}. It groups entities by their component signature into
+ * {@link Archetype}s and moves an entity between archetypes whenever a component is added or
+ * removed. Transitions between archetypes are cached, so after warm-up a structural change costs a
+ * couple of array reads and a row copy.
+ */
+final class ArchetypeStorage {
+
+  private final Map<ComponentSignature, Archetype> archetypesBySignature = new HashMap<>();
+  private final List<Archetype> archetypes = new ArrayList<>();
+  private final List<Archetype> archetypesView = Collections.unmodifiableList(archetypes);
+  private final Archetype emptyArchetype;
+
+  /** Cached queries, kept up to date as new archetypes are created. */
+  private final Map<QueryKey, EntityQuery> queries = new HashMap<>();
+
+  private final List<EntityQuery> queryList = new ArrayList<>();
+
+  ArchetypeStorage() {
+    this.emptyArchetype = getOrCreate(ComponentSignature.EMPTY);
+  }
+
+  /** Returns a read-only view of all the archetypes created so far. */
+  List<Archetype> getArchetypes() {
+    return archetypesView;
+  }
+
+  /**
+   * Returns the cached query for the given signatures, creating it on first use.
+   *
+   * @param required The components the matched entities must have.
+   * @param excluded The components the matched entities must not have.
+   * @return The live query.
+   */
+  EntityQuery query(ComponentSignature required, ComponentSignature excluded) {
+    QueryKey key = new QueryKey(required, excluded);
+    EntityQuery query = queries.get(key);
+    if (query == null) {
+      query = new EntityQuery(this, required, excluded);
+      for (Archetype archetype : archetypes) {
+        query.onArchetypeCreated(archetype);
+      }
+      queries.put(key, query);
+      queryList.add(query);
+    }
+    return query;
+  }
+
+  /** Places a newly created entity in the empty archetype. */
+  void attach(Entity entity) {
+    entity.archetype = emptyArchetype;
+    entity.row = emptyArchetype.add(entity);
+    notifyAdded(entity, emptyArchetype, null);
+  }
+
+  /**
+   * Moves a new entity, still in the empty archetype, straight into the archetype storing exactly
+   * the given components, without going through an archetype per component. Used to restore
+   * snapshots.
+   *
+   * @param entity The entity, just attached.
+   * @param signature The signature of the given components.
+   * @param components The components of the entity, in any order.
+   * @param count The number of components to read from the array.
+   */
+  void place(Entity entity, ComponentSignature signature, Component[] components, int count) {
+    Archetype target = getOrCreate(signature);
+    int row = move(entity, target);
+    for (int i = 0; i < count; i++) {
+      target.set(row, ComponentTypes.idOf(components[i].getClass()), components[i]);
+    }
+    notifyAdded(entity, target, emptyArchetype);
+  }
+
+  /** Removes an entity and all of its components from the storage. */
+  void detach(Entity entity) {
+    notifyRemoved(entity, entity.archetype, null);
+    removeRow(entity.archetype, entity.row);
+    entity.archetype = null;
+    entity.row = -1;
+  }
+
+  /** Adds or replaces a component, moving the entity to a new archetype if needed. */
+  void addComponent(Entity entity, Component component) {
+    int typeId = ComponentTypes.idOf(component.getClass());
+    Archetype source = entity.archetype;
+    if (source.has(typeId)) {
+      source.set(entity.row, typeId, component);
+      return;
+    }
+
+    Archetype target = source.getAddEdge(typeId);
+    if (target == null) {
+      target = getOrCreate(source.getSignature().with(typeId));
+      source.setAddEdge(typeId, target);
+    }
+    int row = move(entity, target);
+    target.set(row, typeId, component);
+    notifyAdded(entity, target, source);
+  }
+
+  /** Removes a component, moving the entity to a new archetype. Returns false if it was absent. */
+  boolean removeComponent(Entity entity, int typeId) {
+    Archetype source = entity.archetype;
+    if (!source.has(typeId)) {
+      return false;
+    }
+
+    Archetype target = source.getRemoveEdge(typeId);
+    if (target == null) {
+      target = getOrCreate(source.getSignature().without(typeId));
+      source.setRemoveEdge(typeId, target);
+    }
+    move(entity, target);
+    notifyAdded(entity, target, source);
+    return true;
+  }
+
+  /**
+   * Moves an entity to another archetype, keeping the components both archetypes store. Listeners
+   * of the queries the entity leaves are notified here; the caller notifies the ones it joins once
+   * the row is complete.
+   */
+  private int move(Entity entity, Archetype target) {
+    Archetype source = entity.archetype;
+    notifyRemoved(entity, source, target);
+    int sourceRow = entity.row;
+    int row = target.add(entity);
+    target.copyRow(source, sourceRow, row);
+    removeRow(source, sourceRow);
+    entity.archetype = target;
+    entity.row = row;
+    return row;
+  }
+
+  /** Notifies the queries matching the new archetype of the entity but not the previous one. */
+  private void notifyAdded(Entity entity, Archetype current, Archetype previous) {
+    for (EntityQuery query : current.getQueries()) {
+      if (query.hasListeners() && (previous == null || !previous.isMatchedBy(query))) {
+        query.notifyAdded(entity);
+      }
+    }
+  }
+
+  /** Notifies the queries matching the current archetype of the entity but not the next one. */
+  private void notifyRemoved(Entity entity, Archetype current, Archetype next) {
+    for (EntityQuery query : current.getQueries()) {
+      if (query.hasListeners() && (next == null || !next.isMatchedBy(query))) {
+        query.notifyRemoved(entity);
+      }
+    }
+  }
+
+  private void removeRow(Archetype archetype, int row) {
+    Entity moved = archetype.remove(row);
+    if (moved != null) {
+      moved.row = row;
+    }
+  }
+
+  private Archetype getOrCreate(ComponentSignature signature) {
+    Archetype archetype = archetypesBySignature.get(signature);
+    if (archetype == null) {
+      archetype = new Archetype(signature);
+      archetype.index = archetypes.size();
+      archetypesBySignature.put(signature, archetype);
+      archetypes.add(archetype);
+      for (EntityQuery query : queryList) {
+        query.onArchetypeCreated(archetype);
+      }
+    }
+    return archetype;
+  }
+
+  private record QueryKey(ComponentSignature required, ComponentSignature excluded) {}
+}
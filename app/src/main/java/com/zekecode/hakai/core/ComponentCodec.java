@@ -0,0 +1,66 @@
+package com.zekecode.hakai.core;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Encodes one type of component into a {@link SnapshotBuffer} and decodes it back. A list of codecs
+ * is the schema of a {@link WorldSnapshot}: every component type of the world must have one.
+ *
+ * @param <C> The type of component.
+ */
+public interface ComponentCodec<C extends Component> {
+
+  /** Returns the type of component handled by this codec. */
+  Class<C> type();
+
+  /**
+   * Describes the encoded fields, e.g. {@code "x:f64,y:f64"}. Snapshots record a fingerprint of the
+   * layouts of their schema, so that a snapshot is never decoded with codecs that changed since.
+   */
+  String layout();
+
+  /** Writes a component. Must not allocate, as snapshots may be taken every frame. */
+  void write(C component, SnapshotBuffer out);
+
+  /** Reads a component written by {@link #write}. */
+  C read(SnapshotBuffer in);
+
+  /**
+   * Creates a codec from a pair of functions.
+   *
+   * @param type The type of component.
+   * @param layout The description of the encoded fields.
+   * @param writer Writes a component.
+   * @param reader Reads a component back.
+   * @param <C> The type of component.
+   * @return The codec.
+   */
+  static <C extends Component> ComponentCodec<C> of(
+      Class<C> type,
+      String layout,
+      BiConsumer<C, SnapshotBuffer> writer,
+      Function<SnapshotBuffer, C> reader) {
+    return new ComponentCodec<>() {
+      @Override
+      public Class<C> type() {
+        return type;
+      }
+
+      @Override
+      public String layout() {
+        return layout;
+      }
+
+      @Override
+      public void write(C component, SnapshotBuffer out) {
+        writer.accept(component, out);
+      }
+
+      @Override
+      public C read(SnapshotBuffer in) {
+        return reader.apply(in);
+      }
+    };
+  }
+}
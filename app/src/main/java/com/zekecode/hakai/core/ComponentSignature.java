@@ -0,0 +1,124 @@
+package com.zekecode.hakai.core;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of component type ids, stored as a bit set. Every {@link Archetype} is
+ * identified by the signature of the components its entities share.
+ */
+public final class ComponentSignature {
+
+  /** The signature of an entity that has no components. */
+  static final ComponentSignature EMPTY = new ComponentSignature(new long[0]);
+
+  private final long[] words;
+  private final int hash;
+
+  private ComponentSignature(long[] words) {
+    this.words = trim(words);
+    this.hash = Arrays.hashCode(this.words);
+  }
+
+  /**
+   * Builds the signature matching the given component classes.
+   *
+   * @param types The component classes.
+   * @return The signature containing all of them.
+   */
+  @SafeVarargs
+  public static ComponentSignature of(Class<? extends Component>... types) {
+    ComponentSignature signature = EMPTY;
+    for (Class<? extends Component> type : types) {
+      signature = signature.with(ComponentTypes.idOf(type));
+    }
+    return signature;
+  }
+
+  /** Returns true if the component type with the given id is part of this signature. */
+  boolean has(int typeId) {
+    int word = typeId >>> 6;
+    return word < words.length && (words[word] & (1L << typeId)) != 0;
+  }
+
+  /** Returns a copy of this signature that also contains the given component type. */
+  ComponentSignature with(int typeId) {
+    if (has(typeId)) {
+      return this;
+    }
+    long[] copy = Arrays.copyOf(words, Math.max(words.length, (typeId >>> 6) + 1));
+    copy[typeId >>> 6] |= 1L << typeId;
+    return new ComponentSignature(copy);
+  }
+
+  /** Returns a copy of this signature without the given component type. */
+  ComponentSignature without(int typeId) {
+    if (!has(typeId)) {
+      return this;
+    }
+    long[] copy = words.clone();
+    copy[typeId >>> 6] &= ~(1L << typeId);
+    return new ComponentSignature(copy);
+  }
+
+  /** Returns true if every component type of the other signature is part of this one. */
+  public boolean containsAll(ComponentSignature other) {
+    if (other.words.length > words.length) {
+      return false;
+    }
+    for (int i = 0; i < other.words.length; i++) {
+      if ((words[i] & other.words[i]) != other.words[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns true if this signature shares at least one component type with the other one. */
+  public boolean intersects(ComponentSignature other) {
+    int length = Math.min(words.length, other.words.length);
+    for (int i = 0; i < length; i++) {
+      if ((words[i] & other.words[i]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns the ids of all component types in this signature, in ascending order. */
+  int[] typeIds() {
+    int count = 0;
+    for (long word : words) {
+      count += Long.bitCount(word);
+    }
+    int[] ids = new int[count];
+    int index = 0;
+    for (int w = 0; w < words.length; w++) {
+      long word = words[w];
+      while (word != 0) {
+        ids[index++] = (w << 6) + Long.numberOfTrailingZeros(word);
+        word &= word - 1;
+      }
+    }
+    return ids;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return this == o
+        || (o instanceof ComponentSignature other && Arrays.equals(words, other.words));
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  /** Drops trailing empty words so that equal sets always have equal representations. */
+  private static long[] trim(long[] words) {
+    int length = words.length;
+    while (length > 0 && words[length - 1] == 0) {
+      length--;
+    }
+    return length == words.length ? words : Arrays.copyOf(words, length);
+  }
+}
@@ -0,0 +1,70 @@
+package com.zekecode.hakai.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Global registry that assigns a small, dense integer id to every component class the first time it
+ * is seen. Archetypes use these ids as bit positions in their {@link ComponentSignature} and as
+ * indices into their column lookup tables, so resolving a component never needs a hash lookup.
+ */
+final class ComponentTypes {
+
+  /** Guards registration of new component classes. */
+  private static final Object LOCK = new Object();
+
+  /** Component classes indexed by their id. */
+  private static final List<Class<? extends Component>> TYPES = new ArrayList<>();
+
+  /** Registered ids, only consulted while holding the lock. */
+  private static final Map<Class<?>, Integer> REGISTERED = new HashMap<>();
+
+  /**
+   * Per-class cache of the assigned id. ClassValue lookups are resolved directly on the Class
+   * object, which makes them considerably cheaper than a map lookup on the hot path.
+   */
+  private static final ClassValue<Integer> IDS =
+      new ClassValue<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Integer computeValue(Class<?> type) {
+          synchronized (LOCK) {
+            Integer existing = REGISTERED.get(type);
+            if (existing != null) {
+              return existing;
+            }
+            Integer id = TYPES.size();
+            TYPES.add((Class<? extends Component>) type);
+            REGISTERED.put(type, id);
+            return id;
+          }
+        }
+      };
+
+  /** Private constructor to prevent this utility class from being instantiated. */
+  private ComponentTypes() {}
+
+  /**
+   * Returns the id of the given component class, registering it if needed.
+   *
+   * @param type The component class.
+   * @return The dense id assigned to the class.
+   */
+  static int idOf(Class<? extends Component> type) {
+    return IDS.get(type);
+  }
+
+  /**
+   * Returns the component class registered under the given id.
+   *
+   * @param id A previously assigned id.
+   * @return The component class.
+   */
+  static Class<? extends Component> typeOf(int id) {
+    synchronized (LOCK) {
+      return TYPES.get(id);
+    }
+  }
+}
@@ -1,28 +1,56 @@
 package com.zekecode.hakai.core;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 
 /**
  * Represents an entity in the ECS architecture. An entity is a container for components that define
  * its properties and behavior.
+ *
+ * <p>The components themselves are not stored on the entity: they live in the columns of the {@link
+ * Archetype} the entity currently belongs to, and this class acts as a facade over that storage.
+ * Entities created by a {@link World} share the world's storage, while entities created directly
+ * through the public constructor get a private storage of their own.
  */
 public class Entity {
 
   /** The unique identifier for this entity. */
   private final int id;
 
-  /** A map to hold components associated with this entity, keyed by their class type. */
-  private final Map<Class<? extends Component>, Component> components = new HashMap<>();
+  /** The storage engine that owns this entity's components. */
+  private final ArchetypeStorage storage;
+
+  /** The archetype currently holding this entity's components, or null once destroyed. */
+  Archetype archetype;
+
+  /** The row of this entity inside its archetype. */
+  int row;
+
+  /** True once the entity was destroyed, from then on until it is removed from its world. */
+  boolean pendingRemoval;
+
+  /** This entity wrapped once, so queries can return it as an Optional without allocating. */
+  final Optional<Entity> wrapped = Optional.of(this);
 
   /**
-   * Constructs a new Entity with the specified unique identifier.
+   * Constructs a new standalone Entity with the specified unique identifier. The entity is not part
+   * of any world.
    *
    * @param id The unique identifier for this entity.
    */
   public Entity(int id) {
+    this(id, new ArchetypeStorage());
+  }
+
+  /**
+   * Constructs a new Entity whose components are kept in the given storage.
+   *
+   * @param id The unique identifier for this entity.
+   * @param storage The storage engine of the owning world.
+   */
+  Entity(int id, ArchetypeStorage storage) {
     this.id = id;
+    this.storage = storage;
+    storage.attach(this);
   }
 
   /**
@@ -39,9 +67,13 @@ public class Entity {
    * replaced.
    *
    * @param component The component to add.
+   * @throws IllegalStateException if the entity has already been removed from its world.
    */
   public void addComponent(Component component) {
-    components.put(component.getClass(), component);
+    if (archetype == null) {
+      throw new IllegalStateException("Cannot add a component to destroyed entity " + id);
+    }
+    storage.addComponent(this, component);
   }
 
   /**
@@ -53,7 +85,10 @@ public class Entity {
    */
   @SuppressWarnings("unchecked")
   public <T extends Component> Optional<T> getComponent(Class<T> componentClass) {
-    return Optional.ofNullable((T) components.get(componentClass));
+    if (archetype == null) {
+      return Optional.empty();
+    }
+    return (Optional<T>) archetype.getWrapped(row, ComponentTypes.idOf(componentClass));
   }
 
   /**
@@ -63,7 +98,7 @@ public class Entity {
    * @return true if the component exists, false otherwise.
    */
   public boolean hasComponent(Class<? extends Component> componentClass) {
-    return components.containsKey(componentClass);
+    return archetype != null && archetype.has(ComponentTypes.idOf(componentClass));
   }
 
   /**
@@ -73,6 +108,14 @@ public class Entity {
    * @return true if the component was present and removed, false otherwise.
    */
   public boolean removeComponent(Class<? extends Component> componentClass) {
-    return components.remove(componentClass) != null;
+    return archetype != null
+        && storage.removeComponent(this, ComponentTypes.idOf(componentClass));
+  }
+
+  /** Removes this entity and all of its components from its storage. */
+  void detach() {
+    if (archetype != null) {
+      storage.detach(this);
+    }
   }
 }
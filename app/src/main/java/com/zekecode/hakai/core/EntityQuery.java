@@ -0,0 +1,196 @@
+package com.zekecode.hakai.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * A live view over all the entities of a {@link World} that have a given set of components (and,
+ * optionally, lack another set). Queries are created through {@link World#query(Class[])} and are
+ * cached by the world, so asking for the same query twice returns the same instance.
+ *
+ * <p>The view is maintained incrementally: the query remembers which archetypes match and is told
+ * about every new archetype as soon as it is created. Since adding or removing a component moves an
+ * entity between archetypes, the view is always up to date and reading it costs O(matching
+ * archetypes + matching entities) instead of a scan over every entity in the world.
+ *
+ * <p>Adding or removing components of the entities being visited changes the view while it is being
+ * iterated. Systems that do so should first copy the matches with {@link #copyTo(List)}.
+ *
+ * <p>Systems that keep their own index of the matched entities (such as a spatial grid) can
+ * register a {@link Listener} to be told when entities start or stop matching.
+ */
+public final class EntityQuery implements Iterable<Entity> {
+
+  /** Receives the entities that start or stop matching a query. */
+  public interface Listener {
+
+    /** Called once the entity has all the components of the query. */
+    void onEntityAdded(Entity entity);
+
+    /**
+     * Called right before the entity stops matching the query, either because its components
+     * changed or because it is being removed from the world. Its components can still be read.
+     */
+    void onEntityRemoved(Entity entity);
+  }
+
+  private final ArchetypeStorage storage;
+  private final ComponentSignature required;
+  private final ComponentSignature excluded;
+  private final List<Archetype> archetypes = new ArrayList<>();
+  private final List<Archetype> archetypesView = Collections.unmodifiableList(archetypes);
+  private final List<Listener> listeners = new ArrayList<>();
+
+  EntityQuery(ArchetypeStorage storage, ComponentSignature required, ComponentSignature excluded) {
+    this.storage = storage;
+    this.required = required;
+    this.excluded = excluded;
+  }
+
+  /**
+   * Returns a query matching the same entities as this one, minus those that have any of the given
+   * components.
+   *
+   * @param componentClasses The components the matched entities must not have.
+   * @return The narrowed query.
+   */
+  @SafeVarargs
+  public final EntityQuery without(Class<? extends Component>... componentClasses) {
+    ComponentSignature narrowed = excluded;
+    for (Class<? extends Component> componentClass : componentClasses) {
+      narrowed = narrowed.with(ComponentTypes.idOf(componentClass));
+    }
+    return storage.query(required, narrowed);
+  }
+
+  /**
+   * Registers a listener notified whenever an entity starts or stops matching this query. Entities
+   * matching the query at registration time are not reported.
+   *
+   * @param listener The listener to add.
+   */
+  public void addListener(Listener listener) {
+    listeners.add(listener);
+  }
+
+  /** Returns the archetypes currently matching this query. */
+  public List<Archetype> getArchetypes() {
+    return archetypesView;
+  }
+
+  /** Returns the number of entities currently matching this query. */
+  public int size() {
+    int size = 0;
+    for (int i = 0; i < archetypes.size(); i++) {
+      size += archetypes.get(i).size();
+    }
+    return size;
+  }
+
+  /** Returns true if no entity currently matches this query. */
+  public boolean isEmpty() {
+    for (int i = 0; i < archetypes.size(); i++) {
+      if (archetypes.get(i).size() > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Returns any one of the matching entities, typically used for singleton entities. */
+  public Optional<Entity> first() {
+    for (int i = 0; i < archetypes.size(); i++) {
+      Archetype archetype = archetypes.get(i);
+      if (archetype.size() > 0) {
+        return archetype.getEntity(0).wrapped;
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Replaces the content of the given list with the entities currently matching this query. Useful
+   * to get a stable snapshot before changing the components of the visited entities.
+   *
+   * @param target The list to fill. It is cleared first.
+   * @return The same list, for convenience.
+   */
+  public List<Entity> copyTo(List<Entity> target) {
+    target.clear();
+    for (int i = 0; i < archetypes.size(); i++) {
+      Archetype archetype = archetypes.get(i);
+      for (int row = 0; row < archetype.size(); row++) {
+        target.add(archetype.getEntity(row));
+      }
+    }
+    return target;
+  }
+
+  @Override
+  public void forEach(Consumer<? super Entity> action) {
+    for (int i = 0; i < archetypes.size(); i++) {
+      Archetype archetype = archetypes.get(i);
+      for (int row = 0; row < archetype.size(); row++) {
+        action.accept(archetype.getEntity(row));
+      }
+    }
+  }
+
+  @Override
+  public Iterator<Entity> iterator() {
+    return new Iterator<>() {
+      private int archetypeIndex = 0;
+      private int row = 0;
+
+      @Override
+      public boolean hasNext() {
+        while (archetypeIndex < archetypes.size()) {
+          if (row < archetypes.get(archetypeIndex).size()) {
+            return true;
+          }
+          archetypeIndex++;
+          row = 0;
+        }
+        return false;
+      }
+
+      @Override
+      public Entity next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return archetypes.get(archetypeIndex).getEntity(row++);
+      }
+    };
+  }
+
+  /** Called by the storage for every archetype, existing or newly created. */
+  void onArchetypeCreated(Archetype archetype) {
+    ComponentSignature signature = archetype.getSignature();
+    if (signature.containsAll(required) && !signature.intersects(excluded)) {
+      archetypes.add(archetype);
+      archetype.addQuery(this);
+    }
+  }
+
+  void notifyAdded(Entity entity) {
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).onEntityAdded(entity);
+    }
+  }
+
+  void notifyRemoved(Entity entity) {
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).onEntityRemoved(entity);
+    }
+  }
+
+  boolean hasListeners() {
+    return !listeners.isEmpty();
+  }
+}
@@ -12,7 +12,8 @@ public abstract class GameSystem {
    * require an update method, as some may operate solely based on events. In those cases, this
    * method can be left unimplemented.
    *
-   * @param entities The list of entities to process.
+   * @param entities A read-only view of the entities of the world. Entities created during the
+   *     update only show up in it on the next frame.
    * @param deltaTime The time elapsed since the last update, in seconds.
    */
   public abstract void update(List<Entity> entities, double deltaTime);
@@ -0,0 +1,86 @@
+package com.zekecode.hakai.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The source of every random number of a {@link World}. The whole world is seeded with one number,
+ * recorded in replays, so that a session can be played again exactly.
+ *
+ * <p>Each system draws from a named {@link RandomStream} of its own, seeded from the seed of the
+ * world and the name of the stream. Streams are independent: a system drawing more or fewer numbers
+ * does not change the numbers drawn by the others, and streams may be used from different threads
+ * as long as each stream stays on one.
+ */
+public class RandomService {
+
+  private final List<String> names = new ArrayList<>();
+  private final List<RandomStream> streams = new ArrayList<>();
+  private long seed;
+
+  /** Creates a service seeded with the given seed. */
+  public RandomService(long seed) {
+    this.seed = seed;
+  }
+
+  /** Returns the seed of the world. */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Seeds the world again, restarting every stream from the new seed. Streams keep their identity,
+   * so the systems holding them need not fetch them again.
+   *
+   * @param seed The new seed, e.g. from the level or from a replay.
+   */
+  public void reseed(long seed) {
+    this.seed = seed;
+    for (int i = 0; i < streams.size(); i++) {
+      streams.get(i).reseed(streamSeed(names.get(i)));
+    }
+  }
+
+  /**
+   * Returns the stream with the given name, creating it on first use. Systems should fetch their
+   * stream once, when they are created.
+   *
+   * @param name The name of the stream, usually the name of the system using it.
+   */
+  public RandomStream stream(String name) {
+    int index = names.indexOf(name);
+    if (index >= 0) {
+      return streams.get(index);
+    }
+    RandomStream stream = new RandomStream(streamSeed(name));
+    names.add(name);
+    streams.add(stream);
+    return stream;
+  }
+
+  /** Returns the number of streams created so far. */
+  int streamCount() {
+    return streams.size();
+  }
+
+  /** Returns a stream by creation order. */
+  RandomStream streamAt(int index) {
+    return streams.get(index);
+  }
+
+  /** Returns the name of a stream by creation order. */
+  String streamNameAt(int index) {
+    return names.get(index);
+  }
+
+  /** Restores the seed without touching the streams, whose state is restored separately. */
+  void restoreSeed(long seed) {
+    this.seed = seed;
+  }
+
+  /** Derives the seed of a stream from the seed of the world and the name of the stream. */
+  private long streamSeed(String name) {
+    // String.hashCode is specified, so the seed of a stream never changes between runs.
+    return RandomStream.splitMix64(seed ^ RandomStream.splitMix64(name.hashCode()));
+  }
+}
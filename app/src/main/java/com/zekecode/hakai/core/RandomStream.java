@@ -0,0 +1,109 @@
+package com.zekecode.hakai.core;
+
+/**
+ * A stream of pseudo-random numbers, using the xoshiro256** generator. Unlike {@link Math#random()}
+ * it is not synchronized and never allocates, and the same seed always gives the same numbers.
+ *
+ * <p>A stream is not thread-safe: each system draws from its own, obtained from the {@link
+ * RandomService} of the world.
+ */
+public final class RandomStream {
+
+  private static final double DOUBLE_UNIT = 0x1.0p-53; // 1 / 2^53
+
+  private long s0;
+  private long s1;
+  private long s2;
+  private long s3;
+
+  /** Creates a stream starting from the given seed. */
+  public RandomStream(long seed) {
+    reseed(seed);
+  }
+
+  /** Restarts the stream from the given seed, as if it had just been created with it. */
+  public void reseed(long seed) {
+    // Spread the seed over the whole state with SplitMix64, as xoshiro must not start from zeros.
+    long x = seed;
+    s0 = splitMix64(x += 0x9E3779B97F4A7C15L);
+    s1 = splitMix64(x += 0x9E3779B97F4A7C15L);
+    s2 = splitMix64(x += 0x9E3779B97F4A7C15L);
+    s3 = splitMix64(x + 0x9E3779B97F4A7C15L);
+  }
+
+  /** Returns one of the four words of the state of the generator, to save it. */
+  long getState(int word) {
+    return switch (word) {
+      case 0 -> s0;
+      case 1 -> s1;
+      case 2 -> s2;
+      default -> s3;
+    };
+  }
+
+  /** Restores the state of the generator, as returned by {@link #getState(int)}. */
+  void setState(long s0, long s1, long s2, long s3) {
+    this.s0 = s0;
+    this.s1 = s1;
+    this.s2 = s2;
+    this.s3 = s3;
+  }
+
+  /** Returns the next 64 random bits. */
+  public long nextLong() {
+    long result = Long.rotateLeft(s1 * 5, 7) * 9;
+    long t = s1 << 17;
+    s2 ^= s0;
+    s3 ^= s1;
+    s1 ^= s2;
+    s0 ^= s3;
+    s2 ^= t;
+    s3 = Long.rotateLeft(s3, 45);
+    return result;
+  }
+
+  /** Returns a random double, uniformly distributed between 0 (inclusive) and 1 (exclusive). */
+  public double nextDouble() {
+    return (nextLong() >>> 11) * DOUBLE_UNIT;
+  }
+
+  /** Returns a random double between the given bounds, the upper one excluded. */
+  public double nextDouble(double origin, double bound) {
+    return origin + nextDouble() * (bound - origin);
+  }
+
+  /**
+   * Returns a random int, uniformly distributed between 0 (inclusive) and the given bound
+   * (exclusive).
+   *
+   * @throws IllegalArgumentException If the bound is not positive.
+   */
+  public int nextInt(int bound) {
+    if (bound <= 0) {
+      throw new IllegalArgumentException("bound must be positive: " + bound);
+    }
+    // Lemire's multiply-and-shift, rejecting the few values that would bias the result.
+    long product = (nextLong() >>> 32) * bound;
+    int low = (int) product;
+    if (Integer.compareUnsigned(low, bound) < 0) {
+      int threshold = Integer.remainderUnsigned(-bound, bound);
+      while (Integer.compareUnsigned(low, threshold) < 0) {
+        product = (nextLong() >>> 32) * bound;
+        low = (int) product;
+      }
+    }
+    return (int) (product >>> 32);
+  }
+
+  /** Returns true with the given probability, between 0 and 1. */
+  public boolean nextChance(double probability) {
+    return nextDouble() < probability;
+  }
+
+  /** The SplitMix64 mixing function, which turns related inputs into unrelated outputs. */
+  static long splitMix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,189 @@
+package com.zekecode.hakai.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * A growable byte buffer for binary snapshots, written and then read back in the same order. The
+ * storage is reused from one snapshot to the next, so writing does not allocate once the buffer has
+ * grown to the size of a snapshot.
+ *
+ * <p>Numbers are stored little-endian. Counts and small non-negative integers can be stored as
+ * variable-length integers, taking one byte below 128.
+ */
+public final class SnapshotBuffer {
+
+  private static final VarHandle INTS =
+      MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle LONGS =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle DOUBLES =
+      MethodHandles.byteArrayViewVarHandle(double[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private byte[] data;
+  private int size; // Number of bytes written
+  private int position; // Next byte to read
+
+  public SnapshotBuffer() {
+    this(4096);
+  }
+
+  /** Creates a buffer with room for the given number of bytes before it grows. */
+  public SnapshotBuffer(int initialCapacity) {
+    this.data = new byte[Math.max(16, initialCapacity)];
+  }
+
+  /** Empties the buffer, keeping its storage, so a new snapshot can be written. */
+  public void clear() {
+    size = 0;
+    position = 0;
+  }
+
+  /** Moves back to the first byte, to read the buffer again. */
+  public void rewind() {
+    position = 0;
+  }
+
+  /** Returns the number of bytes written. */
+  public int size() {
+    return size;
+  }
+
+  /** Returns the number of bytes left to read. */
+  public int remaining() {
+    return size - position;
+  }
+
+  /** Returns a copy of the bytes written. */
+  public byte[] toByteArray() {
+    return Arrays.copyOf(data, size);
+  }
+
+  /** Copies the bytes written into an array, which must have room for {@link #size()} bytes. */
+  public void copyTo(byte[] target, int offset) {
+    System.arraycopy(data, 0, target, offset, size);
+  }
+
+  /** Replaces the content of the buffer with a copy of the given bytes, ready to be read. */
+  public void load(byte[] bytes, int offset, int length) {
+    clear();
+    ensureCapacity(length);
+    System.arraycopy(bytes, offset, data, 0, length);
+    size = length;
+  }
+
+  /** Replaces the content of this buffer with the content of another one, ready to be read. */
+  public void copyFrom(SnapshotBuffer other) {
+    load(other.data, 0, other.size);
+  }
+
+  // --- Writing ---
+
+  public void putByte(int value) {
+    ensureCapacity(size + 1);
+    data[size++] = (byte) value;
+  }
+
+  public void putBoolean(boolean value) {
+    putByte(value ? 1 : 0);
+  }
+
+  public void putInt(int value) {
+    ensureCapacity(size + 4);
+    INTS.set(data, size, value);
+    size += 4;
+  }
+
+  public void putLong(long value) {
+    ensureCapacity(size + 8);
+    LONGS.set(data, size, value);
+    size += 8;
+  }
+
+  public void putDouble(double value) {
+    ensureCapacity(size + 8);
+    DOUBLES.set(data, size, value);
+    size += 8;
+  }
+
+  /** Writes a non-negative integer in 1 to 5 bytes, the smaller the value the fewer. */
+  public void putVarInt(int value) {
+    ensureCapacity(size + 5);
+    while ((value & ~0x7F) != 0) {
+      data[size++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    data[size++] = (byte) value;
+  }
+
+  public void putBytes(byte[] bytes, int offset, int length) {
+    ensureCapacity(size + length);
+    System.arraycopy(bytes, offset, data, size, length);
+    size += length;
+  }
+
+  // --- Reading ---
+
+  public int getByte() {
+    checkRemaining(1);
+    return data[position++];
+  }
+
+  public boolean getBoolean() {
+    return getByte() != 0;
+  }
+
+  public int getInt() {
+    checkRemaining(4);
+    int value = (int) INTS.get(data, position);
+    position += 4;
+    return value;
+  }
+
+  public long getLong() {
+    checkRemaining(8);
+    long value = (long) LONGS.get(data, position);
+    position += 8;
+    return value;
+  }
+
+  public double getDouble() {
+    checkRemaining(8);
+    double value = (double) DOUBLES.get(data, position);
+    position += 8;
+    return value;
+  }
+
+  public void getBytes(byte[] target, int offset, int length) {
+    checkRemaining(length);
+    System.arraycopy(data, position, target, offset, length);
+    position += length;
+  }
+
+  /** Reads an integer written by {@link #putVarInt(int)}. */
+  public int getVarInt() {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      int b = getByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalStateException("Malformed variable-length integer at byte " + position);
+  }
+
+  private void checkRemaining(int bytes) {
+    if (position + bytes > size) {
+      throw new IllegalStateException("Snapshot truncated: read past byte " + size);
+    }
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > data.length) {
+      data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+    }
+  }
+}
@@ -2,55 +2,198 @@ package com.zekecode.hakai.core;
 
 import com.zekecode.hakai.components.entities.DeadComponent;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * The World class manages entities and systems in the ECS architecture. It provides methods to
  * create entities, add systems, and update the world state.
+ *
+ * <p>Components are stored in an archetype-based storage engine: entities sharing the same set of
+ * component types are grouped into an {@link Archetype}, which keeps each component type in a
+ * contiguous column. Systems can either use the usual {@link Entity} accessors or walk {@link
+ * #getArchetypes()} directly to process matching entities without per-entity lookups. {@link
+ * #query(Class[])} gives a cached view of the entities having a given set of components.
+ *
+ * <p>Systems receive a read-only view of the entity list, not a copy. To keep that view stable
+ * while systems run, entities created or destroyed during {@link #update(double)} are recorded in a
+ * command buffer and only added to or removed from the list at the frame boundary.
  */
 public class World {
   /** List of all entities in the world. */
   private final List<Entity> entities = new ArrayList<>();
 
+  /** Read-only view of {@link #entities}, handed to systems and callers instead of copies. */
+  private final List<Entity> entitiesView = Collections.unmodifiableList(entities);
+
+  /** Entities created during an update, added to the list once all systems have run. */
+  private final List<Entity> entitiesToAdd = new ArrayList<>();
+
   /** List of entities marked for removal at the end of the update cycle. */
   private final List<Entity> entitiesToRemove = new ArrayList<>();
 
   /** List of all systems that operate on the entities. */
   private final List<GameSystem> systems = new ArrayList<>();
 
+  /** The storage engine holding the components of every entity in this world. */
+  private final ArchetypeStorage storage = new ArchetypeStorage();
+
+  /** The source of the random numbers of the world, seeded with 0 until reseeded. */
+  private final RandomService random = new RandomService(0);
+
   /** Counter to assign unique IDs to new entities. */
   private int nextEntityId = 0;
 
-  /** Creates a new entity and adds it to the world. */
+  /** True while systems are being updated, when changes to the entity list are deferred. */
+  private boolean updating = false;
+
+  /**
+   * Creates a new entity and adds it to the world. The entity can receive components right away
+   * and is immediately visible to queries, but when created during an update it only joins the
+   * entity list at the end of the frame.
+   */
   public Entity createEntity() {
-    Entity entity = new Entity(nextEntityId++);
-    entities.add(entity);
+    Entity entity = new Entity(nextEntityId++, storage);
+    if (updating) {
+      entitiesToAdd.add(entity);
+    } else {
+      entities.add(entity);
+    }
     return entity;
   }
 
-  /** Returns a copy of the list of all entities in the world. */
+  /** Returns the source of the random numbers of the world. */
+  public RandomService getRandom() {
+    return random;
+  }
+
+  /**
+   * Returns a read-only view of all the entities in the world. The view is not a copy: it reflects
+   * the entities added and removed at each frame boundary.
+   */
   public List<Entity> getEntities() {
-    return new ArrayList<>(entities);
+    return entitiesView;
+  }
+
+  /**
+   * Returns a read-only view of the archetypes of this world. Archetypes are created lazily the
+   * first time an entity reaches a new combination of components, and are never discarded.
+   */
+  public List<Archetype> getArchetypes() {
+    return storage.getArchetypes();
   }
 
-  /** Marks an entity for removal from the world. */
+  /**
+   * Returns a live view of the entities that have all the given components. Queries are cached,
+   * so systems can either keep the returned instance or call this method on every update.
+   *
+   * @param componentClasses The components the matched entities must have.
+   * @return The query, which can be narrowed further with {@link EntityQuery#without(Class[])}.
+   */
+  @SafeVarargs
+  public final EntityQuery query(Class<? extends Component>... componentClasses) {
+    return storage.query(ComponentSignature.of(componentClasses), ComponentSignature.EMPTY);
+  }
+
+  /** Marks an entity for removal from the world. It is removed at the start of the next update. */
   public void destroyEntity(Entity entity) {
-    if (!entitiesToRemove.contains(entity)) {
+    if (!entity.pendingRemoval) {
+      entity.pendingRemoval = true;
       entitiesToRemove.add(entity);
     }
   }
 
   /** Cleans up entities that are marked for removal. */
   private void cleanupEntities() {
-    // Collect entities marked for death
-    entities.stream()
-        .filter(e -> e.hasComponent(DeadComponent.class))
-        .forEach(this::destroyEntity); // Add to the removal queue
+    // Collect entities marked for death, visiting only the archetypes that store a DeadComponent
+    List<Archetype> archetypes = storage.getArchetypes();
+    int deadTypeId = ComponentTypes.idOf(DeadComponent.class);
+    for (int i = 0; i < archetypes.size(); i++) {
+      Archetype archetype = archetypes.get(i);
+      if (archetype.has(deadTypeId)) {
+        for (int row = 0; row < archetype.size(); row++) {
+          destroyEntity(archetype.getEntity(row)); // Add to the removal queue
+        }
+      }
+    }
 
-    entities.removeAll(entitiesToRemove);
+    if (entitiesToRemove.isEmpty()) {
+      return;
+    }
+    // Compact the list in a single pass, keeping the order of the entities left
+    int kept = 0;
+    for (int i = 0; i < entities.size(); i++) {
+      Entity entity = entities.get(i);
+      if (!entity.pendingRemoval) {
+        entities.set(kept++, entity);
+      }
+    }
+    for (int i = entities.size() - 1; i >= kept; i--) {
+      entities.remove(i);
+    }
+    for (int i = 0; i < entitiesToRemove.size(); i++) {
+      entitiesToRemove.get(i).detach();
+    }
     entitiesToRemove.clear();
   }
 
+  /** Adds the entities created while the systems were running. */
+  private void flushCreatedEntities() {
+    if (!entitiesToAdd.isEmpty()) {
+      entities.addAll(entitiesToAdd);
+      entitiesToAdd.clear();
+    }
+  }
+
+  // --- Snapshot support, see WorldSnapshot ---
+
+  ArchetypeStorage getStorage() {
+    return storage;
+  }
+
+  boolean isUpdating() {
+    return updating;
+  }
+
+  int getNextEntityId() {
+    return nextEntityId;
+  }
+
+  void setNextEntityId(int nextEntityId) {
+    this.nextEntityId = nextEntityId;
+  }
+
+  /** Returns true if the entity was destroyed but is still waiting to be removed. */
+  boolean isPendingRemoval(Entity entity) {
+    return entity.pendingRemoval;
+  }
+
+  /** Removes every entity right away, leaving the archetypes and queries in place. */
+  void removeAllEntities() {
+    for (int i = 0; i < entities.size(); i++) {
+      entities.get(i).detach();
+    }
+    for (int i = 0; i < entitiesToAdd.size(); i++) {
+      entitiesToAdd.get(i).detach();
+    }
+    entities.clear();
+    entitiesToAdd.clear();
+    entitiesToRemove.clear();
+  }
+
+  /** Creates an entity with a given id, without adding it to the entity list yet. */
+  Entity createDetachedEntity(int id) {
+    return new Entity(id, storage);
+  }
+
+  /** Appends a restored entity to the entity list, marking it for removal if it was. */
+  void appendEntity(Entity entity, boolean pendingRemoval) {
+    entities.add(entity);
+    if (pendingRemoval) {
+      destroyEntity(entity);
+    }
+  }
+
   /** Adds a system to the world. */
   public void addSystem(GameSystem system) {
     systems.add(system);
@@ -59,8 +202,15 @@ public class World {
   /** Updates all systems in the world, passing in the delta time since the last update. */
   public void update(double deltaTime) {
     cleanupEntities();
-    for (GameSystem system : systems) {
-      system.update(new ArrayList<>(entities), deltaTime);
+    updating = true;
+    try {
+      // Indexed loop: this runs every frame and must not allocate.
+      for (int i = 0; i < systems.size(); i++) {
+        systems.get(i).update(entitiesView, deltaTime);
+      }
+    } finally {
+      updating = false;
+      flushCreatedEntities();
     }
   }
 }
@@ -0,0 +1,227 @@
+package com.zekecode.hakai.core;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Saves the whole state of a {@link World} into a {@link SnapshotBuffer} and restores it: every
+ * entity with its id and components, the order of the entities and of the archetype rows, the
+ * entities waiting to be removed, the next entity id and the state of every random stream. Systems
+ * are not part of a snapshot: the state they keep between frames is either derived from the
+ * entities, and kept in sync through query listeners, or rebuilt every frame.
+ *
+ * <p>Components are encoded by the {@link ComponentCodec}s of the schema given at construction, not
+ * by Java serialization. A snapshot starts with a fingerprint of that schema and is only restored
+ * by a WorldSnapshot with the same one.
+ *
+ * <p>Capturing does not allocate once the buffer has grown to the size of a snapshot, so it can run
+ * every frame. Restoring recreates the entities and components, in the same archetype rows as when
+ * captured, so that a world restored in place carries on exactly as the original one did.
+ */
+public final class WorldSnapshot {
+
+  private static final int MAGIC = 0x484B5753; // "HKWS"
+
+  private final ComponentCodec<?>[] codecs;
+  private final long schemaId;
+  private ComponentCodec<?>[] codecsByTypeId = new ComponentCodec<?>[0];
+  private int[] codecIndexByTypeId = new int[0];
+
+  // Scratch space for restoring
+  private Component[] rowComponents = new Component[8];
+  private Entity[][] restoredRows = new Entity[0][];
+
+  /**
+   * @param codecs The codec of every component type that may be found in the worlds to capture.
+   */
+  public WorldSnapshot(List<ComponentCodec<?>> codecs) {
+    this.codecs = codecs.toArray(new ComponentCodec<?>[0]);
+    long fingerprint = 1125899906842597L;
+    for (ComponentCodec<?> codec : this.codecs) {
+      String description = codec.type().getName() + "{" + codec.layout() + "}";
+      for (int i = 0; i < description.length(); i++) {
+        fingerprint = 31 * fingerprint + description.charAt(i);
+      }
+    }
+    this.schemaId = fingerprint;
+    for (int i = 0; i < this.codecs.length; i++) {
+      int typeId = ComponentTypes.idOf(this.codecs[i].type());
+      if (typeId >= codecsByTypeId.length) {
+        codecsByTypeId = Arrays.copyOf(codecsByTypeId, typeId + 1);
+        codecIndexByTypeId = Arrays.copyOf(codecIndexByTypeId, typeId + 1);
+      }
+      codecsByTypeId[typeId] = this.codecs[i];
+      codecIndexByTypeId[typeId] = i;
+    }
+  }
+
+  /** Returns the fingerprint of the schema, written at the start of every snapshot. */
+  public long getSchemaId() {
+    return schemaId;
+  }
+
+  /**
+   * Writes the state of a world into a buffer, replacing its content.
+   *
+   * @param world The world to capture, between two updates.
+   * @param out The buffer to write to.
+   * @throws IllegalStateException If the world is being updated, or holds a component type that
+   *     has no codec.
+   */
+  public void capture(World world, SnapshotBuffer out) {
+    if (world.isUpdating()) {
+      throw new IllegalStateException("A world cannot be captured while it is being updated");
+    }
+    out.clear();
+    out.putInt(MAGIC);
+    out.putLong(schemaId);
+    out.putInt(world.getNextEntityId());
+    captureRandom(world.getRandom(), out);
+
+    List<Archetype> archetypes = world.getArchetypes();
+    out.putVarInt(archetypes.size());
+    for (int a = 0; a < archetypes.size(); a++) {
+      Archetype archetype = archetypes.get(a);
+      int columns = archetype.columnCount();
+      out.putVarInt(columns);
+      for (int column = 0; column < columns; column++) {
+        out.putVarInt(codecIndexOf(archetype.typeIdOfColumn(column)));
+      }
+      out.putVarInt(archetype.size());
+      for (int row = 0; row < archetype.size(); row++) {
+        out.putInt(archetype.getEntity(row).getId());
+        for (int column = 0; column < columns; column++) {
+          ComponentCodec<?> codec = codecsByTypeId[archetype.typeIdOfColumn(column)];
+          write(codec, archetype.getAt(column, row), out);
+        }
+      }
+    }
+
+    // The order of the entity list, as the archetype and row of each entity.
+    List<Entity> entities = world.getEntities();
+    out.putVarInt(entities.size());
+    for (int i = 0; i < entities.size(); i++) {
+      Entity entity = entities.get(i);
+      out.putVarInt(entity.archetype.index);
+      out.putVarInt(entity.row << 1 | (world.isPendingRemoval(entity) ? 1 : 0));
+    }
+  }
+
+  /**
+   * Replaces the state of a world with the one saved in a buffer. The world should have been built
+   * like the captured one, with the same systems, so that they find the random streams they use.
+   *
+   * @param world The world to restore, between two updates.
+   * @param in The buffer holding a snapshot, read from its start.
+   * @throws IllegalStateException If the world is being updated, or the buffer does not hold a
+   *     snapshot of this schema.
+   */
+  public void restore(World world, SnapshotBuffer in) {
+    if (world.isUpdating()) {
+      throw new IllegalStateException("A world cannot be restored while it is being updated");
+    }
+    in.rewind();
+    if (in.getInt() != MAGIC) {
+      throw new IllegalStateException("Not a world snapshot");
+    }
+    if (in.getLong() != schemaId) {
+      throw new IllegalStateException("The snapshot was taken with a different component schema");
+    }
+    int nextEntityId = in.getInt();
+    restoreRandom(world.getRandom(), in);
+
+    world.removeAllEntities();
+    world.setNextEntityId(nextEntityId);
+    ArchetypeStorage storage = world.getStorage();
+
+    int archetypeCount = in.getVarInt();
+    if (restoredRows.length < archetypeCount) {
+      restoredRows = Arrays.copyOf(restoredRows, archetypeCount);
+    }
+    for (int a = 0; a < archetypeCount; a++) {
+      int columns = in.getVarInt();
+      ComponentCodec<?>[] columnCodecs = new ComponentCodec<?>[columns];
+      Class<?>[] types = new Class<?>[columns];
+      for (int column = 0; column < columns; column++) {
+        int codecIndex = in.getVarInt();
+        if (codecIndex >= codecs.length) {
+          throw new IllegalStateException("Unknown component codec: " + codecIndex);
+        }
+        columnCodecs[column] = codecs[codecIndex];
+        types[column] = codecs[codecIndex].type();
+      }
+      ComponentSignature signature = signatureOf(types);
+      if (rowComponents.length < columns) {
+        rowComponents = new Component[columns];
+      }
+
+      int rows = in.getVarInt();
+      Entity[] restored = new Entity[rows];
+      for (int row = 0; row < rows; row++) {
+        Entity entity = world.createDetachedEntity(in.getInt());
+        for (int column = 0; column < columns; column++) {
+          rowComponents[column] = columnCodecs[column].read(in);
+        }
+        storage.place(entity, signature, rowComponents, columns);
+        restored[row] = entity;
+      }
+      restoredRows[a] = restored;
+    }
+
+    int entityCount = in.getVarInt();
+    for (int i = 0; i < entityCount; i++) {
+      int archetype = in.getVarInt();
+      int rowAndFlag = in.getVarInt();
+      world.appendEntity(restoredRows[archetype][rowAndFlag >>> 1], (rowAndFlag & 1) != 0);
+    }
+    Arrays.fill(restoredRows, null);
+    Arrays.fill(rowComponents, null);
+  }
+
+  private int codecIndexOf(int typeId) {
+    if (typeId >= codecsByTypeId.length || codecsByTypeId[typeId] == null) {
+      throw new IllegalStateException(
+          "No snapshot codec for component " + ComponentTypes.typeOf(typeId).getName());
+    }
+    return codecIndexByTypeId[typeId];
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <C extends Component> void write(
+      ComponentCodec<C> codec, Component component, SnapshotBuffer out) {
+    codec.write((C) component, out);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ComponentSignature signatureOf(Class<?>[] types) {
+    return ComponentSignature.of((Class<? extends Component>[]) types);
+  }
+
+  private static void captureRandom(RandomService random, SnapshotBuffer out) {
+    out.putLong(random.getSeed());
+    out.putVarInt(random.streamCount());
+    for (int i = 0; i < random.streamCount(); i++) {
+      RandomStream stream = random.streamAt(i);
+      out.putInt(random.streamNameAt(i).hashCode());
+      for (int word = 0; word < 4; word++) {
+        out.putLong(stream.getState(word));
+      }
+    }
+  }
+
+  private static void restoreRandom(RandomService random, SnapshotBuffer in) {
+    random.restoreSeed(in.getLong());
+    int streams = in.getVarInt();
+    if (streams != random.streamCount()) {
+      throw new IllegalStateException(
+          "The snapshot has " + streams + " random streams, the world " + random.streamCount());
+    }
+    for (int i = 0; i < streams; i++) {
+      if (in.getInt() != random.streamNameAt(i).hashCode()) {
+        throw new IllegalStateException(
+            "The random stream '" + random.streamNameAt(i) + "' is not in the snapshot");
+      }
+      random.streamAt(i).setState(in.getLong(), in.getLong(), in.getLong(), in.getLong());
+    }
+  }
+}
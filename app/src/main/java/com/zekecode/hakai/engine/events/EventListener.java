@@ -0,0 +1,17 @@
+package com.zekecode.hakai.engine.events;
+
+/**
+ * Receives the events of a given type from a {@link FastEventBus}, without any reflection.
+ *
+ * @param <E> The type of event received.
+ */
+@FunctionalInterface
+public interface EventListener<E> {
+
+  /**
+   * Handles an event. Pooled events must not be kept once this method returns.
+   *
+   * @param event The posted event.
+   */
+  void onEvent(E event);
+}
@@ -0,0 +1,56 @@
+package com.zekecode.hakai.engine.events;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * A pool of reusable events of one type, so that posting events often does not allocate. Events are
+ * taken with {@link #obtain()}, filled, and posted on a {@link FastEventBus}, which releases them
+ * back to the pool once every listener received them. When the pool is empty, a new event is
+ * created, so a bus that never releases events only costs the allocations pooling would have saved.
+ *
+ * <p>A pool is not thread-safe: it belongs to the system posting its events, and events are
+ * released on the thread they were posted from.
+ *
+ * @param <E> The type of pooled event.
+ */
+public class EventPool<E extends RecyclableEvent> {
+
+  private final Supplier<E> factory;
+  private RecyclableEvent[] free = new RecyclableEvent[8];
+  private int size;
+
+  /**
+   * @param factory Creates a new, empty event when the pool has none left.
+   */
+  public EventPool(Supplier<E> factory) {
+    this.factory = factory;
+  }
+
+  /** Returns an unused event, to be filled before being posted. */
+  @SuppressWarnings("unchecked")
+  public E obtain() {
+    E event;
+    if (size == 0) {
+      event = factory.get();
+    } else {
+      event = (E) free[--size];
+      free[size] = null;
+    }
+    event.pool = this;
+    return event;
+  }
+
+  /** Returns the number of events waiting in the pool to be reused. */
+  public int available() {
+    return size;
+  }
+
+  /** Puts a released event back in the pool. */
+  void recycle(RecyclableEvent event) {
+    if (size == free.length) {
+      free = Arrays.copyOf(free, size * 2);
+    }
+    free[size++] = event;
+  }
+}
@@ -0,0 +1,282 @@
+package com.zekecode.hakai.engine.events;
+
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A drop-in replacement for Guava's {@link EventBus}, dispatching events without reflection.
+ *
+ * <p>Listeners are either subscribed directly for an event type through {@link #subscribe}, or
+ * found by {@link #register(Object)} on the {@link Subscribe} methods of an object, exactly like
+ * with Guava. Those methods are turned into {@link EventListener}s once, at registration. The
+ * listeners receiving each concrete event class, including the ones subscribed to its supertypes,
+ * are then resolved into an array the first time an event of that class is posted, so posting is a
+ * map lookup and a loop of direct calls.
+ *
+ * <p>Like Guava's default dispatcher, events posted by a listener are queued and delivered once
+ * the current event reached all of its listeners, and events without any listener are posted again
+ * as a {@link DeadEvent}. Unlike Guava, listeners are never synchronized: events are expected to
+ * be posted from a single thread, the one updating the world. {@link PooledEvent}s are released
+ * once delivered.
+ */
+public class FastEventBus extends EventBus {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  /** A listener, and the event type it was subscribed for. */
+  private record Subscription(Class<?> eventType, EventListener<Object> listener) {}
+
+  /** The events waiting to be delivered on a thread, and whether it is delivering one. */
+  private static final class DispatchState {
+    private final ArrayDeque<Object> queue = new ArrayDeque<>();
+    private boolean dispatching = false;
+  }
+
+  // Guarded by this
+  private final Map<Class<?>, List<EventListener<Object>>> listenersByType = new HashMap<>();
+  private final Map<Object, List<Subscription>> subscriptionsByTarget = new IdentityHashMap<>();
+
+  /** The listeners of every concrete event class posted so far. Cleared on any registration. */
+  private final Map<Class<?>, EventListener<Object>[]> dispatchCache = new ConcurrentHashMap<>();
+
+  private final ThreadLocal<DispatchState> dispatchState =
+      ThreadLocal.withInitial(DispatchState::new);
+
+  /**
+   * Subscribes a listener to the events of a type, and of its subtypes.
+   *
+   * @param eventType The type of events to receive.
+   * @param listener The listener.
+   */
+  @SuppressWarnings("unchecked")
+  public synchronized <E> void subscribe(Class<E> eventType, EventListener<? super E> listener) {
+    listenersByType
+        .computeIfAbsent(eventType, type -> new ArrayList<>())
+        .add((EventListener<Object>) listener);
+    dispatchCache.clear();
+  }
+
+  /**
+   * Removes a listener added with {@link #subscribe}.
+   *
+   * @param eventType The type of events the listener was subscribed to.
+   * @param listener The listener.
+   */
+  public synchronized void unsubscribe(Class<?> eventType, EventListener<?> listener) {
+    List<EventListener<Object>> listeners = listenersByType.get(eventType);
+    if (listeners == null || !listeners.remove(listener)) {
+      throw new IllegalArgumentException("Listener not subscribed to " + eventType.getName());
+    }
+    dispatchCache.clear();
+  }
+
+  /**
+   * Registers every {@link Subscribe} method of an object, including inherited ones. Registering
+   * the same object twice has no effect.
+   *
+   * @param object The object whose subscriber methods should be registered.
+   */
+  @Override
+  public synchronized void register(Object object) {
+    if (subscriptionsByTarget.containsKey(object)) {
+      return;
+    }
+    List<Subscription> subscriptions = new ArrayList<>();
+    for (Method method : findSubscriberMethods(object.getClass())) {
+      Class<?> eventType = method.getParameterTypes()[0];
+      EventListener<Object> listener = createListener(object, method);
+      listenersByType.computeIfAbsent(eventType, type -> new ArrayList<>()).add(listener);
+      subscriptions.add(new Subscription(eventType, listener));
+    }
+    subscriptionsByTarget.put(object, subscriptions);
+    dispatchCache.clear();
+  }
+
+  /**
+   * Unregisters every {@link Subscribe} method of an object.
+   *
+   * @param object The object whose subscriber methods should be unregistered.
+   * @throws IllegalArgumentException If the object was not registered.
+   */
+  @Override
+  public synchronized void unregister(Object object) {
+    List<Subscription> subscriptions = subscriptionsByTarget.remove(object);
+    if (subscriptions == null) {
+      throw new IllegalArgumentException(
+          "missing event subscriber for an annotated method. Is " + object + " registered?");
+    }
+    for (Subscription subscription : subscriptions) {
+      listenersByType.get(subscription.eventType()).remove(subscription.listener());
+    }
+    dispatchCache.clear();
+  }
+
+  /**
+   * Posts an event to all of its listeners, once the event being delivered on this thread (if any)
+   * reached all of its own.
+   *
+   * @param event The event to post.
+   */
+  @Override
+  public void post(Object event) {
+    DispatchState state = dispatchState.get();
+    state.queue.addLast(event);
+    if (state.dispatching) {
+      return;
+    }
+
+    state.dispatching = true;
+    try {
+      Object next;
+      while ((next = state.queue.pollFirst()) != null) {
+        deliver(next);
+      }
+    } finally {
+      state.queue.clear();
+      state.dispatching = false;
+    }
+  }
+
+  private void deliver(Object event) {
+    EventListener<Object>[] listeners = dispatchCache.get(event.getClass());
+    if (listeners == null) {
+      listeners = resolveListeners(event.getClass());
+    }
+
+    if (listeners.length == 0 && !(event instanceof DeadEvent)) {
+      post(new DeadEvent(this, event));
+      return; // A pooled event is released once its dead event has been delivered
+    }
+    for (EventListener<Object> listener : listeners) {
+      try {
+        listener.onEvent(event);
+      } catch (RuntimeException e) {
+        // Like Guava, a failing listener must not prevent the others from receiving the event.
+        System.err.println(
+            "Exception thrown by a listener of " + event.getClass().getSimpleName() + ": " + e);
+        e.printStackTrace();
+      }
+    }
+    Object delivered = event instanceof DeadEvent dead ? dead.getEvent() : event;
+    if (delivered instanceof PooledEvent pooled) {
+      pooled.release();
+    }
+  }
+
+  /** Collects the listeners of an event class and of its supertypes, most specific type first. */
+  @SuppressWarnings("unchecked")
+  private synchronized EventListener<Object>[] resolveListeners(Class<?> eventClass) {
+    List<EventListener<Object>> resolved = new ArrayList<>();
+    Set<Class<?>> visited = new HashSet<>();
+    for (Class<?> type = eventClass; type != null; type = type.getSuperclass()) {
+      collectListeners(type, visited, resolved);
+    }
+    EventListener<Object>[] listeners = resolved.toArray(new EventListener[0]);
+    dispatchCache.put(eventClass, listeners);
+    return listeners;
+  }
+
+  private void collectListeners(
+      Class<?> type, Set<Class<?>> visited, List<EventListener<Object>> resolved) {
+    if (!visited.add(type)) {
+      return;
+    }
+    List<EventListener<Object>> listeners = listenersByType.get(type);
+    if (listeners != null) {
+      resolved.addAll(listeners);
+    }
+    for (Class<?> implemented : type.getInterfaces()) {
+      collectListeners(implemented, visited, resolved);
+    }
+  }
+
+  /** Finds the {@link Subscribe} methods of a class, an overridden method only being kept once. */
+  private static List<Method> findSubscriberMethods(Class<?> type) {
+    List<Method> methods = new ArrayList<>();
+    Set<String> signatures = new HashSet<>();
+    for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+      for (Method method : current.getDeclaredMethods()) {
+        if (!method.isAnnotationPresent(Subscribe.class) || method.isSynthetic()) {
+          continue;
+        }
+        if (method.getParameterCount() != 1) {
+          throw new IllegalArgumentException(
+              "Method "
+                  + method
+                  + " has @Subscribe annotation but has "
+                  + method.getParameterCount()
+                  + " parameters. Subscriber methods must have exactly 1 parameter.");
+        }
+        String signature = method.getName() + Arrays.toString(method.getParameterTypes());
+        if (signatures.add(signature)) {
+          methods.add(method);
+        }
+      }
+    }
+    return methods;
+  }
+
+  /**
+   * Turns a subscriber method into a listener calling it directly, through a generated lambda when
+   * the method is public, and through a method handle otherwise.
+   */
+  @SuppressWarnings("unchecked")
+  private static EventListener<Object> createListener(Object target, Method method) {
+    Class<?> eventType = method.getParameterTypes()[0];
+    try {
+      if (Modifier.isPublic(method.getModifiers())
+          && Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+        MethodHandle handle = LOOKUP.unreflect(method);
+        CallSite site =
+            LambdaMetafactory.metafactory(
+                LOOKUP,
+                "onEvent",
+                MethodType.methodType(EventListener.class, method.getDeclaringClass()),
+                MethodType.methodType(void.class, Object.class),
+                handle,
+                MethodType.methodType(void.class, eventType));
+        return (EventListener<Object>) site.getTarget().invoke(target);
+      }
+    } catch (Throwable e) {
+      // Fall back to a method handle below.
+    }
+
+    try {
+      method.setAccessible(true);
+      MethodHandle handle =
+          LOOKUP
+              .unreflect(method)
+              .bindTo(target)
+              .asType(MethodType.methodType(void.class, Object.class));
+      return event -> {
+        try {
+          handle.invokeExact(event);
+        } catch (RuntimeException | Error e) {
+          throw e;
+        } catch (Throwable e) {
+          throw new IllegalStateException(e);
+        }
+      };
+    } catch (IllegalAccessException | RuntimeException e) {
+      throw new IllegalArgumentException("Cannot subscribe method " + method, e);
+    }
+  }
+}
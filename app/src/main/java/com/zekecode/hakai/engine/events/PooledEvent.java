@@ -0,0 +1,12 @@
+package com.zekecode.hakai.engine.events;
+
+/**
+ * An event taken from a pool, and given back to it once it has been delivered. Posting such events
+ * on a {@link FastEventBus} does not allocate: the bus calls {@link #release()} after the event
+ * reached every subscriber, so subscribers must not keep a reference to it.
+ */
+public interface PooledEvent {
+
+  /** Gives the event back to its pool. */
+  void release();
+}
@@ -0,0 +1,25 @@
+package com.zekecode.hakai.engine.events;
+
+/**
+ * Base class of the events that can be reused through an {@link EventPool}. An event obtained from
+ * a pool goes back to it when released; an event created with {@code new} is left alone, so such
+ * events can still be posted on any {@link com.google.common.eventbus.EventBus}.
+ */
+public abstract class RecyclableEvent implements PooledEvent {
+
+  /** The pool the event was obtained from, or null if it is not in use. */
+  EventPool<?> pool;
+
+  @Override
+  public final void release() {
+    EventPool<?> owner = pool;
+    if (owner != null) {
+      pool = null; // Releasing twice must not put the event in the pool twice
+      clear();
+      owner.recycle(this);
+    }
+  }
+
+  /** Drops the references held by the event, so a pooled event does not keep entities alive. */
+  protected void clear() {}
+}
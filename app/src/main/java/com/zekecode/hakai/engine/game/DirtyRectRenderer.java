@@ -0,0 +1,125 @@
+package com.zekecode.hakai.engine.game;
+
+import com.zekecode.hakai.engine.render.DirtyRegions;
+import com.zekecode.hakai.engine.render.RenderSnapshot;
+import com.zekecode.hakai.systems.RenderSystem;
+import com.zekecode.hakai.ui.BackgroundManager;
+import com.zekecode.hakai.ui.UIManager;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Draws a frame by only repainting the parts of the canvas that changed, for hardware where
+ * redrawing the whole canvas every frame is too slow.
+ *
+ * <p>The background and the static layer are composed once into a backdrop image. Every frame, the
+ * areas covered by the moving entities in the previous frame, plus the HUD band, are restored from
+ * the backdrop, and then the moving entities and the UI are drawn again. Everything else is left
+ * untouched on the canvas.
+ *
+ * <p>The whole canvas is still redrawn when the static layer changes, and while the game is not
+ * running, as overlays cover the whole screen. The background is not animated in this mode: the
+ * backdrop keeps the frame it was composed with.
+ */
+public class DirtyRectRenderer {
+
+  /** How far a renderer may draw outside of an entity's box: the glow of a drop, plus a pixel. */
+  private static final double OVERDRAW_MARGIN = 17;
+
+  private final GraphicsContext gc;
+  private final RenderSystem renderSystem;
+  private final BackgroundManager backgroundManager;
+  private final UIManager uiManager;
+  private final double width;
+  private final double height;
+
+  private final Canvas backdropCanvas;
+  private final WritableImage backdrop;
+  private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+  private boolean hasBackdrop = false;
+
+  // The boxes of the moving entities drawn in the previous and current frames
+  private DirtyRegions previousBounds = new DirtyRegions();
+  private DirtyRegions currentBounds = new DirtyRegions();
+  private GameState previousState;
+
+  public DirtyRectRenderer(
+      GraphicsContext gc,
+      RenderSystem renderSystem,
+      BackgroundManager backgroundManager,
+      UIManager uiManager) {
+    this.gc = gc;
+    this.renderSystem = renderSystem;
+    this.backgroundManager = backgroundManager;
+    this.uiManager = uiManager;
+    this.width = gc.getCanvas().getWidth();
+    this.height = gc.getCanvas().getHeight();
+    this.backdropCanvas = new Canvas(width, height);
+    this.backdrop = new WritableImage((int) Math.ceil(width), (int) Math.ceil(height));
+  }
+
+  /**
+   * Draws a frame.
+   *
+   * @param snapshot The snapshot to draw.
+   * @param alpha The interpolation factor to draw the moving entities with.
+   * @param state The current state of the game.
+   */
+  public void render(RenderSnapshot snapshot, double alpha, GameState state) {
+    boolean staticChanged = renderSystem.updateStaticLayer(snapshot);
+    if (staticChanged || !hasBackdrop) {
+      composeBackdrop();
+    }
+
+    if (staticChanged || state != GameState.RUNNING || state != previousState) {
+      gc.clearRect(0, 0, width, height);
+      gc.drawImage(backdrop, 0, 0);
+    } else {
+      for (int i = 0; i < previousBounds.size(); i++) {
+        restore(
+            previousBounds.getX(i) - OVERDRAW_MARGIN,
+            previousBounds.getY(i) - OVERDRAW_MARGIN,
+            previousBounds.getWidth(i) + 2 * OVERDRAW_MARGIN,
+            previousBounds.getHeight(i) + 2 * OVERDRAW_MARGIN);
+      }
+      // The HUD is semi-transparent, so it must not be drawn twice over itself.
+      restore(0, 0, width, uiManager.getHudHeight());
+    }
+
+    currentBounds.clear();
+    renderSystem.renderMoving(snapshot, alpha, currentBounds);
+    uiManager.render(gc, state, snapshot);
+
+    DirtyRegions drawn = currentBounds;
+    currentBounds = previousBounds;
+    previousBounds = drawn;
+    previousState = state;
+  }
+
+  /** Draws the background and the static layer into the backdrop image. */
+  private void composeBackdrop() {
+    GraphicsContext backdropGc = backdropCanvas.getGraphicsContext2D();
+    backdropGc.clearRect(0, 0, width, height);
+    backgroundManager.render(backdropGc);
+    renderSystem.drawStaticLayer(backdropGc);
+    backdropCanvas.snapshot(snapshotParameters, backdrop);
+    hasBackdrop = true;
+  }
+
+  /** Copies a region of the backdrop back onto the canvas. */
+  private void restore(double x, double y, double regionWidth, double regionHeight) {
+    // Keep the region inside the canvas, on whole pixels so no seam is left behind.
+    double left = Math.max(0, Math.floor(x));
+    double top = Math.max(0, Math.floor(y));
+    double right = Math.min(width, Math.ceil(x + regionWidth));
+    double bottom = Math.min(height, Math.ceil(y + regionHeight));
+    if (right <= left || bottom <= top) {
+      return;
+    }
+    gc.clearRect(left, top, right - left, bottom - top);
+    gc.drawImage(
+        backdrop, left, top, right - left, bottom - top, left, top, right - left, bottom - top);
+  }
+}
@@ -0,0 +1,55 @@
+package com.zekecode.hakai.engine.game;
+
+/**
+ * Turns variable frame times into a whole number of fixed simulation steps. The time that does not
+ * fill a whole step is kept for the next frame, and what is left over is exposed as an
+ * interpolation factor between the last two simulation states.
+ *
+ * <p>To avoid the "spiral of death" (a slow frame requiring more steps, which makes the next frame
+ * slower still), at most a fixed number of steps is run per frame and any time beyond that is
+ * dropped: the game slows down instead of freezing.
+ */
+public class FixedTimestep {
+
+  private final double step;
+  private final int maxSteps;
+  private double accumulator = 0;
+
+  /**
+   * Creates a fixed timestep with an empty accumulator.
+   *
+   * @param stepsPerSecond The simulation rate, e.g. 120 for 120 Hz.
+   * @param maxSteps The maximum number of steps run for a single frame.
+   */
+  public FixedTimestep(int stepsPerSecond, int maxSteps) {
+    this.step = 1.0 / stepsPerSecond;
+    this.maxSteps = maxSteps;
+  }
+
+  /**
+   * Adds the duration of a frame and returns how many simulation steps must be run for it.
+   *
+   * @param frameTime The time elapsed since the last frame, in seconds.
+   * @return The number of steps of {@link #getStep()} seconds to run, at most the configured max.
+   */
+  public int advance(double frameTime) {
+    accumulator += frameTime;
+    int dueSteps = (int) (accumulator / step);
+    accumulator -= dueSteps * step;
+    // Steps beyond the maximum are consumed without being run: the backlog is dropped.
+    return Math.min(dueSteps, maxSteps);
+  }
+
+  /**
+   * Returns how far the current time is between the last two simulation states, from 0 (the
+   * previous state) to 1 (the latest one).
+   */
+  public double getAlpha() {
+    return Math.max(0.0, Math.min(1.0, accumulator / step));
+  }
+
+  /** Returns the duration of a simulation step, in seconds. */
+  public double getStep() {
+    return step;
+  }
+}
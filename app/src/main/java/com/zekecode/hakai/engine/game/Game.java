@@ -1,5 +1,8 @@
 package com.zekecode.hakai.engine.game;
 
+import com.zekecode.hakai.engine.replay.ReplayRecorder;
+import java.nio.file.Path;
+
 /**
  * Represents the game instance. After being constructed by the GameBuilder, this class is a simple
  * lifecycle manager responsible for running and stopping the main game loop.
@@ -7,6 +10,8 @@ package com.zekecode.hakai.engine.game;
 public class Game {
 
   private final GameLoop gameLoop;
+  private final ReplayRecorder replayRecorder; // Null if the session is not recorded
+  private final Path replayFile;
 
   /**
    * Constructs a new Game instance.
@@ -14,7 +19,20 @@ public class Game {
    * @param gameLoop The fully configured game loop that this instance will manage.
    */
   public Game(GameLoop gameLoop) {
+    this(gameLoop, null, null);
+  }
+
+  /**
+   * Constructs a new Game instance whose session is recorded.
+   *
+   * @param gameLoop The fully configured game loop that this instance will manage.
+   * @param replayRecorder The recorder of the session, or null.
+   * @param replayFile Where to save the session when the game stops.
+   */
+  public Game(GameLoop gameLoop, ReplayRecorder replayRecorder, Path replayFile) {
     this.gameLoop = gameLoop;
+    this.replayRecorder = replayRecorder;
+    this.replayFile = replayFile;
   }
 
   /** Starts the main game loop. */
@@ -25,10 +43,14 @@ public class Game {
     gameLoop.start();
   }
 
-  /** Stops the main game loop. */
+  /** Stops the main game loop, then saves the replay of the session if it was recorded. */
   public void stop() {
     if (gameLoop != null) {
       gameLoop.stop();
     }
+    // The simulation is stopped, so the recorder is no longer written to.
+    if (replayRecorder != null && replayRecorder.getTickCount() > 0) {
+      replayRecorder.save(replayFile);
+    }
   }
 }
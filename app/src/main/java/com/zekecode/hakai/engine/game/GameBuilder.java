@@ -1,31 +1,39 @@
 package com.zekecode.hakai;
 
 import com.google.common.eventbus.EventBus;
+import com.zekecode.hakai.components.entities.PlayerStateComponent;
+import com.zekecode.hakai.components.entities.ScoreComponent;
 import com.zekecode.hakai.config.GameConfig;
-import com.zekecode.hakai.config.data.LevelData;
+import com.zekecode.hakai.config.data.CompiledLevel;
+import com.zekecode.hakai.core.EntityQuery;
 import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.engine.events.FastEventBus;
 import com.zekecode.hakai.engine.game.Game;
 import com.zekecode.hakai.engine.game.GameLoop;
 import com.zekecode.hakai.engine.game.GameManager;
+import com.zekecode.hakai.engine.game.GameSystems;
 import com.zekecode.hakai.engine.game.LevelManager;
+import com.zekecode.hakai.engine.game.Simulation;
 import com.zekecode.hakai.engine.input.InputHandler;
 import com.zekecode.hakai.engine.input.InputManager;
+import com.zekecode.hakai.engine.replay.ReplayRecorder;
+import com.zekecode.hakai.engine.rewind.RewindController;
+import com.zekecode.hakai.engine.rewind.WorldHistory;
+import com.zekecode.hakai.engine.snapshot.GameSnapshots;
 import com.zekecode.hakai.engine.sounds.SoundManager;
 import com.zekecode.hakai.entities.EntityFactory;
 import com.zekecode.hakai.entities.EntityRenderer;
 import com.zekecode.hakai.entities.RendererFactory;
+import com.zekecode.hakai.events.LivesChangedEvent;
+import com.zekecode.hakai.events.ScoreChangedEvent;
 import com.zekecode.hakai.powerups.EffectRegistry;
-import com.zekecode.hakai.systems.*;
 import com.zekecode.hakai.systems.RenderSystem;
-import com.zekecode.hakai.systems.collisions.BallBrickCollisionSystem;
-import com.zekecode.hakai.systems.collisions.BallPaddleCollisionSystem;
-import com.zekecode.hakai.systems.collisions.CollisionSystem;
-import com.zekecode.hakai.systems.collisions.PaddlePowerUpCollisionSystem;
-import com.zekecode.hakai.systems.powerups.EffectManagementSystem;
-import com.zekecode.hakai.systems.powerups.PowerUpSystem;
 import com.zekecode.hakai.ui.BackgroundManager;
 import com.zekecode.hakai.ui.SceneManager;
 import com.zekecode.hakai.ui.UIManager;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import javafx.scene.Scene;
 import javafx.scene.canvas.GraphicsContext;
@@ -39,104 +47,137 @@ public class GameBuilder {
 
   public Game build(GraphicsContext gc, Scene scene, String levelFile, SceneManager sceneManager) {
     // --- 1. CREATE CORE INFRASTRUCTURE ---
-    EventBus eventBus = new EventBus();
+    EventBus eventBus = new FastEventBus();
     World world = new World();
     EntityFactory entityFactory = new EntityFactory(world);
-    InputManager inputManager = new InputManager();
+    InputManager inputManager = new InputManager(); // Updated by the keyboard
     UIManager uiManager = new UIManager(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
     SoundManager soundManager = new SoundManager();
     List<EntityRenderer> renderers = RendererFactory.createRenderers();
     EffectRegistry effectRegistry = new EffectRegistry(entityFactory);
-    GameManager gameManager = new GameManager(world, sceneManager);
+    RewindController rewindController = createRewindController(world);
+    GameManager gameManager = new GameManager(world, sceneManager, rewindController);
     LevelManager levelManager = new LevelManager(entityFactory);
 
-    // --- 2. CREATE AND CONFIGURE ALL GAME SYSTEMS & LISTENERS ---
-    createAndRegisterSystems(
-        eventBus,
-        world,
-        gc,
-        inputManager,
-        entityFactory,
-        effectRegistry,
-        gameManager,
-        uiManager,
-        soundManager,
-        renderers);
-
-    // --- 3. SETUP INPUT HANDLING ---
+    // --- 2. RECORD THE SESSION, SO IT CAN BE REPLAYED ---
+    ReplayRecorder replayRecorder = null;
+    InputManager simulationInput = inputManager;
+    if (GameConfig.REPLAY_RECORDING_ENABLED && GameConfig.FIXED_TIMESTEP_ENABLED) {
+      simulationInput = new InputManager();
+      replayRecorder =
+          new ReplayRecorder(levelFile, world.getRandom(), inputManager, simulationInput);
+      world.addSystem(replayRecorder); // Latches the input before any other system runs
+    }
+
+    // --- 3. CREATE AND CONFIGURE ALL GAME SYSTEMS & LISTENERS ---
+    GameSystems systems =
+        createAndRegisterSystems(
+            eventBus,
+            world,
+            simulationInput,
+            entityFactory,
+            effectRegistry,
+            gameManager,
+            uiManager,
+            soundManager);
+    if (rewindController != null) {
+      systems.getCollisionSystem().setObserver(rewindController.getTrace());
+      rewindController.addListener(playerStatePoster(world, eventBus));
+      if (replayRecorder != null) {
+        // Steps undone by rewinding are no longer part of the session.
+        rewindController.addListener(replayRecorder::dropLastTicks);
+      }
+    }
+
+    // --- 4. SETUP INPUT HANDLING ---
     new InputHandler(inputManager, gameManager).attach(scene);
 
-    // --- 4. LOAD LEVEL AND CREATE INITIAL ENTITIES ---
-    LevelData level = levelManager.loadAndBuildLevel(levelFile);
+    // --- 5. LOAD LEVEL, SEED IT AND CREATE INITIAL ENTITIES ---
+    CompiledLevel level = levelManager.loadAndBuildLevel(levelFile);
+    world.getRandom().reseed(level.seed != null ? level.seed : System.nanoTime());
     BackgroundManager backgroundManager =
         new BackgroundManager(level.background, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
 
-    // Calculate initial positions using GameConfig for clarity and maintainability
-    double playerX = (GameConfig.SCREEN_WIDTH / 2.0) - (GameConfig.PADDLE_INITIAL_WIDTH / 2.0);
-    double playerY = GameConfig.SCREEN_HEIGHT - GameConfig.PADDLE_Y_OFFSET;
-    double ballX = (GameConfig.SCREEN_WIDTH / 2.0) - (GameConfig.BALL_WIDTH / 2.0);
-    double ballY = GameConfig.SCREEN_HEIGHT / 2.0;
-
-    entityFactory.createPlayerState();
-    entityFactory.createPlayer(playerX, playerY);
-    entityFactory.createBall(ballX, ballY);
+    entityFactory.createStartingEntities();
 
-    // --- 5. CREATE THE GAME LOOP AND THE FINAL GAME OBJECT ---
-    GameLoop gameLoop = new GameLoop(gameManager, uiManager, backgroundManager, gc);
+    // --- 6. CREATE THE GAME LOOP AND THE FINAL GAME OBJECT ---
+    // Rendering is driven by the game loop, once per displayed frame, not by the world update.
+    RenderSystem renderSystem = new RenderSystem(world, gc, renderers);
+    Simulation simulation = new Simulation(gameManager, renderSystem);
+    GameLoop gameLoop =
+        new GameLoop(gameManager, uiManager, backgroundManager, simulation, renderSystem, gc);
 
     // Return the fully constructed and ready-to-run game instance
-    return new Game(gameLoop);
+    return new Game(gameLoop, replayRecorder, replayFile(levelFile));
+  }
+
+  /** Returns the file to save the replay of a session to, named after the level and the time. */
+  private Path replayFile(String levelFile) {
+    String level = levelFile.replaceFirst("\\.[^.]*$", "");
+    String time = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+    return Path.of(GameConfig.REPLAY_DIRECTORY, level + "-" + time + ".hkr");
+  }
+
+  /**
+   * Creates what records the world so the game can be rewound, if enabled. The frames of the last
+   * {@link GameConfig#REWIND_SECONDS} are kept, within {@link GameConfig#REWIND_MEMORY_BYTES}.
+   *
+   * @return The controller, or null if rewinding is disabled.
+   */
+  private RewindController createRewindController(World world) {
+    if (!GameConfig.REWIND_ENABLED || !GameConfig.FIXED_TIMESTEP_ENABLED) {
+      return null;
+    }
+    WorldHistory history =
+        new WorldHistory(
+            GameSnapshots.create(),
+            GameConfig.REWIND_SECONDS * GameConfig.SIMULATION_RATE,
+            GameConfig.REWIND_KEYFRAME_INTERVAL,
+            GameConfig.REWIND_MEMORY_BYTES);
+    return new RewindController(world, history);
+  }
+
+  /**
+   * Creates a rewind listener posting the score and the lives held by the world after each restored
+   * frame, so that the HUD, which only follows their change events, shows the frame's values.
+   */
+  private RewindController.Listener playerStatePoster(World world, EventBus eventBus) {
+    EntityQuery scoreHolders = world.query(ScoreComponent.class);
+    EntityQuery playerStates = world.query(PlayerStateComponent.class);
+    return new RewindController.Listener() {
+      @Override
+      public void onFramesDropped(int droppedFrames) {}
+
+      @Override
+      public void onWorldRestored() {
+        scoreHolders
+            .first()
+            .flatMap(entity -> entity.getComponent(ScoreComponent.class))
+            .ifPresent(score -> eventBus.post(new ScoreChangedEvent(score.score)));
+        playerStates
+            .first()
+            .flatMap(entity -> entity.getComponent(PlayerStateComponent.class))
+            .ifPresent(state -> eventBus.post(new LivesChangedEvent(state.lives)));
+      }
+    };
   }
 
   /** A helper method to encapsulate the creation, registration, and wiring of all game systems. */
-  private void createAndRegisterSystems(
+  private GameSystems createAndRegisterSystems(
       EventBus eventBus,
       World world,
-      GraphicsContext gc,
       InputManager inputManager,
       EntityFactory entityFactory,
       EffectRegistry effectRegistry,
       GameManager gameManager,
       UIManager uiManager,
-      SoundManager soundManager,
-      List<EntityRenderer> renderers) {
-    // --- CREATE SYSTEMS ---
-    BrickSystem brickSystem = new BrickSystem(eventBus);
-    ScoreSystem scoreSystem = new ScoreSystem(world, eventBus);
-    LivesSystem livesSystem = new LivesSystem(world, eventBus);
-    BallSystem ballSystem = new BallSystem(inputManager, entityFactory);
-    BallPaddleCollisionSystem ballPaddleCollisionSystem = new BallPaddleCollisionSystem(eventBus);
-    BallBrickCollisionSystem ballBrickCollisionSystem = new BallBrickCollisionSystem(eventBus);
-    PaddlePowerUpCollisionSystem paddlePowerUpCollisionSystem =
-        new PaddlePowerUpCollisionSystem(eventBus);
-    PowerUpSystem powerUpSystem = new PowerUpSystem(world, entityFactory, effectRegistry);
-    LevelCompletionSystem levelCompletionSystem = new LevelCompletionSystem(world, eventBus);
-
-    // --- REGISTER EVENT LISTENERS ---
+      SoundManager soundManager) {
+    // --- REGISTER THE LISTENERS THAT ARE NOT PART OF THE SIMULATION ---
     eventBus.register(gameManager);
     uiManager.registerEventHandlers(eventBus);
     eventBus.register(soundManager);
-    eventBus.register(brickSystem);
-    eventBus.register(scoreSystem);
-    eventBus.register(livesSystem);
-    eventBus.register(ballSystem);
-    eventBus.register(ballPaddleCollisionSystem);
-    eventBus.register(ballBrickCollisionSystem);
-    eventBus.register(paddlePowerUpCollisionSystem);
-    eventBus.register(powerUpSystem);
-    eventBus.register(levelCompletionSystem);
-
-    // --- ADD SYSTEMS TO THE WORLD'S UPDATE LOOP ---
-    world.addSystem(new RenderSystem(gc, renderers));
-    world.addSystem(new MovementSystem(inputManager));
-    world.addSystem(new CollisionSystem(eventBus));
-    world.addSystem(new PhysicsSystem(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT, eventBus));
-    world.addSystem(ballSystem);
-    world.addSystem(brickSystem);
-    world.addSystem(scoreSystem);
-    world.addSystem(livesSystem);
-    world.addSystem(new EffectManagementSystem(effectRegistry));
-    world.addSystem(powerUpSystem);
-    world.addSystem(levelCompletionSystem);
+
+    // --- CREATE THE GAMEPLAY SYSTEMS, SHARED WITH THE HEADLESS RUNNER ---
+    return new GameSystems(world, eventBus, inputManager, entityFactory, effectRegistry);
   }
 }
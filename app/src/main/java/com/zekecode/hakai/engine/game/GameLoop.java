@@ -1,5 +1,8 @@
 package com.zekecode.hakai.engine.game;
 
+import com.zekecode.hakai.config.GameConfig;
+import com.zekecode.hakai.engine.render.RenderSnapshot;
+import com.zekecode.hakai.systems.RenderSystem;
 import com.zekecode.hakai.ui.BackgroundManager;
 import com.zekecode.hakai.ui.UIManager;
 import javafx.animation.AnimationTimer;
@@ -8,24 +11,57 @@ import javafx.scene.canvas.GraphicsContext;
 /**
  * The main game loop that drives the update and rendering cycle. It uses JavaFX's AnimationTimer to
  * call the handle method approximately 60 times per second.
+ *
+ * <p>Unless {@link GameConfig#SIMULATION_THREAD_ENABLED} is set, the {@link Simulation} is advanced
+ * from here, on the JavaFX thread. Either way, every frame draws the latest snapshot published by
+ * the simulation. With {@link GameConfig#DIRTY_RECT_RENDERING_ENABLED}, frames are drawn by a
+ * {@link DirtyRectRenderer} that only repaints what changed.
  */
 public class GameLoop extends AnimationTimer {
 
   private final GameManager gameManager;
   private final UIManager uiManager;
   private final BackgroundManager backgroundManager;
+  private final Simulation simulation;
+  private final RenderSystem renderSystem;
   private final GraphicsContext gc;
+  private final DirtyRectRenderer dirtyRectRenderer; // Null unless dirty-rect rendering is enabled
   private long lastUpdate = 0;
 
   public GameLoop(
       GameManager gameManager,
       UIManager uiManager,
       BackgroundManager backgroundManager,
+      Simulation simulation,
+      RenderSystem renderSystem,
       GraphicsContext gc) {
     this.gameManager = gameManager;
     this.uiManager = uiManager;
     this.backgroundManager = backgroundManager;
+    this.simulation = simulation;
+    this.renderSystem = renderSystem;
     this.gc = gc;
+    this.dirtyRectRenderer =
+        GameConfig.DIRTY_RECT_RENDERING_ENABLED
+            ? new DirtyRectRenderer(gc, renderSystem, backgroundManager, uiManager)
+            : null;
+  }
+
+  /** Starts the loop, along with the simulation thread when it is enabled. */
+  @Override
+  public void start() {
+    if (GameConfig.SIMULATION_THREAD_ENABLED) {
+      simulation.start();
+    }
+    super.start();
+  }
+
+  /** Stops the loop, the simulation thread and the background decoding. */
+  @Override
+  public void stop() {
+    super.stop();
+    simulation.stop();
+    backgroundManager.stop();
   }
 
   /**
@@ -43,18 +79,28 @@ public class GameLoop extends AnimationTimer {
 
     double deltaTime = (now - lastUpdate) / 1_000_000_000.0;
 
-    // 1. Clear the entire canvas
-    gc.clearRect(0, 0, gc.getCanvas().getWidth(), gc.getCanvas().getHeight());
+    // 1. Update game logic, unless it runs on its own thread
+    if (!simulation.isThreaded()) {
+      simulation.advance(deltaTime);
+    }
+    RenderSnapshot snapshot = simulation.getLatestSnapshot();
+    double alpha = simulation.alphaAt(snapshot, System.nanoTime());
 
-    // 2. Render the background first
-    backgroundManager.render(gc);
+    if (dirtyRectRenderer != null) {
+      dirtyRectRenderer.render(snapshot, alpha, gameManager.getCurrentState());
+    } else {
+      // 2. Clear the entire canvas
+      gc.clearRect(0, 0, gc.getCanvas().getWidth(), gc.getCanvas().getHeight());
 
-    // 3. Update game logic (which includes the RenderSystem drawing entities on top of the
-    // background)
-    gameManager.update(deltaTime);
+      // 3. Render the background first
+      backgroundManager.render(gc);
 
-    // 4. Render UI on top of everything else
-    uiManager.render(gc, gameManager.getCurrentState());
+      // 4. Render the entities on top of the background
+      renderSystem.render(snapshot, alpha);
+
+      // 5. Render UI on top of everything else
+      uiManager.render(gc, gameManager.getCurrentState(), snapshot);
+    }
 
     lastUpdate = now;
   }
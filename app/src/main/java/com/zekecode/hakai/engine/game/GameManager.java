@@ -2,10 +2,12 @@ package com.zekecode.hakai.engine.game;
 
 import com.google.common.eventbus.Subscribe;
 import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.engine.rewind.RewindController;
 import com.zekecode.hakai.events.LevelClearEvent;
 import com.zekecode.hakai.events.states.GameOverEvent;
 import com.zekecode.hakai.ui.SceneManager;
 import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.util.Duration;
 
 /** Manages the high-level game state (e.g., Running, Paused, GameOver). */
@@ -13,11 +15,24 @@ public class GameManager {
 
   private final World world;
   private final SceneManager sceneManager;
-  private GameState currentState;
+  private final RewindController rewindController; // Null if the game cannot be rewound
+  private volatile GameState currentState; // Read by the simulation thread, if any
+  private GameState stateBeforeRewind; // The state to return to when the rewind ends
 
   public GameManager(World world, SceneManager sceneManager) {
+    this(world, sceneManager, null);
+  }
+
+  /**
+   * @param world The world of the game.
+   * @param sceneManager The manager of the scenes, to return to the menu.
+   * @param rewindController Records the world after each update so the game can be rewound, or
+   *     null.
+   */
+  public GameManager(World world, SceneManager sceneManager, RewindController rewindController) {
     this.world = world;
     this.sceneManager = sceneManager;
+    this.rewindController = rewindController;
     this.currentState = GameState.RUNNING; // Default starting state
   }
 
@@ -49,9 +64,13 @@ public class GameManager {
   }
 
   private void returnToMenuAfterDelay() {
-    PauseTransition delay = new PauseTransition(Duration.seconds(3));
-    delay.setOnFinished(event -> sceneManager.showMainMenu());
-    delay.play();
+    // Events may be posted from the simulation thread, but animations belong to the FX thread.
+    Platform.runLater(
+        () -> {
+          PauseTransition delay = new PauseTransition(Duration.seconds(3));
+          delay.setOnFinished(event -> sceneManager.showMainMenu());
+          delay.play();
+        });
   }
 
   /**
@@ -62,9 +81,64 @@ public class GameManager {
   public void update(double deltaTime) {
     if (currentState == GameState.RUNNING) {
       world.update(deltaTime);
+      if (rewindController != null) {
+        rewindController.record();
+      }
+    }
+  }
+
+  /**
+   * Starts rewinding when the game is running or paused, or resumes it from the frame shown when
+   * it is being rewound. The change happens at the next {@link #applyRewindRequests()}.
+   */
+  public void toggleRewind() {
+    if (rewindController == null) {
+      return;
+    }
+    if (currentState == GameState.RUNNING || currentState == GameState.PAUSED) {
+      rewindController.requestRewind();
+    } else if (currentState == GameState.REWINDING) {
+      rewindController.requestResume();
+    }
+  }
+
+  /**
+   * Moves through the recorded frames while rewinding.
+   *
+   * @param frames The number of frames to move by, negative to go back in time.
+   */
+  public void stepRewind(int frames) {
+    if (rewindController != null && currentState == GameState.REWINDING) {
+      rewindController.requestStep(frames);
     }
   }
 
+  /**
+   * Applies the rewind requests made since the last call, switching to the REWINDING state as
+   * needed, and back to the state the game was in before, RUNNING or PAUSED, once it resumes. Must
+   * be called by the thread advancing the simulation.
+   *
+   * @return True if the world or the frame shown changed.
+   */
+  public boolean applyRewindRequests() {
+    if (rewindController == null) {
+      return false;
+    }
+    boolean changed = rewindController.applyRequests();
+    if (rewindController.isRewinding() && currentState != GameState.REWINDING) {
+      stateBeforeRewind = currentState;
+      setGameState(GameState.REWINDING);
+    } else if (!rewindController.isRewinding() && currentState == GameState.REWINDING) {
+      setGameState(stateBeforeRewind);
+    }
+    return changed;
+  }
+
+  /** Returns the controller rewinding the game, or null if it cannot be rewound. */
+  public RewindController getRewindController() {
+    return rewindController;
+  }
+
   /** Toggles between RUNNING and PAUSED states. */
   public void togglePause() {
     if (currentState == GameState.RUNNING || currentState == GameState.PAUSED) {
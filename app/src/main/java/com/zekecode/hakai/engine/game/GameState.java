@@ -5,6 +5,7 @@ public enum GameState {
   MAIN_MENU,
   RUNNING,
   PAUSED,
+  REWINDING,
   GAME_OVER,
   LEVEL_CLEAR
 }
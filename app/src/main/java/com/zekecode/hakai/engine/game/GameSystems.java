@@ -0,0 +1,105 @@
+package com.zekecode.hakai.engine.game;
+
+import com.google.common.eventbus.EventBus;
+import com.zekecode.hakai.components.physics.CollisionLayer;
+import com.zekecode.hakai.config.GameConfig;
+import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.engine.input.InputManager;
+import com.zekecode.hakai.entities.EntityFactory;
+import com.zekecode.hakai.powerups.EffectRegistry;
+import com.zekecode.hakai.systems.BallSystem;
+import com.zekecode.hakai.systems.BrickSystem;
+import com.zekecode.hakai.systems.InterpolationSystem;
+import com.zekecode.hakai.systems.LevelCompletionSystem;
+import com.zekecode.hakai.systems.LivesSystem;
+import com.zekecode.hakai.systems.MovementSystem;
+import com.zekecode.hakai.systems.PhysicsSystem;
+import com.zekecode.hakai.systems.ScoreSystem;
+import com.zekecode.hakai.systems.collisions.BallBrickCollisionSystem;
+import com.zekecode.hakai.systems.collisions.BallPaddleCollisionSystem;
+import com.zekecode.hakai.systems.collisions.CollisionSystem;
+import com.zekecode.hakai.systems.collisions.PaddlePowerUpCollisionSystem;
+import com.zekecode.hakai.systems.powerups.EffectManagementSystem;
+import com.zekecode.hakai.systems.powerups.PowerUpSystem;
+
+/**
+ * The gameplay systems of the game: everything that simulates the world, and nothing that draws it
+ * or plays sounds. Creating them wires them together, on the event bus, as collision handlers and
+ * in the update loop of the world, so a window-less world behaves exactly like the one on screen.
+ */
+public class GameSystems {
+
+  private final CollisionSystem collisionSystem;
+  private final PhysicsSystem physicsSystem;
+
+  /**
+   * Creates the gameplay systems and adds them to a world.
+   *
+   * @param world The world to simulate.
+   * @param eventBus The bus the systems talk through.
+   * @param inputManager The state of the keys controlling the paddle and the launches.
+   * @param entityFactory The factory the systems create entities with.
+   * @param effectRegistry The effects of the power-ups.
+   */
+  public GameSystems(
+      World world,
+      EventBus eventBus,
+      InputManager inputManager,
+      EntityFactory entityFactory,
+      EffectRegistry effectRegistry) {
+    // --- CREATE SYSTEMS ---
+    BrickSystem brickSystem = new BrickSystem(eventBus);
+    ScoreSystem scoreSystem = new ScoreSystem(world, eventBus);
+    LivesSystem livesSystem = new LivesSystem(world, eventBus);
+    BallSystem ballSystem = new BallSystem(world, inputManager, entityFactory);
+    BallPaddleCollisionSystem ballPaddleCollisionSystem = new BallPaddleCollisionSystem(eventBus);
+    BallBrickCollisionSystem ballBrickCollisionSystem = new BallBrickCollisionSystem(eventBus);
+    PaddlePowerUpCollisionSystem paddlePowerUpCollisionSystem =
+        new PaddlePowerUpCollisionSystem(eventBus);
+    collisionSystem = new CollisionSystem(world, eventBus);
+    physicsSystem =
+        new PhysicsSystem(
+            GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT, eventBus, collisionSystem);
+    PowerUpSystem powerUpSystem = new PowerUpSystem(entityFactory, effectRegistry);
+    LevelCompletionSystem levelCompletionSystem = new LevelCompletionSystem(world, eventBus);
+
+    // --- REGISTER EVENT LISTENERS ---
+    eventBus.register(brickSystem);
+    eventBus.register(scoreSystem);
+    eventBus.register(livesSystem);
+    eventBus.register(ballSystem);
+    eventBus.register(powerUpSystem);
+    eventBus.register(levelCompletionSystem);
+
+    // --- ROUTE COLLISIONS TO THEIR HANDLERS ---
+    collisionSystem.registerHandler(
+        CollisionLayer.BALL, CollisionLayer.PADDLE, ballPaddleCollisionSystem);
+    collisionSystem.registerHandler(
+        CollisionLayer.BALL, CollisionLayer.BRICK, ballBrickCollisionSystem);
+    collisionSystem.registerHandler(
+        CollisionLayer.PADDLE, CollisionLayer.DROP, paddlePowerUpCollisionSystem);
+
+    // --- ADD SYSTEMS TO THE WORLD'S UPDATE LOOP ---
+    world.addSystem(new InterpolationSystem(world));
+    world.addSystem(new MovementSystem(inputManager));
+    world.addSystem(collisionSystem);
+    world.addSystem(physicsSystem);
+    world.addSystem(ballSystem);
+    world.addSystem(brickSystem);
+    world.addSystem(scoreSystem);
+    world.addSystem(livesSystem);
+    world.addSystem(new EffectManagementSystem(effectRegistry));
+    world.addSystem(powerUpSystem);
+    world.addSystem(levelCompletionSystem);
+  }
+
+  /** Returns the system detecting collisions and sweeping the balls. */
+  public CollisionSystem getCollisionSystem() {
+    return collisionSystem;
+  }
+
+  /** Returns the system moving the entities. */
+  public PhysicsSystem getPhysicsSystem() {
+    return physicsSystem;
+  }
+}
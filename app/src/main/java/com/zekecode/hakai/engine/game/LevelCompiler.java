@@ -0,0 +1,320 @@
+package com.zekecode.hakai.engine.game;
+
+import com.zekecode.hakai.config.data.BrickTypeData;
+import com.zekecode.hakai.config.data.CompiledLevel;
+import com.zekecode.hakai.config.data.LayoutData;
+import com.zekecode.hakai.config.data.LevelData;
+import com.zekecode.hakai.config.data.PowerUpData;
+import com.zekecode.hakai.powerups.PowerUpTrigger;
+import com.zekecode.hakai.powerups.PowerUpType;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import javafx.scene.paint.Color;
+
+/**
+ * Turns the {@link LevelData} read from a YAML file into a {@link CompiledLevel}, and converts
+ * compiled levels to and from their binary form.
+ *
+ * <p>The binary form starts with the magic "HKLV" and a format version, followed by the metadata
+ * of the level, the color and power-up palettes, and then each array of the bricks as one block,
+ * so that loading a level is a handful of bulk copies.
+ */
+public final class LevelCompiler {
+
+  /** Changes with the binary form, so that levels cached in an older form are compiled again. */
+  public static final int VERSION = 1;
+
+  private static final int MAGIC = 0x484B4C56; // "HKLV"
+
+  private LevelCompiler() {}
+
+  /**
+   * Places the bricks of a level, resolving each character of its pattern to its brick type.
+   * Characters without a brick type are skipped with a warning, as when building the level.
+   *
+   * @param level The level as read from its file.
+   * @return The compiled level.
+   */
+  public static CompiledLevel compile(LevelData level) {
+    LayoutData layout = level.layout;
+    List<Integer> colors = new ArrayList<>();
+    Map<Integer, Integer> colorIndices = new HashMap<>();
+    List<PowerUpData> powerUps = new ArrayList<>();
+    Map<PowerUpData, Integer> powerUpIndices = new IdentityHashMap<>();
+    Map<Character, Integer> typeColors = new HashMap<>(); // Each color is parsed once per type
+
+    int capacity = 0;
+    for (String row : layout.pattern) {
+      capacity += row.length();
+    }
+    BrickArrays bricks = new BrickArrays(capacity);
+
+    List<String> pattern = layout.pattern;
+    for (int row = 0; row < pattern.size(); row++) {
+      String rowPattern = pattern.get(row);
+      for (int col = 0; col < rowPattern.length(); col++) {
+        char brickChar = rowPattern.charAt(col);
+        if (brickChar == '.') {
+          continue; // Skip empty spaces
+        }
+
+        BrickTypeData type = level.brickTypes.get(brickChar);
+        if (type == null) {
+          System.err.println("Warning: Brick type '" + brickChar + "' not defined in level file.");
+          continue;
+        }
+
+        // Determine brick dimensions, using defaults from the layout if not specified on the type
+        double brickWidth = (type.width != null) ? type.width : layout.defaultBrickWidth;
+        double brickHeight = (type.height != null) ? type.height : layout.defaultBrickHeight;
+
+        // Calculate brick position based on grid, padding, and offset
+        double x = (col * (layout.defaultBrickWidth + layout.padding)) + layout.padding;
+        double y = (row * (layout.defaultBrickHeight + layout.padding)) + layout.offsetTop;
+
+        int argb = typeColors.computeIfAbsent(brickChar, c -> toArgb(Color.web(type.color)));
+        int color =
+            colorIndices.computeIfAbsent(
+                argb,
+                value -> {
+                  colors.add(value);
+                  return colors.size() - 1;
+                });
+        int powerUp = -1;
+        if (type.powerUp != null) {
+          powerUp =
+              powerUpIndices.computeIfAbsent(
+                  type.powerUp,
+                  data -> {
+                    powerUps.add(data);
+                    return powerUps.size() - 1;
+                  });
+        }
+        bricks.add(x, y, brickWidth, brickHeight, color, type.hp, powerUp);
+      }
+    }
+
+    CompiledLevel compiled = new CompiledLevel();
+    compiled.levelName = level.levelName;
+    compiled.levelNumber = level.levelNumber;
+    compiled.background = level.background;
+    compiled.seed = level.seed;
+    compiled.colors = colors.stream().mapToInt(Integer::intValue).toArray();
+    compiled.powerUps = powerUps.toArray(new PowerUpData[0]);
+    bricks.copyTo(compiled);
+    return compiled;
+  }
+
+  /** Returns the binary form of a compiled level. */
+  public static byte[] encode(CompiledLevel level) {
+    byte[] name = utf8(level.levelName);
+    byte[] background = utf8(level.background);
+    int bricks = level.brickCount();
+    byte[][] powerUps = new byte[level.powerUps.length * 2][];
+    for (int i = 0; i < level.powerUps.length; i++) {
+      PowerUpData powerUp = level.powerUps[i];
+      powerUps[i * 2] = utf8(powerUp.type != null ? powerUp.type.name() : null);
+      powerUps[i * 2 + 1] = utf8(powerUp.trigger != null ? powerUp.trigger.name() : null);
+    }
+
+    int size = 4 * 3 + sizeOf(name) + sizeOf(background) + 1 + 8;
+    size += 4 + level.colors.length * 4 + 4;
+    for (byte[] value : powerUps) {
+      size += sizeOf(value);
+    }
+    size += 4 + bricks * (4 * 8 + 3 * 4);
+    ByteBuffer out = ByteBuffer.allocate(size);
+    out.putInt(MAGIC);
+    out.putInt(VERSION);
+    out.putInt(level.levelNumber);
+    putString(out, name);
+    putString(out, background);
+    out.put((byte) (level.seed != null ? 1 : 0));
+    out.putLong(level.seed != null ? level.seed : 0);
+
+    out.putInt(level.colors.length);
+    out.asIntBuffer().put(level.colors);
+    out.position(out.position() + level.colors.length * 4);
+    out.putInt(level.powerUps.length);
+    for (byte[] value : powerUps) {
+      putString(out, value);
+    }
+
+    out.putInt(bricks);
+    for (double[] values : new double[][] {level.x, level.y, level.width, level.height}) {
+      out.asDoubleBuffer().put(values);
+      out.position(out.position() + bricks * 8);
+    }
+    for (int[] values : new int[][] {level.color, level.hp, level.powerUp}) {
+      out.asIntBuffer().put(values);
+      out.position(out.position() + bricks * 4);
+    }
+    return out.array();
+  }
+
+  /**
+   * Reads the binary form of a compiled level.
+   *
+   * @throws IllegalStateException If the bytes are not a compiled level of the current version.
+   */
+  public static CompiledLevel decode(byte[] bytes) {
+    ByteBuffer in = ByteBuffer.wrap(bytes);
+    try {
+      if (in.getInt() != MAGIC) {
+        throw new IllegalStateException("Not a compiled level");
+      }
+      int version = in.getInt();
+      if (version != VERSION) {
+        throw new IllegalStateException("Unsupported compiled level version: " + version);
+      }
+      CompiledLevel level = new CompiledLevel();
+      level.levelNumber = in.getInt();
+      level.levelName = getString(in);
+      level.background = getString(in);
+      boolean hasSeed = in.get() != 0;
+      long seed = in.getLong();
+      level.seed = hasSeed ? seed : null;
+
+      level.colors = new int[getCount(in, 4)];
+      in.asIntBuffer().get(level.colors);
+      in.position(in.position() + level.colors.length * 4);
+      level.powerUps = new PowerUpData[getCount(in, 8)];
+      for (int i = 0; i < level.powerUps.length; i++) {
+        // Stored by name, so that reordering the enums does not change the meaning of a file.
+        PowerUpData powerUp = new PowerUpData();
+        String type = getString(in);
+        String trigger = getString(in);
+        powerUp.type = type != null ? PowerUpType.valueOf(type) : null;
+        powerUp.trigger = trigger != null ? PowerUpTrigger.valueOf(trigger) : null;
+        level.powerUps[i] = powerUp;
+      }
+
+      int bricks = getCount(in, 4 * 8 + 3 * 4);
+      level.x = getDoubles(in, bricks);
+      level.y = getDoubles(in, bricks);
+      level.width = getDoubles(in, bricks);
+      level.height = getDoubles(in, bricks);
+      level.color = getInts(in, bricks);
+      level.hp = getInts(in, bricks);
+      level.powerUp = getInts(in, bricks);
+      return level;
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+      throw new IllegalStateException("Truncated or corrupted compiled level", e);
+    }
+  }
+
+  /** Returns a color as ARGB, with 8 bits per channel. */
+  public static int toArgb(Color color) {
+    return (int) Math.round(color.getOpacity() * 255) << 24
+        | (int) Math.round(color.getRed() * 255) << 16
+        | (int) Math.round(color.getGreen() * 255) << 8
+        | (int) Math.round(color.getBlue() * 255);
+  }
+
+  /** Returns the color of an ARGB value. */
+  public static Color fromArgb(int argb) {
+    return Color.rgb(
+        (argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF, ((argb >>> 24) & 0xFF) / 255.0);
+  }
+
+  private static byte[] utf8(String value) {
+    return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+  }
+
+  private static int sizeOf(byte[] utf8) {
+    return 4 + (utf8 != null ? utf8.length : 0);
+  }
+
+  /** Writes a string as its length, -1 for null, followed by its UTF-8 bytes. */
+  private static void putString(ByteBuffer out, byte[] utf8) {
+    if (utf8 == null) {
+      out.putInt(-1);
+      return;
+    }
+    out.putInt(utf8.length);
+    out.put(utf8);
+  }
+
+  private static String getString(ByteBuffer in) {
+    int length = in.getInt();
+    if (length < 0) {
+      return null;
+    }
+    byte[] utf8 = new byte[length];
+    in.get(utf8);
+    return new String(utf8, StandardCharsets.UTF_8);
+  }
+
+  /** Reads the number of elements of a block, checking that the block fits in what is left. */
+  private static int getCount(ByteBuffer in, int minimumBytesEach) {
+    int count = in.getInt();
+    if (count < 0 || (long) count * minimumBytesEach > in.remaining()) {
+      throw new IllegalStateException("Truncated or corrupted compiled level");
+    }
+    return count;
+  }
+
+  private static double[] getDoubles(ByteBuffer in, int count) {
+    double[] values = new double[count];
+    in.asDoubleBuffer().get(values);
+    in.position(in.position() + count * 8);
+    return values;
+  }
+
+  private static int[] getInts(ByteBuffer in, int count) {
+    int[] values = new int[count];
+    in.asIntBuffer().get(values);
+    in.position(in.position() + count * 4);
+    return values;
+  }
+
+  /** The bricks of a level being compiled, growing in parallel arrays. */
+  private static final class BrickArrays {
+    private final double[] x;
+    private final double[] y;
+    private final double[] width;
+    private final double[] height;
+    private final int[] color;
+    private final int[] hp;
+    private final int[] powerUp;
+    private int size;
+
+    BrickArrays(int capacity) {
+      x = new double[capacity];
+      y = new double[capacity];
+      width = new double[capacity];
+      height = new double[capacity];
+      color = new int[capacity];
+      hp = new int[capacity];
+      powerUp = new int[capacity];
+    }
+
+    void add(double x, double y, double width, double height, int color, int hp, int powerUp) {
+      this.x[size] = x;
+      this.y[size] = y;
+      this.width[size] = width;
+      this.height[size] = height;
+      this.color[size] = color;
+      this.hp[size] = hp;
+      this.powerUp[size] = powerUp;
+      size++;
+    }
+
+    void copyTo(CompiledLevel level) {
+      level.x = Arrays.copyOf(x, size);
+      level.y = Arrays.copyOf(y, size);
+      level.width = Arrays.copyOf(width, size);
+      level.height = Arrays.copyOf(height, size);
+      level.color = Arrays.copyOf(color, size);
+      level.hp = Arrays.copyOf(hp, size);
+      level.powerUp = Arrays.copyOf(powerUp, size);
+    }
+  }
+}
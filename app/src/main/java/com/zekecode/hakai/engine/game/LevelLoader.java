@@ -1,25 +1,142 @@
 package com.zekecode.hakai.engine.game;
 
+import com.zekecode.hakai.config.GameConfig;
+import com.zekecode.hakai.config.data.CompiledLevel;
 import com.zekecode.hakai.config.data.LevelData;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import org.yaml.snakeyaml.Yaml;
 
 /**
  * LevelLoader is responsible for loading level data from YAML files located in the resources/levels
  * directory.
+ *
+ * <p>Levels are handed out compiled (see {@link LevelCompiler}). The first time a level file is
+ * loaded, it is parsed and compiled, and the result is cached on disk under a name holding the
+ * hash of the content of the file. Later loads of the same content read the cached arrays instead
+ * of parsing the YAML again, and a file that changed simply gets a new cache entry.
  */
 public class LevelLoader {
 
-  public LevelData loadLevel(String levelFileName) {
-    Yaml yaml = new Yaml();
+  private static final String CACHE_EXTENSION = ".hkl";
 
-    InputStream inputStream =
-        this.getClass().getClassLoader().getResourceAsStream("levels/" + levelFileName);
+  private final Path cacheDirectory; // Null if compiled levels are not cached on disk
 
-    if (inputStream == null) {
-      throw new IllegalArgumentException("Level file not found in resources: " + levelFileName);
+  /** Creates a loader caching compiled levels in {@link GameConfig#LEVEL_CACHE_DIRECTORY}. */
+  public LevelLoader() {
+    this(Path.of(GameConfig.LEVEL_CACHE_DIRECTORY));
+  }
+
+  /**
+   * @param cacheDirectory The directory to cache compiled levels in, or null to compile them at
+   *     every load.
+   */
+  public LevelLoader(Path cacheDirectory) {
+    this.cacheDirectory = cacheDirectory;
+  }
+
+  /**
+   * Loads a level, from the cache if it was already compiled.
+   *
+   * @param levelFileName The name of the level file (e.g., "level_1.yml").
+   * @return The compiled level.
+   */
+  public CompiledLevel loadLevel(String levelFileName) {
+    byte[] source = readResource(levelFileName);
+    Path cached = cacheDirectory != null ? cacheFile(levelFileName, source) : null;
+    if (cached != null && Files.isRegularFile(cached)) {
+      try {
+        return LevelCompiler.decode(Files.readAllBytes(cached));
+      } catch (IOException | IllegalStateException e) {
+        System.err.println("Recompiling " + levelFileName + ": " + e.getMessage());
+      }
+    }
+
+    CompiledLevel level = LevelCompiler.compile(parse(levelFileName, source));
+    if (cached != null) {
+      store(cached, levelFileName, level);
+    }
+    return level;
+  }
+
+  /**
+   * Parses a level file, without compiling it.
+   *
+   * @param levelFileName The name of the level file (e.g., "level_1.yml").
+   * @return The level as written in the file.
+   */
+  public LevelData loadLevelData(String levelFileName) {
+    return parse(levelFileName, readResource(levelFileName));
+  }
+
+  private LevelData parse(String levelFileName, byte[] source) {
+    LevelData level = new Yaml().loadAs(new ByteArrayInputStream(source), LevelData.class);
+    if (level == null || level.layout == null || level.brickTypes == null) {
+      throw new IllegalArgumentException(
+          "Level file has no layout or brick types: " + levelFileName);
     }
+    return level;
+  }
+
+  private byte[] readResource(String levelFileName) {
+    try (InputStream inputStream =
+        this.getClass().getClassLoader().getResourceAsStream("levels/" + levelFileName)) {
+      if (inputStream == null) {
+        throw new IllegalArgumentException("Level file not found in resources: " + levelFileName);
+      }
+      return inputStream.readAllBytes();
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not read level file: " + levelFileName, e);
+    }
+  }
+
+  /** Returns the cache file of a level, named after the level and the hash of its content. */
+  private Path cacheFile(String levelFileName, byte[] source) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update((byte) LevelCompiler.VERSION);
+      byte[] hash = digest.digest(source);
+      String key = HexFormat.of().formatHex(hash, 0, 8);
+      return cacheDirectory.resolve(baseName(levelFileName) + "-" + key + CACHE_EXTENSION);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * Writes a compiled level to its cache file, replacing the entries of older contents of the same
+   * level. Failures are reported on the console, as the level can still be played without them.
+   */
+  private void store(Path cached, String levelFileName, CompiledLevel level) {
+    try {
+      Files.createDirectories(cacheDirectory);
+      // Write aside first, so that a game started at the same time never reads half a file.
+      Path partial = Files.createTempFile(cacheDirectory, baseName(levelFileName), ".tmp");
+      Files.write(partial, LevelCompiler.encode(level));
+      Files.move(partial, cached, StandardCopyOption.REPLACE_EXISTING);
+
+      String stale = baseName(levelFileName) + "-*" + CACHE_EXTENSION;
+      try (DirectoryStream<Path> entries = Files.newDirectoryStream(cacheDirectory, stale)) {
+        for (Path entry : entries) {
+          if (!entry.equals(cached)) {
+            Files.deleteIfExists(entry);
+          }
+        }
+      }
+    } catch (IOException e) {
+      System.err.println("Could not cache the compiled level " + levelFileName + ": " + e);
+    }
+  }
 
-    return yaml.loadAs(inputStream, LevelData.class);
+  private static String baseName(String levelFileName) {
+    return levelFileName.replaceFirst("\\.[^.]*$", "").replace('/', '_');
   }
 }
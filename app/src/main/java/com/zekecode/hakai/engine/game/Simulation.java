@@ -0,0 +1,180 @@
+package com.zekecode.hakai.engine.game;
+
+import com.zekecode.hakai.config.GameConfig;
+import com.zekecode.hakai.engine.render.RenderSnapshot;
+import com.zekecode.hakai.engine.render.TripleBuffer;
+import com.zekecode.hakai.engine.rewind.RewindController;
+import com.zekecode.hakai.systems.RenderSystem;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Advances the world and publishes what it looks like after each batch of simulation steps, as a
+ * {@link RenderSnapshot} handed to the renderer through a {@link TripleBuffer}.
+ *
+ * <p>The simulation either is driven by the game loop, which calls {@link #advance(double)} on the
+ * JavaFX thread every frame, or runs on a thread of its own after {@link #start()}. In the second
+ * case a heavy simulation frame no longer delays input handling and drawing: the JavaFX thread
+ * keeps drawing the latest published snapshot.
+ *
+ * <p>When {@link GameConfig#FIXED_TIMESTEP_ENABLED} is set, the world advances in fixed steps of 1
+ * / {@link GameConfig#SIMULATION_RATE} seconds, as many as needed to catch up with the elapsed
+ * time. Otherwise the world is updated once per call with the elapsed time.
+ *
+ * <p>While the game is being rewound, the world shows a recorded frame, drawn as it was at the end
+ * of that frame, along with the pairs that collided during it.
+ */
+public class Simulation implements Runnable {
+
+  private final GameManager gameManager;
+  private final RenderSystem renderSystem;
+  private final FixedTimestep timestep =
+      new FixedTimestep(GameConfig.SIMULATION_RATE, GameConfig.MAX_SIMULATION_STEPS_PER_FRAME);
+  private final TripleBuffer<RenderSnapshot> snapshots = new TripleBuffer<>(RenderSnapshot::new);
+  private boolean published = false; // Owned by the thread advancing the simulation
+  private volatile boolean running = false;
+  private Thread thread; // Null unless the simulation runs on its own thread
+
+  public Simulation(GameManager gameManager, RenderSystem renderSystem) {
+    this.gameManager = gameManager;
+    this.renderSystem = renderSystem;
+  }
+
+  /**
+   * Runs the simulation steps due for the elapsed time and publishes the resulting snapshot.
+   *
+   * @param frameTime The time elapsed since the last call, in seconds.
+   */
+  public void advance(double frameTime) {
+    boolean rewound = gameManager.applyRewindRequests();
+
+    // Time only flows while the game runs, so a paused frame stays still.
+    int steps = 0;
+    if (gameManager.getCurrentState() == GameState.RUNNING) {
+      if (GameConfig.FIXED_TIMESTEP_ENABLED) {
+        steps = timestep.advance(frameTime);
+        for (int i = 0; i < steps; i++) {
+          gameManager.update(timestep.getStep());
+        }
+      } else {
+        gameManager.update(frameTime);
+        steps = 1;
+      }
+    }
+
+    // Nothing moved since the last snapshot (paused, or no step due yet): it can be drawn again.
+    if (steps == 0 && published && !rewound) {
+      return;
+    }
+    RenderSnapshot snapshot = snapshots.getWriteBuffer();
+    renderSystem.capture(snapshot);
+    captureRewind(snapshot);
+    snapshot.setCaptureTime(
+        GameConfig.FIXED_TIMESTEP_ENABLED && !isRewinding() ? timestep.getAlpha() : 1.0,
+        System.nanoTime());
+    snapshots.publish();
+    published = true;
+  }
+
+  /** Copies the position of the rewind cursor and the pairs to outline into a snapshot. */
+  private void captureRewind(RenderSnapshot snapshot) {
+    if (isRewinding()) {
+      RewindController rewind = gameManager.getRewindController();
+      snapshot.getCollisions().copyFrom(rewind.getShownCollisions());
+      snapshot.setRewindPosition(rewind.getFramesBack(), rewind.getFrameCount());
+    } else {
+      snapshot.getCollisions().clear();
+      snapshot.setRewindPosition(0, 0);
+    }
+  }
+
+  private boolean isRewinding() {
+    RewindController rewind = gameManager.getRewindController();
+    return rewind != null && rewind.isRewinding();
+  }
+
+  /**
+   * Returns the latest published snapshot. Must only be called from the thread drawing the game.
+   */
+  public RenderSnapshot getLatestSnapshot() {
+    return snapshots.acquire();
+  }
+
+  /**
+   * Returns the interpolation factor to draw a snapshot with at the given time. When the
+   * simulation runs on its own thread, the snapshot may have been captured a while ago, so the
+   * time elapsed since then is added to the factor it was captured with. Otherwise the factor is
+   * read from the timestep directly, as snapshots are not captured when no step was run.
+   *
+   * @param snapshot A snapshot returned by {@link #getLatestSnapshot()}.
+   * @param now The current {@link System#nanoTime()}.
+   * @return The interpolation factor, between 0 and 1.
+   */
+  public double alphaAt(RenderSnapshot snapshot, long now) {
+    if (!GameConfig.FIXED_TIMESTEP_ENABLED) {
+      return 1.0;
+    }
+    if (gameManager.getCurrentState() == GameState.REWINDING) {
+      return snapshot.getAlpha(); // Recorded frames are drawn as they ended
+    }
+    if (!running) {
+      return timestep.getAlpha();
+    }
+    if (gameManager.getCurrentState() != GameState.RUNNING) {
+      return snapshot.getAlpha();
+    }
+    double elapsedSteps = (now - snapshot.getCapturedAt()) / 1_000_000_000.0 / timestep.getStep();
+    return Math.max(0.0, Math.min(1.0, snapshot.getAlpha() + elapsedSteps));
+  }
+
+  /** Returns true if the simulation runs on its own thread. */
+  public boolean isThreaded() {
+    return thread != null;
+  }
+
+  /** Starts advancing the simulation on a dedicated thread. */
+  public void start() {
+    running = true;
+    thread = new Thread(this, "hakai-simulation");
+    thread.setDaemon(true); // Never keep the application alive on its own
+    thread.start();
+  }
+
+  /** Stops the simulation thread, waiting for the step in progress to complete. */
+  public void stop() {
+    running = false;
+    if (thread == null) {
+      return;
+    }
+    LockSupport.unpark(thread);
+    if (thread != Thread.currentThread()) {
+      try {
+        thread.join(1000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    thread = null;
+  }
+
+  /** The body of the simulation thread. */
+  @Override
+  public void run() {
+    long previous = System.nanoTime();
+    while (running) {
+      long now = System.nanoTime();
+      try {
+        advance((now - previous) / 1_000_000_000.0);
+      } catch (RuntimeException e) {
+        System.err.println("Simulation stopped after an error: " + e.getMessage());
+        e.printStackTrace();
+        running = false;
+        return;
+      }
+      previous = now;
+
+      // Sleep until the next step is due.
+      double untilNextStep = (1.0 - timestep.getAlpha()) * timestep.getStep();
+      LockSupport.parkNanos((long) (untilNextStep * 1_000_000_000.0));
+    }
+  }
+}
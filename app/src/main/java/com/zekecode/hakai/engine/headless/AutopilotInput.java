@@ -0,0 +1,89 @@
+package com.zekecode.hakai.engine.headless;
+
+import com.zekecode.hakai.components.InputComponent;
+import com.zekecode.hakai.components.ball.BallComponent;
+import com.zekecode.hakai.components.graphics.RenderComponent;
+import com.zekecode.hakai.components.physics.PositionComponent;
+import com.zekecode.hakai.components.physics.VelocityComponent;
+import com.zekecode.hakai.core.Archetype;
+import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.EntityQuery;
+import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.engine.input.InputManager;
+import java.util.List;
+import javafx.scene.input.KeyCode;
+
+/**
+ * A simple player for soak tests: it keeps the paddle under the falling ball closest to it, and
+ * launches every ball stuck to the paddle right away. It only acts through the keys, so the input
+ * handling of the game is exercised too.
+ */
+public class AutopilotInput implements InputDriver {
+
+  /** How far the paddle may be off the ball before moving, to avoid jittering around it. */
+  private static final double DEAD_ZONE = 4;
+
+  private final EntityQuery paddles;
+  private final EntityQuery balls;
+
+  public AutopilotInput(World world) {
+    this.paddles =
+        world.query(InputComponent.class, PositionComponent.class, RenderComponent.class);
+    this.balls =
+        world.query(
+            BallComponent.class,
+            PositionComponent.class,
+            VelocityComponent.class,
+            RenderComponent.class);
+  }
+
+  @Override
+  public void apply(long tick, InputManager input) {
+    boolean left = false;
+    boolean right = false;
+    if (!paddles.isEmpty()) {
+      Entity paddle = paddles.first().get();
+      double paddleX = paddle.getComponent(PositionComponent.class).get().x;
+      double paddleWidth = paddle.getComponent(RenderComponent.class).get().width;
+      double paddleCenter = paddleX + paddleWidth / 2;
+
+      double target = lowestFallingBallCenter();
+      if (!Double.isNaN(target)) {
+        left = target < paddleCenter - DEAD_ZONE;
+        right = target > paddleCenter + DEAD_ZONE;
+      }
+    }
+    setKey(input, KeyCode.LEFT, left);
+    setKey(input, KeyCode.RIGHT, right);
+    setKey(input, KeyCode.UP, true); // Only has an effect on balls stuck to the paddle
+  }
+
+  /** Changes the state of a key only if needed, as pressing a key allocates in the key set. */
+  private static void setKey(InputManager input, KeyCode key, boolean pressed) {
+    if (pressed && !input.isKeyPressed(key)) {
+      input.pressKey(key);
+    } else if (!pressed && input.isKeyPressed(key)) {
+      input.releaseKey(key);
+    }
+  }
+
+  /** Returns the horizontal center of the lowest ball moving down, or NaN if there is none. */
+  private double lowestFallingBallCenter() {
+    double lowestY = Double.NEGATIVE_INFINITY;
+    double center = Double.NaN;
+    List<Archetype> archetypes = balls.getArchetypes();
+    for (int i = 0; i < archetypes.size(); i++) {
+      Archetype archetype = archetypes.get(i);
+      PositionComponent[] positions = archetype.getColumn(PositionComponent.class);
+      VelocityComponent[] velocities = archetype.getColumn(VelocityComponent.class);
+      RenderComponent[] renders = archetype.getColumn(RenderComponent.class);
+      for (int row = 0; row < archetype.size(); row++) {
+        if (velocities[row].y > 0 && positions[row].y > lowestY) {
+          lowestY = positions[row].y;
+          center = positions[row].x + renders[row].width / 2;
+        }
+      }
+    }
+    return center;
+  }
+}
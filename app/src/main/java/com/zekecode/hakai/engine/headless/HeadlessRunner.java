@@ -0,0 +1,251 @@
+package com.zekecode.hakai.engine.headless;
+
+import com.zekecode.hakai.config.GameConfig;
+import com.zekecode.hakai.engine.replay.Replay;
+import com.zekecode.hakai.engine.replay.ReplayInput;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+
+/**
+ * Plays a level without any window and reports how fast the simulation ran, how much it allocated
+ * and how much time the garbage collector took, along with the slowest ticks. Meant for
+ * performance measurements and soak tests on machines with no display, e.g. a CI server, and for
+ * profiling a recorded session.
+ *
+ * <p>Options, all optional: {@code --level <file>} (default level_1.yml), {@code --ticks <n>}
+ * (default twenty minutes of play), {@code --warmup <n>} (default ten seconds), {@code --balls <n>}
+ * extra balls in flight (default 0), {@code --seed <n>} (default: the seed of the level, or 0)
+ * and {@code --input ai|idle|<script file>} (default ai). The warm-up ticks are run first and left
+ * out of the report. The run stops early if the level is over.
+ *
+ * <p>{@code --replay <file>} plays back a {@link Replay} instead, with its level, seed and input,
+ * from its first tick to its last one unless told otherwise. The options changing the played world,
+ * {@code --level}, {@code --balls}, {@code --seed} and {@code --input}, are refused along with it,
+ * as the recorded input would no longer match.
+ */
+public class HeadlessRunner {
+
+  private static final int SLOWEST_TICKS_REPORTED = 5;
+
+  public static void main(String[] args) throws IOException {
+    Options options = Options.parse(args);
+    String level = options.level();
+    long ticks;
+    long warmup;
+    HeadlessSimulation simulation;
+    if (options.replayFile() != null) {
+      Replay replay = Replay.load(Path.of(options.replayFile()));
+      level = replay.getLevelFile();
+      simulation = new HeadlessSimulation(level, replay.getSeed());
+      simulation.setInputDriver(new ReplayInput(replay));
+      warmup = options.warmup() != null ? options.warmup() : 0;
+      ticks = options.ticks() != null ? options.ticks() : replay.getTickCount() - warmup;
+    } else {
+      Long seed = options.seed();
+      simulation =
+          seed != null ? new HeadlessSimulation(level, seed) : new HeadlessSimulation(level);
+      simulation.setInputDriver(createInputDriver(options.input(), simulation));
+      simulation.addBalls(options.balls());
+      warmup = options.warmup() != null ? options.warmup() : 10 * (long) GameConfig.SIMULATION_RATE;
+      ticks =
+          options.ticks() != null
+              ? options.ticks()
+              : 20 * 60 * (long) GameConfig.SIMULATION_RATE; // 20 minutes
+    }
+
+    System.out.println(
+        "Running " + level + " for " + ticks + " ticks after " + warmup + " warm-up ticks...");
+    simulation.runUntil(warmup);
+    Report report = measure(simulation, warmup + ticks);
+    System.out.println(report.format());
+  }
+
+  /** Runs the simulation up to the given tick, measuring the ticks run. */
+  static Report measure(HeadlessSimulation simulation, long untilTick) {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+    long[] slowestTicks = new long[SLOWEST_TICKS_REPORTED]; // Slowest first
+    long[] slowestNanos = new long[SLOWEST_TICKS_REPORTED];
+
+    long gcCount = totalGcCount();
+    long gcTime = totalGcTime();
+    long allocated = threads.getThreadAllocatedBytes(threadId);
+    long startTick = simulation.getTick();
+    long start = System.nanoTime();
+
+    long tickStart = start;
+    while (simulation.getTick() < untilTick && simulation.step()) {
+      long tickEnd = System.nanoTime();
+      recordTick(simulation.getTick() - 1, tickEnd - tickStart, slowestTicks, slowestNanos);
+      tickStart = tickEnd;
+    }
+
+    long elapsed = System.nanoTime() - start;
+    return new Report(
+        simulation.getTick() - startTick,
+        elapsed,
+        threads.getThreadAllocatedBytes(threadId) - allocated,
+        totalGcCount() - gcCount,
+        totalGcTime() - gcTime,
+        simulation.getWorld().getEntities().size(),
+        simulation.getState().name(),
+        slowestTicks,
+        slowestNanos);
+  }
+
+  /** Keeps a tick among the slowest ones if it took longer than one of them. */
+  private static void recordTick(long tick, long nanos, long[] slowestTicks, long[] slowestNanos) {
+    int index = slowestNanos.length;
+    while (index > 0 && nanos > slowestNanos[index - 1]) {
+      index--;
+    }
+    if (index == slowestNanos.length) {
+      return;
+    }
+    int moved = slowestNanos.length - index - 1;
+    System.arraycopy(slowestTicks, index, slowestTicks, index + 1, moved);
+    System.arraycopy(slowestNanos, index, slowestNanos, index + 1, moved);
+    slowestTicks[index] = tick;
+    slowestNanos[index] = nanos;
+  }
+
+  private static InputDriver createInputDriver(String input, HeadlessSimulation simulation)
+      throws IOException {
+    return switch (input) {
+      case "ai" -> new AutopilotInput(simulation.getWorld());
+      case "idle" -> InputDriver.IDLE;
+      default -> ScriptedInput.load(Path.of(input));
+    };
+  }
+
+  private static long totalGcCount() {
+    long total = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      total += Math.max(0, gc.getCollectionCount());
+    }
+    return total;
+  }
+
+  private static long totalGcTime() {
+    long total = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      total += Math.max(0, gc.getCollectionTime());
+    }
+    return total;
+  }
+
+  /** The command line options. Those not given are null, or their default for the others. */
+  record Options(
+      String level,
+      Long ticks,
+      Long warmup,
+      int balls,
+      Long seed,
+      String input,
+      String replayFile) {
+
+    /**
+     * Reads the command line options.
+     *
+     * @throws IllegalArgumentException If an option is unknown, lacks its value, or cannot be used
+     *     with the others.
+     */
+    static Options parse(String[] args) {
+      String level = null;
+      Long ticks = null;
+      Long warmup = null;
+      Integer balls = null;
+      Long seed = null;
+      String input = null;
+      String replayFile = null;
+      for (int i = 0; i < args.length; i += 2) {
+        String option = args[i];
+        if (i + 1 >= args.length) {
+          throw new IllegalArgumentException("Missing value for option: " + option);
+        }
+        String value = args[i + 1];
+        switch (option) {
+          case "--level" -> level = value;
+          case "--ticks" -> ticks = parseNumber(option, value);
+          case "--warmup" -> warmup = parseNumber(option, value);
+          case "--balls" -> balls = (int) parseNumber(option, value);
+          case "--seed" -> seed = parseNumber(option, value);
+          case "--input" -> input = value;
+          case "--replay" -> replayFile = value;
+          default -> throw new IllegalArgumentException("Unknown option: " + option);
+        }
+      }
+
+      if (replayFile != null && (level != null || balls != null || seed != null || input != null)) {
+        throw new IllegalArgumentException(
+            "--replay plays its recorded level, seed and input: "
+                + "--level, --balls, --seed and --input cannot be used with it");
+      }
+      return new Options(
+          level != null ? level : "level_1.yml",
+          ticks,
+          warmup,
+          balls != null ? balls : 0,
+          seed,
+          input != null ? input : "ai",
+          replayFile);
+    }
+
+    private static long parseNumber(String option, String value) {
+      try {
+        return Long.parseLong(value);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Not a number for option " + option + ": " + value);
+      }
+    }
+  }
+
+  /** The measurements of a run. */
+  record Report(
+      long ticks,
+      long elapsedNanos,
+      long allocatedBytes,
+      long gcCount,
+      long gcMillis,
+      int entityCount,
+      String finalState,
+      long[] slowestTicks,
+      long[] slowestNanos) {
+
+    double ticksPerSecond() {
+      return elapsedNanos == 0 ? 0 : ticks * 1e9 / elapsedNanos;
+    }
+
+    double bytesPerTick() {
+      return ticks == 0 ? 0 : (double) allocatedBytes / ticks;
+    }
+
+    String format() {
+      StringBuilder slowest = new StringBuilder();
+      for (int i = 0; i < slowestNanos.length && slowestNanos[i] > 0; i++) {
+        slowest.append(
+            String.format(" #%d (%.3f ms)", slowestTicks[i], slowestNanos[i] / 1_000_000.0));
+      }
+      return String.format(
+          "Ticks: %d in %.2f s (%.0f ticks/s, %.1fx real time)%n"
+              + "Allocated: %d bytes (%.1f bytes/tick)%n"
+              + "GC: %d collections, %d ms%n"
+              + "Entities: %d, state: %s%n"
+              + "Slowest ticks:%s",
+          ticks,
+          elapsedNanos / 1e9,
+          ticksPerSecond(),
+          ticksPerSecond() / GameConfig.SIMULATION_RATE,
+          allocatedBytes,
+          bytesPerTick(),
+          gcCount,
+          gcMillis,
+          entityCount,
+          finalState,
+          slowest);
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package com.zekecode.hakai.engine.headless;
+
+import com.zekecode.hakai.config.GameConfig;
+import com.zekecode.hakai.config.data.CompiledLevel;
+import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.engine.events.FastEventBus;
+import com.zekecode.hakai.engine.game.GameState;
+import com.zekecode.hakai.engine.game.GameSystems;
+import com.zekecode.hakai.engine.game.LevelLoader;
+import com.zekecode.hakai.engine.game.LevelManager;
+import com.zekecode.hakai.engine.input.InputManager;
+import com.zekecode.hakai.engine.replay.ReplayRecorder;
+import com.zekecode.hakai.entities.EntityFactory;
+import com.zekecode.hakai.events.LevelClearEvent;
+import com.zekecode.hakai.events.states.GameOverEvent;
+import com.zekecode.hakai.powerups.EffectRegistry;
+
+/**
+ * A level played without any window: the world and every gameplay system of the game, stepped at
+ * the fixed simulation rate as fast as the machine allows, with an {@link InputDriver} in place of
+ * the keyboard. Nothing is drawn and no sound is played, so it runs in a plain JVM with no display.
+ */
+public class HeadlessSimulation {
+
+  /** The duration of a tick, the same as a simulation step of the game. */
+  public static final double STEP = 1.0 / GameConfig.SIMULATION_RATE;
+
+  private final World world = new World();
+  private final FastEventBus eventBus = new FastEventBus();
+  private final InputManager inputManager = new InputManager();
+  private final InputManager driverInput; // The input set by the driver, latched if recording
+  private final EntityFactory entityFactory = new EntityFactory(world);
+  private final GameSystems systems;
+  private final ReplayRecorder replayRecorder; // Null unless the session is recorded
+  private InputDriver inputDriver = InputDriver.IDLE;
+  private GameState state = GameState.RUNNING;
+  private long tick = 0;
+
+  /**
+   * Builds a level, with the paddle and the first ball, ready to be stepped. The level is played
+   * with the seed set in its file, or 0, so that runs are comparable with each other.
+   *
+   * @param levelFile The name of the level file (e.g., "level_1.yml").
+   */
+  public HeadlessSimulation(String levelFile) {
+    this(levelFile, null, false);
+  }
+
+  /**
+   * Builds a level, with the paddle and the first ball, ready to be stepped.
+   *
+   * @param levelFile The name of the level file (e.g., "level_1.yml").
+   * @param seed The seed of the random numbers of the level, e.g. the one of a replay.
+   */
+  public HeadlessSimulation(String levelFile, long seed) {
+    this(levelFile, Long.valueOf(seed), false);
+  }
+
+  private HeadlessSimulation(String levelFile, Long seed, boolean recorded) {
+    if (recorded) {
+      // Wired like the game: the recorder latches the driver's input before any other system runs
+      driverInput = new InputManager();
+      replayRecorder = new ReplayRecorder(levelFile, world.getRandom(), driverInput, inputManager);
+      world.addSystem(replayRecorder);
+    } else {
+      driverInput = inputManager;
+      replayRecorder = null;
+    }
+    systems =
+        new GameSystems(
+            world, eventBus, inputManager, entityFactory, new EffectRegistry(entityFactory));
+    eventBus.subscribe(GameOverEvent.class, event -> state = GameState.GAME_OVER);
+    eventBus.subscribe(LevelClearEvent.class, event -> state = GameState.LEVEL_CLEAR);
+
+    // Compiled at every run rather than cached on disk, so that runs leave no files behind.
+    LevelManager levelManager = new LevelManager(entityFactory, new LevelLoader(null));
+    CompiledLevel level = levelManager.loadAndBuildLevel(levelFile);
+    world.getRandom().reseed(seed != null ? seed : level.seed != null ? level.seed : 0);
+    entityFactory.createStartingEntities();
+  }
+
+  /**
+   * Builds a level like {@link #HeadlessSimulation(String, long)}, recording its input through a
+   * {@link ReplayRecorder} as the game does.
+   *
+   * @param levelFile The name of the level file (e.g., "level_1.yml").
+   * @param seed The seed of the random numbers of the level.
+   * @return The simulation, whose recorder is returned by {@link #getReplayRecorder()}.
+   */
+  public static HeadlessSimulation recorded(String levelFile, long seed) {
+    return new HeadlessSimulation(levelFile, seed, true);
+  }
+
+  /** Sets who plays the level. By default, nothing is ever pressed. */
+  public void setInputDriver(InputDriver inputDriver) {
+    this.inputDriver = inputDriver;
+  }
+
+  /**
+   * Adds balls already in flight, spread over the screen below the bricks, e.g. to soak-test a
+   * level with thousands of balls.
+   *
+   * @param count The number of balls to add.
+   */
+  public void addBalls(int count) {
+    double width = GameConfig.SCREEN_WIDTH - GameConfig.BALL_WIDTH;
+    double top = GameConfig.SCREEN_HEIGHT / 2.0;
+    double height = GameConfig.SCREEN_HEIGHT / 4.0;
+    for (int i = 0; i < count; i++) {
+      // A fixed, well spread layout, so that runs are comparable with each other.
+      double x = (i * 0.618034 % 1.0) * width;
+      double y = top + (i * 0.414214 % 1.0) * height;
+      entityFactory.createLaunchedBall(x, y);
+    }
+  }
+
+  /** Runs one tick, unless the level is over. Returns true if the tick was run. */
+  public boolean step() {
+    if (isOver()) {
+      return false;
+    }
+    inputDriver.apply(tick, driverInput);
+    world.update(STEP);
+    tick++;
+    return true;
+  }
+
+  /**
+   * Runs ticks until the given number of ticks has been run in total, or the level is over.
+   *
+   * @param ticks The total number of ticks to reach.
+   * @return The number of ticks run by this call.
+   */
+  public long runUntil(long ticks) {
+    long start = tick;
+    while (tick < ticks && step()) {
+      // Stepping is all there is to do
+    }
+    return tick - start;
+  }
+
+  /** Returns true once the game is over or the level is cleared. */
+  public boolean isOver() {
+    return state != GameState.RUNNING;
+  }
+
+  /** Returns the state of the level: running, game over or level clear. */
+  public GameState getState() {
+    return state;
+  }
+
+  /** Returns the number of ticks run so far. */
+  public long getTick() {
+    return tick;
+  }
+
+  public World getWorld() {
+    return world;
+  }
+
+  public FastEventBus getEventBus() {
+    return eventBus;
+  }
+
+  public EntityFactory getEntityFactory() {
+    return entityFactory;
+  }
+
+  public GameSystems getSystems() {
+    return systems;
+  }
+
+  /** Returns the recorder of the session, or null unless it was built {@link #recorded}. */
+  public ReplayRecorder getReplayRecorder() {
+    return replayRecorder;
+  }
+}
@@ -0,0 +1,22 @@
+package com.zekecode.hakai.engine.headless;
+
+import com.zekecode.hakai.engine.input.InputManager;
+
+/**
+ * Plays the part of the player in a {@link HeadlessSimulation}, deciding which keys are held during
+ * each tick.
+ */
+@FunctionalInterface
+public interface InputDriver {
+
+  /** An input driver that never presses anything. */
+  InputDriver IDLE = (tick, input) -> {};
+
+  /**
+   * Presses and releases keys before a tick is simulated.
+   *
+   * @param tick The number of the tick about to run, starting at 0.
+   * @param input The key state read by the systems.
+   */
+  void apply(long tick, InputManager input);
+}
@@ -0,0 +1,92 @@
+package com.zekecode.hakai.engine.headless;
+
+import com.zekecode.hakai.engine.input.InputManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import javafx.scene.input.KeyCode;
+
+/**
+ * Presses and releases keys at fixed ticks, following a script. Each line of a script holds a tick,
+ * an action and a key, e.g. {@code 120 press LEFT}; blank lines and lines starting with {@code #}
+ * are ignored. Keys stay pressed until released.
+ */
+public class ScriptedInput implements InputDriver {
+
+  private final long[] ticks;
+  private final boolean[] presses;
+  private final KeyCode[] keys;
+  private int next = 0;
+
+  private ScriptedInput(long[] ticks, boolean[] presses, KeyCode[] keys) {
+    this.ticks = ticks;
+    this.presses = presses;
+    this.keys = keys;
+  }
+
+  /**
+   * Reads a script from a file.
+   *
+   * @param file The script file.
+   * @return The input driver playing the script.
+   * @throws IOException If the file cannot be read.
+   */
+  public static ScriptedInput load(Path file) throws IOException {
+    return parse(Files.readAllLines(file));
+  }
+
+  /**
+   * Parses the lines of a script.
+   *
+   * @param lines The lines of the script. Actions must be listed in tick order.
+   * @return The input driver playing the script.
+   * @throws IllegalArgumentException If a line is malformed or out of order.
+   */
+  public static ScriptedInput parse(List<String> lines) {
+    long[] ticks = new long[lines.size()];
+    boolean[] presses = new boolean[lines.size()];
+    KeyCode[] keys = new KeyCode[lines.size()];
+    int count = 0;
+    for (int i = 0; i < lines.size(); i++) {
+      String line = lines.get(i).trim();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      String[] parts = line.split("\\s+");
+      if (parts.length != 3) {
+        throw new IllegalArgumentException("Line " + (i + 1) + ": expected 'tick action key'");
+      }
+      try {
+        ticks[count] = Long.parseLong(parts[0]);
+        keys[count] = KeyCode.valueOf(parts[2]);
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Line " + (i + 1) + ": " + e.getMessage(), e);
+      }
+      if (parts[1].equals("press")) {
+        presses[count] = true;
+      } else if (!parts[1].equals("release")) {
+        throw new IllegalArgumentException("Line " + (i + 1) + ": unknown action " + parts[1]);
+      }
+      if (count > 0 && ticks[count] < ticks[count - 1]) {
+        throw new IllegalArgumentException("Line " + (i + 1) + ": ticks must not go back in time");
+      }
+      count++;
+    }
+    return new ScriptedInput(
+        Arrays.copyOf(ticks, count), Arrays.copyOf(presses, count), Arrays.copyOf(keys, count));
+  }
+
+  @Override
+  public void apply(long tick, InputManager input) {
+    while (next < ticks.length && ticks[next] <= tick) {
+      if (presses[next]) {
+        input.pressKey(keys[next]);
+      } else {
+        input.releaseKey(keys[next]);
+      }
+      next++;
+    }
+  }
+}
@@ -7,9 +7,14 @@ import javafx.scene.input.KeyCode;
 /**
  * InputHandler sets up key event listeners on the main game scene and updates the InputManager
  * accordingly. It also handles global actions like pausing the game or returning to the main menu.
+ *
+ * <p>R starts or stops rewinding the game, and while it is rewound the comma and period keys step
+ * one frame back or forward, ten with Shift held.
  */
 public class InputHandler {
 
+  private static final int FAST_REWIND_STEP = 10; // Frames stepped with Shift held
+
   private final InputManager inputManager;
   private final GameManager gameManager;
 
@@ -32,6 +37,13 @@ public class InputHandler {
           if (event.getCode() == KeyCode.ESCAPE) {
             gameManager.returnToMenu();
           }
+          if (event.getCode() == KeyCode.R) {
+            gameManager.toggleRewind();
+          }
+          if (event.getCode() == KeyCode.COMMA || event.getCode() == KeyCode.PERIOD) {
+            int frames = event.isShiftDown() ? FAST_REWIND_STEP : 1;
+            gameManager.stepRewind(event.getCode() == KeyCode.COMMA ? -frames : frames);
+          }
         });
 
     scene.setOnKeyReleased(event -> inputManager.releaseKey(event.getCode()));
@@ -1,7 +1,7 @@
 package com.zekecode.hakai.engine.input;
 
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javafx.scene.input.KeyCode;
 
 /**
@@ -10,7 +10,8 @@ import javafx.scene.input.KeyCode;
  */
 public class InputManager {
 
-  private final Set<KeyCode> pressedKeys = new HashSet<>();
+  // Written by the JavaFX thread, possibly read by the simulation thread.
+  private final Set<KeyCode> pressedKeys = ConcurrentHashMap.newKeySet();
 
   public void pressKey(KeyCode code) {
     pressedKeys.add(code);
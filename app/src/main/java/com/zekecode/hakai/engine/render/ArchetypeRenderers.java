@@ -0,0 +1,67 @@
+package com.zekecode.hakai.engine.render;
+
+import com.zekecode.hakai.core.Archetype;
+import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.EntityQuery;
+import com.zekecode.hakai.entities.EntityRenderer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The renderer of each archetype of a query. Since renderers choose entities by the components they
+ * have, all the entities of an archetype share the same renderer: it is looked up once, when the
+ * archetype first holds an entity, and then cached. Changing the components of an entity moves it
+ * to another archetype, so the cache never needs to be invalidated.
+ */
+public final class ArchetypeRenderers {
+
+  /** The archetype has no renderer, so its entities are not drawn. */
+  public static final int NO_RENDERER = -1;
+
+  /** The archetype has never held an entity to try the renderers with. */
+  public static final int UNRESOLVED = -2;
+
+  private final EntityQuery query;
+  private final List<EntityRenderer> renderers;
+
+  /** The renderer of each archetype of the query, in the order of the query's archetypes. */
+  private int[] archetypeRenderers = new int[0];
+
+  public ArchetypeRenderers(EntityQuery query, List<EntityRenderer> renderers) {
+    this.query = query;
+    this.renderers = renderers;
+  }
+
+  /**
+   * Returns the renderer of the entities of an archetype of the query, resolving it the first time
+   * the archetype holds an entity.
+   *
+   * @param index The index of the archetype in {@link EntityQuery#getArchetypes()}.
+   * @return The index of the renderer, {@link #NO_RENDERER}, or {@link #UNRESOLVED} if the
+   *     archetype is still empty.
+   */
+  public int rendererOf(int index) {
+    if (index >= archetypeRenderers.length) {
+      int oldLength = archetypeRenderers.length;
+      archetypeRenderers = Arrays.copyOf(archetypeRenderers, index + 1);
+      Arrays.fill(archetypeRenderers, oldLength, archetypeRenderers.length, UNRESOLVED);
+    }
+    if (archetypeRenderers[index] == UNRESOLVED) {
+      Archetype archetype = query.getArchetypes().get(index);
+      if (archetype.size() > 0) {
+        archetypeRenderers[index] = findRenderer(archetype.getEntity(0));
+      }
+    }
+    return archetypeRenderers[index];
+  }
+
+  /** Returns the index of the first renderer supporting the entity, or NO_RENDERER. */
+  private int findRenderer(Entity entity) {
+    for (int i = 0; i < renderers.size(); i++) {
+      if (renderers.get(i).supports(entity)) {
+        return i;
+      }
+    }
+    return NO_RENDERER;
+  }
+}
@@ -0,0 +1,98 @@
+package com.zekecode.hakai.engine.render;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of rectangles whose content changed and must be redrawn. Each region is tagged
+ * with the sequence number of the first snapshot it belongs to, so that a reader can tell which
+ * regions it has already applied. The storage is reused, so adding regions does not allocate once
+ * the list has grown to its working size.
+ */
+public class DirtyRegions {
+
+  private long[] sequences = new long[16];
+  private double[] bounds = new double[16 * 4]; // x, y, width, height for each region
+  private int size;
+
+  /**
+   * Adds a region.
+   *
+   * @param sequence The sequence number of the first snapshot showing the change.
+   * @param x The left edge of the region.
+   * @param y The top edge of the region.
+   * @param width The width of the region.
+   * @param height The height of the region.
+   */
+  public void add(long sequence, double x, double y, double width, double height) {
+    if (size == sequences.length) {
+      sequences = Arrays.copyOf(sequences, size * 2);
+      bounds = Arrays.copyOf(bounds, size * 2 * 4);
+    }
+    sequences[size] = sequence;
+    bounds[size * 4] = x;
+    bounds[size * 4 + 1] = y;
+    bounds[size * 4 + 2] = width;
+    bounds[size * 4 + 3] = height;
+    size++;
+  }
+
+  /**
+   * Removes the regions already applied by the reader, keeping the others in order.
+   *
+   * @param sequence The sequence number of the last snapshot applied by the reader.
+   */
+  public void removeUpTo(long sequence) {
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      if (sequences[i] > sequence) {
+        sequences[kept] = sequences[i];
+        System.arraycopy(bounds, i * 4, bounds, kept * 4, 4);
+        kept++;
+      }
+    }
+    size = kept;
+  }
+
+  /** Removes every region. */
+  public void clear() {
+    size = 0;
+  }
+
+  /** Replaces the content of this list with the content of another one. */
+  public void copyFrom(DirtyRegions other) {
+    size = 0;
+    for (int i = 0; i < other.size; i++) {
+      add(
+          other.getSequence(i),
+          other.getX(i),
+          other.getY(i),
+          other.getWidth(i),
+          other.getHeight(i));
+    }
+  }
+
+  /** Returns the number of regions. */
+  public int size() {
+    return size;
+  }
+
+  public long getSequence(int index) {
+    return sequences[index];
+  }
+
+  public double getX(int index) {
+    return bounds[index * 4];
+  }
+
+  public double getY(int index) {
+    return bounds[index * 4 + 1];
+  }
+
+  public double getWidth(int index) {
+    return bounds[index * 4 + 2];
+  }
+
+  public double getHeight(int index) {
+    return bounds[index * 4 + 3];
+  }
+}
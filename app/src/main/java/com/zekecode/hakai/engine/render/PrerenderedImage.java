@@ -0,0 +1,53 @@
+package com.zekecode.hakai.engine.render;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * An image painted with regular canvas calls into an off-screen canvas, and then drawn with a
+ * single {@link GraphicsContext#drawImage} until it is painted again. Useful for content that is
+ * costly to draw (text, effects) but rarely changes. Must only be used from the JavaFX thread.
+ */
+public class PrerenderedImage {
+
+  private final Canvas canvas;
+  private final WritableImage image;
+  private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+  private boolean painted = false;
+
+  public PrerenderedImage(double width, double height) {
+    this.canvas = new Canvas(width, height);
+    this.image = new WritableImage((int) Math.ceil(width), (int) Math.ceil(height));
+    this.snapshotParameters.setFill(Color.TRANSPARENT);
+  }
+
+  /**
+   * Starts painting the image over. Must be followed by {@link #endPaint()}.
+   *
+   * @return The cleared graphics context to paint with.
+   */
+  public GraphicsContext beginPaint() {
+    GraphicsContext gc = canvas.getGraphicsContext2D();
+    gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    return gc;
+  }
+
+  /** Copies what was painted since {@link #beginPaint()} into the image. */
+  public void endPaint() {
+    canvas.snapshot(snapshotParameters, image);
+    painted = true;
+  }
+
+  /** Returns true if the image was painted at least once. */
+  public boolean isPainted() {
+    return painted;
+  }
+
+  /** Draws the image with its top-left corner at the given position. */
+  public void draw(GraphicsContext gc, double x, double y) {
+    gc.drawImage(image, x, y);
+  }
+}
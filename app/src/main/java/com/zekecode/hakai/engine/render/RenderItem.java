@@ -0,0 +1,30 @@
+package com.zekecode.hakai.engine.render;
+
+import javafx.scene.paint.Color;
+
+/**
+ * Everything needed to draw one entity, copied out of its components when a {@link RenderSnapshot}
+ * is captured. Renderers only ever see these copies, so they never read components that the
+ * simulation may be changing at the same time.
+ */
+public class RenderItem {
+  public double previousX;
+  public double previousY;
+  public double x;
+  public double y;
+  public double width;
+  public double height;
+  public Color color;
+
+  /** The ordinal of the entity's render layer. Items are drawn by increasing layer. */
+  public int layer;
+
+  /** True for entities that never move, drawn from the cached static layer. */
+  public boolean isStatic;
+
+  /** The index of the renderer chosen for the entity. */
+  public int renderer;
+
+  /** A renderer-specific style, see {@link com.zekecode.hakai.entities.EntityRenderer}. */
+  public int variant;
+}
@@ -0,0 +1,154 @@
+package com.zekecode.hakai.engine.render;
+
+import com.zekecode.hakai.engine.rewind.CollisionTrace;
+import java.util.Arrays;
+
+/**
+ * A copy of what is visible in one simulation state: the list of entities to draw, in drawing
+ * order, along with the interpolation factor of the moment it was captured. Snapshots are numbered
+ * in capture order and carry the regions of the static layer that changed and that the renderer
+ * may not have redrawn yet. While the game is being rewound, they also carry the position of the
+ * frame shown and the pairs that collided during it.
+ *
+ * <p>Snapshots are meant to be reused. {@link #clear()} keeps the items allocated so that, once the
+ * number of visible entities is stable, capturing a snapshot does not allocate.
+ */
+public class RenderSnapshot {
+
+  private RenderItem[] items = new RenderItem[64];
+  private RenderItem[] sorted = new RenderItem[64]; // Scratch space for sortByLayer
+  private int[] layerStarts = new int[0];
+  private int size;
+  private final DirtyRegions dirtyRegions = new DirtyRegions();
+  private long sequence;
+  private double alpha = 1.0;
+  private long capturedAt;
+  private final CollisionTrace collisions = new CollisionTrace(); // Empty unless rewinding
+  private int framesBack;
+  private int frameCount;
+
+  /** Empties the snapshot, keeping its items for reuse. */
+  public void clear() {
+    size = 0;
+  }
+
+  /** Appends an item and returns it. Its fields still hold whatever they held last time. */
+  public RenderItem add() {
+    if (size == items.length) {
+      items = Arrays.copyOf(items, size * 2);
+      sorted = new RenderItem[items.length];
+    }
+    RenderItem item = items[size];
+    if (item == null) {
+      item = new RenderItem();
+      items[size] = item;
+    }
+    size++;
+    return item;
+  }
+
+  /**
+   * Reorders the items by increasing {@link RenderItem#layer}, keeping the relative order of the
+   * items of a same layer. This is a counting sort, linear in the number of items.
+   *
+   * @param layerCount The number of layers, greater than the layer of every item.
+   */
+  public void sortByLayer(int layerCount) {
+    if (layerStarts.length < layerCount + 1) {
+      layerStarts = new int[layerCount + 1];
+    }
+    Arrays.fill(layerStarts, 0);
+    for (int i = 0; i < size; i++) {
+      layerStarts[items[i].layer + 1]++;
+    }
+    for (int layer = 1; layer <= layerCount; layer++) {
+      layerStarts[layer] += layerStarts[layer - 1];
+    }
+    for (int i = 0; i < size; i++) {
+      RenderItem item = items[i];
+      sorted[layerStarts[item.layer]++] = item;
+    }
+
+    // Keep the unused items at the end, so they can still be reused.
+    System.arraycopy(items, size, sorted, size, items.length - size);
+    RenderItem[] previous = items;
+    items = sorted;
+    sorted = previous;
+  }
+
+  /** Returns the number of items in the snapshot. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the item at the given index.
+   *
+   * @param index An index between 0 (inclusive) and {@link #size()} (exclusive).
+   * @return The item, in drawing order.
+   */
+  public RenderItem get(int index) {
+    return items[index];
+  }
+
+  /** Returns the sequence number of the snapshot, 0 if it was never captured. */
+  public long getSequence() {
+    return sequence;
+  }
+
+  public void setSequence(long sequence) {
+    this.sequence = sequence;
+  }
+
+  /** Returns the static layer regions changed up to this snapshot and not yet redrawn. */
+  public DirtyRegions getDirtyRegions() {
+    return dirtyRegions;
+  }
+
+  /** Returns the interpolation factor between the previous and current positions at capture. */
+  public double getAlpha() {
+    return alpha;
+  }
+
+  /** Returns the {@link System#nanoTime()} at which the snapshot was captured. */
+  public long getCapturedAt() {
+    return capturedAt;
+  }
+
+  /**
+   * Records when the snapshot was captured.
+   *
+   * @param alpha The interpolation factor at that moment.
+   * @param capturedAt The {@link System#nanoTime()} at that moment.
+   */
+  public void setCaptureTime(double alpha, long capturedAt) {
+    this.alpha = alpha;
+    this.capturedAt = capturedAt;
+  }
+
+  /** Returns the pairs that collided during the frame shown while rewinding. */
+  public CollisionTrace getCollisions() {
+    return collisions;
+  }
+
+  /** Returns how many frames the frame shown is behind the newest one, 0 unless rewinding. */
+  public int getFramesBack() {
+    return framesBack;
+  }
+
+  /** Returns the number of frames that can be stepped through, 0 unless rewinding. */
+  public int getFrameCount() {
+    return frameCount;
+  }
+
+  /**
+   * Records which frame is shown while rewinding.
+   *
+   * @param framesBack How many frames it is behind the newest one.
+   * @param frameCount The number of frames that can be stepped through.
+   */
+  public void setRewindPosition(int framesBack, int frameCount) {
+    this.framesBack = framesBack;
+    this.frameCount = frameCount;
+  }
+}
@@ -0,0 +1,198 @@
+package com.zekecode.hakai.engine.render;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * Pre-rendered images of entities whose look is costly to draw (gradients, polygons, effects such
+ * as drop shadows). Each look is painted once per size and variant into a shared atlas image, and
+ * then drawn with a single {@link GraphicsContext#drawImage} copying the right part of the atlas.
+ *
+ * <p>Renderers {@link #register(Painter, double) register} a painter for each kind of sprite they
+ * need and draw them through {@link #draw}. Sprites are baked the first time they are drawn, or
+ * ahead of time with {@link #prebake}. Baking uses an off-screen canvas, so the atlas must only be
+ * used from the JavaFX thread.
+ */
+public class SpriteAtlas {
+
+  /** Paints the look of a kind of sprite. */
+  public interface Painter {
+
+    /**
+     * Paints a sprite, its box starting at (0, 0). The padding given at registration is available
+     * around the box for effects that spill outside of it.
+     *
+     * @param gc The graphics context to paint with.
+     * @param width The width of the sprite's box.
+     * @param height The height of the sprite's box.
+     * @param variant The renderer-specific variant to paint.
+     */
+    void paint(GraphicsContext gc, double width, double height, int variant);
+  }
+
+  /** Where a baked sprite sits in the atlas pages. */
+  private record Sprite(Image page, int x, int y, int width, int height) {}
+
+  private static final int PAGE_SIZE = 512;
+
+  private final List<Painter> painters = new ArrayList<>();
+  private double[] paddings = new double[0];
+  private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+
+  // The sprites, in an open-addressing table keyed by kind, variant and size.
+  private long[] keys = new long[64];
+  private Sprite[] sprites = new Sprite[64];
+  private int spriteCount = 0;
+
+  // Shelf packing of the current page: sprites are laid out left to right in rows.
+  private WritableImage page;
+  private int shelfX;
+  private int shelfY;
+  private int shelfHeight;
+
+  public SpriteAtlas() {
+    snapshotParameters.setFill(Color.TRANSPARENT);
+  }
+
+  /**
+   * Registers a kind of sprite.
+   *
+   * @param painter Paints the sprites of this kind.
+   * @param padding The room the painter needs around the box of the sprite, e.g. for a glow.
+   * @return The id of the kind, to pass to {@link #draw} and {@link #prebake}.
+   */
+  public int register(Painter painter, double padding) {
+    int kind = painters.size();
+    painters.add(painter);
+    paddings = Arrays.copyOf(paddings, kind + 1);
+    paddings[kind] = padding;
+    return kind;
+  }
+
+  /**
+   * Bakes a sprite ahead of its first use.
+   *
+   * @param kind The id returned by {@link #register}.
+   * @param variant The variant to bake.
+   * @param width The width of the sprite's box.
+   * @param height The height of the sprite's box.
+   */
+  public void prebake(int kind, int variant, double width, double height) {
+    lookup(kind, variant, width, height);
+  }
+
+  /**
+   * Draws a sprite, baking it first if it was never drawn at this size.
+   *
+   * @param gc The graphics context to draw on.
+   * @param kind The id returned by {@link #register}.
+   * @param variant The variant to draw.
+   * @param x The left edge of the sprite's box.
+   * @param y The top edge of the sprite's box.
+   * @param width The width of the sprite's box.
+   * @param height The height of the sprite's box.
+   */
+  public void draw(
+      GraphicsContext gc, int kind, int variant, double x, double y, double width, double height) {
+    Sprite sprite = lookup(kind, variant, width, height);
+    double padding = paddings[kind];
+    gc.drawImage(
+        sprite.page(),
+        sprite.x(),
+        sprite.y(),
+        sprite.width(),
+        sprite.height(),
+        x - padding,
+        y - padding,
+        sprite.width(),
+        sprite.height());
+  }
+
+  private Sprite lookup(int kind, int variant, double width, double height) {
+    // Sizes are rounded to whole pixels; fractional sizes look the same once drawn.
+    long key =
+        ((long) kind << 48)
+            | ((long) (variant & 0xFFFF) << 32)
+            | ((long) (pixels(width) & 0xFFFF) << 16)
+            | (pixels(height) & 0xFFFF);
+    int mask = keys.length - 1;
+    int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+    while (sprites[slot] != null) {
+      if (keys[slot] == key) {
+        return sprites[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    Sprite sprite = bake(kind, variant, width, height);
+    keys[slot] = key;
+    sprites[slot] = sprite;
+    if (++spriteCount * 2 > keys.length) {
+      rehash();
+    }
+    return sprite;
+  }
+
+  private Sprite bake(int kind, int variant, double width, double height) {
+    double padding = paddings[kind];
+    int spriteWidth = pixels(width + 2 * padding);
+    int spriteHeight = pixels(height + 2 * padding);
+
+    Canvas canvas = new Canvas(spriteWidth, spriteHeight);
+    GraphicsContext gc = canvas.getGraphicsContext2D();
+    gc.translate(padding, padding);
+    painters.get(kind).paint(gc, width, height, variant);
+    WritableImage baked = canvas.snapshot(snapshotParameters, null);
+
+    if (spriteWidth > PAGE_SIZE || spriteHeight > PAGE_SIZE) {
+      // Too large to share a page: the baked image becomes a page of its own.
+      return new Sprite(baked, 0, 0, spriteWidth, spriteHeight);
+    }
+    if (page == null || shelfX + spriteWidth > PAGE_SIZE) {
+      shelfX = 0;
+      shelfY += shelfHeight;
+      shelfHeight = 0;
+    }
+    if (page == null || shelfY + spriteHeight > PAGE_SIZE) {
+      page = new WritableImage(PAGE_SIZE, PAGE_SIZE);
+      shelfX = 0;
+      shelfY = 0;
+      shelfHeight = 0;
+    }
+    page.getPixelWriter()
+        .setPixels(shelfX, shelfY, spriteWidth, spriteHeight, baked.getPixelReader(), 0, 0);
+    Sprite sprite = new Sprite(page, shelfX, shelfY, spriteWidth, spriteHeight);
+    shelfX += spriteWidth;
+    shelfHeight = Math.max(shelfHeight, spriteHeight);
+    return sprite;
+  }
+
+  private void rehash() {
+    long[] oldKeys = keys;
+    Sprite[] oldSprites = sprites;
+    keys = new long[oldKeys.length * 2];
+    sprites = new Sprite[oldSprites.length * 2];
+    int mask = keys.length - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldSprites[i] != null) {
+        int slot = Long.hashCode(oldKeys[i] * 0x9E3779B97F4A7C15L) & mask;
+        while (sprites[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        sprites[slot] = oldSprites[i];
+      }
+    }
+  }
+
+  private static int pixels(double size) {
+    return (int) Math.ceil(size);
+  }
+}
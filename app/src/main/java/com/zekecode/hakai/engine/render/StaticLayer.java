@@ -0,0 +1,114 @@
+package com.zekecode.hakai.engine.render;
+
+import com.zekecode.hakai.entities.EntityRenderer;
+import java.util.List;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * A pre-rendered image of every entity that never moves, such as the bricks. The entities are
+ * rasterized into an off-screen canvas, copied into an image, and the whole layer is then drawn
+ * with a single {@link GraphicsContext#drawImage} per frame instead of one or more draw calls per
+ * entity.
+ *
+ * <p>The layer is rasterized fully for the first snapshot. After that, only the dirty regions
+ * carried by newer snapshots are cleared and redrawn, with every static item overlapping them.
+ * Must only be used from the JavaFX thread.
+ */
+public class StaticLayer {
+
+  /** How far renderers may draw outside of an entity's bounds, e.g. with a thick border. */
+  private static final double OVERDRAW_MARGIN = 2.0;
+
+  private final Canvas canvas;
+  private final GraphicsContext layerGc;
+  private final WritableImage image;
+  private final SnapshotParameters snapshotParameters = new SnapshotParameters();
+  private long appliedSequence = 0;
+
+  public StaticLayer(double width, double height) {
+    this.canvas = new Canvas(width, height);
+    this.layerGc = canvas.getGraphicsContext2D();
+    this.image = new WritableImage((int) Math.ceil(width), (int) Math.ceil(height));
+    this.snapshotParameters.setFill(Color.TRANSPARENT);
+  }
+
+  /**
+   * Brings the layer up to date with a snapshot, redrawing the regions that changed since the last
+   * snapshot applied.
+   *
+   * @param snapshot The snapshot about to be drawn.
+   * @param renderers The renderers, indexed like {@link RenderItem#renderer}.
+   * @return True if the image of the layer changed.
+   */
+  public boolean update(RenderSnapshot snapshot, List<EntityRenderer> renderers) {
+    long sequence = snapshot.getSequence();
+    if (sequence == appliedSequence || sequence == 0) {
+      return false;
+    }
+
+    boolean changed = false;
+    if (appliedSequence == 0) {
+      redraw(snapshot, renderers, 0, 0, canvas.getWidth(), canvas.getHeight());
+      changed = true;
+    } else {
+      DirtyRegions regions = snapshot.getDirtyRegions();
+      for (int i = 0; i < regions.size(); i++) {
+        if (regions.getSequence(i) > appliedSequence) {
+          changed = true;
+          redraw(
+              snapshot,
+              renderers,
+              regions.getX(i) - OVERDRAW_MARGIN,
+              regions.getY(i) - OVERDRAW_MARGIN,
+              regions.getWidth(i) + 2 * OVERDRAW_MARGIN,
+              regions.getHeight(i) + 2 * OVERDRAW_MARGIN);
+        }
+      }
+    }
+    if (changed) {
+      canvas.snapshot(snapshotParameters, image);
+    }
+    appliedSequence = sequence;
+    return changed;
+  }
+
+  /** Returns the sequence number of the last snapshot applied to the layer. */
+  public long getAppliedSequence() {
+    return appliedSequence;
+  }
+
+  /** Draws the whole layer. */
+  public void draw(GraphicsContext gc) {
+    gc.drawImage(image, 0, 0);
+  }
+
+  /** Clears a region of the layer and redraws every static item overlapping it. */
+  private void redraw(
+      RenderSnapshot snapshot,
+      List<EntityRenderer> renderers,
+      double x,
+      double y,
+      double width,
+      double height) {
+    layerGc.save();
+    layerGc.beginPath();
+    layerGc.rect(x, y, width, height);
+    layerGc.clip();
+    layerGc.clearRect(x, y, width, height);
+    for (int i = 0; i < snapshot.size(); i++) {
+      RenderItem item = snapshot.get(i);
+      if (item.isStatic
+          && item.x - OVERDRAW_MARGIN < x + width
+          && item.x + item.width + OVERDRAW_MARGIN > x
+          && item.y - OVERDRAW_MARGIN < y + height
+          && item.y + item.height + OVERDRAW_MARGIN > y) {
+        renderers.get(item.renderer).render(layerGc, item, item.x, item.y);
+      }
+    }
+    layerGc.restore();
+  }
+}
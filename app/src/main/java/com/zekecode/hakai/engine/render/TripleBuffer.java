@@ -0,0 +1,68 @@
+package com.zekecode.hakai.engine.render;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands the latest version of a value from one writer thread to one reader thread without locks.
+ *
+ * <p>Three instances are allocated up front. The writer fills the back buffer and publishes it,
+ * which swaps it with the middle one; the reader acquires the middle buffer if a newer one has been
+ * published, which swaps it with the front one. Neither side ever waits for the other: the writer
+ * can publish several times between two reads (only the latest is kept) and the reader can read
+ * the same buffer again if nothing new was published.
+ *
+ * <p>{@link #getWriteBuffer()} and {@link #publish()} must only be called by the writer thread,
+ * {@link #acquire()} only by the reader thread.
+ *
+ * @param <T> The type of the buffered values.
+ */
+public final class TripleBuffer<T> {
+
+  /** Set in {@link #middle} when it holds a buffer the reader has not seen yet. */
+  private static final int FRESH = 1 << 2;
+
+  private static final int INDEX_MASK = FRESH - 1;
+
+  private final Object[] buffers = new Object[3];
+
+  /** The index of the middle buffer, plus the FRESH flag. The only state shared by both threads. */
+  private final AtomicInteger middle = new AtomicInteger(1);
+
+  private int back = 0; // Owned by the writer
+  private int front = 2; // Owned by the reader
+
+  /**
+   * Creates a triple buffer.
+   *
+   * @param factory Creates each of the three buffers.
+   */
+  public TripleBuffer(Supplier<T> factory) {
+    for (int i = 0; i < buffers.length; i++) {
+      buffers[i] = factory.get();
+    }
+  }
+
+  /** Returns the buffer the writer should fill before calling {@link #publish()}. */
+  @SuppressWarnings("unchecked")
+  public T getWriteBuffer() {
+    return (T) buffers[back];
+  }
+
+  /** Makes the write buffer the latest published one and hands the writer a free buffer. */
+  public void publish() {
+    back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+  }
+
+  /**
+   * Returns the most recently published buffer. It stays owned by the reader, and is not touched by
+   * the writer, until the next call.
+   */
+  @SuppressWarnings("unchecked")
+  public T acquire() {
+    if ((middle.get() & FRESH) != 0) {
+      front = middle.getAndSet(front) & INDEX_MASK;
+    }
+    return (T) buffers[front];
+  }
+}
@@ -0,0 +1,44 @@
+package com.zekecode.hakai.engine.replay;
+
+import com.zekecode.hakai.engine.input.InputManager;
+import javafx.scene.input.KeyCode;
+
+/**
+ * Packs the state of the keys read by the gameplay systems into the bits of a single byte, one bit
+ * per key, so that a whole tick of input is stored in one byte of a replay.
+ */
+public final class InputMask {
+
+  /** The keys read by the gameplay systems, in bit order. At most 8 keys fit in a mask. */
+  private static final KeyCode[] KEYS = {
+    KeyCode.LEFT, KeyCode.A, KeyCode.RIGHT, KeyCode.D, KeyCode.UP, KeyCode.W
+  };
+
+  private InputMask() {}
+
+  /** Returns the mask of the keys currently pressed. */
+  public static byte capture(InputManager input) {
+    int mask = 0;
+    for (int i = 0; i < KEYS.length; i++) {
+      if (input.isKeyPressed(KEYS[i])) {
+        mask |= 1 << i;
+      }
+    }
+    return (byte) mask;
+  }
+
+  /**
+   * Presses the keys of a mask and releases the others. Keys already in the right state are left
+   * alone, as pressing a key allocates in the set of pressed keys.
+   */
+  public static void apply(byte mask, InputManager input) {
+    for (int i = 0; i < KEYS.length; i++) {
+      boolean pressed = (mask & (1 << i)) != 0;
+      if (pressed && !input.isKeyPressed(KEYS[i])) {
+        input.pressKey(KEYS[i]);
+      } else if (!pressed && input.isKeyPressed(KEYS[i])) {
+        input.releaseKey(KEYS[i]);
+      }
+    }
+  }
+}
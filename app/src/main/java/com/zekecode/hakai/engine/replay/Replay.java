@@ -0,0 +1,154 @@
+package com.zekecode.hakai.engine.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A recorded session: the level played, the seed of its random numbers and the keys held at every
+ * simulation tick. Replaying the input of each tick into a world built from the same level and seed
+ * reproduces the session exactly.
+ *
+ * <p>The binary format is a header (magic number, version, level file, seed, tick count) followed
+ * by the input masks, run-length encoded: each run is a mask byte followed by the number of ticks
+ * it lasts, as a variable-length integer. Keys are held for many ticks in a row, so a twenty minute
+ * session takes a few kilobytes.
+ */
+public final class Replay {
+
+  private static final int MAGIC = 0x484B5250; // "HKRP"
+  private static final int VERSION = 1;
+
+  private final String levelFile;
+  private final long seed;
+  private final byte[] masks; // One per tick
+
+  /**
+   * @param levelFile The name of the level file (e.g., "level_1.yml").
+   * @param seed The seed the level was played with.
+   * @param masks The {@link InputMask} of each tick, in order. The array is not copied.
+   */
+  public Replay(String levelFile, long seed, byte[] masks) {
+    this.levelFile = levelFile;
+    this.seed = seed;
+    this.masks = masks;
+  }
+
+  public String getLevelFile() {
+    return levelFile;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  /** Returns the number of recorded ticks. */
+  public int getTickCount() {
+    return masks.length;
+  }
+
+  /** Returns the input mask of a tick. */
+  public byte getMask(int tick) {
+    return masks[tick];
+  }
+
+  /** Writes the replay to a file, replacing it if it exists. */
+  public void save(Path file) throws IOException {
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+      write(out);
+    }
+  }
+
+  /** Reads a replay from a file. */
+  public static Replay load(Path file) throws IOException {
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+      return read(in);
+    }
+  }
+
+  /** Writes the replay to a stream, leaving the stream open. */
+  public void write(OutputStream stream) throws IOException {
+    DataOutputStream out = new DataOutputStream(stream);
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    out.writeUTF(levelFile);
+    out.writeLong(seed);
+    out.writeInt(masks.length);
+    int tick = 0;
+    while (tick < masks.length) {
+      int run = 1;
+      while (tick + run < masks.length && masks[tick + run] == masks[tick]) {
+        run++;
+      }
+      out.writeByte(masks[tick]);
+      writeVarInt(out, run);
+      tick += run;
+    }
+    out.flush();
+  }
+
+  /**
+   * Reads a replay from a stream.
+   *
+   * @throws IOException If the stream cannot be read or does not hold a valid replay.
+   */
+  public static Replay read(InputStream stream) throws IOException {
+    DataInputStream in = new DataInputStream(stream);
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a replay file");
+    }
+    int version = in.readUnsignedByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported replay version: " + version);
+    }
+    String levelFile = in.readUTF();
+    long seed = in.readLong();
+    int tickCount = in.readInt();
+    if (tickCount < 0) {
+      throw new IOException("Corrupted replay: negative tick count");
+    }
+    byte[] masks = new byte[tickCount];
+    int tick = 0;
+    while (tick < tickCount) {
+      byte mask = in.readByte();
+      int run = readVarInt(in);
+      if (run <= 0 || run > tickCount - tick) {
+        throw new IOException("Corrupted replay: invalid run of " + run + " ticks at " + tick);
+      }
+      Arrays.fill(masks, tick, tick + run, mask);
+      tick += run;
+    }
+    return new Replay(levelFile, seed, masks);
+  }
+
+  private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  private static int readVarInt(DataInputStream in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Corrupted replay: run length too long");
+  }
+}
@@ -0,0 +1,22 @@
+package com.zekecode.hakai.engine.replay;
+
+import com.zekecode.hakai.engine.headless.InputDriver;
+import com.zekecode.hakai.engine.input.InputManager;
+
+/**
+ * Plays back the input of a {@link Replay}, tick by tick. Past the end of the replay, every key is
+ * released.
+ */
+public class ReplayInput implements InputDriver {
+
+  private final Replay replay;
+
+  public ReplayInput(Replay replay) {
+    this.replay = replay;
+  }
+
+  @Override
+  public void apply(long tick, InputManager input) {
+    InputMask.apply(tick < replay.getTickCount() ? replay.getMask((int) tick) : 0, input);
+  }
+}
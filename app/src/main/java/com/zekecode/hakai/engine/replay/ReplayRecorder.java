@@ -0,0 +1,91 @@
+package com.zekecode.hakai.engine.replay;
+
+import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.GameSystem;
+import com.zekecode.hakai.core.RandomService;
+import com.zekecode.hakai.engine.input.InputManager;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Records the input of a session, tick by tick, into a {@link Replay}. Must be the first system of
+ * the world.
+ *
+ * <p>The keyboard updates a live {@link InputManager} whenever keys change, possibly in the middle
+ * of a simulation step when the simulation runs on its own thread. So that the recording matches
+ * what the game did, the gameplay systems read a second input manager instead, which this system
+ * latches once per tick from the live one, right when it records the tick.
+ */
+public class ReplayRecorder extends GameSystem {
+
+  private final String levelFile;
+  private final RandomService random;
+  private final InputManager liveInput;
+  private final InputManager simulationInput;
+  private byte[] masks = new byte[1024];
+  private int tickCount = 0;
+
+  /**
+   * @param levelFile The name of the level file being played.
+   * @param random The source of the random numbers of the world, to record the seed of.
+   * @param liveInput The input manager updated by the keyboard.
+   * @param simulationInput The input manager read by the gameplay systems.
+   */
+  public ReplayRecorder(
+      String levelFile,
+      RandomService random,
+      InputManager liveInput,
+      InputManager simulationInput) {
+    this.levelFile = levelFile;
+    this.random = random;
+    this.liveInput = liveInput;
+    this.simulationInput = simulationInput;
+  }
+
+  @Override
+  public void update(List<Entity> entities, double deltaTime) {
+    byte mask = InputMask.capture(liveInput);
+    InputMask.apply(mask, simulationInput);
+    if (tickCount == masks.length) {
+      masks = Arrays.copyOf(masks, tickCount * 2);
+    }
+    masks[tickCount++] = mask;
+  }
+
+  /**
+   * Forgets the last ticks recorded, e.g. the steps undone when the game is rewound, so that the
+   * replay follows the game from the frame it resumed from.
+   *
+   * @param ticks The number of ticks to forget.
+   */
+  public void dropLastTicks(int ticks) {
+    tickCount = Math.max(0, tickCount - ticks);
+  }
+
+  /** Returns the number of ticks recorded so far. */
+  public int getTickCount() {
+    return tickCount;
+  }
+
+  /** Returns the session recorded so far. Must not be called while the world is being updated. */
+  public Replay toReplay() {
+    return new Replay(levelFile, random.getSeed(), Arrays.copyOf(masks, tickCount));
+  }
+
+  /**
+   * Saves the session recorded so far, reporting failures on the console instead of throwing, as
+   * a replay that cannot be written must not prevent leaving the game.
+   *
+   * @param file The file to write.
+   */
+  public void save(Path file) {
+    try {
+      toReplay().save(file);
+      System.out.println("Replay of " + tickCount + " ticks saved to " + file.toAbsolutePath());
+    } catch (IOException e) {
+      System.err.println("Could not save the replay to " + file + ": " + e.getMessage());
+    }
+  }
+}
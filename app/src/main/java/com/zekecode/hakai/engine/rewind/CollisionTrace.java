@@ -0,0 +1,146 @@
+package com.zekecode.hakai.engine.rewind;
+
+import com.zekecode.hakai.components.graphics.RenderComponent;
+import com.zekecode.hakai.components.physics.PositionComponent;
+import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.systems.collisions.CollisionContacts;
+import com.zekecode.hakai.systems.collisions.CollisionHandler;
+import java.util.Arrays;
+
+/**
+ * The colliding pairs of one frame, with the id and the box of both entities at the moment the
+ * pair was found. As a {@link CollisionHandler} observing the CollisionSystem, it collects the
+ * pairs of the frame being simulated; it is also used to hand the pairs of a recorded frame to the
+ * renderer.
+ *
+ * <p>The storage is reused, so tracing does not allocate once the arrays have grown to their
+ * working size.
+ */
+public class CollisionTrace implements CollisionHandler {
+
+  /** The side of a pair holding the first entity. */
+  public static final int FIRST = 0;
+
+  /** The side of a pair holding the second entity. */
+  public static final int SECOND = 1;
+
+  private int[] ids = new int[16 * 2]; // First and second entity of each pair
+  private double[] boxes = new double[16 * 2 * 4]; // x, y, width, height of each entity
+  private int size;
+
+  @Override
+  public void onContacts(CollisionContacts contacts) {
+    for (int i = 0; i < contacts.size(); i++) {
+      add(contacts.getFirst(i), contacts.getSecond(i));
+    }
+  }
+
+  /** Adds a pair, with the current boxes of its entities. */
+  public void add(Entity first, Entity second) {
+    int pair = size;
+    add(first.getId(), 0, 0, 0, 0, second.getId(), 0, 0, 0, 0);
+    setBox(pair, FIRST, first);
+    setBox(pair, SECOND, second);
+  }
+
+  /**
+   * Adds a pair.
+   *
+   * @param firstId The id of the first entity.
+   * @param firstX The left edge of the first entity.
+   * @param firstY The top edge of the first entity.
+   * @param firstWidth The width of the first entity.
+   * @param firstHeight The height of the first entity.
+   * @param secondId The id of the second entity.
+   * @param secondX The left edge of the second entity.
+   * @param secondY The top edge of the second entity.
+   * @param secondWidth The width of the second entity.
+   * @param secondHeight The height of the second entity.
+   */
+  public void add(
+      int firstId,
+      double firstX,
+      double firstY,
+      double firstWidth,
+      double firstHeight,
+      int secondId,
+      double secondX,
+      double secondY,
+      double secondWidth,
+      double secondHeight) {
+    if (size * 2 == ids.length) {
+      ids = Arrays.copyOf(ids, size * 2 * 2);
+      boxes = Arrays.copyOf(boxes, size * 2 * 2 * 4);
+    }
+    ids[size * 2] = firstId;
+    ids[size * 2 + 1] = secondId;
+    int box = size * 8;
+    boxes[box] = firstX;
+    boxes[box + 1] = firstY;
+    boxes[box + 2] = firstWidth;
+    boxes[box + 3] = firstHeight;
+    boxes[box + 4] = secondX;
+    boxes[box + 5] = secondY;
+    boxes[box + 6] = secondWidth;
+    boxes[box + 7] = secondHeight;
+    size++;
+  }
+
+  /** Removes every pair. */
+  public void clear() {
+    size = 0;
+  }
+
+  /** Replaces the content of this trace with the content of another one. */
+  public void copyFrom(CollisionTrace other) {
+    if (ids.length < other.size * 2) {
+      ids = new int[other.ids.length];
+      boxes = new double[other.boxes.length];
+    }
+    System.arraycopy(other.ids, 0, ids, 0, other.size * 2);
+    System.arraycopy(other.boxes, 0, boxes, 0, other.size * 8);
+    size = other.size;
+  }
+
+  /** Returns the number of pairs. */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the id of an entity of a pair.
+   *
+   * @param pair The index of the pair.
+   * @param side {@link #FIRST} or {@link #SECOND}.
+   */
+  public int getId(int pair, int side) {
+    return ids[pair * 2 + side];
+  }
+
+  public double getX(int pair, int side) {
+    return boxes[pair * 8 + side * 4];
+  }
+
+  public double getY(int pair, int side) {
+    return boxes[pair * 8 + side * 4 + 1];
+  }
+
+  public double getWidth(int pair, int side) {
+    return boxes[pair * 8 + side * 4 + 2];
+  }
+
+  public double getHeight(int pair, int side) {
+    return boxes[pair * 8 + side * 4 + 3];
+  }
+
+  /** Copies the box of a collidable entity, which always has a position and a size. */
+  private void setBox(int pair, int side, Entity entity) {
+    PositionComponent pos = entity.getComponent(PositionComponent.class).get();
+    RenderComponent render = entity.getComponent(RenderComponent.class).get();
+    int box = pair * 8 + side * 4;
+    boxes[box] = pos.x;
+    boxes[box + 1] = pos.y;
+    boxes[box + 2] = render.width;
+    boxes[box + 3] = render.height;
+  }
+}
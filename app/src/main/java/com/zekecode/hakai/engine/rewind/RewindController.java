@@ -0,0 +1,177 @@
+package com.zekecode.hakai.engine.rewind;
+
+import com.zekecode.hakai.core.World;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lets a game be stepped back and forth through its last frames, to debug what just happened. The
+ * world is recorded into a {@link WorldHistory} after every simulation step, along with the pairs
+ * that collided during the step, traced by a {@link CollisionTrace} observing the CollisionSystem.
+ *
+ * <p>While rewinding, the simulation is stopped and the world shows the frame under the cursor.
+ * Resuming continues the game from that frame, forgetting the frames after it.
+ *
+ * <p>Requests may come from any thread, e.g. the JavaFX thread handling the keyboard. They are
+ * applied by {@link #applyRequests()}, on the thread advancing the simulation, between two steps.
+ */
+public class RewindController {
+
+  /** Receives the changes of history made by rewinding. */
+  public interface Listener {
+
+    /**
+     * Called when the game resumed from a frame before the newest one, on the simulation thread.
+     *
+     * @param droppedFrames The number of frames forgotten, i.e. the steps that were undone.
+     */
+    void onFramesDropped(int droppedFrames);
+
+    /**
+     * Called when the world was restored to a recorded frame, on the simulation thread. The state
+     * of the world changed without any of the events the game posts when playing, so what follows
+     * these events, e.g. the HUD, must read the world again.
+     */
+    default void onWorldRestored() {}
+  }
+
+  private final World world;
+  private final WorldHistory history;
+  private final CollisionTrace trace = new CollisionTrace(); // Filled during each step
+  private final CollisionTrace shownCollisions = new CollisionTrace();
+  private final List<Listener> listeners = new ArrayList<>();
+
+  // Requests, written by any thread
+  private final AtomicInteger pendingSteps = new AtomicInteger();
+  private volatile boolean rewindRequested = false;
+  private volatile boolean resumeRequested = false;
+
+  // Owned by the simulation thread
+  private boolean rewinding = false;
+  private long cursor;
+
+  /**
+   * @param world The world to record and restore.
+   * @param history Where the frames of the world are kept.
+   */
+  public RewindController(World world, WorldHistory history) {
+    this.world = world;
+    this.history = history;
+  }
+
+  /** Returns the trace to register as the observer of the CollisionSystem. */
+  public CollisionTrace getTrace() {
+    return trace;
+  }
+
+  public void addListener(Listener listener) {
+    listeners.add(listener);
+  }
+
+  // --- Requests, from any thread ---
+
+  /** Asks to stop the simulation and show the newest frame, ready to step back. */
+  public void requestRewind() {
+    resumeRequested = false;
+    rewindRequested = true;
+  }
+
+  /**
+   * Asks to move the cursor while rewinding. The cursor stops at the oldest and newest frames.
+   *
+   * @param frames The number of frames to move by, negative to go back in time.
+   */
+  public void requestStep(int frames) {
+    pendingSteps.addAndGet(frames);
+  }
+
+  /** Asks to resume the game from the frame under the cursor. */
+  public void requestResume() {
+    rewindRequested = false;
+    resumeRequested = true;
+  }
+
+  // --- Simulation thread ---
+
+  /** Records the world as the newest frame. Called after every simulation step. */
+  public void record() {
+    history.record(world, trace);
+    trace.clear();
+  }
+
+  /**
+   * Applies the pending requests.
+   *
+   * @return True if the world or the frame shown changed, and must be drawn again.
+   */
+  public boolean applyRequests() {
+    boolean changed = false;
+    if (rewindRequested) {
+      rewindRequested = false;
+      if (!rewinding && history.size() > 0) {
+        rewinding = true;
+        cursor = history.getNewestFrame();
+        history.readCollisions(cursor, shownCollisions);
+        pendingSteps.set(0);
+        changed = true;
+      }
+    }
+
+    int steps = pendingSteps.getAndSet(0);
+    if (rewinding && steps != 0) {
+      long target =
+          Math.max(history.getOldestFrame(), Math.min(history.getNewestFrame(), cursor + steps));
+      if (target != cursor) {
+        cursor = target;
+        history.restore(cursor, world);
+        history.readCollisions(cursor, shownCollisions);
+        for (Listener listener : listeners) {
+          listener.onWorldRestored();
+        }
+        changed = true;
+      }
+    }
+
+    if (resumeRequested) {
+      resumeRequested = false;
+      if (rewinding) {
+        resume();
+        changed = true;
+      }
+    }
+    return changed;
+  }
+
+  /** Returns true while the simulation is stopped on a recorded frame. */
+  public boolean isRewinding() {
+    return rewinding;
+  }
+
+  /** Returns how many frames the cursor is behind the newest frame. */
+  public int getFramesBack() {
+    return rewinding ? (int) (history.getNewestFrame() - cursor) : 0;
+  }
+
+  /** Returns the number of frames that can be stepped through. */
+  public int getFrameCount() {
+    return history.size();
+  }
+
+  /** Returns the pairs that collided during the frame under the cursor. */
+  public CollisionTrace getShownCollisions() {
+    return shownCollisions;
+  }
+
+  private void resume() {
+    int dropped = (int) (history.getNewestFrame() - cursor);
+    rewinding = false;
+    shownCollisions.clear();
+    if (dropped > 0) {
+      history.truncateAfter(cursor);
+      for (Listener listener : listeners) {
+        listener.onFramesDropped(dropped);
+      }
+    }
+  }
+}
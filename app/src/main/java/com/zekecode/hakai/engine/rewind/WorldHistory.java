@@ -0,0 +1,389 @@
+package com.zekecode.hakai.engine.rewind;
+
+import com.zekecode.hakai.core.SnapshotBuffer;
+import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.core.WorldSnapshot;
+import java.util.Arrays;
+
+/**
+ * The recent states of a world, one per simulation frame, kept in a fixed amount of memory so any
+ * of them can be restored, e.g. to step back and forth through the last seconds of a game.
+ *
+ * <p>Frames are stored as {@link WorldSnapshot}s, delta-encoded: a full keyframe every few frames,
+ * and for the frames in between only the byte ranges that changed since the previous frame. As the
+ * layout of a snapshot only moves when entities or components are added or removed, a delta mostly
+ * holds the positions, velocities and other components that changed. A frame whose delta would not
+ * be much smaller than the snapshot itself, e.g. after a brick is destroyed, is stored as a
+ * keyframe instead.
+ *
+ * <p>Frames are written one after the other into a ring of bytes of a fixed size, and their index
+ * into a ring of frames of a fixed length. Writing a frame evicts the oldest ones when either ring
+ * is full, along with the frames that depended on an evicted keyframe. Recording does not allocate
+ * once the working buffers have grown to the size of a snapshot.
+ *
+ * <p>Frames are numbered from 0, in recording order, and each frame also holds the colliding pairs
+ * traced while it was simulated.
+ */
+public class WorldHistory {
+
+  private static final int KEYFRAME = 0;
+  private static final int DELTA = 1;
+
+  /** Unchanged bytes shorter than this do not end a changed range, as a range costs two varints. */
+  private static final int MIN_GAP = 4;
+
+  private final WorldSnapshot snapshot;
+  private final int keyframeInterval;
+
+  // The ring of frames, indexed by frame number modulo its length
+  private final long[] starts; // Position of each frame in the byte ring
+  private final int[] lengths;
+  private final boolean[] keyframes;
+
+  // The ring of bytes, addressed by an ever-growing position
+  private final byte[] bytes;
+  private long writePosition = 0;
+
+  private long oldestFrame = 0;
+  private long newestFrame = -1;
+  private long lastKeyframe = -1;
+  private boolean disabled = false; // Set once a frame did not fit in the byte ring
+
+  // The full snapshot of the newest frame, which the next delta is computed against
+  private byte[] previous = new byte[0];
+  private int previousSize = 0;
+  private byte[] current = new byte[0];
+
+  // The full snapshot of the last frame read, so stepping forward only applies one delta
+  private byte[] decoded = new byte[0];
+  private int decodedSize = 0;
+  private long decodedFrame = -1;
+
+  private final SnapshotBuffer captured = new SnapshotBuffer();
+  private final SnapshotBuffer record = new SnapshotBuffer();
+  private byte[] recordBytes = new byte[0];
+
+  /**
+   * @param snapshot The schema the world is captured with.
+   * @param frameCapacity The maximum number of frames kept.
+   * @param keyframeInterval The maximum number of frames between two keyframes.
+   * @param byteCapacity The number of bytes the frames are stored in.
+   */
+  public WorldHistory(
+      WorldSnapshot snapshot, int frameCapacity, int keyframeInterval, int byteCapacity) {
+    if (frameCapacity < 1 || keyframeInterval < 1 || byteCapacity < 1) {
+      throw new IllegalArgumentException("The capacities of a history must be positive");
+    }
+    this.snapshot = snapshot;
+    this.keyframeInterval = keyframeInterval;
+    this.starts = new long[frameCapacity];
+    this.lengths = new int[frameCapacity];
+    this.keyframes = new boolean[frameCapacity];
+    this.bytes = new byte[byteCapacity];
+  }
+
+  /** Returns the number of the oldest frame that can be restored. */
+  public long getOldestFrame() {
+    return oldestFrame;
+  }
+
+  /** Returns the number of the newest frame, -1 if none was recorded. */
+  public long getNewestFrame() {
+    return newestFrame;
+  }
+
+  /** Returns the number of frames that can be restored. */
+  public int size() {
+    return (int) Math.max(0, newestFrame - oldestFrame + 1);
+  }
+
+  /** Returns the number of bytes used by the frames that can be restored. */
+  public long getUsedBytes() {
+    return size() == 0 ? 0 : writePosition - starts[slotOf(oldestFrame)];
+  }
+
+  /** Returns true if the frame is a keyframe. Must only be called for frames that are kept. */
+  boolean isKeyframe(long frame) {
+    return keyframes[slotOf(frame)];
+  }
+
+  /**
+   * Records the state of a world as the newest frame. Once a frame was too large for the byte
+   * ring, the history stays empty and recording does nothing.
+   *
+   * @param world The world, between two updates.
+   * @param collisions The pairs that collided while the frame was simulated.
+   */
+  public void record(World world, CollisionTrace collisions) {
+    if (disabled) {
+      return;
+    }
+    snapshot.capture(world, captured);
+    int size = captured.size();
+    if (current.length < size) {
+      current = new byte[Math.max(size, current.length * 2)];
+    }
+    captured.copyTo(current, 0);
+
+    long frame = newestFrame + 1;
+    boolean keyframe = size() == 0 || frame - lastKeyframe >= keyframeInterval;
+    record.clear();
+    encodeCollisions(collisions);
+    if (!keyframe) {
+      int stateStart = record.size();
+      encodeDelta(size);
+      keyframe = record.size() - stateStart > size / 2;
+      if (keyframe) {
+        record.clear();
+        encodeCollisions(collisions);
+      }
+    }
+    if (keyframe) {
+      record.putByte(KEYFRAME);
+      record.putVarInt(size);
+      record.putBytes(current, 0, size);
+    }
+    append(frame, keyframe);
+
+    byte[] swap = previous;
+    previous = current;
+    previousSize = size;
+    current = swap;
+  }
+
+  /**
+   * Restores a world to the state of a recorded frame.
+   *
+   * @param frame A frame between {@link #getOldestFrame()} and {@link #getNewestFrame()}.
+   * @param world The world to restore, between two updates.
+   */
+  public void restore(long frame, World world) {
+    decode(frame);
+    captured.load(decoded, 0, decodedSize);
+    snapshot.restore(world, captured);
+  }
+
+  /**
+   * Reads the pairs that collided while a frame was simulated.
+   *
+   * @param frame A frame between {@link #getOldestFrame()} and {@link #getNewestFrame()}.
+   * @param out Receives the pairs, replacing its content.
+   */
+  public void readCollisions(long frame, CollisionTrace out) {
+    load(frame);
+    out.clear();
+    int count = record.getVarInt();
+    for (int i = 0; i < count; i++) {
+      out.add(
+          record.getVarInt(),
+          record.getDouble(),
+          record.getDouble(),
+          record.getDouble(),
+          record.getDouble(),
+          record.getVarInt(),
+          record.getDouble(),
+          record.getDouble(),
+          record.getDouble(),
+          record.getDouble());
+    }
+  }
+
+  /**
+   * Forgets the frames recorded after a frame, which becomes the newest one. The next frame
+   * recorded follows it, e.g. when the game resumes from a frame it was rewound to.
+   *
+   * @param frame A frame between {@link #getOldestFrame()} and {@link #getNewestFrame()}.
+   */
+  public void truncateAfter(long frame) {
+    checkFrame(frame);
+    decode(frame);
+    if (previous.length < decodedSize) {
+      previous = new byte[decodedSize];
+    }
+    System.arraycopy(decoded, 0, previous, 0, decodedSize);
+    previousSize = decodedSize;
+
+    int slot = slotOf(frame);
+    writePosition = starts[slot] + lengths[slot];
+    newestFrame = frame;
+    lastKeyframe = frame;
+    while (!keyframes[slotOf(lastKeyframe)]) {
+      lastKeyframe--;
+    }
+  }
+
+  /** Forgets every frame. */
+  public void clear() {
+    oldestFrame = newestFrame + 1;
+    decodedFrame = -1;
+  }
+
+  /**
+   * Writes the changes from the previous frame as ranges of changed bytes, each preceded by the
+   * number of unchanged bytes before it and by its length, and ended by an empty range.
+   */
+  private void encodeDelta(int size) {
+    record.putByte(DELTA);
+    record.putVarInt(size);
+    int common = Math.min(size, previousSize);
+    int end = 0; // The end of the last range written
+    int i = 0;
+    while (i < size) {
+      if (i < common && current[i] == previous[i]) {
+        i++;
+        continue;
+      }
+      int start = i++;
+      int unchanged = 0;
+      while (i < size && unchanged < MIN_GAP) {
+        unchanged = i < common && current[i] == previous[i] ? unchanged + 1 : 0;
+        i++;
+      }
+      int rangeEnd = i - unchanged;
+      record.putVarInt(start - end);
+      record.putVarInt(rangeEnd - start);
+      record.putBytes(current, start, rangeEnd - start);
+      end = rangeEnd;
+    }
+    record.putVarInt(0);
+    record.putVarInt(0);
+  }
+
+  private void encodeCollisions(CollisionTrace collisions) {
+    record.putVarInt(collisions.size());
+    for (int i = 0; i < collisions.size(); i++) {
+      for (int side = CollisionTrace.FIRST; side <= CollisionTrace.SECOND; side++) {
+        record.putVarInt(collisions.getId(i, side));
+        record.putDouble(collisions.getX(i, side));
+        record.putDouble(collisions.getY(i, side));
+        record.putDouble(collisions.getWidth(i, side));
+        record.putDouble(collisions.getHeight(i, side));
+      }
+    }
+  }
+
+  /** Copies the encoded frame into the byte ring, then evicts what it overwrote. */
+  private void append(long frame, boolean keyframe) {
+    int length = record.size();
+    if (length > bytes.length) {
+      // Not even a single frame fits: keep nothing rather than frames that cannot be restored.
+      System.err.println("World history disabled: a frame of " + length + " bytes does not fit");
+      disabled = true;
+      newestFrame = frame;
+      clear();
+      return;
+    }
+    if (recordBytes.length < length) {
+      recordBytes = new byte[Math.max(length, recordBytes.length * 2)];
+    }
+    record.copyTo(recordBytes, 0);
+    int offset = (int) (writePosition % bytes.length);
+    int first = Math.min(length, bytes.length - offset);
+    System.arraycopy(recordBytes, 0, bytes, offset, first);
+    System.arraycopy(recordBytes, first, bytes, 0, length - first);
+
+    int slot = slotOf(frame);
+    starts[slot] = writePosition;
+    lengths[slot] = length;
+    keyframes[slot] = keyframe;
+    writePosition += length;
+    newestFrame = frame;
+    if (keyframe) {
+      lastKeyframe = frame;
+    }
+    if (decodedFrame >= frame) {
+      decodedFrame = -1; // Its bytes may have been overwritten
+    }
+
+    // Drop the frames evicted from either ring, then the deltas left without their keyframe.
+    oldestFrame = Math.max(oldestFrame, frame - starts.length + 1);
+    while (oldestFrame <= frame && starts[slotOf(oldestFrame)] < writePosition - bytes.length) {
+      oldestFrame++;
+    }
+    while (oldestFrame <= frame && !keyframes[slotOf(oldestFrame)]) {
+      oldestFrame++;
+    }
+  }
+
+  /** Rebuilds the full snapshot of a frame into the decoded buffer. */
+  private void decode(long frame) {
+    checkFrame(frame);
+    if (decodedFrame == frame) {
+      return;
+    }
+    long from = frame;
+    while (!keyframes[slotOf(from)]) {
+      from--;
+    }
+    if (decodedFrame >= from && decodedFrame < frame) {
+      from = decodedFrame + 1; // Only the deltas after the last frame decoded are needed
+    }
+    for (long f = from; f <= frame; f++) {
+      load(f);
+      applyState();
+    }
+    decodedFrame = frame;
+  }
+
+  /** Applies the state of the frame loaded in the record buffer to the decoded buffer. */
+  private void applyState() {
+    skipCollisions();
+    int kind = record.getByte();
+    int size = record.getVarInt();
+    if (decoded.length < size) {
+      decoded = Arrays.copyOf(decoded, Math.max(size, decoded.length * 2));
+    }
+    if (kind == KEYFRAME) {
+      record.getBytes(decoded, 0, size);
+    } else {
+      int position = 0;
+      while (true) {
+        position += record.getVarInt();
+        int length = record.getVarInt();
+        if (length == 0) {
+          break;
+        }
+        record.getBytes(decoded, position, length);
+        position += length;
+      }
+    }
+    decodedSize = size;
+  }
+
+  /** Moves the record buffer past the pairs of the frame loaded in it. */
+  private void skipCollisions() {
+    int count = record.getVarInt();
+    for (int i = 0; i < count * 2; i++) {
+      record.getVarInt();
+      for (int value = 0; value < 4; value++) {
+        record.getDouble();
+      }
+    }
+  }
+
+  /** Copies the encoded frame out of the byte ring into the record buffer, ready to be read. */
+  private void load(long frame) {
+    checkFrame(frame);
+    int slot = slotOf(frame);
+    int length = lengths[slot];
+    if (recordBytes.length < length) {
+      recordBytes = new byte[Math.max(length, recordBytes.length * 2)];
+    }
+    int offset = (int) (starts[slot] % bytes.length);
+    int first = Math.min(length, bytes.length - offset);
+    System.arraycopy(bytes, offset, recordBytes, 0, first);
+    System.arraycopy(bytes, 0, recordBytes, first, length - first);
+    record.load(recordBytes, 0, length);
+  }
+
+  private void checkFrame(long frame) {
+    if (frame < oldestFrame || frame > newestFrame) {
+      throw new IndexOutOfBoundsException(
+          "Frame " + frame + " is not between " + oldestFrame + " and " + newestFrame);
+    }
+  }
+
+  private int slotOf(long frame) {
+    return (int) (frame % starts.length);
+  }
+}
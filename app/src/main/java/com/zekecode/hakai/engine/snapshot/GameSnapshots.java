@@ -0,0 +1,247 @@
+package com.zekecode.hakai.engine.snapshot;
+
+import com.zekecode.hakai.components.InputComponent;
+import com.zekecode.hakai.components.ball.BallComponent;
+import com.zekecode.hakai.components.ball.BallStuckToPaddleComponent;
+import com.zekecode.hakai.components.entities.BrickComponent;
+import com.zekecode.hakai.components.entities.DeadComponent;
+import com.zekecode.hakai.components.entities.PlayerStateComponent;
+import com.zekecode.hakai.components.entities.ScoreComponent;
+import com.zekecode.hakai.components.graphics.RenderComponent;
+import com.zekecode.hakai.components.graphics.RenderLayer;
+import com.zekecode.hakai.components.paddle.PaddleSlowComponent;
+import com.zekecode.hakai.components.paddle.PaddleStateComponent;
+import com.zekecode.hakai.components.physics.CollidableComponent;
+import com.zekecode.hakai.components.physics.CollisionLayer;
+import com.zekecode.hakai.components.physics.MovableComponent;
+import com.zekecode.hakai.components.physics.PositionComponent;
+import com.zekecode.hakai.components.physics.PreviousPositionComponent;
+import com.zekecode.hakai.components.physics.VelocityComponent;
+import com.zekecode.hakai.components.powerups.ActiveEffectsComponent;
+import com.zekecode.hakai.components.powerups.EffectTimers;
+import com.zekecode.hakai.components.powerups.PowerUpComponent;
+import com.zekecode.hakai.components.powerups.PowerUpDropComponent;
+import com.zekecode.hakai.config.data.PowerUpData;
+import com.zekecode.hakai.core.Component;
+import com.zekecode.hakai.core.ComponentCodec;
+import com.zekecode.hakai.core.SnapshotBuffer;
+import com.zekecode.hakai.core.WorldSnapshot;
+import com.zekecode.hakai.powerups.EffectCategory;
+import com.zekecode.hakai.powerups.PowerUpTrigger;
+import com.zekecode.hakai.powerups.PowerUpType;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import javafx.scene.paint.Color;
+
+/**
+ * The snapshot schema of the game: a {@link ComponentCodec} for every component of {@code
+ * components.*}. A component added to the game needs a codec here before a world holding it can be
+ * captured, and changing a layout makes older snapshots unreadable, on purpose.
+ *
+ * <p>Enums are stored by ordinal, so their constants are part of the layouts: reordering them also
+ * changes the schema.
+ */
+public final class GameSnapshots {
+
+  private static final RenderLayer[] RENDER_LAYERS = RenderLayer.values();
+  private static final CollisionLayer[] COLLISION_LAYERS = CollisionLayer.values();
+  private static final PowerUpType[] POWER_UP_TYPES = PowerUpType.values();
+  private static final PowerUpTrigger[] POWER_UP_TRIGGERS = PowerUpTrigger.values();
+  private static final EffectCategory[] EFFECT_CATEGORIES = EffectCategory.values();
+
+  /** The codecs of every component of the game. The order is part of the schema. */
+  public static final List<ComponentCodec<?>> CODECS =
+      List.of(
+          ComponentCodec.of(
+              PositionComponent.class,
+              "x:f64,y:f64",
+              (c, out) -> {
+                out.putDouble(c.x);
+                out.putDouble(c.y);
+              },
+              in -> new PositionComponent(in.getDouble(), in.getDouble())),
+          ComponentCodec.of(
+              PreviousPositionComponent.class,
+              "x:f64,y:f64",
+              (c, out) -> {
+                out.putDouble(c.x);
+                out.putDouble(c.y);
+              },
+              in -> new PreviousPositionComponent(in.getDouble(), in.getDouble())),
+          ComponentCodec.of(
+              VelocityComponent.class,
+              "x:f64,y:f64",
+              (c, out) -> {
+                out.putDouble(c.x);
+                out.putDouble(c.y);
+              },
+              in -> new VelocityComponent(in.getDouble(), in.getDouble())),
+          ComponentCodec.of(
+              RenderComponent.class,
+              "width:f64,height:f64,color:color,layer:" + enumLayout(RENDER_LAYERS),
+              (c, out) -> {
+                out.putDouble(c.width);
+                out.putDouble(c.height);
+                writeColor(c.color, out);
+                out.putByte(c.layer.ordinal());
+              },
+              in ->
+                  new RenderComponent(
+                      in.getDouble(), in.getDouble(), readColor(in), RENDER_LAYERS[in.getByte()])),
+          ComponentCodec.of(
+              CollidableComponent.class,
+              "layer:" + enumLayout(COLLISION_LAYERS) + ",mask:i32,continuous:bool",
+              (c, out) -> {
+                out.putByte(c.layer.ordinal());
+                out.putInt(c.mask);
+                out.putBoolean(c.continuous);
+              },
+              in -> {
+                CollidableComponent c =
+                    new CollidableComponent(COLLISION_LAYERS[in.getByte()], in.getInt());
+                c.continuous = in.getBoolean();
+                return c;
+              }),
+          ComponentCodec.of(
+              MovableComponent.class,
+              "speed:f64",
+              (c, out) -> out.putDouble(c.speed),
+              in -> new MovableComponent(in.getDouble())),
+          tag(BallComponent.class, BallComponent::new),
+          tag(BallStuckToPaddleComponent.class, BallStuckToPaddleComponent::new),
+          tag(InputComponent.class, InputComponent::new),
+          tag(DeadComponent.class, () -> DeadComponent.INSTANCE),
+          ComponentCodec.of(
+              BrickComponent.class,
+              "hp:i32",
+              (c, out) -> out.putInt(c.hp),
+              in -> new BrickComponent(in.getInt())),
+          ComponentCodec.of(
+              PlayerStateComponent.class,
+              "lives:i32",
+              (c, out) -> out.putInt(c.lives),
+              in -> new PlayerStateComponent(in.getInt())),
+          ComponentCodec.of(
+              ScoreComponent.class,
+              "score:i32",
+              (c, out) -> out.putInt(c.score),
+              in -> {
+                ScoreComponent c = new ScoreComponent();
+                c.score = in.getInt();
+                return c;
+              }),
+          ComponentCodec.of(
+              PaddleStateComponent.class,
+              "originalWidth:f64",
+              (c, out) -> out.putDouble(c.originalWidth),
+              in -> new PaddleStateComponent(in.getDouble())),
+          ComponentCodec.of(
+              PaddleSlowComponent.class,
+              "originalSpeed:f64",
+              (c, out) -> out.putDouble(c.originalSpeed),
+              in -> new PaddleSlowComponent(in.getDouble())),
+          ComponentCodec.of(
+              ActiveEffectsComponent.class,
+              "activeEffects:[" + enumLayout(POWER_UP_TYPES) + ",f64]",
+              (c, out) -> writeTimers(c.activeEffects, out),
+              in -> {
+                ActiveEffectsComponent c = new ActiveEffectsComponent();
+                readTimers(c.activeEffects, in);
+                return c;
+              }),
+          ComponentCodec.of(
+              PowerUpComponent.class,
+              "type:" + enumLayout(POWER_UP_TYPES) + ",trigger:" + enumLayout(POWER_UP_TRIGGERS),
+              (c, out) -> {
+                out.putByte(c.powerUpData.type.ordinal());
+                out.putByte(c.powerUpData.trigger.ordinal());
+              },
+              in -> {
+                PowerUpData data = new PowerUpData();
+                data.type = POWER_UP_TYPES[in.getByte()];
+                data.trigger = POWER_UP_TRIGGERS[in.getByte()];
+                return new PowerUpComponent(data);
+              }),
+          ComponentCodec.of(
+              PowerUpDropComponent.class,
+              "effectType:"
+                  + enumLayout(POWER_UP_TYPES)
+                  + ",category:"
+                  + enumLayout(EFFECT_CATEGORIES),
+              (c, out) -> {
+                out.putByte(c.effectType.ordinal());
+                out.putByte(c.category.ordinal());
+              },
+              in ->
+                  new PowerUpDropComponent(
+                      POWER_UP_TYPES[in.getByte()], EFFECT_CATEGORIES[in.getByte()])));
+
+  private GameSnapshots() {}
+
+  /** Creates a snapshot codec for the worlds of the game. */
+  public static WorldSnapshot create() {
+    return new WorldSnapshot(CODECS);
+  }
+
+  /** A codec for a component without fields, whose presence is all that matters. */
+  private static <C extends Component> ComponentCodec<C> tag(
+      Class<C> type, Supplier<C> factory) {
+    return ComponentCodec.of(type, "", (c, out) -> {}, in -> factory.get());
+  }
+
+  private static String enumLayout(Enum<?>[] constants) {
+    return Arrays.toString(constants);
+  }
+
+  /**
+   * Writes a color. Colors made of 8-bit channels, such as the ones of the level files, take 5
+   * bytes; any other color is stored exactly, in 33 bytes.
+   */
+  private static void writeColor(Color color, SnapshotBuffer out) {
+    int red = (int) Math.round(color.getRed() * 255);
+    int green = (int) Math.round(color.getGreen() * 255);
+    int blue = (int) Math.round(color.getBlue() * 255);
+    int opacity = (int) Math.round(color.getOpacity() * 255);
+    if (red / 255.0 == color.getRed()
+        && green / 255.0 == color.getGreen()
+        && blue / 255.0 == color.getBlue()
+        && opacity / 255.0 == color.getOpacity()) {
+      out.putByte(0);
+      out.putInt(opacity << 24 | red << 16 | green << 8 | blue);
+    } else {
+      out.putByte(1);
+      out.putDouble(color.getRed());
+      out.putDouble(color.getGreen());
+      out.putDouble(color.getBlue());
+      out.putDouble(color.getOpacity());
+    }
+  }
+
+  private static Color readColor(SnapshotBuffer in) {
+    if (in.getByte() == 0) {
+      int argb = in.getInt();
+      return Color.rgb(
+          (argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF, ((argb >>> 24) & 0xFF) / 255.0);
+    }
+    return Color.color(in.getDouble(), in.getDouble(), in.getDouble(), in.getDouble());
+  }
+
+  private static void writeTimers(EffectTimers timers, SnapshotBuffer out) {
+    out.putVarInt(timers.size());
+    for (int i = 0; i < EffectTimers.typeCount(); i++) {
+      PowerUpType type = EffectTimers.typeAt(i);
+      if (timers.containsKey(type)) {
+        out.putByte(i);
+        out.putDouble(timers.get(type));
+      }
+    }
+  }
+
+  private static void readTimers(EffectTimers timers, SnapshotBuffer in) {
+    int count = in.getVarInt();
+    for (int i = 0; i < count; i++) {
+      timers.put(EffectTimers.typeAt(in.getByte()), in.getDouble());
+    }
+  }
+}
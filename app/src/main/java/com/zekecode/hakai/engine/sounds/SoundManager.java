@@ -9,6 +9,7 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javafx.scene.media.AudioClip;
 import org.yaml.snakeyaml.Yaml;
 
@@ -21,6 +22,9 @@ public class SoundManager {
   private final Map<String, AudioClip> soundEffects = new HashMap<>();
   private Map<String, String> eventToSoundMap = new HashMap<>();
 
+  /** The sound of each event class seen so far, an empty name meaning no sound. */
+  private final Map<Class<?>, String> soundByEventClass = new ConcurrentHashMap<>();
+
   public SoundManager() {
     loadSoundFiles();
     loadSoundMappings();
@@ -28,16 +32,20 @@ public class SoundManager {
 
   /**
    * Listens for ANY event published on the event bus. If the event's class name is registered in
-   * our map, it plays the corresponding sound.
+   * our map, it plays the corresponding sound. The class name is only looked up the first time an
+   * event of a given class is received.
    *
    * @param event The event object published on the bus.
    */
   @Subscribe
   public void handleAnyEvent(Object event) {
-    String eventClassName = event.getClass().getSimpleName();
-    String soundToPlay = eventToSoundMap.get(eventClassName);
+    String soundToPlay = soundByEventClass.get(event.getClass());
+    if (soundToPlay == null) {
+      soundToPlay = eventToSoundMap.getOrDefault(event.getClass().getSimpleName(), "");
+      soundByEventClass.put(event.getClass(), soundToPlay);
+    }
 
-    if (soundToPlay != null) {
+    if (!soundToPlay.isEmpty()) {
       playSound(soundToPlay);
     }
   }
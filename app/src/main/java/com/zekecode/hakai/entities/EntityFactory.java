@@ -7,15 +7,19 @@ import com.zekecode.hakai.components.entities.BrickComponent;
 import com.zekecode.hakai.components.entities.PlayerStateComponent;
 import com.zekecode.hakai.components.entities.ScoreComponent;
 import com.zekecode.hakai.components.graphics.RenderComponent;
+import com.zekecode.hakai.components.graphics.RenderLayer;
 import com.zekecode.hakai.components.physics.CollidableComponent;
+import com.zekecode.hakai.components.physics.CollisionLayer;
 import com.zekecode.hakai.components.physics.MovableComponent;
 import com.zekecode.hakai.components.physics.PositionComponent;
+import com.zekecode.hakai.components.physics.PreviousPositionComponent;
 import com.zekecode.hakai.components.physics.VelocityComponent;
 import com.zekecode.hakai.components.powerups.PowerUpComponent;
 import com.zekecode.hakai.components.powerups.PowerUpDropComponent;
 import com.zekecode.hakai.config.GameConfig;
 import com.zekecode.hakai.config.data.PowerUpData;
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.RandomStream;
 import com.zekecode.hakai.core.World;
 import com.zekecode.hakai.powerups.EffectCategory;
 import com.zekecode.hakai.powerups.PowerUpType;
@@ -28,6 +32,7 @@ import javafx.scene.paint.Color;
 public class EntityFactory {
 
   private final World world;
+  private final RandomStream random;
 
   /**
    * Constructs an EntityFactory that will create entities within the given World.
@@ -36,6 +41,7 @@ public class EntityFactory {
    */
   public EntityFactory(World world) {
     this.world = world;
+    this.random = world.getRandom().stream("entities");
   }
 
   /**
@@ -50,11 +56,15 @@ public class EntityFactory {
     Entity player = world.createEntity();
 
     player.addComponent(new PositionComponent(x, y));
+    player.addComponent(new PreviousPositionComponent(x, y));
     player.addComponent(new VelocityComponent(0, 0));
     player.addComponent(
         new RenderComponent(
-            GameConfig.PADDLE_INITIAL_WIDTH, GameConfig.PADDLE_INITIAL_HEIGHT, Color.WHITE));
-    player.addComponent(new CollidableComponent());
+            GameConfig.PADDLE_INITIAL_WIDTH,
+            GameConfig.PADDLE_INITIAL_HEIGHT,
+            Color.WHITE,
+            RenderLayer.PADDLE));
+    player.addComponent(new CollidableComponent(CollisionLayer.PADDLE));
     player.addComponent(new InputComponent());
     player.addComponent(new MovableComponent(GameConfig.PADDLE_SPEED));
 
@@ -72,13 +82,15 @@ public class EntityFactory {
     Entity ball = world.createEntity();
 
     ball.addComponent(new PositionComponent(x, y));
+    ball.addComponent(new PreviousPositionComponent(x, y));
     ball.addComponent(
         new VelocityComponent(
             GameConfig.BALL_INITIAL_VELOCITY_X, GameConfig.BALL_INITIAL_VELOCITY_Y));
     ball.addComponent(
-        new RenderComponent(GameConfig.BALL_WIDTH, GameConfig.BALL_HEIGHT, Color.WHITE));
+        new RenderComponent(
+            GameConfig.BALL_WIDTH, GameConfig.BALL_HEIGHT, Color.WHITE, RenderLayer.BALL));
     ball.addComponent(new BallComponent());
-    ball.addComponent(new CollidableComponent());
+    ball.addComponent(createBallCollider());
     ball.addComponent(new BallStuckToPaddleComponent());
 
     return ball;
@@ -96,16 +108,18 @@ public class EntityFactory {
     Entity ball = world.createEntity();
 
     double randomVelX =
-        (Math.random() - 0.5)
+        (random.nextDouble() - 0.5)
             * (GameConfig.BALL_INITIAL_VELOCITY_X * GameConfig.BALL_SPAWN_RANDOMNESS_FACTOR);
     double launchSpeedY = Math.abs(GameConfig.BALL_LAUNCH_VELOCITY_Y);
 
     ball.addComponent(new PositionComponent(x, y));
+    ball.addComponent(new PreviousPositionComponent(x, y));
     ball.addComponent(new VelocityComponent(randomVelX, launchSpeedY)); // Launch downwards
     ball.addComponent(
-        new RenderComponent(GameConfig.BALL_WIDTH, GameConfig.BALL_HEIGHT, Color.WHITE));
+        new RenderComponent(
+            GameConfig.BALL_WIDTH, GameConfig.BALL_HEIGHT, Color.WHITE, RenderLayer.BALL));
     ball.addComponent(new BallComponent());
-    ball.addComponent(new CollidableComponent());
+    ball.addComponent(createBallCollider());
 
     return ball;
   }
@@ -133,9 +147,9 @@ public class EntityFactory {
     Entity brick = world.createEntity();
 
     brick.addComponent(new PositionComponent(x, y));
-    brick.addComponent(new RenderComponent(width, height, color));
+    brick.addComponent(new RenderComponent(width, height, color, RenderLayer.BRICK));
     brick.addComponent(new BrickComponent(hp));
-    brick.addComponent(new CollidableComponent());
+    brick.addComponent(new CollidableComponent(CollisionLayer.BRICK));
 
     if (powerUpData != null) {
       brick.addComponent(new PowerUpComponent(powerUpData));
@@ -156,12 +170,16 @@ public class EntityFactory {
       double x, double y, PowerUpType effectType, EffectCategory effectCategory) {
     Entity drop = world.createEntity();
     drop.addComponent(new PositionComponent(x, y));
+    drop.addComponent(new PreviousPositionComponent(x, y));
     drop.addComponent(new VelocityComponent(0, GameConfig.POWERUP_DROP_SPEED));
     drop.addComponent(
         new RenderComponent(
-            GameConfig.POWERUP_DROP_WIDTH, GameConfig.POWERUP_DROP_HEIGHT, Color.CYAN));
+            GameConfig.POWERUP_DROP_WIDTH,
+            GameConfig.POWERUP_DROP_HEIGHT,
+            Color.CYAN,
+            RenderLayer.DROP));
     drop.addComponent(new PowerUpDropComponent(effectType, effectCategory));
-    drop.addComponent(new CollidableComponent());
+    drop.addComponent(new CollidableComponent(CollisionLayer.DROP));
     return drop;
   }
 
@@ -176,4 +194,30 @@ public class EntityFactory {
     gameState.addComponent(new ScoreComponent());
     return gameState;
   }
+
+  /**
+   * Creates the entities every level starts with: the game state, the paddle centered at the
+   * bottom of the screen, and a ball stuck to it.
+   *
+   * @return The paddle Entity.
+   */
+  public Entity createStartingEntities() {
+    // Calculate initial positions using GameConfig for clarity and maintainability
+    double playerX = (GameConfig.SCREEN_WIDTH / 2.0) - (GameConfig.PADDLE_INITIAL_WIDTH / 2.0);
+    double playerY = GameConfig.SCREEN_HEIGHT - GameConfig.PADDLE_Y_OFFSET;
+    double ballX = (GameConfig.SCREEN_WIDTH / 2.0) - (GameConfig.BALL_WIDTH / 2.0);
+    double ballY = GameConfig.SCREEN_HEIGHT / 2.0;
+
+    createPlayerState();
+    Entity player = createPlayer(playerX, playerY);
+    createBall(ballX, ballY);
+    return player;
+  }
+
+  /** Balls are fast and small, so their collisions are resolved with a swept test. */
+  private CollidableComponent createBallCollider() {
+    CollidableComponent collider = new CollidableComponent(CollisionLayer.BALL);
+    collider.continuous = true;
+    return collider;
+  }
 }
@@ -1,26 +1,56 @@
 package com.zekecode.hakai.entities;
 
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.engine.render.RenderItem;
+import com.zekecode.hakai.engine.render.SpriteAtlas;
 import javafx.scene.canvas.GraphicsContext;
 
 /**
  * Defines the contract for a rendering strategy. Each implementation will know how to draw a
  * specific type of entity.
+ *
+ * <p>Renderers are chosen, and their {@link #variantOf(Entity)} read, on the simulation side, when
+ * a snapshot of the world is captured. Drawing happens later, possibly on another thread, from the
+ * copied {@link RenderItem} only.
  */
 public interface EntityRenderer {
   /**
-   * Renders the given entity onto the canvas.
+   * Called once, on the JavaFX thread, before anything is rendered. Renderers with a costly look
+   * can register and pre-bake their sprites in the atlas here.
+   *
+   * @param atlas The sprite atlas shared by all renderers.
+   */
+  default void prepare(SpriteAtlas atlas) {}
+
+  /**
+   * Renders an entity onto the canvas.
    *
    * @param gc The graphics context to draw on.
-   * @param entity The entity to be rendered.
+   * @param item The copy of the entity's render data.
+   * @param x The x coordinate to draw the entity at. It can differ from the captured position, as
+   *     moving entities are drawn between their last two simulated positions.
+   * @param y The y coordinate to draw the entity at.
    */
-  void render(GraphicsContext gc, Entity entity);
+  void render(GraphicsContext gc, RenderItem item, double x, double y);
 
   /**
-   * Checks if this renderer can handle the given entity.
+   * Checks if this renderer can handle the given entity. The answer must only depend on which
+   * components the entity has, as it is computed once and then reused for every entity with the
+   * same set of components.
    *
    * @param entity The entity to check.
    * @return true if this renderer should be used for the entity, false otherwise.
    */
   boolean supports(Entity entity);
+
+  /**
+   * Extracts any extra state this renderer needs to draw the entity, beyond its position, size and
+   * color. The value is stored in {@link RenderItem#variant}.
+   *
+   * @param entity A supported entity.
+   * @return A renderer-specific value, 0 by default.
+   */
+  default int variantOf(Entity entity) {
+    return 0;
+  }
 }
@@ -1,9 +1,10 @@
 package com.zekecode.hakai.entities.renderers;
 
 import com.zekecode.hakai.components.ball.BallComponent;
-import com.zekecode.hakai.components.graphics.RenderComponent;
-import com.zekecode.hakai.components.physics.PositionComponent;
+import com.zekecode.hakai.config.GameConfig;
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.engine.render.RenderItem;
+import com.zekecode.hakai.engine.render.SpriteAtlas;
 import com.zekecode.hakai.entities.EntityRenderer;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -13,34 +14,47 @@ import javafx.scene.paint.Stop;
 
 /**
  * Renders a ball entity with a gradient to give it a spherical appearance and a specular highlight
- * for a glossy effect.
+ * for a glossy effect. The ball is baked into the sprite atlas once per size and drawn as an image.
  */
 public class BallRenderer implements EntityRenderer {
+
+  private SpriteAtlas atlas;
+  private int ballSprite;
+
+  @Override
+  public void prepare(SpriteAtlas atlas) {
+    this.atlas = atlas;
+    this.ballSprite = atlas.register(BallRenderer::paint, 0);
+    atlas.prebake(ballSprite, 0, GameConfig.BALL_WIDTH, GameConfig.BALL_HEIGHT);
+  }
+
   @Override
-  public void render(GraphicsContext gc, Entity entity) {
-    PositionComponent pos = entity.getComponent(PositionComponent.class).get();
-    RenderComponent render = entity.getComponent(RenderComponent.class).get();
+  public void render(GraphicsContext gc, RenderItem render, double x, double y) {
+    atlas.draw(gc, ballSprite, 0, x, y, render.width, render.height);
+  }
 
+  /** Paints the sprite of a ball of the given size. */
+  private static void paint(GraphicsContext gc, double width, double height, int variant) {
     // Main gradient gives the ball its spherical shape
     RadialGradient gradient =
         new RadialGradient(
             0,
             0,
-            pos.x + render.width / 2,
-            pos.y + render.height / 2,
-            render.width / 2,
+            width / 2,
+            height / 2,
+            width / 2,
             false,
             CycleMethod.NO_CYCLE,
             new Stop(0, Color.WHITE),
             new Stop(1, Color.LIGHTGRAY));
 
     gc.setFill(gradient);
-    gc.fillOval(pos.x, pos.y, render.width, render.height);
+    gc.fillOval(0, 0, width, height);
 
     // A small "specular highlight" makes it look glossy
-    double highlightSize = render.width * 0.3;
+    double highlightSize = width * 0.3;
     gc.setFill(Color.web("white", 0.7)); // Semi-transparent white
-    gc.fillOval(pos.x + highlightSize, pos.y + highlightSize, highlightSize, highlightSize);
+    gc.fillOval(highlightSize, highlightSize, highlightSize, highlightSize);
   }
 
   /**
@@ -1,9 +1,8 @@
 package com.zekecode.hakai.entities.renderers;
 
 import com.zekecode.hakai.components.entities.BrickComponent;
-import com.zekecode.hakai.components.graphics.RenderComponent;
-import com.zekecode.hakai.components.physics.PositionComponent;
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.engine.render.RenderItem;
 import com.zekecode.hakai.entities.EntityRenderer;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -11,22 +10,23 @@ import javafx.scene.paint.Color;
 /**
  * Renders brick entities with a distinct style, including a border to make them visually stand out.
  * This renderer is specifically designed for entities that have a BrickComponent.
+ *
+ * <p>Bricks never move, so this renderer is only called when the cached static layer is rebuilt,
+ * not on every frame.
  */
 public class BrickRenderer implements EntityRenderer {
   @Override
-  public void render(GraphicsContext gc, Entity entity) {
-    PositionComponent pos = entity.getComponent(PositionComponent.class).get();
-    RenderComponent render = entity.getComponent(RenderComponent.class).get();
+  public void render(GraphicsContext gc, RenderItem render, double x, double y) {
 
     Color baseColor = render.color;
     Color borderColor = baseColor.darker();
 
     gc.setFill(baseColor);
-    gc.fillRect(pos.x, pos.y, render.width, render.height);
+    gc.fillRect(x, y, render.width, render.height);
 
     gc.setStroke(borderColor);
     gc.setLineWidth(3);
-    gc.strokeRect(pos.x, pos.y, render.width, render.height);
+    gc.strokeRect(x, y, render.width, render.height);
   }
 
   /**
@@ -1,8 +1,7 @@
 package com.zekecode.hakai.entities.renderers;
 
-import com.zekecode.hakai.components.graphics.RenderComponent;
-import com.zekecode.hakai.components.physics.PositionComponent;
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.engine.render.RenderItem;
 import com.zekecode.hakai.entities.EntityRenderer;
 import javafx.scene.canvas.GraphicsContext;
 
@@ -12,11 +11,9 @@ import javafx.scene.canvas.GraphicsContext;
  */
 public class DefaultRenderer implements EntityRenderer {
   @Override
-  public void render(GraphicsContext gc, Entity entity) {
-    PositionComponent pos = entity.getComponent(PositionComponent.class).get();
-    RenderComponent render = entity.getComponent(RenderComponent.class).get();
+  public void render(GraphicsContext gc, RenderItem render, double x, double y) {
     gc.setFill(render.color);
-    gc.fillRect(pos.x, pos.y, render.width, render.height);
+    gc.fillRect(x, y, render.width, render.height);
   }
 
   /**
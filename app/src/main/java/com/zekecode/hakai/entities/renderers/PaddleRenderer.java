@@ -1,9 +1,8 @@
 package com.zekecode.hakai.entities.renderers;
 
 import com.zekecode.hakai.components.InputComponent;
-import com.zekecode.hakai.components.graphics.RenderComponent;
-import com.zekecode.hakai.components.physics.PositionComponent;
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.engine.render.RenderItem;
 import com.zekecode.hakai.entities.EntityRenderer;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -17,9 +16,7 @@ import javafx.scene.paint.Stop;
  */
 public class PaddleRenderer implements EntityRenderer {
   @Override
-  public void render(GraphicsContext gc, Entity entity) {
-    PositionComponent pos = entity.getComponent(PositionComponent.class).get();
-    RenderComponent render = entity.getComponent(RenderComponent.class).get();
+  public void render(GraphicsContext gc, RenderItem render, double x, double y) {
 
     // Using a fixed arc size makes the corners rounded but not fully circular.
     double arcSize = 15.0;
@@ -28,21 +25,21 @@ public class PaddleRenderer implements EntityRenderer {
     LinearGradient gradient =
         new LinearGradient(
             0,
-            pos.y,
+            y,
             0,
-            pos.y + render.height,
+            y + render.height,
             false,
             CycleMethod.NO_CYCLE,
             new Stop(0, Color.WHITE),
             new Stop(1, Color.DARKGRAY));
 
     gc.setFill(gradient);
-    gc.fillRoundRect(pos.x, pos.y, render.width, render.height, arcSize, arcSize);
+    gc.fillRoundRect(x, y, render.width, render.height, arcSize, arcSize);
 
     // A border helps define the paddle's shape
     gc.setStroke(Color.GRAY);
     gc.setLineWidth(2);
-    gc.strokeRoundRect(pos.x, pos.y, render.width, render.height, arcSize, arcSize);
+    gc.strokeRoundRect(x, y, render.width, render.height, arcSize, arcSize);
   }
 
   /**
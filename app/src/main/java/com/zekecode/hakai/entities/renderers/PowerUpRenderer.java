@@ -1,10 +1,12 @@
 package com.zekecode.hakai.entities.renderers;
 
-import com.zekecode.hakai.components.graphics.RenderComponent;
-import com.zekecode.hakai.components.physics.PositionComponent;
 import com.zekecode.hakai.components.powerups.PowerUpDropComponent;
+import com.zekecode.hakai.config.GameConfig;
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.engine.render.RenderItem;
+import com.zekecode.hakai.engine.render.SpriteAtlas;
 import com.zekecode.hakai.entities.EntityRenderer;
+import com.zekecode.hakai.powerups.EffectCategory;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.paint.Color;
@@ -16,27 +18,49 @@ import javafx.scene.paint.Stop;
  * Renders power-up entities with distinct visual styles based on their effect type. Positive
  * power-ups are rendered as glowing stars, while negative power-ups (maluses) are rendered as
  * downward-pointing triangles with a red glow.
+ *
+ * <p>The glow is a costly effect, so both looks are baked into the sprite atlas once per size and
+ * drops are drawn as images.
  */
 public class PowerUpRenderer implements EntityRenderer {
 
   private static final DropShadow GOOD_GLOW = new DropShadow(15, Color.GOLD);
   private static final DropShadow BAD_GLOW = new DropShadow(15, Color.RED);
+  private static final EffectCategory[] CATEGORIES = EffectCategory.values();
+  private static final double GLOW_PADDING = 16; // Room for the 15 px glow around a drop
+
+  private SpriteAtlas atlas;
+  private int dropSprite;
 
   @Override
-  public void render(GraphicsContext gc, Entity entity) {
-    PositionComponent pos = entity.getComponent(PositionComponent.class).get();
-    RenderComponent render = entity.getComponent(RenderComponent.class).get();
-    PowerUpDropComponent drop = entity.getComponent(PowerUpDropComponent.class).get();
+  public void prepare(SpriteAtlas atlas) {
+    this.atlas = atlas;
+    this.dropSprite = atlas.register(this::paint, GLOW_PADDING);
+    for (EffectCategory category : CATEGORIES) {
+      atlas.prebake(
+          dropSprite,
+          category.ordinal(),
+          GameConfig.POWERUP_DROP_WIDTH,
+          GameConfig.POWERUP_DROP_HEIGHT);
+    }
+  }
 
+  @Override
+  public void render(GraphicsContext gc, RenderItem render, double x, double y) {
+    atlas.draw(gc, dropSprite, render.variant, x, y, render.width, render.height);
+  }
+
+  /** Paints the sprite of a drop of the given category, as a variant of the atlas. */
+  private void paint(GraphicsContext gc, double width, double height, int variant) {
     gc.save();
 
     // Check the effect type to decide how to render it
-    switch (drop.category) {
+    switch (CATEGORIES[variant]) {
       case POSITIVE:
-        renderPowerUp(gc, pos, render);
+        renderPowerUp(gc, 0, 0, width, height);
         break;
       case NEGATIVE:
-        renderMalus(gc, pos, render);
+        renderMalus(gc, 0, 0, width, height);
         break;
     }
 
@@ -44,34 +68,34 @@ public class PowerUpRenderer implements EntityRenderer {
   }
 
   /** Renders a positive power-up as a glowing star. */
-  private void renderPowerUp(GraphicsContext gc, PositionComponent pos, RenderComponent render) {
+  private void renderPowerUp(GraphicsContext gc, double x, double y, double width, double height) {
     gc.setEffect(GOOD_GLOW);
 
     LinearGradient goldGradient =
         new LinearGradient(
-            pos.x,
-            pos.y,
-            pos.x,
-            pos.y + render.height,
+            x,
+            y,
+            x,
+            y + height,
             false,
             CycleMethod.NO_CYCLE,
             new Stop(0, Color.YELLOW),
             new Stop(1, Color.GOLDENROD));
 
     gc.setFill(goldGradient);
-    drawStar(gc, pos.x, pos.y, render.width, render.height);
+    drawStar(gc, x, y, width, height);
   }
 
   /** Renders a negative power-up (malus) as a downward-pointing triangle with a red glow. */
-  private void renderMalus(GraphicsContext gc, PositionComponent pos, RenderComponent render) {
+  private void renderMalus(GraphicsContext gc, double x, double y, double width, double height) {
     gc.setEffect(BAD_GLOW);
 
     LinearGradient redGradient =
         new LinearGradient(
-            pos.x,
-            pos.y,
-            pos.x + render.width,
-            pos.y + render.height,
+            x,
+            y,
+            x + width,
+            y + height,
             false,
             CycleMethod.NO_CYCLE,
             new Stop(0, Color.CRIMSON),
@@ -79,8 +103,8 @@ public class PowerUpRenderer implements EntityRenderer {
 
     gc.setFill(redGradient);
     // Render as a simple, downward-pointing triangle
-    double[] xPoints = {pos.x, pos.x + render.width, pos.x + render.width / 2};
-    double[] yPoints = {pos.y, pos.y, pos.y + render.height};
+    double[] xPoints = {x, x + width, x + width / 2};
+    double[] yPoints = {y, y, y + height};
     gc.fillPolygon(xPoints, yPoints, 3);
   }
 
@@ -109,4 +133,10 @@ public class PowerUpRenderer implements EntityRenderer {
   public boolean supports(Entity entity) {
     return entity.hasComponent(PowerUpDropComponent.class);
   }
+
+  /** The variant of a drop is the ordinal of its effect category. */
+  @Override
+  public int variantOf(Entity entity) {
+    return entity.getComponent(PowerUpDropComponent.class).get().category.ordinal();
+  }
 }
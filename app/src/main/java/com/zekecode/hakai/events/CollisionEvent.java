@@ -1,19 +1,36 @@
 package com.zekecode.hakai.events;
 
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.engine.events.RecyclableEvent;
 
 /**
  * A generic event published by the CollisionSystem when any two entities' bounding boxes overlap.
  *
  * <p>Specialized systems will listen for this event and decide how to handle the interaction based
- * on the components of the entities involved.
+ * on the components of the entities involved. The event may come from a pool, so subscribers must
+ * not keep it.
  */
-public class CollisionEvent {
-  public final Entity entityA;
-  public final Entity entityB;
+public class CollisionEvent extends RecyclableEvent {
+  public Entity entityA;
+  public Entity entityB;
+
+  public CollisionEvent() {}
 
   public CollisionEvent(Entity entityA, Entity entityB) {
     this.entityA = entityA;
     this.entityB = entityB;
   }
+
+  /** Fills a pooled event and returns it. */
+  public CollisionEvent set(Entity entityA, Entity entityB) {
+    this.entityA = entityA;
+    this.entityB = entityB;
+    return this;
+  }
+
+  @Override
+  protected void clear() {
+    entityA = null;
+    entityB = null;
+  }
 }
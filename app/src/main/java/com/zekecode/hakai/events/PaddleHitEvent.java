@@ -6,4 +6,7 @@ package com.zekecode.hakai.events;
  */
 public class PaddleHitEvent {
   // This event carries no data. Its type is the message.
+
+  /** The instance to post, as an event without data can be shared by every hit. */
+  public static final PaddleHitEvent INSTANCE = new PaddleHitEvent();
 }
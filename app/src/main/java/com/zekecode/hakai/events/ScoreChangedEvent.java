@@ -1,10 +1,20 @@
 package com.zekecode.hakai.events;
 
-/** Event representing a change in the player's score. */
-public class ScoreChangedEvent {
-  public final int newScore;
+import com.zekecode.hakai.engine.events.RecyclableEvent;
+
+/** Event representing a change in the player's score. It may come from a pool. */
+public class ScoreChangedEvent extends RecyclableEvent {
+  public int newScore;
+
+  public ScoreChangedEvent() {}
 
   public ScoreChangedEvent(int newScore) {
     this.newScore = newScore;
   }
+
+  /** Fills a pooled event and returns it. */
+  public ScoreChangedEvent set(int newScore) {
+    this.newScore = newScore;
+    return this;
+  }
 }
@@ -1,15 +1,30 @@
 package com.zekecode.hakai.events.brick;
 
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.engine.events.RecyclableEvent;
 
 /**
  * An event that is published by the BrickSystem at the moment a brick's HP reaches zero. This event
- * signals that a brick has been officially destroyed.
+ * signals that a brick has been officially destroyed. The event may come from a pool, so
+ * subscribers must not keep it.
  */
-public class BrickDestroyedEvent {
-  public final Entity brickEntity;
+public class BrickDestroyedEvent extends RecyclableEvent {
+  public Entity brickEntity;
+
+  public BrickDestroyedEvent() {}
 
   public BrickDestroyedEvent(Entity brickEntity) {
     this.brickEntity = brickEntity;
   }
+
+  /** Fills a pooled event and returns it. */
+  public BrickDestroyedEvent set(Entity brickEntity) {
+    this.brickEntity = brickEntity;
+    return this;
+  }
+
+  @Override
+  protected void clear() {
+    brickEntity = null;
+  }
 }
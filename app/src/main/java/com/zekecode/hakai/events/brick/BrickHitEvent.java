@@ -1,24 +1,39 @@
 package com.zekecode.hakai.events.brick;
 
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.engine.events.RecyclableEvent;
 
 /**
  * An event that is published when a ball collides with a brick.
  *
  * <p>This event carries a reference to the brick entity that was involved in the collision. Systems
  * can listen for this event to handle scoring, entity destruction, sound effects, and other
- * gameplay logic.
+ * gameplay logic. The event may come from a pool, so subscribers must not keep it.
  */
-public class BrickHitEvent {
+public class BrickHitEvent extends RecyclableEvent {
 
-  public final Entity brickEntity;
+  public Entity brickEntity;
+
+  /** Constructs an empty BrickHitEvent, to be filled by {@link #set}. */
+  public BrickHitEvent() {}
 
   /**
-   * Constructs a new BrickDestroyedEvent.
+   * Constructs a new BrickHitEvent.
    *
    * @param brickEntity The brick entity that was hit by the ball.
    */
   public BrickHitEvent(Entity brickEntity) {
     this.brickEntity = brickEntity;
   }
+
+  /** Fills a pooled event and returns it. */
+  public BrickHitEvent set(Entity brickEntity) {
+    this.brickEntity = brickEntity;
+    return this;
+  }
+
+  @Override
+  protected void clear() {
+    brickEntity = null;
+  }
 }
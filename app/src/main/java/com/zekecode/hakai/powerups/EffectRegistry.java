@@ -4,7 +4,7 @@ import com.zekecode.hakai.entities.EntityFactory;
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ClassInfoList;
 import io.github.classgraph.ScanResult;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -15,7 +15,8 @@ import java.util.Optional;
  */
 public class EffectRegistry {
 
-  private final Map<PowerUpType, Effect> effects = new HashMap<>();
+  // Effects are stored already wrapped, so looking one up every frame does not allocate.
+  private final Map<PowerUpType, Optional<Effect>> effects = new EnumMap<>(PowerUpType.class);
   private final EntityFactory entityFactory;
 
   public EffectRegistry(EntityFactory entityFactory) {
@@ -61,7 +62,7 @@ public class EffectRegistry {
                     instance = cls.getDeclaredConstructor().newInstance();
                   }
 
-                  effects.put(type, instance);
+                  effects.put(type, Optional.of(instance));
                   System.out.println("  -> Discovered and registered effect: " + type);
                 } catch (Exception e) {
                   System.err.println("Failed to instantiate effect: " + cls.getName());
@@ -79,6 +80,6 @@ public class EffectRegistry {
    * @return An Optional containing the Effect instance if found, otherwise an empty Optional.
    */
   public Optional<Effect> getEffect(PowerUpType type) {
-    return Optional.ofNullable(effects.get(type));
+    return effects.getOrDefault(type, Optional.empty());
   }
 }
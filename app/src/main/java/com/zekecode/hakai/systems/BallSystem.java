@@ -9,7 +9,9 @@ import com.zekecode.hakai.components.physics.PositionComponent;
 import com.zekecode.hakai.components.physics.VelocityComponent;
 import com.zekecode.hakai.config.GameConfig;
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.EntityQuery;
 import com.zekecode.hakai.core.GameSystem;
+import com.zekecode.hakai.core.World;
 import com.zekecode.hakai.engine.input.InputManager;
 import com.zekecode.hakai.entities.EntityFactory;
 import com.zekecode.hakai.events.ball.ResetBallEvent;
@@ -20,10 +22,12 @@ import javafx.scene.input.KeyCode;
 /** A system that manages the ball's behavior, including sticking to the paddle and launching. */
 public class BallSystem extends GameSystem {
 
+  private final EntityQuery paddles;
   private final InputManager inputManager;
   private final EntityFactory entityFactory;
 
-  public BallSystem(InputManager inputManager, EntityFactory entityFactory) {
+  public BallSystem(World world, InputManager inputManager, EntityFactory entityFactory) {
+    this.paddles = world.query(InputComponent.class);
     this.inputManager = inputManager;
     this.entityFactory = entityFactory;
   }
@@ -49,7 +53,7 @@ public class BallSystem extends GameSystem {
   @Override
   public void update(List<Entity> entities, double deltaTime) {
     // Find the single paddle entity on every frame.
-    Optional<Entity> paddleOpt = findPaddle(entities);
+    Optional<Entity> paddleOpt = findPaddle();
     if (paddleOpt.isEmpty()) {
       return; // If there's no paddle, we can't do anything.
     }
@@ -57,7 +61,8 @@ public class BallSystem extends GameSystem {
 
     // Iterate over all entities. If an entity is a ball and is marked as "stuck",
     // process its logic. This is now stateless and supports multiple balls.
-    for (Entity ball : entities) {
+    for (int i = 0; i < entities.size(); i++) {
+      Entity ball = entities.get(i);
       if (ball.hasComponent(BallComponent.class)
           && ball.hasComponent(BallStuckToPaddleComponent.class)) {
         stickBallToPaddle(ball, paddle);
@@ -103,7 +108,7 @@ public class BallSystem extends GameSystem {
     }
   }
 
-  private Optional<Entity> findPaddle(List<Entity> entities) {
-    return entities.stream().filter(e -> e.hasComponent(InputComponent.class)).findFirst();
+  private Optional<Entity> findPaddle() {
+    return paddles.first();
   }
 }
@@ -6,6 +6,7 @@ import com.zekecode.hakai.components.entities.BrickComponent;
 import com.zekecode.hakai.components.entities.DeadComponent;
 import com.zekecode.hakai.core.Entity;
 import com.zekecode.hakai.core.GameSystem;
+import com.zekecode.hakai.engine.events.EventPool;
 import com.zekecode.hakai.events.brick.BrickDestroyedEvent;
 import com.zekecode.hakai.events.brick.BrickHitEvent;
 import java.util.List;
@@ -13,6 +14,8 @@ import java.util.List;
 public class BrickSystem extends GameSystem {
 
   private final EventBus eventBus;
+  private final EventPool<BrickDestroyedEvent> destroyedEvents =
+      new EventPool<>(BrickDestroyedEvent::new);
 
   public BrickSystem(EventBus eventBus) {
     this.eventBus = eventBus;
@@ -21,19 +24,18 @@ public class BrickSystem extends GameSystem {
   @Subscribe
   public void onBrickHit(BrickHitEvent event) {
     Entity brickEntity = event.brickEntity;
-    brickEntity
-        .getComponent(BrickComponent.class)
-        .ifPresent(
-            brick -> {
-              brick.hp--;
-
-              if (brick.hp <= 0) {
-                // Before destroying the entity, publish the "destroyed" event.
-                eventBus.post(new BrickDestroyedEvent(brickEntity));
-
-                brickEntity.addComponent(new DeadComponent());
-              }
-            });
+    BrickComponent brick = brickEntity.getComponent(BrickComponent.class).orElse(null);
+    if (brick == null) {
+      return;
+    }
+    brick.hp--;
+
+    if (brick.hp <= 0) {
+      // Before destroying the entity, publish the "destroyed" event.
+      eventBus.post(destroyedEvents.obtain().set(brickEntity));
+
+      brickEntity.addComponent(DeadComponent.INSTANCE);
+    }
   }
 
   @Override
@@ -0,0 +1,39 @@
+package com.zekecode.hakai.systems;
+
+import com.zekecode.hakai.components.physics.PositionComponent;
+import com.zekecode.hakai.components.physics.PreviousPositionComponent;
+import com.zekecode.hakai.core.Archetype;
+import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.EntityQuery;
+import com.zekecode.hakai.core.GameSystem;
+import com.zekecode.hakai.core.World;
+import java.util.List;
+
+/**
+ * Records the position of every interpolated entity at the start of each simulation step, so that
+ * the RenderSystem can draw it between its previous and current positions. It must run before any
+ * system that moves entities.
+ */
+public class InterpolationSystem extends GameSystem {
+
+  private final EntityQuery interpolated;
+
+  public InterpolationSystem(World world) {
+    this.interpolated = world.query(PositionComponent.class, PreviousPositionComponent.class);
+  }
+
+  @Override
+  public void update(List<Entity> entities, double deltaTime) {
+    // Walk the columns directly: this runs for every moving entity on every step.
+    List<Archetype> archetypes = interpolated.getArchetypes();
+    for (int i = 0; i < archetypes.size(); i++) {
+      Archetype archetype = archetypes.get(i);
+      PositionComponent[] positions = archetype.getColumn(PositionComponent.class);
+      PreviousPositionComponent[] previous = archetype.getColumn(PreviousPositionComponent.class);
+      for (int row = 0; row < archetype.size(); row++) {
+        previous[row].x = positions[row].x;
+        previous[row].y = positions[row].y;
+      }
+    }
+  }
+}
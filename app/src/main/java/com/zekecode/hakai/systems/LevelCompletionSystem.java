@@ -4,6 +4,7 @@ import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
 import com.zekecode.hakai.components.entities.BrickComponent;
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.EntityQuery;
 import com.zekecode.hakai.core.GameSystem;
 import com.zekecode.hakai.core.World;
 import com.zekecode.hakai.events.LevelClearEvent;
@@ -16,19 +17,18 @@ import java.util.List;
  */
 public class LevelCompletionSystem extends GameSystem {
 
-  private final World world;
+  private final EntityQuery bricks;
   private final EventBus eventBus;
 
   public LevelCompletionSystem(World world, EventBus eventBus) {
-    this.world = world;
+    this.bricks = world.query(BrickComponent.class);
     this.eventBus = eventBus;
   }
 
   @Subscribe
   public void onBrickDestroyed(BrickDestroyedEvent event) {
     // After a brick is destroyed, check if any more bricks are left in the world.
-    long remainingBricks =
-        world.getEntities().stream().filter(e -> e.hasComponent(BrickComponent.class)).count();
+    int remainingBricks = bricks.size();
 
     // The count will be 1 right after destruction, as the dead brick hasn't been removed yet.
     // So, we check if the count is <= 1.
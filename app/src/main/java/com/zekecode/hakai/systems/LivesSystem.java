@@ -6,6 +6,7 @@ import com.zekecode.hakai.components.ball.BallComponent;
 import com.zekecode.hakai.components.entities.DeadComponent;
 import com.zekecode.hakai.components.entities.PlayerStateComponent;
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.EntityQuery;
 import com.zekecode.hakai.core.GameSystem;
 import com.zekecode.hakai.core.World;
 import com.zekecode.hakai.events.LivesChangedEvent;
@@ -19,10 +20,12 @@ import java.util.Optional;
 public class LivesSystem extends GameSystem {
 
   private final EventBus eventBus;
-  private final World world;
+  private final EntityQuery liveBalls;
+  private final EntityQuery playerStates;
 
   public LivesSystem(World world, EventBus eventBus) {
-    this.world = world;
+    this.liveBalls = world.query(BallComponent.class).without(DeadComponent.class);
+    this.playerStates = world.query(PlayerStateComponent.class);
     this.eventBus = eventBus;
   }
 
@@ -31,14 +34,10 @@ public class LivesSystem extends GameSystem {
   public void onBallLost(BallLostEvent event) {
     // 1. Mark the specific ball that was lost as "dead".
     // It will be removed from the world on the next update cycle.
-    event.ballEntity.addComponent(new DeadComponent());
+    event.ballEntity.addComponent(DeadComponent.INSTANCE);
 
     // 2. Count how many balls are *still active* in the game world.
-    long remainingBalls =
-        world.getEntities().stream()
-            .filter(
-                e -> e.hasComponent(BallComponent.class) && !e.hasComponent(DeadComponent.class))
-            .count();
+    int remainingBalls = liveBalls.size();
 
     // 3. Only if there are no balls left, do we process losing a life.
     if (remainingBalls == 0) {
@@ -70,12 +69,7 @@ public class LivesSystem extends GameSystem {
 
   // Helper method to query the world.
   private Optional<Entity> findGameStateEntity() {
-    for (Entity entity : world.getEntities()) {
-      if (entity.hasComponent(PlayerStateComponent.class)) {
-        return Optional.of(entity);
-      }
-    }
-    return Optional.empty();
+    return playerStates.first();
   }
 
   @Override
@@ -22,33 +22,28 @@ public class MovementSystem extends GameSystem {
 
   @Override
   public void update(List<Entity> entities, double deltaTime) {
-    for (Entity entity : entities) {
+    for (int i = 0; i < entities.size(); i++) {
+      Entity entity = entities.get(i);
       // We only care about entities that are player-controlled and movable.
-      if (entity.hasComponent(InputComponent.class)) {
-
-        entity
-            .getComponent(VelocityComponent.class)
-            .ifPresent(
-                velocity ->
-                    entity
-                        .getComponent(MovableComponent.class)
-                        .ifPresent(
-                            movable -> {
-                              double currentSpeed = movable.speed;
+      if (!entity.hasComponent(InputComponent.class)) {
+        continue;
+      }
+      VelocityComponent velocity = entity.getComponent(VelocityComponent.class).orElse(null);
+      MovableComponent movable = entity.getComponent(MovableComponent.class).orElse(null);
+      if (velocity == null || movable == null) {
+        continue;
+      }
+      double currentSpeed = movable.speed;
 
-                              // Reset horizontal velocity to 0 by default
-                              velocity.x = 0;
+      // Reset horizontal velocity to 0 by default
+      velocity.x = 0;
 
-                              // Apply velocity based on input
-                              if (inputManager.isKeyPressed(KeyCode.LEFT)
-                                  || inputManager.isKeyPressed(KeyCode.A)) {
-                                velocity.x = -currentSpeed;
-                              }
-                              if (inputManager.isKeyPressed(KeyCode.RIGHT)
-                                  || inputManager.isKeyPressed(KeyCode.D)) {
-                                velocity.x = currentSpeed;
-                              }
-                            }));
+      // Apply velocity based on input
+      if (inputManager.isKeyPressed(KeyCode.LEFT) || inputManager.isKeyPressed(KeyCode.A)) {
+        velocity.x = -currentSpeed;
+      }
+      if (inputManager.isKeyPressed(KeyCode.RIGHT) || inputManager.isKeyPressed(KeyCode.D)) {
+        velocity.x = currentSpeed;
       }
     }
   }
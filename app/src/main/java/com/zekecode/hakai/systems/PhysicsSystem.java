@@ -4,11 +4,13 @@ import com.google.common.eventbus.EventBus;
 import com.zekecode.hakai.components.InputComponent;
 import com.zekecode.hakai.components.ball.BallComponent;
 import com.zekecode.hakai.components.graphics.RenderComponent;
+import com.zekecode.hakai.components.physics.CollidableComponent;
 import com.zekecode.hakai.components.physics.PositionComponent;
 import com.zekecode.hakai.components.physics.VelocityComponent;
 import com.zekecode.hakai.core.Entity;
 import com.zekecode.hakai.core.GameSystem;
 import com.zekecode.hakai.events.ball.BallLostEvent;
+import com.zekecode.hakai.systems.collisions.CollisionSystem;
 import java.util.List;
 
 /**
@@ -18,53 +20,79 @@ import java.util.List;
  * positions based on their velocities. It also implements specific rules for different types of
  * entities, such as bouncing the ball off walls and constraining the player's paddle within screen
  * boundaries.
+ *
+ * <p>Continuous colliders (the balls) are moved by the {@link CollisionSystem} instead, which stops
+ * them at every collider they hit during the frame so they cannot tunnel through thin bricks.
  */
 public class PhysicsSystem extends GameSystem {
   private final double screenWidth;
   private final double screenHeight;
   private final EventBus eventBus;
+  private final CollisionSystem collisionSystem;
 
   public PhysicsSystem(double screenWidth, double screenHeight, EventBus eventBus) {
+    this(screenWidth, screenHeight, eventBus, null);
+  }
+
+  /**
+   * Creates a physics system that lets the given collision system move continuous colliders.
+   *
+   * @param collisionSystem The collision system sweeping continuous colliders, or null to move
+   *     every entity by simply integrating its velocity.
+   */
+  public PhysicsSystem(
+      double screenWidth, double screenHeight, EventBus eventBus, CollisionSystem collisionSystem) {
     this.screenWidth = screenWidth;
     this.screenHeight = screenHeight;
     this.eventBus = eventBus;
+    this.collisionSystem = collisionSystem;
   }
 
   @Override
   public void update(List<Entity> entities, double deltaTime) {
-    for (Entity entity : entities) {
+    // Indexed loops and orElse(null) keep this per-entity path free of iterators and lambdas.
+    for (int i = 0; i < entities.size(); i++) {
+      Entity entity = entities.get(i);
       // This logic will only run for entities that have both a position and velocity.
-      entity
-          .getComponent(PositionComponent.class)
-          .ifPresent(
-              position ->
-                  entity
-                      .getComponent(VelocityComponent.class)
-                      .ifPresent(
-                          velocity -> {
-                            // First, apply the movement for this frame.
-                            position.x += velocity.x * deltaTime;
-                            position.y += velocity.y * deltaTime;
+      PositionComponent position = entity.getComponent(PositionComponent.class).orElse(null);
+      VelocityComponent velocity = entity.getComponent(VelocityComponent.class).orElse(null);
+      if (position == null || velocity == null) {
+        continue;
+      }
 
-                            // --- Rule for the Ball ---
-                            if (entity.hasComponent(BallComponent.class)) {
-                              // We need the render component to know the ball's size.
-                              entity
-                                  .getComponent(RenderComponent.class)
-                                  .ifPresent(
-                                      render ->
-                                          handleBallWallCollision(
-                                              entity, position, velocity, render));
-                            }
+      // First, apply the movement for this frame.
+      if (isContinuous(entity)) {
+        collisionSystem.sweep(entity, deltaTime);
+      } else {
+        position.x += velocity.x * deltaTime;
+        position.y += velocity.y * deltaTime;
+      }
+
+      // We need the render component to know the size of the ball or paddle.
+      RenderComponent render = entity.getComponent(RenderComponent.class).orElse(null);
+      if (render == null) {
+        continue;
+      }
+
+      // --- Rule for the Ball ---
+      if (entity.hasComponent(BallComponent.class)) {
+        handleBallWallCollision(entity, position, velocity, render);
+      }
+
+      // --- Rule for the Player Paddle ---
+      if (entity.hasComponent(InputComponent.class)) {
+        handlePaddleWallCollision(position, render);
+      }
+    }
+  }
 
-                            // --- Rule for the Player Paddle ---
-                            if (entity.hasComponent(InputComponent.class)) {
-                              entity
-                                  .getComponent(RenderComponent.class)
-                                  .ifPresent(render -> handlePaddleWallCollision(position, render));
-                            }
-                          }));
+  /** Returns true if the entity must be moved with a swept collision test. */
+  private boolean isContinuous(Entity entity) {
+    if (collisionSystem == null || !entity.hasComponent(RenderComponent.class)) {
+      return false;
     }
+    CollidableComponent collidable = entity.getComponent(CollidableComponent.class).orElse(null);
+    return collidable != null && collidable.continuous;
   }
 
   /**
@@ -1,37 +1,189 @@
 package com.zekecode.hakai.systems;
 
 import com.zekecode.hakai.components.graphics.RenderComponent;
+import com.zekecode.hakai.components.graphics.RenderLayer;
 import com.zekecode.hakai.components.physics.PositionComponent;
+import com.zekecode.hakai.components.physics.PreviousPositionComponent;
+import com.zekecode.hakai.components.physics.VelocityComponent;
+import com.zekecode.hakai.core.Archetype;
 import com.zekecode.hakai.core.Entity;
-import com.zekecode.hakai.core.GameSystem;
+import com.zekecode.hakai.core.EntityQuery;
+import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.engine.render.ArchetypeRenderers;
+import com.zekecode.hakai.engine.render.DirtyRegions;
+import com.zekecode.hakai.engine.render.RenderItem;
+import com.zekecode.hakai.engine.render.RenderSnapshot;
+import com.zekecode.hakai.engine.render.SpriteAtlas;
+import com.zekecode.hakai.engine.render.StaticLayer;
 import com.zekecode.hakai.entities.EntityRenderer;
 import java.util.List;
 import javafx.scene.canvas.GraphicsContext;
 
-public class RenderSystem extends GameSystem {
+/**
+ * The render pass of the game. It is not one of the world's systems: the world only simulates, and
+ * the game loop draws once per displayed frame, after the simulation steps of that frame.
+ *
+ * <p>Rendering is split in two halves so that the simulation and the drawing can run on different
+ * threads. {@link #capture(RenderSnapshot)} runs on the simulation side after each batch of steps
+ * and copies what is needed to draw the entities into a {@link RenderSnapshot}, sorted by {@link
+ * RenderLayer}. {@link #render(RenderSnapshot, double)} runs on the JavaFX thread and only reads
+ * the snapshot, so a paused game is simply redrawn from the last one. Entities with a {@link
+ * PreviousPositionComponent} are drawn between their previous and current positions, according to
+ * how far the display time is between the last two simulation steps.
+ *
+ * <p>Each entity is drawn with the first {@link EntityRenderer} supporting it, looked up once per
+ * archetype by {@link ArchetypeRenderers}.
+ *
+ * <p>Entities without a {@link VelocityComponent}, such as the bricks, never move. They are drawn
+ * into a cached {@link StaticLayer} that is blitted in one call, below all the moving entities. A
+ * query listener records the area of every static entity added or removed, and these dirty regions
+ * travel with the snapshots until the render side reports having redrawn them.
+ */
+public class RenderSystem {
 
+  private static final int LAYER_COUNT = RenderLayer.values().length;
+
+  private final EntityQuery renderable;
   private final GraphicsContext gc;
   private final List<EntityRenderer> renderers;
+  private final ArchetypeRenderers archetypeRenderers;
+
+  // Owned by the simulation side
+  private final DirtyRegions pendingRegions = new DirtyRegions();
+  private long sequence = 0;
+
+  // Owned by the render side
+  private final StaticLayer staticLayer;
 
-  public RenderSystem(GraphicsContext gc, List<EntityRenderer> renderers) {
+  /** The sequence number of the last snapshot whose dirty regions have been redrawn. */
+  private volatile long redrawnSequence = 0;
+
+  public RenderSystem(World world, GraphicsContext gc, List<EntityRenderer> renderers) {
+    this.renderable = world.query(PositionComponent.class, RenderComponent.class);
     this.gc = gc;
     this.renderers = renderers;
+    this.archetypeRenderers = new ArchetypeRenderers(renderable, renderers);
+    this.staticLayer = new StaticLayer(gc.getCanvas().getWidth(), gc.getCanvas().getHeight());
+
+    SpriteAtlas atlas = new SpriteAtlas();
+    for (int i = 0; i < renderers.size(); i++) {
+      renderers.get(i).prepare(atlas);
+    }
+
+    renderable
+        .without(VelocityComponent.class)
+        .addListener(
+            new EntityQuery.Listener() {
+              @Override
+              public void onEntityAdded(Entity entity) {
+                markDirty(entity);
+              }
+
+              @Override
+              public void onEntityRemoved(Entity entity) {
+                markDirty(entity);
+              }
+            });
   }
 
-  @Override
-  public void update(List<Entity> entities, double deltaTime) {
-    for (Entity entity : entities) {
-      // We only care about entities that are actually renderable.
-      if (entity.hasComponent(PositionComponent.class)
-          && entity.hasComponent(RenderComponent.class)) {
-        // Find the first renderer that supports this entity and use it.
-        for (EntityRenderer renderer : renderers) {
-          if (renderer.supports(entity)) {
-            renderer.render(gc, entity);
-            break;
-          }
-        }
+  /**
+   * Copies the render data of every renderable entity into a snapshot, replacing its content.
+   *
+   * @param snapshot The snapshot to fill.
+   */
+  public void capture(RenderSnapshot snapshot) {
+    snapshot.clear();
+    snapshot.setSequence(++sequence);
+    pendingRegions.removeUpTo(redrawnSequence);
+    snapshot.getDirtyRegions().copyFrom(pendingRegions);
+
+    List<Archetype> archetypes = renderable.getArchetypes();
+    for (int i = 0; i < archetypes.size(); i++) {
+      Archetype archetype = archetypes.get(i);
+      int rendererIndex = archetypeRenderers.rendererOf(i);
+      if (rendererIndex < 0) { // No renderer, or no entity yet
+        continue;
+      }
+      EntityRenderer renderer = renderers.get(rendererIndex);
+      PositionComponent[] positions = archetype.getColumn(PositionComponent.class);
+      RenderComponent[] renders = archetype.getColumn(RenderComponent.class);
+      PreviousPositionComponent[] previous = archetype.getColumn(PreviousPositionComponent.class);
+      boolean isStatic = archetype.getColumn(VelocityComponent.class) == null;
+      for (int row = 0; row < archetype.size(); row++) {
+        RenderItem item = snapshot.add();
+        item.x = positions[row].x;
+        item.y = positions[row].y;
+        item.previousX = previous != null ? previous[row].x : item.x;
+        item.previousY = previous != null ? previous[row].y : item.y;
+        item.width = renders[row].width;
+        item.height = renders[row].height;
+        item.color = renders[row].color;
+        item.layer = renders[row].layer.ordinal();
+        item.isStatic = isStatic;
+        item.renderer = rendererIndex;
+        item.variant = renderer.variantOf(archetype.getEntity(row));
       }
     }
+    snapshot.sortByLayer(LAYER_COUNT);
+  }
+
+  /**
+   * Draws the content of a snapshot.
+   *
+   * @param snapshot The snapshot to draw.
+   * @param alpha The interpolation factor between the previous simulation state (0) and the
+   *     current one (1).
+   */
+  public void render(RenderSnapshot snapshot, double alpha) {
+    updateStaticLayer(snapshot);
+    drawStaticLayer(gc);
+    renderMoving(snapshot, alpha, null);
+  }
+
+  /**
+   * Brings the cached static layer up to date with a snapshot.
+   *
+   * @param snapshot The snapshot about to be drawn.
+   * @return True if the image of the static layer changed.
+   */
+  public boolean updateStaticLayer(RenderSnapshot snapshot) {
+    boolean changed = staticLayer.update(snapshot, renderers);
+    redrawnSequence = staticLayer.getAppliedSequence();
+    return changed;
+  }
+
+  /** Draws the cached image of every static entity onto the given graphics context. */
+  public void drawStaticLayer(GraphicsContext target) {
+    staticLayer.draw(target);
+  }
+
+  /**
+   * Draws the entities of a snapshot that are not part of the static layer.
+   *
+   * @param snapshot The snapshot to draw.
+   * @param alpha The interpolation factor between the previous simulation state (0) and the
+   *     current one (1).
+   * @param drawnBounds If not null, receives the box of every entity drawn.
+   */
+  public void renderMoving(RenderSnapshot snapshot, double alpha, DirtyRegions drawnBounds) {
+    for (int i = 0; i < snapshot.size(); i++) {
+      RenderItem item = snapshot.get(i);
+      if (item.isStatic) {
+        continue;
+      }
+      double x = item.previousX + (item.x - item.previousX) * alpha;
+      double y = item.previousY + (item.y - item.previousY) * alpha;
+      renderers.get(item.renderer).render(gc, item, x, y);
+      if (drawnBounds != null) {
+        drawnBounds.add(snapshot.getSequence(), x, y, item.width, item.height);
+      }
+    }
+  }
+
+  /** Records the area of a static entity as needing a redraw in the next snapshot. */
+  private void markDirty(Entity entity) {
+    PositionComponent position = entity.getComponent(PositionComponent.class).get();
+    RenderComponent render = entity.getComponent(RenderComponent.class).get();
+    pendingRegions.add(sequence + 1, position.x, position.y, render.width, render.height);
   }
 }
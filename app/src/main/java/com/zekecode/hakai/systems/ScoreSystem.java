@@ -5,8 +5,10 @@ import com.google.common.eventbus.Subscribe;
 import com.zekecode.hakai.components.entities.ScoreComponent;
 import com.zekecode.hakai.config.GameConfig;
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.EntityQuery;
 import com.zekecode.hakai.core.GameSystem;
 import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.engine.events.EventPool;
 import com.zekecode.hakai.events.ScoreChangedEvent;
 import com.zekecode.hakai.events.brick.BrickDestroyedEvent;
 import java.util.List;
@@ -17,10 +19,11 @@ import java.util.Optional;
  */
 public class ScoreSystem extends GameSystem {
   private final EventBus eventBus;
-  private final World world;
+  private final EventPool<ScoreChangedEvent> scoreEvents = new EventPool<>(ScoreChangedEvent::new);
+  private final EntityQuery scoreHolders;
 
   public ScoreSystem(World world, EventBus eventBus) {
-    this.world = world;
+    this.scoreHolders = world.query(ScoreComponent.class);
     this.eventBus = eventBus;
   }
 
@@ -34,17 +37,11 @@ public class ScoreSystem extends GameSystem {
     ScoreComponent scoreComp = stateEntityOpt.get().getComponent(ScoreComponent.class).get();
     scoreComp.score += GameConfig.POINTS_PER_BRICK;
 
-    System.out.println("SCORE: " + scoreComp.score);
-    eventBus.post(new ScoreChangedEvent(scoreComp.score));
+    eventBus.post(scoreEvents.obtain().set(scoreComp.score));
   }
 
   private Optional<Entity> findGameStateEntity() {
-    for (Entity entity : world.getEntities()) {
-      if (entity.hasComponent(ScoreComponent.class)) {
-        return Optional.of(entity);
-      }
-    }
-    return Optional.empty();
+    return scoreHolders.first();
   }
 
   @Override
@@ -1,48 +1,50 @@
 package com.zekecode.hakai.systems.collisions;
 
 import com.google.common.eventbus.EventBus;
-import com.google.common.eventbus.Subscribe;
-import com.zekecode.hakai.components.ball.BallComponent;
-import com.zekecode.hakai.components.entities.BrickComponent;
-import com.zekecode.hakai.core.Component;
 import com.zekecode.hakai.core.Entity;
-import com.zekecode.hakai.events.CollisionEvent;
+import com.zekecode.hakai.engine.events.EventPool;
 import com.zekecode.hakai.events.brick.BrickHitEvent;
-
-/** Handles the specific logic for when a Ball collides with a Brick. */
-public class BallBrickCollisionSystem extends BallCollisionHandlerSystem {
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Handles the specific logic for when a Ball collides with a Brick. Must be registered for the
+ * {@code BALL} and {@code BRICK} layers, in that order.
+ *
+ * <p>A ball overlapping several bricks at once (e.g. at the seam between two of them) only bounces
+ * on the first one, as bouncing on each would flip its velocity back and forth. Every brick still
+ * gets hit.
+ */
+public class BallBrickCollisionSystem extends BallCollisionHandlerSystem
+    implements CollisionHandler {
 
   private final EventBus eventBus;
 
-  public BallBrickCollisionSystem(EventBus eventBus) {
-    this.eventBus = eventBus;
-  }
-
-  @Subscribe
-  public void onCollision(CollisionEvent event) {
-    Entity ball = getEntityWithComponent(event, BallComponent.class);
-    Entity brick = getEntityWithComponent(event, BrickComponent.class);
+  /** The balls that already bounced in the batch being handled. */
+  private final List<Entity> bouncedBalls = new ArrayList<>();
 
-    // If the collision is not between a ball and a brick, ignore it.
-    if (ball == null || brick == null) {
-      return;
-    }
-
-    // Resolve the physics
-    resolveBounce(ball, brick);
+  private final EventPool<BrickHitEvent> hitEvents = new EventPool<>(BrickHitEvent::new);
 
-    // Post the gameplay event for other systems (like ScoreSystem)
-    eventBus.post(new BrickHitEvent(brick));
+  public BallBrickCollisionSystem(EventBus eventBus) {
+    this.eventBus = eventBus;
   }
 
-  private <T extends Component> Entity getEntityWithComponent(
-      CollisionEvent event, Class<T> componentClass) {
-    if (event.entityA.hasComponent(componentClass)) {
-      return event.entityA;
-    }
-    if (event.entityB.hasComponent(componentClass)) {
-      return event.entityB;
+  @Override
+  public void onContacts(CollisionContacts contacts) {
+    bouncedBalls.clear();
+    for (int i = 0; i < contacts.size(); i++) {
+      Entity ball = contacts.getFirst(i);
+      Entity brick = contacts.getSecond(i);
+
+      // Resolve the physics, once per ball
+      if (!bouncedBalls.contains(ball)) {
+        resolveBounce(ball, brick);
+        bouncedBalls.add(ball);
+      }
+
+      // Post the gameplay event for other systems (like ScoreSystem)
+      eventBus.post(hitEvents.obtain().set(brick));
     }
-    return null;
+    bouncedBalls.clear();
   }
 }
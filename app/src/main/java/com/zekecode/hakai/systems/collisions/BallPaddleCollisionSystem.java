@@ -1,20 +1,19 @@
 package com.zekecode.hakai.systems.collisions;
 
 import com.google.common.eventbus.EventBus;
-import com.google.common.eventbus.Subscribe;
-import com.zekecode.hakai.components.InputComponent;
-import com.zekecode.hakai.components.ball.BallComponent;
 import com.zekecode.hakai.components.graphics.RenderComponent;
 import com.zekecode.hakai.components.physics.PositionComponent;
 import com.zekecode.hakai.components.physics.VelocityComponent;
 import com.zekecode.hakai.config.GameConfig;
-import com.zekecode.hakai.core.Component;
 import com.zekecode.hakai.core.Entity;
-import com.zekecode.hakai.events.CollisionEvent;
 import com.zekecode.hakai.events.PaddleHitEvent;
 
-/** Handles the specific logic for when a Ball collides with the player's Paddle. */
-public class BallPaddleCollisionSystem extends BallCollisionHandlerSystem {
+/**
+ * Handles the specific logic for when a Ball collides with the player's Paddle. Must be registered
+ * for the {@code BALL} and {@code PADDLE} layers, in that order.
+ */
+public class BallPaddleCollisionSystem extends BallCollisionHandlerSystem
+    implements CollisionHandler {
 
   private final EventBus eventBus;
 
@@ -22,16 +21,14 @@ public class BallPaddleCollisionSystem extends BallCollisionHandlerSystem {
     this.eventBus = eventBus;
   }
 
-  @Subscribe
-  public void onCollision(CollisionEvent event) {
-    Entity ball = getEntityWithComponent(event, BallComponent.class);
-    Entity paddle = getEntityWithComponent(event, InputComponent.class);
-
-    // If the collision is not between a ball and a paddle, ignore it.
-    if (ball == null || paddle == null) {
-      return;
+  @Override
+  public void onContacts(CollisionContacts contacts) {
+    for (int i = 0; i < contacts.size(); i++) {
+      onCollision(contacts.getFirst(i), contacts.getSecond(i));
     }
+  }
 
+  private void onCollision(Entity ball, Entity paddle) {
     VelocityComponent ballVelocity = ball.getComponent(VelocityComponent.class).get();
 
     // Only bounce if the ball is moving downwards towards the paddle
@@ -49,18 +46,7 @@ public class BallPaddleCollisionSystem extends BallCollisionHandlerSystem {
       double distanceFromCenter = ballCenter - paddleCenter;
       ballVelocity.x += distanceFromCenter * GameConfig.BALL_SPIN_FACTOR; // Apply spin
 
-      eventBus.post(new PaddleHitEvent());
-    }
-  }
-
-  private <T extends Component> Entity getEntityWithComponent(
-      CollisionEvent event, Class<T> componentClass) {
-    if (event.entityA.hasComponent(componentClass)) {
-      return event.entityA;
-    }
-    if (event.entityB.hasComponent(componentClass)) {
-      return event.entityB;
+      eventBus.post(PaddleHitEvent.INSTANCE);
     }
-    return null;
   }
 }
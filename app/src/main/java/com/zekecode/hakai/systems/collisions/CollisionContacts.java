@@ -0,0 +1,59 @@
+package com.zekecode.hakai.systems.collisions;
+
+import com.zekecode.hakai.core.Entity;
+import java.util.Arrays;
+
+/**
+ * The contacts found between the entities of two collision layers, stored as two parallel arrays
+ * rather than one event object per pair. The first entity of every contact belongs to the first
+ * layer the receiving {@link CollisionHandler} was registered with, and the second entity to the
+ * second layer, so handlers never have to find out which entity is which.
+ *
+ * <p>The storage is reused from frame to frame, so recording contacts does not allocate once the
+ * arrays have grown to their working size.
+ */
+public class CollisionContacts {
+
+  private Entity[] firsts = new Entity[16];
+  private Entity[] seconds = new Entity[16];
+  private int size;
+
+  /**
+   * Adds a contact.
+   *
+   * @param first The entity in the first layer.
+   * @param second The entity in the second layer.
+   */
+  public void add(Entity first, Entity second) {
+    if (size == firsts.length) {
+      firsts = Arrays.copyOf(firsts, size * 2);
+      seconds = Arrays.copyOf(seconds, size * 2);
+    }
+    firsts[size] = first;
+    seconds[size] = second;
+    size++;
+  }
+
+  /** Removes every contact. */
+  public void clear() {
+    // Do not keep removed entities alive until the slots are reused
+    Arrays.fill(firsts, 0, size, null);
+    Arrays.fill(seconds, 0, size, null);
+    size = 0;
+  }
+
+  /** Returns the number of contacts. */
+  public int size() {
+    return size;
+  }
+
+  /** Returns the entity of a contact belonging to the first layer. */
+  public Entity getFirst(int index) {
+    return firsts[index];
+  }
+
+  /** Returns the entity of a contact belonging to the second layer. */
+  public Entity getSecond(int index) {
+    return seconds[index];
+  }
+}
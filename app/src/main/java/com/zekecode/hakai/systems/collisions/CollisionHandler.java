@@ -0,0 +1,20 @@
+package com.zekecode.hakai.systems.collisions;
+
+/**
+ * Receives the collisions between two layers directly from the CollisionSystem, instead of going
+ * through the event bus and filtering out every unrelated collision.
+ *
+ * <p>The contacts found by the overlap test are delivered in a single batch per update, after all
+ * of them were found. The contacts of a swept collider are delivered one at a time, as it moves,
+ * since the handler's response (e.g. a bounce) decides where the collider goes next.
+ */
+public interface CollisionHandler {
+
+  /**
+   * Handles a batch of contacts. The batch is only valid during the call.
+   *
+   * @param contacts The contacts, the first entity of each being in the first layer the handler
+   *     was registered with.
+   */
+  void onContacts(CollisionContacts contacts);
+}
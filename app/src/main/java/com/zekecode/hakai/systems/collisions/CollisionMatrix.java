@@ -0,0 +1,54 @@
+package com.zekecode.hakai.systems.collisions;
+
+import com.zekecode.hakai.components.physics.CollisionLayer;
+
+/**
+ * A symmetric table telling which {@link CollisionLayer}s interact. The CollisionSystem only looks
+ * for pairs whose layers are enabled here.
+ */
+public final class CollisionMatrix {
+
+  /** For each layer, the bits of the layers it interacts with. */
+  private final int[] masks = new int[CollisionLayer.values().length];
+
+  /**
+   * Creates the matrix used by the game: balls bounce on paddles and bricks, and paddles collect
+   * drops. The {@link CollisionLayer#DEFAULT} layer interacts with everything.
+   *
+   * @return A new matrix, which can still be changed.
+   */
+  public static CollisionMatrix createDefault() {
+    CollisionMatrix matrix = new CollisionMatrix();
+    for (CollisionLayer layer : CollisionLayer.values()) {
+      matrix.enable(CollisionLayer.DEFAULT, layer);
+    }
+    return matrix
+        .enable(CollisionLayer.BALL, CollisionLayer.PADDLE)
+        .enable(CollisionLayer.BALL, CollisionLayer.BRICK)
+        .enable(CollisionLayer.PADDLE, CollisionLayer.DROP);
+  }
+
+  /** Makes the two layers interact. Returns this matrix to chain calls. */
+  public CollisionMatrix enable(CollisionLayer a, CollisionLayer b) {
+    masks[a.ordinal()] |= b.bit();
+    masks[b.ordinal()] |= a.bit();
+    return this;
+  }
+
+  /** Stops the two layers from interacting. Returns this matrix to chain calls. */
+  public CollisionMatrix disable(CollisionLayer a, CollisionLayer b) {
+    masks[a.ordinal()] &= ~b.bit();
+    masks[b.ordinal()] &= ~a.bit();
+    return this;
+  }
+
+  /** Returns true if entities of the two layers interact. */
+  public boolean canCollide(CollisionLayer a, CollisionLayer b) {
+    return (masks[a.ordinal()] & b.bit()) != 0;
+  }
+
+  /** Returns the bits of all the layers interacting with the given one. */
+  public int maskOf(CollisionLayer layer) {
+    return masks[layer.ordinal()];
+  }
+}
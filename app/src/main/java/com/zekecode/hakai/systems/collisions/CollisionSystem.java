@@ -1,61 +1,474 @@
 package com.zekecode.hakai.systems.collisions;
 
 import com.google.common.eventbus.EventBus;
+import com.zekecode.hakai.components.entities.DeadComponent;
 import com.zekecode.hakai.components.graphics.RenderComponent;
 import com.zekecode.hakai.components.physics.CollidableComponent;
+import com.zekecode.hakai.components.physics.CollisionLayer;
 import com.zekecode.hakai.components.physics.PositionComponent;
 import com.zekecode.hakai.components.physics.VelocityComponent;
+import com.zekecode.hakai.config.GameConfig;
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.EntityQuery;
 import com.zekecode.hakai.core.GameSystem;
+import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.engine.events.EventPool;
 import com.zekecode.hakai.events.CollisionEvent;
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Detects overlapping collidable entities and reports them. Pairs whose layers have a registered
+ * {@link CollisionHandler} are recorded into the {@link CollisionContacts} of that pair of layers,
+ * and each handler receives all of its contacts in a single call at the end of the update. Any
+ * other pair is posted on the event bus as a {@link CollisionEvent}.
+ *
+ * <p>Pairs are found through {@link SpatialGrid}s, one per {@link CollisionLayer} and kind of
+ * entity. Static collidables (the ones without a {@link VelocityComponent}, i.e. bricks) are
+ * inserted into their grid once, when they are created, and removed when they leave the world.
+ * Dynamic collidables (balls, drops, the paddle) are re-bucketed every frame. Each dynamic entity
+ * is then only tested against the entities sharing one of its cells, in the layers the {@link
+ * CollisionMatrix} lets it interact with, and static pairs are never considered.
+ *
+ * <p>Continuous colliders (see {@link CollidableComponent#continuous}) are skipped by the overlap
+ * test. Their collisions are found while they move, through {@link #sweep(Entity, double)}, which
+ * the PhysicsSystem calls instead of simply integrating their velocity. The colliders a sweep
+ * reaches at the same time, e.g. two bricks at the seam between them, are delivered together, as
+ * a batch, like the contacts of an update.
+ */
 public class CollisionSystem extends GameSystem {
 
+  private static final CollisionLayer[] LAYERS = CollisionLayer.values();
+
+  /**
+   * The maximum number of hits resolved for one entity in a single sweep. The colliders reached at
+   * the same time count as a single hit.
+   */
+  private static final int MAX_SWEEP_HITS = 4;
+
+  /**
+   * Extra space around a sweep when looking for dynamic colliders, which may have moved a bit
+   * since they were bucketed at the start of the frame.
+   */
+  private static final double DYNAMIC_SWEEP_MARGIN = GameConfig.COLLISION_CELL_SIZE / 2;
+
   private final EventBus eventBus;
+  private final CollisionMatrix matrix;
+  private final EntityQuery dynamicQuery;
+
+  private final SpatialGrid[] staticGrids = new SpatialGrid[LAYERS.length];
+  private final SpatialGrid[] dynamicGrids = new SpatialGrid[LAYERS.length];
+
+  /**
+   * The contacts of each pair of layers with a handler, shared by both orders of the layers, and
+   * whether the entities of a pair found in a given order must be swapped to match the order the
+   * handler was registered with.
+   */
+  private final CollisionContacts[][] contacts =
+      new CollisionContacts[LAYERS.length][LAYERS.length];
+
+  private final boolean[][] swapped = new boolean[LAYERS.length][LAYERS.length];
+
+  /** The handlers and their contacts, in registration order, to deliver the batches. */
+  private final List<CollisionHandler> batchHandlers = new ArrayList<>();
+
+  private final List<CollisionContacts> batches = new ArrayList<>();
+
+  /** The events posted for pairs without a handler, reused once delivered. */
+  private final EventPool<CollisionEvent> collisionEvents = new EventPool<>(CollisionEvent::new);
+
+  /**
+   * Static entities that started or stopped being collidable since the last update. Changes are
+   * applied at the start of the next update, so the grids never change while they are being read.
+   */
+  private final List<Entity> pendingStaticInserts = new ArrayList<>();
+
+  private final List<Entity> pendingStaticRemovals = new ArrayList<>();
+
+  /** Reused every frame, as collision handlers may change the components of the entities. */
+  private final List<Entity> dynamics = new ArrayList<>();
 
-  public CollisionSystem(EventBus eventBus) {
+  private final List<Entity> candidates = new ArrayList<>();
+
+  /** Entities already hit during the current sweep, which cannot be hit again. */
+  private final List<Entity> sweepHits = new ArrayList<>();
+
+  /** Shown every pair found before it is handled, or null. */
+  private CollisionHandler observer;
+
+  /** Holds the single pair shown to the observer when it is posted on the event bus. */
+  private final CollisionContacts observedContact = new CollisionContacts();
+
+  public CollisionSystem(World world, EventBus eventBus) {
+    this(world, eventBus, CollisionMatrix.createDefault());
+  }
+
+  public CollisionSystem(World world, EventBus eventBus, CollisionMatrix matrix) {
     this.eventBus = eventBus;
+    this.matrix = matrix;
+    for (int i = 0; i < LAYERS.length; i++) {
+      staticGrids[i] = createGrid();
+      dynamicGrids[i] = createGrid();
+    }
+
+    EntityQuery collidableQuery =
+        world.query(CollidableComponent.class, PositionComponent.class, RenderComponent.class);
+    this.dynamicQuery =
+        world.query(
+            CollidableComponent.class,
+            PositionComponent.class,
+            RenderComponent.class,
+            VelocityComponent.class);
+
+    EntityQuery staticQuery = collidableQuery.without(VelocityComponent.class);
+    staticQuery.forEach(pendingStaticInserts::add);
+    staticQuery.addListener(
+        new EntityQuery.Listener() {
+          @Override
+          public void onEntityAdded(Entity entity) {
+            pendingStaticInserts.add(entity);
+          }
+
+          @Override
+          public void onEntityRemoved(Entity entity) {
+            // An entity that never reached a grid only has to be dropped from the queue.
+            if (!pendingStaticInserts.remove(entity)) {
+              pendingStaticRemovals.add(entity);
+            }
+          }
+        });
+  }
+
+  /**
+   * Sends the collisions between the two layers to the given handler instead of the event bus,
+   * replacing the handler previously registered for them.
+   *
+   * @param a The layer of the first entity of each contact the handler receives.
+   * @param b The layer of the second entity of each contact. It can be the same as the first one.
+   * @param handler The handler receiving the collisions.
+   */
+  public void registerHandler(CollisionLayer a, CollisionLayer b, CollisionHandler handler) {
+    int first = a.ordinal();
+    int second = b.ordinal();
+    CollisionContacts batch = contacts[first][second];
+    if (batch == null) {
+      batch = new CollisionContacts();
+      batchHandlers.add(handler);
+      batches.add(batch);
+    } else {
+      batchHandlers.set(batches.indexOf(batch), handler);
+    }
+
+    contacts[first][second] = batch;
+    contacts[second][first] = batch;
+    swapped[first][second] = false;
+    swapped[second][first] = first != second;
+  }
+
+  /**
+   * Shows every colliding pair to an observer right before it is handled, whatever its layers, e.g.
+   * to trace the collisions of each frame. Contacts delivered in a batch are shown as a batch, the
+   * others one at a time.
+   *
+   * @param observer The observer, which must not change the entities, or null to remove it.
+   */
+  public void setObserver(CollisionHandler observer) {
+    this.observer = observer;
   }
 
   @Override
   public void update(List<Entity> entities, double deltaTime) {
-    List<Entity> collidables =
-        entities.stream()
-            .filter(
-                e ->
-                    e.hasComponent(CollidableComponent.class)
-                        && e.hasComponent(PositionComponent.class)
-                        && e.hasComponent(RenderComponent.class))
-            .toList();
-
-    for (int i = 0; i < collidables.size(); i++) {
-      Entity entityA = collidables.get(i);
+    flushStaticChanges();
+
+    dynamicQuery.copyTo(dynamics);
+    for (SpatialGrid grid : dynamicGrids) {
+      grid.clear();
+    }
+    for (int i = 0; i < dynamics.size(); i++) {
+      insert(dynamicGrids, dynamics.get(i));
+    }
+
+    for (int i = 0; i < dynamics.size(); i++) {
+      Entity entityA = dynamics.get(i);
+      CollidableComponent colliderA = entityA.getComponent(CollidableComponent.class).get();
       PositionComponent posA = entityA.getComponent(PositionComponent.class).get();
       RenderComponent renderA = entityA.getComponent(RenderComponent.class).get();
 
-      for (int j = i + 1; j < collidables.size(); j++) {
-        Entity entityB = collidables.get(j);
-
-        if (entityA.getId() == entityB.getId()) {
+      // Only visit the layers both the matrix and this entity accept.
+      int layers = matrix.maskOf(colliderA.layer) & colliderA.mask;
+      for (int layer = 0; layer < LAYERS.length; layer++) {
+        if ((layers & (1 << layer)) == 0) {
           continue;
         }
+        candidates.clear();
+        staticGrids[layer].query(posA.x, posA.y, renderA.width, renderA.height, candidates);
+        testCandidates(entityA, colliderA, posA, renderA, false);
+
+        candidates.clear();
+        dynamicGrids[layer].query(posA.x, posA.y, renderA.width, renderA.height, candidates);
+        testCandidates(entityA, colliderA, posA, renderA, true);
+      }
+    }
+
+    deliverContacts();
+  }
+
+  private void testCandidates(
+      Entity entityA,
+      CollidableComponent colliderA,
+      PositionComponent posA,
+      RenderComponent renderA,
+      boolean dynamic) {
+    for (int j = 0; j < candidates.size(); j++) {
+      Entity entityB = candidates.get(j);
+
+      // Dynamic pairs are found from both sides; only report them from the lower id.
+      if (dynamic && entityB.getId() <= entityA.getId()) {
+        continue;
+      }
+
+      CollidableComponent colliderB = entityB.getComponent(CollidableComponent.class).get();
+      if ((colliderB.mask & colliderA.layer.bit()) == 0
+          || colliderA.continuous
+          || colliderB.continuous) {
+        continue;
+      }
+
+      PositionComponent posB = entityB.getComponent(PositionComponent.class).get();
+      RenderComponent renderB = entityB.getComponent(RenderComponent.class).get();
+
+      if (isColliding(posA, renderA, posB, renderB)) {
+        record(entityA, colliderA, entityB, colliderB);
+      }
+    }
+  }
+
+  /**
+   * Moves an entity along its velocity for the given time, stopping at every collider it would
+   * hit on the way. At each hit the entity is placed in contact with the collider, the collision
+   * is handled (which usually changes the velocity, e.g. a bounce), and the remaining time is spent
+   * moving with the new velocity. Colliders already overlapping the entity count as a hit at the
+   * start of the move. All the colliders reached at the time of a hit are handled in one batch, so
+   * that a handler sees every contact of the entity at once, e.g. to bounce only once.
+   *
+   * <p>The colliders are looked up in the grids built by the last {@link #update(List, double)}.
+   *
+   * @param entity A collidable entity with a position, a velocity and a size.
+   * @param deltaTime The time to move for, in seconds.
+   */
+  public void sweep(Entity entity, double deltaTime) {
+    CollidableComponent collider = entity.getComponent(CollidableComponent.class).get();
+    PositionComponent pos = entity.getComponent(PositionComponent.class).get();
+    VelocityComponent velocity = entity.getComponent(VelocityComponent.class).get();
+    RenderComponent render = entity.getComponent(RenderComponent.class).get();
+    int layers = matrix.maskOf(collider.layer) & collider.mask;
+
+    double timeLeft = deltaTime;
+    int hits = 0;
+    sweepHits.clear();
+    while (hits < MAX_SWEEP_HITS && timeLeft > 0) {
+      double dx = velocity.x * timeLeft;
+      double dy = velocity.y * timeLeft;
+      if (dx == 0 && dy == 0) {
+        return;
+      }
+
+      // Gather everything the box touches on its way
+      double minX = Math.min(pos.x, pos.x + dx);
+      double minY = Math.min(pos.y, pos.y + dy);
+      double width = render.width + Math.abs(dx);
+      double height = render.height + Math.abs(dy);
+      candidates.clear();
+      for (int layer = 0; layer < LAYERS.length; layer++) {
+        if ((layers & (1 << layer)) != 0) {
+          staticGrids[layer].query(minX, minY, width, height, candidates);
+          dynamicGrids[layer].query(
+              minX - DYNAMIC_SWEEP_MARGIN,
+              minY - DYNAMIC_SWEEP_MARGIN,
+              width + 2 * DYNAMIC_SWEEP_MARGIN,
+              height + 2 * DYNAMIC_SWEEP_MARGIN,
+              candidates);
+        }
+      }
 
-        if (!entityA.hasComponent(VelocityComponent.class)
-            && !entityB.hasComponent(VelocityComponent.class)) {
+      // Find the earliest hit, along with everything else reached at the same time
+      int firstHit = sweepHits.size();
+      double earliest = Double.POSITIVE_INFINITY;
+      for (int i = 0; i < candidates.size(); i++) {
+        Entity other = candidates.get(i);
+        if (other == entity
+            || sweepHits.contains(other)
+            || other.hasComponent(DeadComponent.class)) {
           continue;
         }
+        CollidableComponent otherCollider = other.getComponent(CollidableComponent.class).get();
+        if ((otherCollider.mask & collider.layer.bit()) == 0) {
+          continue;
+        }
+        PositionComponent otherPos = other.getComponent(PositionComponent.class).get();
+        RenderComponent otherRender = other.getComponent(RenderComponent.class).get();
+        double time = timeOfImpact(pos, render, dx, dy, otherPos, otherRender);
+        if (time < earliest) {
+          earliest = time;
+          while (sweepHits.size() > firstHit) {
+            sweepHits.remove(sweepHits.size() - 1);
+          }
+          sweepHits.add(other);
+        } else if (time == earliest && time != Double.POSITIVE_INFINITY) {
+          sweepHits.add(other);
+        }
+      }
+      if (sweepHits.size() == firstHit) {
+        break;
+      }
 
-        PositionComponent posB = entityB.getComponent(PositionComponent.class).get();
-        RenderComponent renderB = entityB.getComponent(RenderComponent.class).get();
+      // Move into contact, let the handlers react, then carry on with what is left of the frame
+      pos.x += dx * earliest;
+      pos.y += dy * earliest;
+      timeLeft -= timeLeft * earliest;
+      hits++;
+      for (int i = firstHit; i < sweepHits.size(); i++) {
+        Entity hit = sweepHits.get(i);
+        record(entity, collider, hit, hit.getComponent(CollidableComponent.class).get());
+      }
+      deliverContacts();
+    }
 
-        if (isColliding(posA, renderA, posB, renderB)) {
-          eventBus.post(new CollisionEvent(entityA, entityB));
+    pos.x += velocity.x * timeLeft;
+    pos.y += velocity.y * timeLeft;
+  }
+
+  /**
+   * Computes when a moving box first touches a still one, as a fraction of the move.
+   *
+   * @return A time between 0 and 1, or positive infinity if the boxes do not meet during the move.
+   *     Boxes already overlapping meet at 0.
+   */
+  private static double timeOfImpact(
+      PositionComponent pos,
+      RenderComponent render,
+      double dx,
+      double dy,
+      PositionComponent otherPos,
+      RenderComponent otherRender) {
+    double entryX;
+    double exitX;
+    if (dx > 0) {
+      entryX = (otherPos.x - (pos.x + render.width)) / dx;
+      exitX = (otherPos.x + otherRender.width - pos.x) / dx;
+    } else if (dx < 0) {
+      entryX = (otherPos.x + otherRender.width - pos.x) / dx;
+      exitX = (otherPos.x - (pos.x + render.width)) / dx;
+    } else if (pos.x + render.width <= otherPos.x || pos.x >= otherPos.x + otherRender.width) {
+      return Double.POSITIVE_INFINITY;
+    } else {
+      entryX = Double.NEGATIVE_INFINITY;
+      exitX = Double.POSITIVE_INFINITY;
+    }
+
+    double entryY;
+    double exitY;
+    if (dy > 0) {
+      entryY = (otherPos.y - (pos.y + render.height)) / dy;
+      exitY = (otherPos.y + otherRender.height - pos.y) / dy;
+    } else if (dy < 0) {
+      entryY = (otherPos.y + otherRender.height - pos.y) / dy;
+      exitY = (otherPos.y - (pos.y + render.height)) / dy;
+    } else if (pos.y + render.height <= otherPos.y || pos.y >= otherPos.y + otherRender.height) {
+      return Double.POSITIVE_INFINITY;
+    } else {
+      entryY = Double.NEGATIVE_INFINITY;
+      exitY = Double.POSITIVE_INFINITY;
+    }
+
+    double entry = Math.max(entryX, entryY);
+    double exit = Math.min(exitX, exitY);
+    if (entry > exit || entry > 1 || exit <= 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return Math.max(0, entry);
+  }
+
+  /** Adds a colliding pair to the contacts of its layers, or posts it on the event bus. */
+  private void record(
+      Entity entityA,
+      CollidableComponent colliderA,
+      Entity entityB,
+      CollidableComponent colliderB) {
+    int layerA = colliderA.layer.ordinal();
+    int layerB = colliderB.layer.ordinal();
+    CollisionContacts batch = contacts[layerA][layerB];
+    if (batch == null) {
+      observe(entityA, entityB);
+      eventBus.post(collisionEvents.obtain().set(entityA, entityB));
+    } else if (swapped[layerA][layerB]) {
+      batch.add(entityB, entityA);
+    } else {
+      batch.add(entityA, entityB);
+    }
+  }
+
+  /** Shows a single pair to the observer, if any. */
+  private void observe(Entity entityA, Entity entityB) {
+    if (observer == null) {
+      return;
+    }
+    observedContact.add(entityA, entityB);
+    try {
+      observer.onContacts(observedContact);
+    } finally {
+      observedContact.clear();
+    }
+  }
+
+  /** Hands each handler the contacts recorded for it during the update or the sweep. */
+  private void deliverContacts() {
+    for (int i = 0; i < batches.size(); i++) {
+      CollisionContacts batch = batches.get(i);
+      if (batch.size() > 0) {
+        try {
+          if (observer != null) {
+            observer.onContacts(batch);
+          }
+          batchHandlers.get(i).onContacts(batch);
+        } finally {
+          batch.clear();
         }
       }
     }
   }
 
+  /** Applies the static grid changes collected since the last update. */
+  private void flushStaticChanges() {
+    for (int i = 0; i < pendingStaticRemovals.size(); i++) {
+      Entity entity = pendingStaticRemovals.get(i);
+      // The components may already be gone, so look for the entity in every layer.
+      for (SpatialGrid grid : staticGrids) {
+        if (grid.remove(entity)) {
+          break;
+        }
+      }
+    }
+    pendingStaticRemovals.clear();
+
+    for (int i = 0; i < pendingStaticInserts.size(); i++) {
+      insert(staticGrids, pendingStaticInserts.get(i));
+    }
+    pendingStaticInserts.clear();
+  }
+
+  private void insert(SpatialGrid[] grids, Entity entity) {
+    CollidableComponent collider = entity.getComponent(CollidableComponent.class).get();
+    PositionComponent pos = entity.getComponent(PositionComponent.class).get();
+    RenderComponent render = entity.getComponent(RenderComponent.class).get();
+    grids[collider.layer.ordinal()].insert(entity, pos.x, pos.y, render.width, render.height);
+  }
+
+  private SpatialGrid createGrid() {
+    return new SpatialGrid(
+        GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT, GameConfig.COLLISION_CELL_SIZE);
+  }
+
   private boolean isColliding(
       PositionComponent posA,
       RenderComponent renderA,
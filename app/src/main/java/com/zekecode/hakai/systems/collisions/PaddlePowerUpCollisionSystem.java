@@ -1,20 +1,19 @@
 package com.zekecode.hakai.systems.collisions;
 
 import com.google.common.eventbus.EventBus;
-import com.google.common.eventbus.Subscribe;
-import com.zekecode.hakai.components.InputComponent;
 import com.zekecode.hakai.components.entities.DeadComponent;
 import com.zekecode.hakai.components.powerups.PowerUpDropComponent;
-import com.zekecode.hakai.core.Component;
 import com.zekecode.hakai.core.Entity;
 import com.zekecode.hakai.core.GameSystem;
-import com.zekecode.hakai.events.CollisionEvent;
 import com.zekecode.hakai.events.powerup.PowerUpCollectedEvent;
 import com.zekecode.hakai.powerups.PowerUpType;
 import java.util.List;
 
-/** Handles the specific collision logic between the player's paddle and a power-up drop. */
-public class PaddlePowerUpCollisionSystem extends GameSystem {
+/**
+ * Handles the specific collision logic between the player's paddle and a power-up drop. Must be
+ * registered for the {@code PADDLE} and {@code DROP} layers, in that order.
+ */
+public class PaddlePowerUpCollisionSystem extends GameSystem implements CollisionHandler {
 
   private final EventBus eventBus;
 
@@ -22,34 +21,27 @@ public class PaddlePowerUpCollisionSystem extends GameSystem {
     this.eventBus = eventBus;
   }
 
-  @Subscribe
-  public void onCollision(CollisionEvent event) {
-    Entity paddle = getEntityWithComponent(event, InputComponent.class);
-    Entity powerUp = getEntityWithComponent(event, PowerUpDropComponent.class);
-
-    if (paddle == null || powerUp == null) {
-      return;
+  @Override
+  public void onContacts(CollisionContacts contacts) {
+    for (int i = 0; i < contacts.size(); i++) {
+      Entity paddle = contacts.getFirst(i);
+      Entity powerUp = contacts.getSecond(i);
+      // A drop is only collected once, even if it touched several paddles
+      if (!powerUp.hasComponent(DeadComponent.class)) {
+        collect(paddle, powerUp);
+      }
     }
+  }
 
+  private void collect(Entity paddle, Entity powerUp) {
     // Mark the power-up drop for removal from the game world
-    powerUp.addComponent(new DeadComponent());
+    powerUp.addComponent(DeadComponent.INSTANCE);
 
     // Publish an event to notify other systems that a power-up was collected
     PowerUpType type = powerUp.getComponent(PowerUpDropComponent.class).get().effectType;
     eventBus.post(new PowerUpCollectedEvent(paddle, type));
   }
 
-  private <T extends Component> Entity getEntityWithComponent(
-      CollisionEvent event, Class<T> componentClass) {
-    if (event.entityA.hasComponent(componentClass)) {
-      return event.entityA;
-    }
-    if (event.entityB.hasComponent(componentClass)) {
-      return event.entityB;
-    }
-    return null;
-  }
-
   @Override
   public void update(List<Entity> entities, double deltaTime) {
     // This system is purely event-driven.
@@ -0,0 +1,305 @@
+package com.zekecode.hakai.systems.collisions;
+
+import com.zekecode.hakai.core.Entity;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A uniform grid used as a collision broadphase. Each entity is stored in every cell its bounding
+ * box overlaps, so only entities sharing at least one cell need an exact overlap test.
+ *
+ * <p>The grid covers a fixed area; boxes outside of it are clamped into the border cells, which
+ * keeps lookups correct for entities that leave the screen. Lookups report every entity once, even
+ * when it spans several of the visited cells.
+ */
+public final class SpatialGrid {
+
+  private static final int INITIAL_CELL_CAPACITY = 4;
+  private static final int INITIAL_SLOT_CAPACITY = 16;
+  private static final int NO_SLOT = -1;
+  private static final int EMPTY = -1; // Id of the free entries of the table
+
+  private final double cellSize;
+  private final int columns;
+  private final int rows;
+
+  /** Slots of the entities stored in each cell. */
+  private final int[][] cells;
+
+  private final int[] cellSizes;
+
+  /** Indices of the non-empty cells, so that clearing does not visit the whole grid. */
+  private int[] occupiedCells = new int[16];
+
+  private int occupiedCount;
+
+  // Each inserted entity gets a slot, and slots are reused once their entity is removed, so the
+  // arrays below grow with the number of entities in the grid rather than with their ids.
+
+  /** Entity held by each slot, or null if the slot is free. */
+  private Entity[] slotEntities = new Entity[INITIAL_SLOT_CAPACITY];
+
+  /** Cell range of the entity of each slot, four ints per slot. */
+  private int[] ranges = new int[INITIAL_SLOT_CAPACITY * 4];
+
+  /** Last lookup the entity of each slot was reported in. */
+  private int[] stamps = new int[INITIAL_SLOT_CAPACITY];
+
+  private int slotCount; // Slots ever handed out since the last clear
+  private int[] freeSlots = new int[INITIAL_SLOT_CAPACITY];
+  private int freeCount;
+
+  /** Open addressing table from entity id to slot, with linear probing. */
+  private int[] tableIds = newTable(INITIAL_SLOT_CAPACITY * 2);
+
+  private int[] tableSlots = new int[INITIAL_SLOT_CAPACITY * 2];
+  private int tableSize;
+
+  private int currentStamp;
+
+  /**
+   * Creates an empty grid.
+   *
+   * @param width The width of the covered area.
+   * @param height The height of the covered area.
+   * @param cellSize The side of a cell; ideally a bit larger than the typical entity.
+   */
+  public SpatialGrid(double width, double height, double cellSize) {
+    this.cellSize = cellSize;
+    this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+    this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+    this.cells = new int[columns * rows][];
+    this.cellSizes = new int[columns * rows];
+  }
+
+  /**
+   * Adds an entity to every cell overlapped by the given box.
+   *
+   * @param entity The entity to add. It must not already be in the grid.
+   * @param x The left edge of the box.
+   * @param y The top edge of the box.
+   * @param width The width of the box.
+   * @param height The height of the box.
+   */
+  public void insert(Entity entity, double x, double y, double width, double height) {
+    int minColumn = column(x);
+    int maxColumn = column(x + width);
+    int minRow = row(y);
+    int maxRow = row(y + height);
+
+    int slot = allocateSlot(entity);
+    ranges[slot * 4] = minColumn;
+    ranges[slot * 4 + 1] = minRow;
+    ranges[slot * 4 + 2] = maxColumn;
+    ranges[slot * 4 + 3] = maxRow;
+
+    for (int r = minRow; r <= maxRow; r++) {
+      for (int c = minColumn; c <= maxColumn; c++) {
+        addToCell(r * columns + c, slot);
+      }
+    }
+  }
+
+  /**
+   * Removes an entity from the cells it was inserted in.
+   *
+   * @param entity The entity to remove.
+   * @return true if the entity was in the grid.
+   */
+  public boolean remove(Entity entity) {
+    int slot = removeFromTable(entity.getId());
+    if (slot == NO_SLOT) {
+      return false;
+    }
+    for (int r = ranges[slot * 4 + 1]; r <= ranges[slot * 4 + 3]; r++) {
+      for (int c = ranges[slot * 4]; c <= ranges[slot * 4 + 2]; c++) {
+        removeFromCell(r * columns + c, slot);
+      }
+    }
+    slotEntities[slot] = null;
+    if (freeCount == freeSlots.length) {
+      freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+    }
+    freeSlots[freeCount++] = slot;
+    return true;
+  }
+
+  /** Removes every entity from the grid. */
+  public void clear() {
+    for (int i = 0; i < occupiedCount; i++) {
+      cellSizes[occupiedCells[i]] = 0;
+    }
+    occupiedCount = 0;
+    Arrays.fill(slotEntities, 0, slotCount, null);
+    slotCount = 0;
+    freeCount = 0;
+    if (tableSize > 0) {
+      Arrays.fill(tableIds, EMPTY);
+      tableSize = 0;
+    }
+  }
+
+  /**
+   * Appends to the given list every entity stored in a cell overlapped by the given box. Each
+   * entity is reported once; the candidates still need an exact overlap test.
+   *
+   * @param x The left edge of the box.
+   * @param y The top edge of the box.
+   * @param width The width of the box.
+   * @param height The height of the box.
+   * @param result The list receiving the candidates. It is not cleared.
+   */
+  public void query(double x, double y, double width, double height, List<Entity> result) {
+    int stamp = ++currentStamp;
+    int minColumn = column(x);
+    int maxColumn = column(x + width);
+    for (int r = row(y), maxRow = row(y + height); r <= maxRow; r++) {
+      for (int c = minColumn; c <= maxColumn; c++) {
+        int cell = r * columns + c;
+        int[] content = cells[cell];
+        for (int i = 0; i < cellSizes[cell]; i++) {
+          int slot = content[i];
+          if (stamps[slot] != stamp) {
+            stamps[slot] = stamp;
+            result.add(slotEntities[slot]);
+          }
+        }
+      }
+    }
+  }
+
+  /** Returns the number of slots the grid can hold without growing, for tests. */
+  int getSlotCapacity() {
+    return slotEntities.length;
+  }
+
+  private int column(double x) {
+    return Math.max(0, Math.min(columns - 1, (int) Math.floor(x / cellSize)));
+  }
+
+  private int row(double y) {
+    return Math.max(0, Math.min(rows - 1, (int) Math.floor(y / cellSize)));
+  }
+
+  private void addToCell(int cell, int slot) {
+    int[] content = cells[cell];
+    int size = cellSizes[cell];
+    if (content == null) {
+      content = cells[cell] = new int[INITIAL_CELL_CAPACITY];
+    } else if (size == content.length) {
+      content = cells[cell] = Arrays.copyOf(content, size * 2);
+    }
+    if (size == 0) {
+      if (occupiedCount == occupiedCells.length) {
+        occupiedCells = Arrays.copyOf(occupiedCells, occupiedCount * 2);
+      }
+      occupiedCells[occupiedCount++] = cell;
+    }
+    content[size] = slot;
+    cellSizes[cell] = size + 1;
+  }
+
+  private void removeFromCell(int cell, int slot) {
+    int[] content = cells[cell];
+    int size = cellSizes[cell];
+    for (int i = 0; i < size; i++) {
+      if (content[i] == slot) {
+        content[i] = content[size - 1];
+        cellSizes[cell] = size - 1;
+        break;
+      }
+    }
+    if (cellSizes[cell] == 0) {
+      for (int i = 0; i < occupiedCount; i++) {
+        if (occupiedCells[i] == cell) {
+          occupiedCells[i] = occupiedCells[--occupiedCount];
+          break;
+        }
+      }
+    }
+  }
+
+  /** Gives an entity a free slot, growing the slot arrays only when every slot is in use. */
+  private int allocateSlot(Entity entity) {
+    int slot;
+    if (freeCount > 0) {
+      slot = freeSlots[--freeCount];
+    } else {
+      if (slotCount == slotEntities.length) {
+        int capacity = slotCount * 2;
+        slotEntities = Arrays.copyOf(slotEntities, capacity);
+        ranges = Arrays.copyOf(ranges, capacity * 4);
+        stamps = Arrays.copyOf(stamps, capacity);
+      }
+      slot = slotCount++;
+    }
+    slotEntities[slot] = entity;
+    stamps[slot] = 0;
+    putInTable(entity.getId(), slot);
+    return slot;
+  }
+
+  private void putInTable(int id, int slot) {
+    if ((tableSize + 1) * 2 > tableIds.length) {
+      resizeTable(tableIds.length * 2);
+    }
+    int mask = tableIds.length - 1;
+    int index = hash(id) & mask;
+    while (tableIds[index] != EMPTY) {
+      index = (index + 1) & mask;
+    }
+    tableIds[index] = id;
+    tableSlots[index] = slot;
+    tableSize++;
+  }
+
+  /** Removes an id from the table, returning its slot or {@link #NO_SLOT} if it was not there. */
+  private int removeFromTable(int id) {
+    int mask = tableIds.length - 1;
+    int index = hash(id) & mask;
+    while (tableIds[index] != id) {
+      if (tableIds[index] == EMPTY) {
+        return NO_SLOT;
+      }
+      index = (index + 1) & mask;
+    }
+    int slot = tableSlots[index];
+
+    // Shift back the entries that probed past the removed one, so that lookups still find them.
+    int gap = index;
+    for (int next = (gap + 1) & mask; tableIds[next] != EMPTY; next = (next + 1) & mask) {
+      int home = hash(tableIds[next]) & mask;
+      if (((next - home) & mask) >= ((next - gap) & mask)) {
+        tableIds[gap] = tableIds[next];
+        tableSlots[gap] = tableSlots[next];
+        gap = next;
+      }
+    }
+    tableIds[gap] = EMPTY;
+    tableSize--;
+    return slot;
+  }
+
+  private void resizeTable(int capacity) {
+    int[] oldIds = tableIds;
+    int[] oldSlots = tableSlots;
+    tableIds = newTable(capacity);
+    tableSlots = new int[capacity];
+    tableSize = 0;
+    for (int i = 0; i < oldIds.length; i++) {
+      if (oldIds[i] != EMPTY) {
+        putInTable(oldIds[i], oldSlots[i]);
+      }
+    }
+  }
+
+  private static int[] newTable(int capacity) {
+    int[] ids = new int[capacity];
+    Arrays.fill(ids, EMPTY);
+    return ids;
+  }
+
+  private static int hash(int id) {
+    return id * 0x9E3779B9 >>> 16 ^ id;
+  }
+}
@@ -1,13 +1,13 @@
 package com.zekecode.hakai.systems.powerups;
 
 import com.zekecode.hakai.components.powerups.ActiveEffectsComponent;
+import com.zekecode.hakai.components.powerups.EffectTimers;
 import com.zekecode.hakai.core.Entity;
 import com.zekecode.hakai.core.GameSystem;
+import com.zekecode.hakai.powerups.Effect;
 import com.zekecode.hakai.powerups.EffectRegistry;
 import com.zekecode.hakai.powerups.PowerUpType;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * A system dedicated to managing the lifecycle of active effects on entities. It updates effect
@@ -23,43 +23,47 @@ public class EffectManagementSystem extends GameSystem {
 
   @Override
   public void update(List<Entity> entities, double deltaTime) {
-    for (Entity entity : entities) {
-      entity
-          .getComponent(ActiveEffectsComponent.class)
-          .ifPresent(
-              effectsComp -> {
-                Set<PowerUpType> expiredEffects = new HashSet<>();
+    for (int i = 0; i < entities.size(); i++) {
+      Entity entity = entities.get(i);
+      ActiveEffectsComponent effectsComp =
+          entity.getComponent(ActiveEffectsComponent.class).orElse(null);
+      if (effectsComp == null) {
+        continue;
+      }
+      EffectTimers timers = effectsComp.activeEffects;
 
-                // Iterate over the map of active effects for this entity
-                effectsComp.activeEffects.forEach(
-                    (type, timeRemaining) -> {
-                      // Allow the effect to perform continuous logic
-                      effectRegistry
-                          .getEffect(type)
-                          .ifPresent(effect -> effect.update(entity, deltaTime));
+      // Timers are updated in place, so expired effects can be removed as they are found.
+      for (int ordinal = 0; ordinal < EffectTimers.typeCount(); ordinal++) {
+        PowerUpType type = EffectTimers.typeAt(ordinal);
+        if (!timers.containsKey(type)) {
+          continue;
+        }
+        Effect effect = effectRegistry.getEffect(type).orElse(null);
 
-                      // Decrement the timer
-                      double newTime = timeRemaining - deltaTime;
-                      if (newTime <= 0) {
-                        expiredEffects.add(type);
-                      } else {
-                        effectsComp.activeEffects.put(type, newTime);
-                      }
-                    });
+        // Allow the effect to perform continuous logic
+        if (effect != null) {
+          effect.update(entity, deltaTime);
+        }
 
-                // Clean up all expired effects for this entity
-                for (PowerUpType expiredType : expiredEffects) {
-                  effectRegistry.getEffect(expiredType).ifPresent(effect -> effect.remove(entity));
-                  effectsComp.activeEffects.remove(expiredType);
-                  System.out.println(
-                      "Removed expired effect '" + expiredType + "' from entity " + entity.getId());
-                }
+        // Decrement the timer
+        double newTime = timers.get(type) - deltaTime;
+        if (newTime > 0) {
+          timers.put(type, newTime);
+          continue;
+        }
 
-                // If the component has no more active effects, remove it entirely
-                if (effectsComp.activeEffects.isEmpty()) {
-                  entity.removeComponent(ActiveEffectsComponent.class);
-                }
-              });
+        // Clean up the expired effect
+        if (effect != null) {
+          effect.remove(entity);
+        }
+        timers.remove(type);
+        System.out.println("Removed expired effect '" + type + "' from entity " + entity.getId());
+      }
+
+      // If the component has no more active effects, remove it entirely
+      if (timers.isEmpty()) {
+        entity.removeComponent(ActiveEffectsComponent.class);
+      }
     }
   }
 }
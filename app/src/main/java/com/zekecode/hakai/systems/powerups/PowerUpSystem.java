@@ -1,14 +1,12 @@
 package com.zekecode.hakai.systems.powerups;
 
 import com.google.common.eventbus.Subscribe;
-import com.zekecode.hakai.components.InputComponent;
 import com.zekecode.hakai.components.physics.PositionComponent;
 import com.zekecode.hakai.components.powerups.ActiveEffectsComponent;
 import com.zekecode.hakai.components.powerups.PowerUpComponent;
 import com.zekecode.hakai.config.data.PowerUpData;
 import com.zekecode.hakai.core.Entity;
 import com.zekecode.hakai.core.GameSystem;
-import com.zekecode.hakai.core.World;
 import com.zekecode.hakai.entities.EntityFactory;
 import com.zekecode.hakai.events.brick.BrickDestroyedEvent;
 import com.zekecode.hakai.events.powerup.PowerUpCollectedEvent;
@@ -16,7 +14,6 @@ import com.zekecode.hakai.powerups.EffectCategory;
 import com.zekecode.hakai.powerups.EffectRegistry;
 import com.zekecode.hakai.powerups.PowerUpType;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * The central system for handling all power-up and malus logic. It listens for game events to
@@ -24,12 +21,10 @@ import java.util.Optional;
  */
 public class PowerUpSystem extends GameSystem {
 
-  private final World world;
   private final EntityFactory entityFactory;
   private final EffectRegistry effectRegistry;
 
-  public PowerUpSystem(World world, EntityFactory entityFactory, EffectRegistry effectRegistry) {
-    this.world = world;
+  public PowerUpSystem(EntityFactory entityFactory, EffectRegistry effectRegistry) {
     this.entityFactory = entityFactory;
     this.effectRegistry = effectRegistry;
   }
@@ -37,33 +32,33 @@ public class PowerUpSystem extends GameSystem {
   /** Handles the destruction of a brick, checking if it should trigger an effect. */
   @Subscribe
   public void onBrickDestroyed(BrickDestroyedEvent event) {
-    event
-        .brickEntity
-        .getComponent(PowerUpComponent.class)
-        .ifPresent(
-            powerUpComp -> {
-              PowerUpData data = powerUpComp.powerUpData;
-              switch (data.trigger) {
-                case INSTANT:
-                  applyEffect(data.type, event.brickEntity);
-                  break;
-                case ON_COLLECT:
-                  effectRegistry
-                      .getEffect(data.type)
+    // Most bricks carry nothing: return before building any lambda, as this runs for every brick.
+    PowerUpComponent powerUpComp =
+        event.brickEntity.getComponent(PowerUpComponent.class).orElse(null);
+    if (powerUpComp == null) {
+      return;
+    }
+
+    PowerUpData data = powerUpComp.powerUpData;
+    switch (data.trigger) {
+      case INSTANT:
+        applyEffect(data.type, event.brickEntity);
+        break;
+      case ON_COLLECT:
+        effectRegistry
+            .getEffect(data.type)
+            .ifPresent(
+                effect -> {
+                  EffectCategory category = effect.getCategory();
+                  event
+                      .brickEntity
+                      .getComponent(PositionComponent.class)
                       .ifPresent(
-                          effect -> {
-                            EffectCategory category = effect.getCategory();
-                            event
-                                .brickEntity
-                                .getComponent(PositionComponent.class)
-                                .ifPresent(
-                                    pos ->
-                                        entityFactory.createPowerUpDrop(
-                                            pos.x, pos.y, data.type, category));
-                          });
-                  break;
-              }
-            });
+                          pos ->
+                              entityFactory.createPowerUpDrop(pos.x, pos.y, data.type, category));
+                });
+        break;
+    }
   }
 
   /** Handles the collection of a power-up drop by the paddle. */
@@ -107,12 +102,6 @@ public class PowerUpSystem extends GameSystem {
                 System.err.println("Attempted to apply unknown effect type: '" + effectType + "'"));
   }
 
-  private Optional<Entity> findPlayerPaddle() {
-    return world.getEntities().stream()
-        .filter(e -> e.hasComponent(InputComponent.class))
-        .findFirst();
-  }
-
   @Override
   public void update(List<Entity> entities, double deltaTime) {
     // This system is purely event-driven.
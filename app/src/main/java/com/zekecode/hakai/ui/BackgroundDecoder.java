@@ -0,0 +1,197 @@
+package com.zekecode.hakai.ui;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import org.w3c.dom.Node;
+
+/**
+ * Decodes the frames of a background image, static or animated, already scaled to the size of the
+ * screen. Animated GIFs store frames as patches over the previous ones, so each frame is composed
+ * over the previous result, following the disposal method of the GIF, before being scaled.
+ *
+ * <p>Frames are decoded in order, looping back to the first frame after the last one. A decoder is
+ * not thread-safe, but may be handed over from one thread to another.
+ */
+public class BackgroundDecoder {
+
+  private static final String GIF_IMAGE_METADATA = "javax_imageio_gif_image_1.0";
+  private static final String GIF_STREAM_METADATA = "javax_imageio_gif_stream_1.0";
+  private static final long DEFAULT_DELAY_NANOS = 100_000_000L; // What browsers use for 0 delays
+
+  private final ImageReader reader;
+  private final int frameCount;
+  private final int targetWidth;
+  private final int targetHeight;
+
+  // The animation at its own size, with every frame so far applied to it
+  private final BufferedImage composed;
+  private final Graphics2D composedGraphics;
+  private BufferedImage beforeFrame; // Only used by frames disposed by restoring the previous one
+
+  // The composed animation, scaled to the size of the screen
+  private final BufferedImage scaled;
+  private final Graphics2D scaledGraphics;
+
+  private int nextFrame = 0;
+  private String disposal = "none"; // How to dispose of the last frame before drawing the next
+  private int lastX;
+  private int lastY;
+  private int lastWidth;
+  private int lastHeight;
+
+  /**
+   * @param data The content of the image file.
+   * @param targetWidth The width to scale the frames to.
+   * @param targetHeight The height to scale the frames to.
+   * @throws IOException If the image cannot be read.
+   */
+  public BackgroundDecoder(byte[] data, int targetWidth, int targetHeight) throws IOException {
+    ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data));
+    Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+    if (!readers.hasNext()) {
+      throw new IOException("Unsupported background image format");
+    }
+    this.reader = readers.next();
+    reader.setInput(input, false, false);
+    this.frameCount = reader.getNumImages(true);
+    this.targetWidth = targetWidth;
+    this.targetHeight = targetHeight;
+
+    int width = reader.getWidth(0);
+    int height = reader.getHeight(0);
+    IIOMetadata streamMetadata = reader.getStreamMetadata();
+    if (streamMetadata != null
+        && GIF_STREAM_METADATA.equals(streamMetadata.getNativeMetadataFormatName())) {
+      Node root = streamMetadata.getAsTree(GIF_STREAM_METADATA);
+      IIOMetadataNode screen = child(root, "LogicalScreenDescriptor");
+      if (screen != null) {
+        width = Integer.parseInt(screen.getAttribute("logicalScreenWidth"));
+        height = Integer.parseInt(screen.getAttribute("logicalScreenHeight"));
+      }
+    }
+    this.composed = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    this.composedGraphics = composed.createGraphics();
+
+    this.scaled = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+    this.scaledGraphics = scaled.createGraphics();
+    scaledGraphics.setComposite(AlphaComposite.Src);
+    scaledGraphics.setRenderingHint(
+        RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+  }
+
+  /** Returns the number of frames of the image. */
+  public int getFrameCount() {
+    return frameCount;
+  }
+
+  /** Returns the number of pixels of a decoded frame. */
+  public int getPixelCount() {
+    return targetWidth * targetHeight;
+  }
+
+  /**
+   * Decodes the next frame.
+   *
+   * @param target Receives the pixels of the frame, as premultiplied ARGB, row by row.
+   * @return How long the frame stays on screen, in nanoseconds.
+   * @throws IOException If the frame cannot be read.
+   */
+  public long decodeNext(int[] target) throws IOException {
+    if (nextFrame == 0) {
+      clear(0, 0, composed.getWidth(), composed.getHeight());
+    } else {
+      disposeLastFrame();
+    }
+
+    BufferedImage frame = reader.read(nextFrame);
+    int x = 0;
+    int y = 0;
+    long delay = DEFAULT_DELAY_NANOS;
+    String frameDisposal = "none";
+    IIOMetadata metadata = reader.getImageMetadata(nextFrame);
+    if (metadata != null && GIF_IMAGE_METADATA.equals(metadata.getNativeMetadataFormatName())) {
+      Node root = metadata.getAsTree(GIF_IMAGE_METADATA);
+      IIOMetadataNode descriptor = child(root, "ImageDescriptor");
+      if (descriptor != null) {
+        x = Integer.parseInt(descriptor.getAttribute("imageLeftPosition"));
+        y = Integer.parseInt(descriptor.getAttribute("imageTopPosition"));
+      }
+      IIOMetadataNode control = child(root, "GraphicControlExtension");
+      if (control != null) {
+        frameDisposal = control.getAttribute("disposalMethod");
+        int hundredths = Integer.parseInt(control.getAttribute("delayTime"));
+        if (hundredths > 1) {
+          delay = hundredths * 10_000_000L;
+        }
+      }
+    }
+
+    if ("restoreToPrevious".equals(frameDisposal)) {
+      beforeFrame = copy(composed, beforeFrame);
+    }
+    composedGraphics.setComposite(AlphaComposite.SrcOver);
+    composedGraphics.drawImage(frame, x, y, null);
+    disposal = frameDisposal;
+    lastX = x;
+    lastY = y;
+    lastWidth = frame.getWidth();
+    lastHeight = frame.getHeight();
+
+    scaledGraphics.drawImage(composed, 0, 0, targetWidth, targetHeight, null);
+    int[] pixels = ((DataBufferInt) scaled.getRaster().getDataBuffer()).getData();
+    System.arraycopy(pixels, 0, target, 0, pixels.length);
+
+    nextFrame = (nextFrame + 1) % frameCount;
+    return delay;
+  }
+
+  /** Releases the resources held by the decoder. */
+  public void dispose() {
+    composedGraphics.dispose();
+    scaledGraphics.dispose();
+    reader.dispose();
+  }
+
+  /** Undoes the last frame as its disposal method asks, before the next frame is drawn. */
+  private void disposeLastFrame() {
+    if ("restoreToBackgroundColor".equals(disposal)) {
+      clear(lastX, lastY, lastWidth, lastHeight);
+    } else if ("restoreToPrevious".equals(disposal) && beforeFrame != null) {
+      composedGraphics.setComposite(AlphaComposite.Src);
+      composedGraphics.drawImage(beforeFrame, 0, 0, null);
+    }
+  }
+
+  private void clear(int x, int y, int width, int height) {
+    composedGraphics.setComposite(AlphaComposite.Clear);
+    composedGraphics.fillRect(x, y, width, height);
+  }
+
+  private static BufferedImage copy(BufferedImage source, BufferedImage target) {
+    if (target == null) {
+      target = new BufferedImage(source.getWidth(), source.getHeight(), source.getType());
+    }
+    source.copyData(target.getRaster());
+    return target;
+  }
+
+  private static IIOMetadataNode child(Node parent, String name) {
+    for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+      if (name.equals(node.getNodeName())) {
+        return (IIOMetadataNode) node;
+      }
+    }
+    return null;
+  }
+}
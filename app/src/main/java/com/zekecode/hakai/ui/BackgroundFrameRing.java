@@ -0,0 +1,117 @@
+package com.zekecode.hakai.ui;
+
+/**
+ * A ring of decoded background frames, filled by a decoding thread and emptied by the JavaFX
+ * thread. Frames are identified by an ever-growing sequence number, the slot of a frame being its
+ * sequence modulo the capacity of the ring.
+ *
+ * <p>When every frame of the animation fits in the ring, the ring is <em>resident</em>: each frame
+ * is decoded once, into its own slot, and the animation loops over the slots forever. Otherwise the
+ * decoder keeps looping over the animation, waiting for the reader to release slots before
+ * overwriting them.
+ *
+ * <p>Only one thread may write frames and only one thread may read them.
+ */
+public class BackgroundFrameRing {
+
+  private final int frameCount;
+  private final int capacity;
+  private final int pixelCount;
+  private final boolean resident;
+  private final int[][] pixels;
+  private final long[] delays;
+
+  private volatile long written = 0; // Number of frames published by the writer
+  private volatile long released = 0; // Number of frames the reader is done with
+
+  /**
+   * @param frameCount The number of frames in the animation.
+   * @param maxCapacity The maximum number of frames to keep decoded at once.
+   * @param pixelCount The number of pixels in a frame.
+   */
+  public BackgroundFrameRing(int frameCount, int maxCapacity, int pixelCount) {
+    this.frameCount = frameCount;
+    this.capacity = Math.min(frameCount, maxCapacity);
+    this.pixelCount = pixelCount;
+    this.resident = frameCount <= maxCapacity;
+    this.pixels = new int[capacity][];
+    this.delays = new long[capacity];
+  }
+
+  /** Returns true if the whole animation fits in the ring and is only decoded once. */
+  public boolean isResident() {
+    return resident;
+  }
+
+  /** Returns the number of frames in the animation. */
+  public int getFrameCount() {
+    return frameCount;
+  }
+
+  // --- Writer side ---
+
+  /** Returns true if the writer has nothing left to decode. */
+  public boolean isComplete() {
+    return resident && written == frameCount;
+  }
+
+  /** Returns true if the frame with the given sequence number can be written now. */
+  public boolean hasRoom(long sequence) {
+    return resident ? sequence < frameCount : sequence < released + capacity;
+  }
+
+  /** Returns the pixel buffer to decode a frame into, allocating it on first use. */
+  public int[] getWriteBuffer(long sequence) {
+    int slot = slotOf(sequence);
+    if (pixels[slot] == null) {
+      pixels[slot] = new int[pixelCount];
+    }
+    return pixels[slot];
+  }
+
+  /**
+   * Makes a frame decoded into its write buffer available to the reader. Frames must be published
+   * in sequence order.
+   *
+   * @param sequence The sequence number of the frame.
+   * @param delayNanos How long the frame stays on screen.
+   */
+  public void publish(long sequence, long delayNanos) {
+    delays[slotOf(sequence)] = delayNanos;
+    written = sequence + 1;
+  }
+
+  // --- Reader side ---
+
+  /** Returns true if the frame with the given sequence number has been decoded. */
+  public boolean isReady(long sequence) {
+    return sequence < written || isComplete();
+  }
+
+  /** Returns the pixels of a decoded frame, or null if they were already released. */
+  public int[] getPixels(long sequence) {
+    return pixels[slotOf(sequence)];
+  }
+
+  /** Returns how long a decoded frame stays on screen, in nanoseconds. */
+  public long getDelay(long sequence) {
+    return delays[slotOf(sequence)];
+  }
+
+  /**
+   * Tells the writer the reader no longer needs the pixels of a frame, nor of any frame before it.
+   * In a resident ring, the pixels are dropped, as the reader is expected to keep its own copy.
+   */
+  public void release(long sequence) {
+    if (resident) {
+      pixels[slotOf(sequence)] = null;
+    } else {
+      released = Math.max(released, sequence + 1);
+    }
+  }
+
+  /** Returns the slot holding a frame. */
+  public int slotOf(long sequence) {
+    return (int) (sequence % capacity);
+  }
+}
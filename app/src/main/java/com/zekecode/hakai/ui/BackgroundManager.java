@@ -1,32 +1,153 @@
 package com.zekecode.hakai.ui;
 
+import com.zekecode.hakai.config.GameConfig;
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.locks.LockSupport;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
 
-/** Manages loading and rendering a single image file (static or animated) as a background. */
+/**
+ * Manages loading and rendering a single image file (static or animated) as a background.
+ *
+ * <p>Frames are decoded and scaled to the size of the screen by a {@link BackgroundDecoder} on a
+ * background thread, into a {@link BackgroundFrameRing}, so drawing the background is a single
+ * unscaled image copy. The first frame is decoded up front, and the thread is only started when
+ * there are more. The animation runs on its own clock, following the delays stored in the image,
+ * whatever the frame rate of the game.
+ */
 public class BackgroundManager {
 
-  private final Image backgroundImage;
-  private final double screenWidth;
-  private final double screenHeight;
+  private static final long MAX_LAG_NANOS = 1_000_000_000L; // Beyond this, frames are not caught up
+
+  private final int width;
+  private final int height;
+  private final BackgroundFrameRing frames;
+  private final Thread decoderThread; // Null if every frame was decoded up front
+  private volatile boolean running = true;
+
+  // Only used from the JavaFX thread
+  private final WritableImage[] images; // One per frame if the ring is resident, otherwise one
+  private Image currentImage;
+  private long currentSequence = 0;
+  private long frameEnd = 0; // When the current frame expires, 0 until the first one is shown
 
   public BackgroundManager(String imagePath, double screenWidth, double screenHeight) {
-    this.screenWidth = screenWidth;
-    this.screenHeight = screenHeight;
+    this.width = (int) Math.ceil(screenWidth);
+    this.height = (int) Math.ceil(screenHeight);
+
+    // Load the image from the resources folder.
+    BackgroundDecoder decoder;
+    try (InputStream imageStream = getClass().getClassLoader().getResourceAsStream(imagePath)) {
+      if (imageStream == null) {
+        throw new IllegalArgumentException(
+            "Background image not found in resources: " + imagePath);
+      }
+      decoder = new BackgroundDecoder(imageStream.readAllBytes(), width, height);
+      this.frames =
+          new BackgroundFrameRing(
+              decoder.getFrameCount(),
+              GameConfig.BACKGROUND_FRAME_BUFFER_SIZE,
+              decoder.getPixelCount());
+      frames.publish(0, decoder.decodeNext(frames.getWriteBuffer(0)));
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not decode background image: " + imagePath, e);
+    }
+    this.images = new WritableImage[frames.isResident() ? frames.getFrameCount() : 1];
 
-    // Load the image from the resources folder. JavaFX's Image class handles the format.
-    InputStream imageStream = getClass().getClassLoader().getResourceAsStream(imagePath);
-    if (imageStream == null) {
-      throw new IllegalArgumentException("Background image not found in resources: " + imagePath);
+    if (frames.isComplete()) {
+      decoder.dispose();
+      this.decoderThread = null;
+    } else {
+      this.decoderThread = new Thread(() -> decodeFrames(decoder), "hakai-background");
+      decoderThread.setDaemon(true); // Never keep the application alive on its own
+      decoderThread.start();
     }
-    this.backgroundImage = new Image(imageStream);
   }
 
   // Draws the current frame of the image to the canvas.
   public void render(GraphicsContext gc) {
-    if (backgroundImage != null) {
-      gc.drawImage(backgroundImage, 0, 0, screenWidth, screenHeight);
+    advance(System.nanoTime());
+    gc.drawImage(currentImage, 0, 0);
+  }
+
+  /** Stops decoding frames. The frame on screen stays available for drawing. */
+  public void stop() {
+    running = false;
+    if (decoderThread != null) {
+      LockSupport.unpark(decoderThread);
+    }
+  }
+
+  /** Moves to the frame due at the given time, if it has been decoded. */
+  private void advance(long now) {
+    if (frameEnd == 0) {
+      show(0);
+      frameEnd = now + frames.getDelay(0);
+      return;
+    }
+    if (now - frameEnd > MAX_LAG_NANOS) {
+      frameEnd = now; // e.g. the window was hidden: resume the animation instead of skipping ahead
+    }
+
+    long target = currentSequence;
+    while (now >= frameEnd && frames.isReady(target + 1)) {
+      target++;
+      frameEnd += frames.getDelay(target);
+    }
+    if (now >= frameEnd) {
+      frameEnd = now; // The decoder is late: hold the frame until the next one is ready
+    }
+    if (target != currentSequence) {
+      show(target);
+    }
+  }
+
+  /** Makes a decoded frame the one drawn, copying its pixels into an image if needed. */
+  private void show(long sequence) {
+    int index = frames.isResident() ? frames.slotOf(sequence) : 0;
+    if (images[index] == null) {
+      images[index] = new WritableImage(width, height);
+    }
+    if (!frames.isResident() || frames.getPixels(sequence) != null) {
+      images[index]
+          .getPixelWriter()
+          .setPixels(
+              0,
+              0,
+              width,
+              height,
+              PixelFormat.getIntArgbPreInstance(),
+              frames.getPixels(sequence),
+              0,
+              width);
+      frames.release(sequence);
+      if (decoderThread != null) {
+        LockSupport.unpark(decoderThread);
+      }
+    }
+    currentImage = images[index];
+    currentSequence = sequence;
+  }
+
+  /** The body of the decoder thread, decoding frames as long as the ring has room for them. */
+  private void decodeFrames(BackgroundDecoder decoder) {
+    try {
+      for (long sequence = 1; running && !frames.isComplete(); sequence++) {
+        while (running && !frames.hasRoom(sequence)) {
+          LockSupport.park(this);
+        }
+        if (!running) {
+          break;
+        }
+        frames.publish(sequence, decoder.decodeNext(frames.getWriteBuffer(sequence)));
+      }
+    } catch (IOException | RuntimeException e) {
+      System.err.println("Background decoding stopped: " + e.getMessage());
+    } finally {
+      decoder.dispose();
     }
   }
 }
@@ -0,0 +1,59 @@
+package com.zekecode.hakai.ui;
+
+/**
+ * Formats numbers as zero-padded digits, like {@code String.format("%06d", value)}, without
+ * allocating. The digits are written into a reusable buffer and handed out as the constant strings
+ * of each digit, so that they can be drawn one by one.
+ */
+public class DigitFormatter {
+
+  private static final String[] DIGITS = {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9"};
+  private static final int MAX_DIGITS = 10; // Enough for any positive int
+
+  private final int minDigits;
+  private final int[] digits = new int[MAX_DIGITS];
+  private int length = 0;
+
+  /**
+   * @param minDigits The number of digits to pad numbers to with leading zeros.
+   */
+  public DigitFormatter(int minDigits) {
+    if (minDigits < 1 || minDigits > MAX_DIGITS) {
+      throw new IllegalArgumentException("Digits must be between 1 and " + MAX_DIGITS);
+    }
+    this.minDigits = minDigits;
+  }
+
+  /**
+   * Formats a number, replacing the previous one. Negative numbers are formatted as zero.
+   *
+   * @param value The number to format.
+   * @return The number of digits written, at least the padding width.
+   */
+  public int format(int value) {
+    int remaining = Math.max(0, value);
+    int count = 0;
+    // Write the digits from the least significant one, at the end of the buffer.
+    do {
+      digits[MAX_DIGITS - 1 - count] = remaining % 10;
+      remaining /= 10;
+      count++;
+    } while (remaining > 0);
+    while (count < minDigits) {
+      digits[MAX_DIGITS - 1 - count] = 0;
+      count++;
+    }
+    length = count;
+    return count;
+  }
+
+  /** Returns the number of digits of the last formatted number. */
+  public int length() {
+    return length;
+  }
+
+  /** Returns a digit of the last formatted number, the most significant one first. */
+  public String digitAt(int index) {
+    return DIGITS[digits[MAX_DIGITS - length + index]];
+  }
+}
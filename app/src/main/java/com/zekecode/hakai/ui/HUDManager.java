@@ -1,25 +1,51 @@
 package com.zekecode.hakai.ui;
 
 import com.google.common.eventbus.Subscribe;
+import com.zekecode.hakai.engine.render.PrerenderedImage;
 import com.zekecode.hakai.events.LivesChangedEvent;
 import com.zekecode.hakai.events.ScoreChangedEvent;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 
-/** Manages rendering the Heads-Up Display (Score, Lives, etc.) during active gameplay. */
+/**
+ * Manages rendering the Heads-Up Display (Score, Lives, etc.) during active gameplay.
+ *
+ * <p>The HUD is pre-rendered into an image, which is only painted again after the score or the
+ * lives changed. Every other frame, drawing the HUD is a single image copy.
+ */
 public class HUDManager {
 
+  private static final double PADDING = 15;
+  private static final double PANEL_HEIGHT = 80;
+  private static final int SCORE_DIGITS = 6;
+
   private final double screenWidth;
-  private int currentScore = 0;
-  private int currentLives = 0;
+  // Updated by events from the simulation, which may run on its own thread.
+  private volatile int currentScore = 0;
+  private volatile int currentLives = 0;
   private final Font hudFont;
+  private final Color panelColor = Color.web("black", 0.4);
+
+  // The pre-rendered HUD, and the values it shows
+  private final PrerenderedImage image;
+  private final DigitFormatter scoreFormatter = new DigitFormatter(SCORE_DIGITS);
+  private final double digitAdvance;
+  private int renderedScore;
+  private int renderedLives;
 
   public HUDManager(double screenWidth) {
     this.screenWidth = screenWidth;
     this.hudFont = Font.font("Arial", FontWeight.BOLD, 22);
+    this.image = new PrerenderedImage(screenWidth, getHeight());
+
+    // The digits of the font all have the same width, so the score is drawn digit by digit.
+    Text probe = new Text("0");
+    probe.setFont(hudFont);
+    this.digitAdvance = probe.getLayoutBounds().getWidth();
   }
 
   /** Listens for score change events to update the displayed score. */
@@ -36,33 +62,54 @@ public class HUDManager {
 
   /** Renders the HUD elements onto the provided graphics context. */
   public void render(GraphicsContext gc) {
-    Color panelColor = Color.web("black", 0.4);
+    int score = currentScore;
+    int lives = currentLives;
+    if (!image.isPainted() || score != renderedScore || lives != renderedLives) {
+      paint(image.beginPaint(), score, lives);
+      image.endPaint();
+      renderedScore = score;
+      renderedLives = lives;
+    }
+    image.draw(gc, 0, 0);
+  }
+
+  /** Paints the HUD elements for the given values. */
+  private void paint(GraphicsContext gc, int score, int lives) {
     Color textColor = Color.WHITE;
-    double padding = 15;
+    double padding = PADDING;
 
     gc.setFont(hudFont);
 
     // --- Draw Score Panel ---
     gc.setFill(panelColor);
-    gc.fillRoundRect(padding, padding, 220, 80, 20, 20);
+    gc.fillRoundRect(padding, padding, 220, PANEL_HEIGHT, 20, 20);
     gc.setFill(textColor);
     gc.setTextAlign(TextAlignment.LEFT);
     gc.fillText("SCORE", padding * 2, padding + 30);
-    gc.fillText(String.format("%06d", currentScore), padding * 2, padding + 60);
+    int digitCount = scoreFormatter.format(score);
+    for (int i = 0; i < digitCount; i++) {
+      gc.fillText(scoreFormatter.digitAt(i), padding * 2 + i * digitAdvance, padding + 60);
+    }
 
     // --- Draw Lives Panel ---
     double livesPanelWidth = 180;
     gc.setFill(panelColor);
-    gc.fillRoundRect(screenWidth - livesPanelWidth - padding, padding, livesPanelWidth, 80, 20, 20);
+    gc.fillRoundRect(
+        screenWidth - livesPanelWidth - padding, padding, livesPanelWidth, PANEL_HEIGHT, 20, 20);
     gc.setFill(textColor);
     gc.fillText("LIVES", screenWidth - livesPanelWidth, padding + 30);
 
     // Draw paddle icons
-    for (int i = 0; i < currentLives; i++) {
+    for (int i = 0; i < lives; i++) {
       drawLifeIcon(gc, i, padding);
     }
   }
 
+  /** Returns the height of the band at the top of the screen that the HUD draws over. */
+  public double getHeight() {
+    return PADDING + PANEL_HEIGHT;
+  }
+
   /**
    * Draws a single life icon (representing a paddle ATM, I want to change it because it looks so
    * frickin bad) at the specified index.
@@ -1,19 +1,28 @@
 package com.zekecode.hakai.ui;
 
 import com.zekecode.hakai.engine.game.GameState;
+import com.zekecode.hakai.engine.render.PrerenderedImage;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.TextAlignment;
 
-/** Manages rendering full-screen overlays like "Paused" and "Game Over". */
+/**
+ * Manages rendering full-screen overlays like "Paused" and "Game Over". Each overlay is
+ * pre-rendered into an image the first time it is shown, so drawing it is a single image copy.
+ */
 public class OverlayManager {
 
   private final double screenWidth;
   private final double screenHeight;
   private final Font overlayFont = Font.font("Arial", 72);
 
+  // Pre-rendered overlays, created when first shown
+  private PrerenderedImage pausedImage;
+  private PrerenderedImage gameOverImage;
+  private PrerenderedImage levelClearImage;
+
   public OverlayManager(double screenWidth, double screenHeight) {
     this.screenWidth = screenWidth;
     this.screenHeight = screenHeight;
@@ -22,13 +31,28 @@ public class OverlayManager {
   public void render(GraphicsContext gc, GameState currentState) {
     switch (currentState) {
       case PAUSED:
-        drawPausedScreen(gc);
+        if (pausedImage == null) {
+          pausedImage = new PrerenderedImage(screenWidth, screenHeight);
+          drawPausedScreen(pausedImage.beginPaint());
+          pausedImage.endPaint();
+        }
+        pausedImage.draw(gc, 0, 0);
         break;
       case GAME_OVER:
-        drawGameOverScreen(gc);
+        if (gameOverImage == null) {
+          gameOverImage = new PrerenderedImage(screenWidth, screenHeight);
+          drawGameOverScreen(gameOverImage.beginPaint());
+          gameOverImage.endPaint();
+        }
+        gameOverImage.draw(gc, 0, 0);
         break;
       case LEVEL_CLEAR:
-        drawLevelClearScreen(gc);
+        if (levelClearImage == null) {
+          levelClearImage = new PrerenderedImage(screenWidth, screenHeight);
+          drawLevelClearScreen(levelClearImage.beginPaint());
+          levelClearImage.endPaint();
+        }
+        levelClearImage.draw(gc, 0, 0);
         break;
       default:
         // Do nothing for other states
@@ -0,0 +1,77 @@
+package com.zekecode.hakai.ui;
+
+import com.zekecode.hakai.config.GameConfig;
+import com.zekecode.hakai.engine.render.RenderSnapshot;
+import com.zekecode.hakai.engine.rewind.CollisionTrace;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Draws what the game shows while it is being rewound: the boxes of the pairs that collided during
+ * the frame shown, linked by a line, and a band telling which frame is shown and which keys step
+ * through the frames. Unlike the other overlays it changes every frame, so it is drawn directly.
+ */
+public class RewindOverlay {
+
+  private static final double BAND_HEIGHT = 36;
+
+  private final double screenWidth;
+  private final double screenHeight;
+  private final Font font = Font.font("Arial", 16);
+  private final Color bandColor = Color.web("black", 0.6);
+  private final Color boxColor = Color.YELLOW;
+  private final Color linkColor = Color.RED;
+
+  public RewindOverlay(double screenWidth, double screenHeight) {
+    this.screenWidth = screenWidth;
+    this.screenHeight = screenHeight;
+  }
+
+  public void render(GraphicsContext gc, RenderSnapshot snapshot) {
+    gc.save();
+    drawCollisions(gc, snapshot.getCollisions());
+
+    gc.setFill(bandColor);
+    gc.fillRect(0, screenHeight - BAND_HEIGHT, screenWidth, BAND_HEIGHT);
+    double seconds = snapshot.getFramesBack() / (double) GameConfig.SIMULATION_RATE;
+    String text =
+        String.format(
+            "REWIND  -%.2f s  (%d/%d frames back)   , / . step   Shift: x10   R: resume",
+            seconds, snapshot.getFramesBack(), Math.max(0, snapshot.getFrameCount() - 1));
+    gc.setFont(font);
+    gc.setTextAlign(TextAlignment.CENTER);
+    gc.setFill(Color.WHITE);
+    gc.fillText(text, screenWidth / 2, screenHeight - BAND_HEIGHT / 2 + 6);
+    gc.restore();
+  }
+
+  private void drawCollisions(GraphicsContext gc, CollisionTrace collisions) {
+    gc.setLineWidth(2);
+    for (int i = 0; i < collisions.size(); i++) {
+      gc.setStroke(boxColor);
+      for (int side = CollisionTrace.FIRST; side <= CollisionTrace.SECOND; side++) {
+        gc.strokeRect(
+            collisions.getX(i, side),
+            collisions.getY(i, side),
+            collisions.getWidth(i, side),
+            collisions.getHeight(i, side));
+      }
+      gc.setStroke(linkColor);
+      gc.strokeLine(
+          centerX(collisions, i, CollisionTrace.FIRST),
+          centerY(collisions, i, CollisionTrace.FIRST),
+          centerX(collisions, i, CollisionTrace.SECOND),
+          centerY(collisions, i, CollisionTrace.SECOND));
+    }
+  }
+
+  private static double centerX(CollisionTrace collisions, int pair, int side) {
+    return collisions.getX(pair, side) + collisions.getWidth(pair, side) / 2;
+  }
+
+  private static double centerY(CollisionTrace collisions, int pair, int side) {
+    return collisions.getY(pair, side) + collisions.getHeight(pair, side) / 2;
+  }
+}
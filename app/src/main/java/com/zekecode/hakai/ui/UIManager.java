@@ -2,6 +2,7 @@ package com.zekecode.hakai.ui;
 
 import com.google.common.eventbus.EventBus;
 import com.zekecode.hakai.engine.game.GameState;
+import com.zekecode.hakai.engine.render.RenderSnapshot;
 import javafx.scene.canvas.GraphicsContext;
 
 /**
@@ -12,10 +13,12 @@ public class UIManager {
 
   private final HUDManager hudManager;
   private final OverlayManager overlayManager;
+  private final RewindOverlay rewindOverlay;
 
   public UIManager(double screenWidth, double screenHeight) {
     this.hudManager = new HUDManager(screenWidth);
     this.overlayManager = new OverlayManager(screenWidth, screenHeight);
+    this.rewindOverlay = new RewindOverlay(screenWidth, screenHeight);
   }
 
   /** Registers all underlying UI managers with the event bus. */
@@ -23,6 +26,11 @@ public class UIManager {
     eventBus.register(hudManager);
   }
 
+  /** Returns the height of the band at the top of the screen covered by the HUD. */
+  public double getHudHeight() {
+    return hudManager.getHeight();
+  }
+
   /** Renders all UI components in the correct order. */
   public void render(GraphicsContext gc, GameState currentState) {
     // HUD is drawn unless the game is over.
@@ -33,4 +41,16 @@ public class UIManager {
     // Overlays are drawn on top of everything.
     overlayManager.render(gc, currentState);
   }
+
+  /**
+   * Renders all UI components, plus the rewind overlay while the game is being rewound.
+   *
+   * @param snapshot The snapshot drawn this frame, holding what the rewind overlay shows.
+   */
+  public void render(GraphicsContext gc, GameState currentState, RenderSnapshot snapshot) {
+    render(gc, currentState);
+    if (currentState == GameState.REWINDING) {
+      rewindOverlay.render(gc, snapshot);
+    }
+  }
 }
@@ -0,0 +1,61 @@
+package com.zekecode.hakai;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Checks that code run over and over, such as a simulation step, produces no garbage once warm.
+ *
+ * <p>The allocations of the current thread are counted over {@link #MEASURED_RUNS} runs, after
+ * {@link #WARMUP_RUNS} runs for the JIT to compile the hot paths. The counter also sees the JVM's
+ * own bookkeeping, such as a method being deoptimized, so a few kilobytes are tolerated over the
+ * whole measurement: {@link #BUDGET_BYTES} is less than a byte per run, so that garbage made by
+ * every run, even a single small object, always exceeds it.
+ */
+public final class AllocationBudget {
+
+  /** The runs before measuring, enough for the JIT to compile the hot paths. */
+  public static final int WARMUP_RUNS = 20_000;
+
+  /** The runs measured. */
+  public static final int MEASURED_RUNS = 10_000;
+
+  /** The bytes all the measured runs may allocate together. */
+  public static final long BUDGET_BYTES = 8 * 1024;
+
+  private AllocationBudget() {}
+
+  /** Runs the code {@link #WARMUP_RUNS} times. */
+  public static void warmUp(Runnable run) {
+    for (int i = 0; i < WARMUP_RUNS; i++) {
+      run.run();
+    }
+  }
+
+  /**
+   * Runs the code {@link #MEASURED_RUNS} times, and fails if it allocated more than {@link
+   * #BUDGET_BYTES}. The test is skipped on JVMs unable to count the allocations of a thread.
+   *
+   * @param what What the code does, for the failure message.
+   * @param run The code to measure, already warmed up.
+   */
+  public static void assertWithinBudget(String what, Runnable run) {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    long before = threads.getCurrentThreadAllocatedBytes();
+    for (int i = 0; i < MEASURED_RUNS; i++) {
+      run.run();
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+    assertTrue(
+        allocated <= BUDGET_BYTES,
+        MEASURED_RUNS + " runs of " + what + " allocated " + allocated + " bytes");
+  }
+}
@@ -0,0 +1,72 @@
+package com.zekecode.hakai.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class RandomServiceTest {
+
+  @Test
+  void stream_withTheSameSeedAndName_shouldDrawTheSameNumbers() {
+    RandomStream first = new RandomService(42).stream("entities");
+    RandomStream second = new RandomService(42).stream("entities");
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals(first.nextLong(), second.nextLong());
+    }
+  }
+
+  @Test
+  void stream_withDifferentSeedsOrNames_shouldDrawDifferentNumbers() {
+    long entities = new RandomService(42).stream("entities").nextLong();
+
+    assertNotEquals(entities, new RandomService(43).stream("entities").nextLong());
+    assertNotEquals(entities, new RandomService(42).stream("effects").nextLong());
+  }
+
+  @Test
+  void stream_shouldNotBeAffectedByDrawsFromOtherStreams() {
+    RandomService quiet = new RandomService(7);
+    RandomService busy = new RandomService(7);
+    RandomStream busyOther = busy.stream("effects");
+    for (int i = 0; i < 1000; i++) {
+      busyOther.nextLong();
+    }
+
+    assertEquals(quiet.stream("entities").nextLong(), busy.stream("entities").nextLong());
+  }
+
+  @Test
+  void reseed_shouldRestartTheExistingStreams() {
+    RandomService service = new RandomService(1);
+    RandomStream stream = service.stream("entities");
+    stream.nextLong();
+
+    service.reseed(99);
+
+    assertSame(stream, service.stream("entities"));
+    assertEquals(99, service.getSeed());
+    assertEquals(new RandomService(99).stream("entities").nextLong(), stream.nextLong());
+  }
+
+  @Test
+  void nextDoubleAndNextInt_shouldStayWithinTheirBounds() {
+    RandomStream stream = new RandomStream(3);
+    int[] counts = new int[6];
+    for (int i = 0; i < 60_000; i++) {
+      double value = stream.nextDouble();
+      assertTrue(value >= 0 && value < 1, "nextDouble returned " + value);
+      counts[stream.nextInt(6)]++;
+    }
+
+    // Each side of the die comes up about 10,000 times.
+    for (int count : counts) {
+      assertTrue(count > 9_000 && count < 11_000, "A side came up " + count + " times");
+    }
+    assertThrows(IllegalArgumentException.class, () -> stream.nextInt(0));
+  }
+}
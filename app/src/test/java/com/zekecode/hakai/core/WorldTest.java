@@ -0,0 +1,271 @@
+package com.zekecode.hakai.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.zekecode.hakai.AllocationBudget;
+import com.zekecode.hakai.components.ball.BallComponent;
+import com.zekecode.hakai.components.entities.DeadComponent;
+import com.zekecode.hakai.components.physics.PositionComponent;
+import com.zekecode.hakai.components.physics.VelocityComponent;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WorldTest {
+
+  private World world;
+
+  @BeforeEach
+  void setUp() {
+    world = new World();
+  }
+
+  @Test
+  void addComponent_shouldMoveEntityIntoArchetypeWithMatchingColumns() {
+    // ARRANGE
+    Entity entity = world.createEntity();
+    PositionComponent position = new PositionComponent(1, 2);
+    VelocityComponent velocity = new VelocityComponent(3, 4);
+
+    // ACT
+    entity.addComponent(position);
+    entity.addComponent(velocity);
+
+    // ASSERT
+    Archetype archetype = findArchetypeContaining(entity);
+    assertNotNull(archetype, "The entity should be stored in an archetype.");
+    assertTrue(
+        archetype
+            .getSignature()
+            .containsAll(ComponentSignature.of(PositionComponent.class, VelocityComponent.class)));
+    assertSame(position, archetype.getColumn(PositionComponent.class)[0]);
+    assertSame(velocity, archetype.getColumn(VelocityComponent.class)[0]);
+    assertSame(position, entity.getComponent(PositionComponent.class).get());
+  }
+
+  @Test
+  void removeComponent_shouldKeepOtherEntitiesOfTheArchetypeIntact() {
+    // ARRANGE: three entities in the same archetype
+    Entity first = createMovingEntity(0);
+    Entity second = createMovingEntity(10);
+    Entity third = createMovingEntity(20);
+
+    // ACT: moving the first entity out forces the last row to be swapped into its place
+    assertTrue(first.removeComponent(VelocityComponent.class));
+
+    // ASSERT
+    assertFalse(first.hasComponent(VelocityComponent.class));
+    assertEquals(0, first.getComponent(PositionComponent.class).get().x);
+    assertEquals(10, second.getComponent(PositionComponent.class).get().x);
+    assertEquals(20, third.getComponent(PositionComponent.class).get().x);
+    assertEquals(20, third.getComponent(VelocityComponent.class).get().x);
+    assertFalse(first.removeComponent(VelocityComponent.class), "Removing twice should fail.");
+  }
+
+  @Test
+  void addComponent_withExistingType_shouldReplaceComponent() {
+    // ARRANGE
+    Entity entity = createMovingEntity(5);
+    PositionComponent replacement = new PositionComponent(42, 42);
+
+    // ACT
+    entity.addComponent(replacement);
+
+    // ASSERT
+    assertSame(replacement, entity.getComponent(PositionComponent.class).get());
+  }
+
+  @Test
+  void update_shouldRemoveDeadEntities() {
+    // ARRANGE
+    Entity survivor = createMovingEntity(0);
+    Entity victim = createMovingEntity(1);
+    victim.addComponent(new DeadComponent());
+
+    // ACT
+    world.update(0.016);
+
+    // ASSERT
+    assertEquals(1, world.getEntities().size());
+    assertSame(survivor, world.getEntities().get(0));
+    assertFalse(victim.hasComponent(PositionComponent.class));
+    assertThrows(IllegalStateException.class, () -> victim.addComponent(new BallComponent()));
+  }
+
+  @Test
+  void standaloneEntity_shouldSupportComponentsWithoutAWorld() {
+    // ARRANGE
+    Entity entity = new Entity(7);
+
+    // ACT
+    entity.addComponent(new BallComponent());
+
+    // ASSERT
+    assertTrue(entity.hasComponent(BallComponent.class));
+    assertTrue(entity.getComponent(PositionComponent.class).isEmpty());
+  }
+
+  @Test
+  void query_shouldTrackEntitiesAsTheirComponentsChange() {
+    // ARRANGE
+    EntityQuery query = world.query(PositionComponent.class);
+    Entity moving = createMovingEntity(0);
+    Entity ball = world.createEntity();
+    ball.addComponent(new BallComponent());
+    assertEquals(1, query.size());
+
+    // ACT: the ball gains a position after the query was created
+    ball.addComponent(new PositionComponent(0, 0));
+
+    // ASSERT
+    assertEquals(2, query.size());
+    assertEquals(List.of(moving, ball), query.copyTo(new ArrayList<>()));
+    assertSame(query, world.query(PositionComponent.class), "Queries should be cached.");
+  }
+
+  @Test
+  void queryWithout_shouldSkipEntitiesHavingExcludedComponents() {
+    // ARRANGE
+    Entity alive = createMovingEntity(0);
+    Entity dead = createMovingEntity(1);
+    EntityQuery query = world.query(VelocityComponent.class).without(DeadComponent.class);
+
+    // ACT
+    dead.addComponent(new DeadComponent());
+
+    // ASSERT
+    assertEquals(1, query.size());
+    assertSame(alive, query.first().get());
+    assertTrue(world.query(BallComponent.class).isEmpty());
+    assertTrue(world.query(BallComponent.class).first().isEmpty());
+  }
+
+  @Test
+  void queryListener_shouldBeNotifiedWhenEntitiesStartAndStopMatching() {
+    // ARRANGE
+    List<Entity> added = new ArrayList<>();
+    List<Entity> removed = new ArrayList<>();
+    world
+        .query(PositionComponent.class)
+        .without(VelocityComponent.class)
+        .addListener(
+            new EntityQuery.Listener() {
+              @Override
+              public void onEntityAdded(Entity entity) {
+                // The component that made the entity match is already readable
+                assertTrue(entity.hasComponent(PositionComponent.class));
+                added.add(entity);
+              }
+
+              @Override
+              public void onEntityRemoved(Entity entity) {
+                assertTrue(entity.hasComponent(PositionComponent.class));
+                removed.add(entity);
+              }
+            });
+    Entity brick = world.createEntity();
+
+    // ACT & ASSERT
+    brick.addComponent(new PositionComponent(0, 0));
+    brick.addComponent(new BallComponent()); // Still matching: no notification
+    assertEquals(List.of(brick), added);
+
+    brick.addComponent(new VelocityComponent(1, 1));
+    assertEquals(List.of(brick), removed);
+
+    brick.removeComponent(VelocityComponent.class);
+    brick.addComponent(new DeadComponent());
+    world.update(0.016);
+    assertEquals(List.of(brick, brick), added);
+    assertEquals(List.of(brick, brick), removed);
+  }
+
+  @Test
+  void destroyEntity_shouldRemoveTheEntitiesOnceAndKeepTheOrderOfTheOthers() {
+    // ARRANGE
+    List<Entity> created = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      created.add(createMovingEntity(i));
+    }
+    world.destroyEntity(created.get(1));
+    world.destroyEntity(created.get(4));
+    world.destroyEntity(created.get(1)); // Destroying twice is harmless
+    created.get(3).addComponent(DeadComponent.INSTANCE);
+
+    // ACT
+    world.update(0.016);
+    world.destroyEntity(created.get(4)); // Already gone: nothing left to remove
+    world.update(0.016);
+
+    // ASSERT
+    assertEquals(List.of(created.get(0), created.get(2), created.get(5)), world.getEntities());
+    assertEquals(3, world.query(PositionComponent.class).size());
+  }
+
+  @Test
+  void createEntity_duringUpdate_shouldJoinEntityListAtEndOfFrame() {
+    // ARRANGE: a system that spawns an entity on its first run
+    List<Integer> seenSizes = new ArrayList<>();
+    world.addSystem(
+        new GameSystem() {
+          @Override
+          public void update(List<Entity> entities, double deltaTime) {
+            seenSizes.add(entities.size());
+            if (seenSizes.size() == 1) {
+              world.createEntity();
+            }
+          }
+        });
+
+    // ACT
+    world.update(0.016);
+
+    // ASSERT: the view handed to the system did not change under it, the world did afterwards
+    assertEquals(List.of(0), seenSizes);
+    assertEquals(1, world.getEntities().size());
+    assertThrows(UnsupportedOperationException.class, () -> world.getEntities().clear());
+  }
+
+  @Test
+  void update_inSteadyState_shouldNotAllocate() {
+    // ARRANGE
+    for (int i = 0; i < 50; i++) {
+      createMovingEntity(i);
+    }
+    GameSystem iteratingSystem =
+        new GameSystem() {
+          @Override
+          public void update(List<Entity> entities, double deltaTime) {
+            for (int i = 0; i < entities.size(); i++) {
+              entities.get(i).getId();
+            }
+          }
+        };
+    for (int i = 0; i < 11; i++) {
+      world.addSystem(iteratingSystem);
+    }
+    AllocationBudget.warmUp(() -> world.update(0.016));
+
+    // ACT & ASSERT
+    AllocationBudget.assertWithinBudget("World.update", () -> world.update(0.016));
+  }
+
+  private Entity createMovingEntity(double x) {
+    Entity entity = world.createEntity();
+    entity.addComponent(new PositionComponent(x, 0));
+    entity.addComponent(new VelocityComponent(x, 0));
+    return entity;
+  }
+
+  private Archetype findArchetypeContaining(Entity entity) {
+    for (Archetype archetype : world.getArchetypes()) {
+      for (int row = 0; row < archetype.size(); row++) {
+        if (archetype.getEntity(row) == entity) {
+          return archetype;
+        }
+      }
+    }
+    return null;
+  }
+}
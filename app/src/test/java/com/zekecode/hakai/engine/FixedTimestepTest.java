@@ -0,0 +1,46 @@
+package com.zekecode.hakai.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.zekecode.hakai.engine.game.FixedTimestep;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FixedTimestepTest {
+
+  private FixedTimestep timestep;
+
+  @BeforeEach
+  void setUp() {
+    // 100 Hz, so that steps are a round 10 ms
+    timestep = new FixedTimestep(100, 5);
+  }
+
+  @Test
+  void advance_shouldRunWholeStepsAndKeepTheRemainder() {
+    // ACT
+    int steps = timestep.advance(0.025);
+
+    // ASSERT: two steps of 10 ms, 5 ms left, i.e. halfway to the next step
+    assertEquals(2, steps);
+    assertEquals(0.5, timestep.getAlpha(), 1e-9);
+  }
+
+  @Test
+  void advance_shortFrames_shouldAccumulateUntilAStepIsDue() {
+    // ACT & ASSERT
+    assertEquals(0, timestep.advance(0.006));
+    assertEquals(1, timestep.advance(0.006));
+    assertEquals(0.2, timestep.getAlpha(), 1e-9);
+  }
+
+  @Test
+  void advance_veryLongFrame_shouldBeClampedToMaxSteps() {
+    // ACT: a one second hiccup would need 100 steps
+    int steps = timestep.advance(1.0);
+
+    // ASSERT: the backlog is dropped so the next frame is not slowed down as well
+    assertEquals(5, steps);
+    assertEquals(0, timestep.advance(0.001));
+  }
+}
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 import com.zekecode.hakai.config.data.PowerUpData;
+import com.zekecode.hakai.engine.game.LevelLoader;
 import com.zekecode.hakai.engine.game.LevelManager;
 import com.zekecode.hakai.entities.EntityFactory;
 import com.zekecode.hakai.powerups.PowerUpTrigger;
@@ -31,8 +32,8 @@ class LevelManagerTest {
 
   @BeforeEach
   void setUp() {
-    // The LevelManager needs a real LevelLoader, but a mocked EntityFactory
-    levelManager = new LevelManager(entityFactory);
+    // The LevelManager needs a real LevelLoader, not caching on disk, but a mocked EntityFactory
+    levelManager = new LevelManager(entityFactory, new LevelLoader(null));
   }
 
   @Test
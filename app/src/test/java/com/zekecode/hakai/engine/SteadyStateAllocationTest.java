@@ -0,0 +1,149 @@
+package com.zekecode.hakai.engine;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zekecode.hakai.AllocationBudget;
+import com.zekecode.hakai.components.graphics.RenderComponent;
+import com.zekecode.hakai.components.powerups.ActiveEffectsComponent;
+import com.zekecode.hakai.config.GameConfig;
+import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.engine.events.FastEventBus;
+import com.zekecode.hakai.engine.game.GameSystems;
+import com.zekecode.hakai.engine.input.InputManager;
+import com.zekecode.hakai.entities.EntityFactory;
+import com.zekecode.hakai.events.PaddleHitEvent;
+import com.zekecode.hakai.events.brick.BrickDestroyedEvent;
+import com.zekecode.hakai.powerups.EffectRegistry;
+import com.zekecode.hakai.powerups.PowerUpType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import javafx.scene.paint.Color;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the simulation does not allocate once it reached its steady state, by running a
+ * headless rally of several balls bouncing between a paddle as wide as the screen and a wall of
+ * bricks, with a timed effect active on the paddle. The bricks are tough enough for the wall to
+ * last the whole run, yet some break all along it, so balls, contacts, hits, destroyed bricks,
+ * score changes and the removal of dead entities are all exercised while measuring.
+ */
+class SteadyStateAllocationTest {
+
+  private static final double STEP = 1.0 / 120;
+
+  private static final int BRICK_ROWS = 8;
+  private static final int BRICK_COLUMNS = 10;
+  private static final int BRICK_HP_BASE = 3;
+  private static final int BRICK_HP_PER_ROW = 4;
+
+  private World world;
+  private int paddleHits;
+  private int bricksDestroyed;
+
+  @BeforeEach
+  void setUp() {
+    FastEventBus eventBus = new FastEventBus();
+    world = new World();
+    EntityFactory entityFactory = new EntityFactory(world);
+
+    // The same systems as the game, wired the same way, without the ones drawing or playing sounds.
+    new GameSystems(
+        world, eventBus, new InputManager(), entityFactory, new EffectRegistry(entityFactory));
+    eventBus.subscribe(PaddleHitEvent.class, event -> paddleHits++); // Stands in for the sounds
+    eventBus.subscribe(BrickDestroyedEvent.class, event -> bricksDestroyed++);
+
+    entityFactory.createPlayerState();
+    Entity paddle = entityFactory.createPlayer(0, GameConfig.SCREEN_HEIGHT - 50);
+    paddle.getComponent(RenderComponent.class).get().width = GameConfig.SCREEN_WIDTH;
+    ActiveEffectsComponent effects = new ActiveEffectsComponent();
+    effects.activeEffects.put(PowerUpType.PADDLE_SLOW, Double.MAX_VALUE);
+    paddle.addComponent(effects);
+    // The lower rows, hit first, are the toughest, so that the wall wears down slowly.
+    for (int row = 0; row < BRICK_ROWS; row++) {
+      for (int column = 0; column < BRICK_COLUMNS; column++) {
+        int hp = BRICK_HP_BASE + row * BRICK_HP_PER_ROW + column;
+        entityFactory.createBrick(column * 80, 60 + row * 25, 78, 23, Color.GRAY, hp, null);
+      }
+    }
+    for (int i = 0; i < 6; i++) {
+      entityFactory.createLaunchedBall(100 + i * 100, 400);
+    }
+  }
+
+  @Test
+  void update_multiBallRally_shouldNotAllocateOnceWarm() {
+    AllocationBudget.warmUp(this::step);
+    int destroyedBefore = bricksDestroyed;
+
+    AllocationBudget.assertWithinBudget("the simulation step", this::step);
+
+    assertTrue(paddleHits > 0, "The rally should keep the balls bouncing on the paddle.");
+    assertTrue(bricksDestroyed > destroyedBefore, "Bricks should break while measuring.");
+    assertTrue(
+        bricksDestroyed < BRICK_ROWS * BRICK_COLUMNS, "The wall should last the whole run.");
+  }
+
+  @Test
+  void update_multiBallRally_shouldHaveNoAllocationSiteInTheGameOnceWarm() throws Exception {
+    AllocationBudget.warmUp(this::step);
+    long threadId = Thread.currentThread().getId();
+
+    // Sample the allocations with JFR, to report where the garbage comes from if there is any.
+    Path dump = Files.createTempFile("hakai-allocations", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("jdk.ObjectAllocationSample").with("throttle", "10000/s").withStackTrace();
+      recording.start();
+      for (int i = 0; i < AllocationBudget.MEASURED_RUNS; i++) {
+        step();
+      }
+      recording.stop();
+      recording.dump(dump);
+
+      Map<String, Long> bytesBySite = new HashMap<>();
+      for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+        if (event.getThread() == null || event.getThread().getJavaThreadId() != threadId) {
+          continue;
+        }
+        String site = gameFrameOf(event);
+        if (site != null) {
+          bytesBySite.merge(
+              event.getClass("objectClass").getName() + " at " + site,
+              event.getLong("weight"),
+              Long::sum);
+        }
+      }
+      long sampledBytes = bytesBySite.values().stream().mapToLong(Long::longValue).sum();
+      assertTrue(
+          sampledBytes <= AllocationBudget.BUDGET_BYTES,
+          "The simulation allocated from " + bytesBySite);
+    } finally {
+      Files.deleteIfExists(dump);
+    }
+  }
+
+  private void step() {
+    world.update(STEP);
+  }
+
+  /** Returns the innermost frame of the game in the stack of an allocation, or null if none. */
+  private static String gameFrameOf(RecordedEvent event) {
+    if (event.getStackTrace() == null) {
+      return null;
+    }
+    for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+      String type = frame.getMethod().getType().getName();
+      if (type.startsWith("com.zekecode.hakai.") && !type.endsWith("Test")) {
+        return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+      }
+    }
+    return null;
+  }
+}
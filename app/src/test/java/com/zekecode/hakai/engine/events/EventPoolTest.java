@@ -0,0 +1,74 @@
+package com.zekecode.hakai.engine.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.events.brick.BrickHitEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EventPoolTest {
+
+  private EventPool<BrickHitEvent> pool;
+
+  @BeforeEach
+  void setUp() {
+    pool = new EventPool<>(BrickHitEvent::new);
+  }
+
+  @Test
+  void release_shouldGiveTheEventBackForReuse() {
+    // ARRANGE
+    Entity brick = new Entity(1);
+    BrickHitEvent event = pool.obtain().set(brick);
+
+    // ACT
+    event.release();
+
+    // ASSERT: the event is reused, without the reference to the brick
+    assertEquals(1, pool.available());
+    BrickHitEvent reused = pool.obtain();
+    assertSame(event, reused);
+    assertNull(reused.brickEntity);
+    assertEquals(0, pool.available());
+  }
+
+  @Test
+  void release_twice_shouldOnlyPoolTheEventOnce() {
+    BrickHitEvent event = pool.obtain();
+
+    event.release();
+    event.release();
+
+    assertEquals(1, pool.available());
+  }
+
+  @Test
+  void release_eventNotFromAPool_shouldBeLeftAlone() {
+    Entity brick = new Entity(1);
+    BrickHitEvent event = new BrickHitEvent(brick);
+
+    event.release();
+
+    assertSame(brick, event.brickEntity);
+    assertEquals(0, pool.available());
+  }
+
+  @Test
+  void post_onFastEventBus_shouldRecycleTheEventOnceDelivered() {
+    // ARRANGE
+    FastEventBus eventBus = new FastEventBus();
+    Entity brick = new Entity(1);
+    Entity[] received = new Entity[1];
+    eventBus.subscribe(BrickHitEvent.class, event -> received[0] = event.brickEntity);
+
+    // ACT
+    eventBus.post(pool.obtain().set(brick));
+
+    // ASSERT
+    assertSame(brick, received[0]);
+    assertEquals(1, pool.available());
+  }
+}
@@ -0,0 +1,167 @@
+package com.zekecode.hakai.engine.events;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.google.common.eventbus.DeadEvent;
+import com.google.common.eventbus.Subscribe;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FastEventBusTest {
+
+  private FastEventBus eventBus;
+  private List<String> received;
+
+  @BeforeEach
+  void setUp() {
+    eventBus = new FastEventBus();
+    received = new ArrayList<>();
+  }
+
+  public static class Recorder {
+    private final List<String> received;
+
+    Recorder(List<String> received) {
+      this.received = received;
+    }
+
+    @Subscribe
+    public void onString(String event) {
+      received.add("string:" + event);
+    }
+
+    @Subscribe
+    public void onAnything(Object event) {
+      received.add("object:" + event);
+    }
+  }
+
+  /** Not public, so its methods cannot be turned into lambdas. */
+  static class PrivateRecorder {
+    private final List<String> received;
+
+    PrivateRecorder(List<String> received) {
+      this.received = received;
+    }
+
+    @Subscribe
+    void onInteger(Integer event) {
+      received.add("integer:" + event);
+    }
+  }
+
+  static class PooledMessage implements PooledEvent {
+    int releases = 0;
+
+    @Override
+    public void release() {
+      releases++;
+    }
+  }
+
+  @Test
+  void post_shouldReachSubscribersOfTheEventTypeAndOfItsSupertypes() {
+    eventBus.register(new Recorder(received));
+
+    eventBus.post("hello");
+
+    assertEquals(List.of("string:hello", "object:hello"), received);
+  }
+
+  @Test
+  void register_nonPublicSubscriber_shouldStillReceiveEvents() {
+    eventBus.register(new PrivateRecorder(received));
+
+    eventBus.post(42);
+
+    assertEquals(List.of("integer:42"), received);
+  }
+
+  @Test
+  void register_sameObjectTwice_shouldDeliverEachEventOnce() {
+    Recorder recorder = new Recorder(received);
+    eventBus.register(recorder);
+    eventBus.register(recorder);
+
+    eventBus.post("once");
+
+    assertEquals(List.of("string:once", "object:once"), received);
+  }
+
+  @Test
+  void unregister_shouldStopDeliveries() {
+    Recorder recorder = new Recorder(received);
+    eventBus.register(recorder);
+    eventBus.post("before");
+
+    eventBus.unregister(recorder);
+    eventBus.post("after");
+
+    assertEquals(List.of("string:before", "object:before"), received);
+    assertThrows(IllegalArgumentException.class, () -> eventBus.unregister(recorder));
+  }
+
+  @Test
+  void post_fromAListener_shouldBeDeliveredAfterTheCurrentEvent() {
+    eventBus.subscribe(
+        String.class,
+        event -> {
+          received.add("first:" + event);
+          if (event.equals("outer")) {
+            eventBus.post("inner");
+          }
+        });
+    eventBus.subscribe(String.class, event -> received.add("second:" + event));
+
+    eventBus.post("outer");
+
+    assertEquals(List.of("first:outer", "second:outer", "first:inner", "second:inner"), received);
+  }
+
+  @Test
+  void post_withFailingListener_shouldStillReachTheOthers() {
+    eventBus.subscribe(
+        String.class,
+        event -> {
+          throw new IllegalStateException("Expected by the test");
+        });
+    eventBus.subscribe(String.class, event -> received.add(event));
+
+    eventBus.post("delivered");
+
+    assertEquals(List.of("delivered"), received);
+  }
+
+  @Test
+  void post_withoutListeners_shouldPostADeadEvent() {
+    List<Object> deadEvents = new ArrayList<>();
+    eventBus.subscribe(DeadEvent.class, event -> deadEvents.add(event.getEvent()));
+
+    eventBus.post("nobody listens");
+
+    assertEquals(List.of("nobody listens"), deadEvents);
+  }
+
+  @Test
+  void post_pooledEvent_shouldReleaseItOnceDelivered() {
+    PooledMessage message = new PooledMessage();
+    eventBus.subscribe(PooledMessage.class, event -> assertEquals(0, event.releases));
+
+    eventBus.post(message);
+
+    assertEquals(1, message.releases);
+  }
+
+  @Test
+  void post_pooledEventWithoutListeners_shouldReleaseItOnceTheDeadEventIsDelivered() {
+    PooledMessage message = new PooledMessage();
+    eventBus.subscribe(
+        DeadEvent.class, event -> assertEquals(0, ((PooledMessage) event.getEvent()).releases));
+
+    eventBus.post(message);
+
+    assertEquals(1, message.releases);
+  }
+}
@@ -0,0 +1,48 @@
+package com.zekecode.hakai.engine.game;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.engine.rewind.RewindController;
+import com.zekecode.hakai.engine.rewind.WorldHistory;
+import com.zekecode.hakai.engine.snapshot.GameSnapshots;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GameManagerTest {
+
+  private GameManager gameManager;
+
+  @BeforeEach
+  void setUp() {
+    World world = new World();
+    WorldHistory history = new WorldHistory(GameSnapshots.create(), 60, 10, 1 << 20);
+    gameManager = new GameManager(world, null, new RewindController(world, history));
+    gameManager.update(0.016); // Records a frame to rewind to
+  }
+
+  @Test
+  void toggleRewind_twice_shouldReturnToRunning() {
+    rewindAndResume();
+
+    assertEquals(GameState.RUNNING, gameManager.getCurrentState());
+  }
+
+  @Test
+  void toggleRewind_twiceWhilePaused_shouldReturnToPaused() {
+    gameManager.togglePause();
+
+    rewindAndResume();
+
+    assertEquals(GameState.PAUSED, gameManager.getCurrentState());
+  }
+
+  private void rewindAndResume() {
+    gameManager.toggleRewind();
+    gameManager.applyRewindRequests();
+    assertEquals(GameState.REWINDING, gameManager.getCurrentState());
+
+    gameManager.toggleRewind();
+    gameManager.applyRewindRequests();
+  }
+}
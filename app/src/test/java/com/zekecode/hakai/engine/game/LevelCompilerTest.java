@@ -0,0 +1,125 @@
+package com.zekecode.hakai.engine.game;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.zekecode.hakai.config.data.CompiledLevel;
+import com.zekecode.hakai.powerups.PowerUpTrigger;
+import com.zekecode.hakai.powerups.PowerUpType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import javafx.scene.paint.Color;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LevelCompilerTest {
+
+  private static final String LEVEL = "test_level.yml";
+
+  @Test
+  void compile_shouldPlaceTheBricksOfThePattern() {
+    CompiledLevel level = LevelCompiler.compile(new LevelLoader(null).loadLevelData(LEVEL));
+
+    assertEquals("Test Level", level.levelName);
+    assertEquals(2, level.brickCount());
+    assertArrayEquals(new double[] {5, 70}, level.x);
+    assertArrayEquals(new double[] {50, 75}, level.y);
+    assertArrayEquals(new double[] {60, 60}, level.width);
+    assertArrayEquals(new int[] {1, 2}, level.hp);
+    assertEquals(Color.web("#FF0000"), LevelCompiler.fromArgb(level.colors[level.color[0]]));
+    assertEquals(Color.web("#0000FF"), LevelCompiler.fromArgb(level.colors[level.color[1]]));
+    assertArrayEquals(new int[] {0, -1}, level.powerUp);
+    assertEquals(PowerUpType.PADDLE_EXPAND, level.powerUps[0].type);
+    assertEquals(PowerUpTrigger.ON_COLLECT, level.powerUps[0].trigger);
+  }
+
+  @Test
+  void decode_shouldGiveBackTheEncodedLevel() {
+    CompiledLevel level = new LevelLoader(null).loadLevel(LEVEL);
+    level.seed = 42L;
+
+    CompiledLevel decoded = LevelCompiler.decode(LevelCompiler.encode(level));
+
+    assertSameLevel(level, decoded);
+    assertEquals(Long.valueOf(42), decoded.seed);
+    assertEquals(level.background, decoded.background);
+  }
+
+  @Test
+  void decode_shouldRejectTruncatedLevels() {
+    byte[] bytes = LevelCompiler.encode(new LevelLoader(null).loadLevel(LEVEL));
+
+    assertThrows(
+        IllegalStateException.class,
+        () -> LevelCompiler.decode(Arrays.copyOf(bytes, bytes.length - 1)));
+    assertThrows(IllegalStateException.class, () -> LevelCompiler.decode(new byte[3]));
+  }
+
+  @Test
+  void loadLevel_shouldReadTheCachedLevelOnceCompiled(@TempDir Path cache) throws IOException {
+    CompiledLevel compiled = new LevelLoader(cache).loadLevel(LEVEL);
+    Path cached = single(cache);
+
+    // Change the cached level: loading it again must hand out the change, not parse the YAML.
+    compiled.hp[0] = 9;
+    Files.write(cached, LevelCompiler.encode(compiled));
+    CompiledLevel loaded = new LevelLoader(cache).loadLevel(LEVEL);
+
+    assertEquals(9, loaded.hp[0]);
+    assertEquals(cached, single(cache));
+  }
+
+  @Test
+  void loadLevel_shouldRecompileCorruptedCacheEntries(@TempDir Path cache) throws IOException {
+    CompiledLevel compiled = new LevelLoader(cache).loadLevel(LEVEL);
+    Path cached = single(cache);
+    Files.write(cached, new byte[] {1, 2, 3});
+
+    CompiledLevel loaded = new LevelLoader(cache).loadLevel(LEVEL);
+
+    assertSameLevel(compiled, loaded);
+    assertSameLevel(compiled, LevelCompiler.decode(Files.readAllBytes(cached)));
+  }
+
+  @Test
+  void loadLevel_shouldReplaceTheEntriesOfOtherContents(@TempDir Path cache) throws IOException {
+    Path stale = cache.resolve("test_level-0000000000000000.hkl");
+    Files.write(stale, new byte[] {1, 2, 3});
+
+    new LevelLoader(cache).loadLevel(LEVEL);
+
+    assertNotEquals(stale, single(cache));
+  }
+
+  private static Path single(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      List<Path> entries = files.toList();
+      assertEquals(1, entries.size(), "Cache entries: " + entries);
+      return entries.get(0);
+    }
+  }
+
+  private static void assertSameLevel(CompiledLevel expected, CompiledLevel actual) {
+    assertEquals(expected.levelName, actual.levelName);
+    assertEquals(expected.levelNumber, actual.levelNumber);
+    assertArrayEquals(expected.colors, actual.colors);
+    assertEquals(expected.powerUps.length, actual.powerUps.length);
+    for (int i = 0; i < expected.powerUps.length; i++) {
+      assertEquals(expected.powerUps[i].type, actual.powerUps[i].type);
+      assertEquals(expected.powerUps[i].trigger, actual.powerUps[i].trigger);
+    }
+    assertArrayEquals(expected.x, actual.x);
+    assertArrayEquals(expected.y, actual.y);
+    assertArrayEquals(expected.width, actual.width);
+    assertArrayEquals(expected.height, actual.height);
+    assertArrayEquals(expected.color, actual.color);
+    assertArrayEquals(expected.hp, actual.hp);
+    assertArrayEquals(expected.powerUp, actual.powerUp);
+  }
+}
@@ -0,0 +1,46 @@
+package com.zekecode.hakai.engine.headless;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class HeadlessRunnerTest {
+
+  @Test
+  void parse_noOptions_shouldUseTheDefaults() {
+    HeadlessRunner.Options options = HeadlessRunner.Options.parse(new String[0]);
+
+    assertEquals("level_1.yml", options.level());
+    assertEquals("ai", options.input());
+    assertEquals(0, options.balls());
+    assertNull(options.ticks());
+    assertNull(options.replayFile());
+  }
+
+  @Test
+  void parse_optionWithoutValue_shouldNameTheOption() {
+    IllegalArgumentException error =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> HeadlessRunner.Options.parse(new String[] {"--balls", "3", "--ticks"}));
+
+    assertTrue(error.getMessage().contains("--ticks"), error.getMessage());
+  }
+
+  @Test
+  void parse_ballsWithReplay_shouldBeRefused() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            HeadlessRunner.Options.parse(
+                new String[] {"--replay", "session.replay", "--balls", "20"}));
+
+    HeadlessRunner.Options options =
+        HeadlessRunner.Options.parse(new String[] {"--replay", "session.replay", "--ticks", "5"});
+    assertEquals("session.replay", options.replayFile());
+    assertEquals(Long.valueOf(5), options.ticks());
+  }
+}
@@ -0,0 +1,59 @@
+package com.zekecode.hakai.engine.headless;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zekecode.hakai.components.ball.BallComponent;
+import com.zekecode.hakai.components.ball.BallStuckToPaddleComponent;
+import com.zekecode.hakai.config.GameConfig;
+import com.zekecode.hakai.core.EntityQuery;
+import com.zekecode.hakai.engine.game.GameState;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class HeadlessSimulationTest {
+
+  private static final long ONE_MINUTE = 60L * GameConfig.SIMULATION_RATE;
+
+  @Test
+  void runUntil_withoutInput_shouldKeepTheBallOnThePaddle() {
+    HeadlessSimulation simulation = new HeadlessSimulation("level_1.yml");
+
+    assertEquals(ONE_MINUTE, simulation.runUntil(ONE_MINUTE));
+
+    assertEquals(GameState.RUNNING, simulation.getState());
+    assertEquals(ONE_MINUTE, simulation.getTick());
+    EntityQuery stuckBalls =
+        simulation.getWorld().query(BallComponent.class, BallStuckToPaddleComponent.class);
+    assertEquals(1, stuckBalls.size());
+  }
+
+  @Test
+  void runUntil_withScriptedLaunch_shouldReleaseTheBall() {
+    HeadlessSimulation simulation = new HeadlessSimulation("level_1.yml");
+    simulation.setInputDriver(ScriptedInput.parse(List.of("10 press UP", "11 release UP")));
+
+    simulation.runUntil(20);
+
+    EntityQuery stuckBalls =
+        simulation.getWorld().query(BallComponent.class, BallStuckToPaddleComponent.class);
+    assertTrue(stuckBalls.isEmpty());
+  }
+
+  @Test
+  void runUntil_withAutopilotAndManyBalls_shouldPlayWithoutFailing() {
+    HeadlessSimulation simulation = new HeadlessSimulation("level_1.yml");
+    simulation.setInputDriver(new AutopilotInput(simulation.getWorld()));
+    simulation.addBalls(50);
+
+    long ticks = simulation.runUntil(ONE_MINUTE);
+
+    // The level is either still being played, or over, and then no more ticks are run.
+    assertEquals(simulation.getTick(), ticks);
+    assertTrue(ticks == ONE_MINUTE || simulation.isOver());
+    if (simulation.isOver()) {
+      assertFalse(simulation.step());
+    }
+  }
+}
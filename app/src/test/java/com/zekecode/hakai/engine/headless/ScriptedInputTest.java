@@ -0,0 +1,64 @@
+package com.zekecode.hakai.engine.headless;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zekecode.hakai.engine.input.InputManager;
+import java.util.List;
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.Test;
+
+class ScriptedInputTest {
+
+  @Test
+  void apply_shouldPressAndReleaseKeysAtTheirTicks() {
+    ScriptedInput script =
+        ScriptedInput.parse(
+            List.of(
+                "# Launch, then move left for a while",
+                "0 press UP",
+                "",
+                "10 press LEFT",
+                "20 release LEFT"));
+    InputManager input = new InputManager();
+
+    script.apply(0, input);
+    assertTrue(input.isKeyPressed(KeyCode.UP));
+    assertFalse(input.isKeyPressed(KeyCode.LEFT));
+
+    script.apply(15, input);
+    assertTrue(input.isKeyPressed(KeyCode.LEFT));
+
+    script.apply(20, input);
+    assertFalse(input.isKeyPressed(KeyCode.LEFT));
+    assertTrue(input.isKeyPressed(KeyCode.UP), "Keys stay pressed until released");
+  }
+
+  @Test
+  void apply_afterSkippingTicks_shouldReplayEveryMissedAction() {
+    ScriptedInput script = ScriptedInput.parse(List.of("5 press LEFT", "6 press RIGHT"));
+    InputManager input = new InputManager();
+
+    script.apply(100, input);
+
+    assertTrue(input.isKeyPressed(KeyCode.LEFT));
+    assertTrue(input.isKeyPressed(KeyCode.RIGHT));
+  }
+
+  @Test
+  void parse_withMalformedLines_shouldThrow() {
+    assertThrows(IllegalArgumentException.class, () -> ScriptedInput.parse(List.of("5 press")));
+    assertThrows(
+        IllegalArgumentException.class, () -> ScriptedInput.parse(List.of("5 hold LEFT")));
+    assertThrows(
+        IllegalArgumentException.class, () -> ScriptedInput.parse(List.of("5 press NOPE")));
+  }
+
+  @Test
+  void parse_withTicksOutOfOrder_shouldThrow() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> ScriptedInput.parse(List.of("10 press LEFT", "5 release LEFT")));
+  }
+}
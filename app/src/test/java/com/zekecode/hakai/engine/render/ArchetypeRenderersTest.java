@@ -0,0 +1,134 @@
+package com.zekecode.hakai.engine.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.zekecode.hakai.components.ball.BallComponent;
+import com.zekecode.hakai.components.graphics.RenderComponent;
+import com.zekecode.hakai.components.physics.PositionComponent;
+import com.zekecode.hakai.core.Archetype;
+import com.zekecode.hakai.core.Component;
+import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.EntityQuery;
+import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.entities.EntityRenderer;
+import java.util.List;
+import javafx.scene.canvas.GraphicsContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ArchetypeRenderersTest {
+
+  private static final int BALL_RENDERER = 0;
+  private static final int DEFAULT_RENDERER = 1;
+
+  private final World world = new World();
+  private final EntityQuery renderable =
+      world.query(PositionComponent.class, RenderComponent.class);
+  private CountingRenderer ballRenderer;
+  private CountingRenderer defaultRenderer;
+  private ArchetypeRenderers archetypeRenderers;
+
+  @BeforeEach
+  void setUp() {
+    ballRenderer = new CountingRenderer(BallComponent.class);
+    defaultRenderer = new CountingRenderer(RenderComponent.class);
+    archetypeRenderers =
+        new ArchetypeRenderers(renderable, List.of(ballRenderer, defaultRenderer));
+  }
+
+  @Test
+  void rendererOf_sameWorldDrawnTwice_shouldOnlyAskTheRenderersOnce() {
+    // ARRANGE: three plain entities sharing an archetype
+    for (int i = 0; i < 3; i++) {
+      createRenderable();
+    }
+
+    // ACT
+    int first = rendererOfEntities();
+    int calls = ballRenderer.calls + defaultRenderer.calls;
+    int second = rendererOfEntities();
+
+    // ASSERT: the second pass is answered from the cache
+    assertEquals(DEFAULT_RENDERER, first);
+    assertEquals(DEFAULT_RENDERER, second);
+    assertEquals(2, calls, "Both renderers are asked once, for the single archetype.");
+    assertEquals(calls, ballRenderer.calls + defaultRenderer.calls);
+  }
+
+  @Test
+  void rendererOf_entityGivenAnotherComponent_shouldUseTheRendererOfItsNewArchetype() {
+    // ARRANGE
+    Entity entity = createRenderable();
+    assertEquals(DEFAULT_RENDERER, rendererOfEntities());
+
+    // ACT: becoming a ball moves the entity to another archetype
+    entity.addComponent(new BallComponent());
+
+    // ASSERT: the plain archetype keeps its renderer for the entities still in it
+    assertEquals(BALL_RENDERER, rendererOfEntities());
+    assertEquals(DEFAULT_RENDERER, archetypeRenderers.rendererOf(indexOf(RenderComponent.class)));
+  }
+
+  @Test
+  void rendererOf_emptyArchetype_shouldStayUnresolvedUntilItHoldsAnEntity() {
+    // ARRANGE: the archetype exists, but its only entity moved out of it
+    Entity entity = createRenderable();
+    entity.addComponent(new BallComponent());
+    entity.removeComponent(BallComponent.class);
+    int ballArchetype = indexOf(BallComponent.class);
+
+    // ACT & ASSERT
+    assertEquals(ArchetypeRenderers.UNRESOLVED, archetypeRenderers.rendererOf(ballArchetype));
+    entity.addComponent(new BallComponent());
+    assertEquals(BALL_RENDERER, archetypeRenderers.rendererOf(ballArchetype));
+  }
+
+  private Entity createRenderable() {
+    Entity entity = world.createEntity();
+    entity.addComponent(new PositionComponent(0, 0));
+    entity.addComponent(new RenderComponent(10, 10, null));
+    return entity;
+  }
+
+  /** Looks up the renderer of every archetype of the query, like a capture, and returns the one. */
+  private int rendererOfEntities() {
+    int result = ArchetypeRenderers.UNRESOLVED;
+    List<Archetype> archetypes = renderable.getArchetypes();
+    for (int i = 0; i < archetypes.size(); i++) {
+      int renderer = archetypeRenderers.rendererOf(i);
+      if (archetypes.get(i).size() > 0) {
+        result = renderer;
+      }
+    }
+    return result;
+  }
+
+  private int indexOf(Class<? extends Component> componentClass) {
+    List<Archetype> archetypes = renderable.getArchetypes();
+    for (int i = 0; i < archetypes.size(); i++) {
+      if (archetypes.get(i).getColumn(componentClass) != null) {
+        return i;
+      }
+    }
+    throw new AssertionError("No archetype with " + componentClass.getSimpleName());
+  }
+
+  /** A renderer for the entities with a component, counting how often it is asked. */
+  private static final class CountingRenderer implements EntityRenderer {
+    private final Class<? extends Component> componentClass;
+    private int calls;
+
+    CountingRenderer(Class<? extends Component> componentClass) {
+      this.componentClass = componentClass;
+    }
+
+    @Override
+    public void render(GraphicsContext gc, RenderItem item, double x, double y) {}
+
+    @Override
+    public boolean supports(Entity entity) {
+      calls++;
+      return entity.hasComponent(componentClass);
+    }
+  }
+}
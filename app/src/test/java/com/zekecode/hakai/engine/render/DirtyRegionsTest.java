@@ -0,0 +1,51 @@
+package com.zekecode.hakai.engine.render;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class DirtyRegionsTest {
+
+  @Test
+  void removeUpTo_shouldOnlyKeepRegionsOfLaterSnapshots() {
+    DirtyRegions regions = new DirtyRegions();
+    regions.add(1, 0, 0, 10, 10);
+    regions.add(2, 20, 0, 10, 10);
+    regions.add(3, 40, 0, 10, 10);
+
+    regions.removeUpTo(2);
+
+    assertEquals(1, regions.size());
+    assertEquals(3, regions.getSequence(0));
+    assertEquals(40, regions.getX(0));
+  }
+
+  @Test
+  void add_beyondInitialCapacity_shouldKeepEveryRegion() {
+    DirtyRegions regions = new DirtyRegions();
+    for (int i = 0; i < 100; i++) {
+      regions.add(i, i, i * 2, 5, 6);
+    }
+
+    assertEquals(100, regions.size());
+    assertEquals(99, regions.getX(99));
+    assertEquals(198, regions.getY(99));
+    assertEquals(5, regions.getWidth(99));
+    assertEquals(6, regions.getHeight(99));
+  }
+
+  @Test
+  void copyFrom_shouldReplaceTheContent() {
+    DirtyRegions source = new DirtyRegions();
+    source.add(4, 1, 2, 3, 4);
+    DirtyRegions target = new DirtyRegions();
+    target.add(1, 9, 9, 9, 9);
+    target.add(2, 9, 9, 9, 9);
+
+    target.copyFrom(source);
+
+    assertEquals(1, target.size());
+    assertEquals(4, target.getSequence(0));
+    assertEquals(1, target.getX(0));
+  }
+}
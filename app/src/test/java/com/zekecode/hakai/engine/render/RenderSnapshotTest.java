@@ -0,0 +1,50 @@
+package com.zekecode.hakai.engine.render;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class RenderSnapshotTest {
+
+  private static RenderItem addItem(RenderSnapshot snapshot, int layer, double x) {
+    RenderItem item = snapshot.add();
+    item.layer = layer;
+    item.x = x;
+    return item;
+  }
+
+  @Test
+  void sortByLayer_shouldOrderItemsByLayerAndKeepTheOrderWithinALayer() {
+    RenderSnapshot snapshot = new RenderSnapshot();
+    addItem(snapshot, 2, 0);
+    addItem(snapshot, 0, 1);
+    addItem(snapshot, 2, 2);
+    addItem(snapshot, 1, 3);
+    addItem(snapshot, 0, 4);
+
+    snapshot.sortByLayer(3);
+
+    double[] expectedOrder = {1, 4, 3, 0, 2};
+    assertEquals(expectedOrder.length, snapshot.size());
+    for (int i = 0; i < expectedOrder.length; i++) {
+      assertEquals(expectedOrder[i], snapshot.get(i).x);
+    }
+  }
+
+  @Test
+  void clear_shouldReuseTheSameItems() {
+    RenderSnapshot snapshot = new RenderSnapshot();
+    RenderItem first = addItem(snapshot, 1, 0);
+    RenderItem second = addItem(snapshot, 0, 1);
+    snapshot.sortByLayer(2);
+
+    snapshot.clear();
+    RenderItem reusedA = snapshot.add();
+    RenderItem reusedB = snapshot.add();
+
+    assertEquals(2, snapshot.size());
+    assertNotSame(reusedA, reusedB);
+    assertTrue(reusedA == first || reusedA == second);
+    assertTrue(reusedB == first || reusedB == second);
+  }
+}
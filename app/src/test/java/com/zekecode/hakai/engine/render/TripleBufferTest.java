@@ -0,0 +1,80 @@
+package com.zekecode.hakai.engine.render;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class TripleBufferTest {
+
+  /** A value written in two steps, so that a torn read would show up as a mismatch. */
+  private static class Frame {
+    long first;
+    long second;
+  }
+
+  @Test
+  void acquire_shouldReturnTheLatestPublishedBuffer() {
+    TripleBuffer<Frame> buffer = new TripleBuffer<>(Frame::new);
+
+    buffer.getWriteBuffer().first = 1;
+    buffer.publish();
+    buffer.getWriteBuffer().first = 2;
+    buffer.publish();
+
+    assertEquals(2, buffer.acquire().first);
+  }
+
+  @Test
+  void acquire_withNothingNewPublished_shouldReturnTheSameBuffer() {
+    TripleBuffer<Frame> buffer = new TripleBuffer<>(Frame::new);
+    buffer.getWriteBuffer().first = 1;
+    buffer.publish();
+
+    Frame first = buffer.acquire();
+    Frame second = buffer.acquire();
+
+    assertSame(first, second);
+    assertEquals(1, second.first);
+  }
+
+  @Test
+  void getWriteBuffer_shouldNeverReturnTheBufferBeingRead() {
+    TripleBuffer<Frame> buffer = new TripleBuffer<>(Frame::new);
+
+    for (int i = 0; i < 10; i++) {
+      buffer.getWriteBuffer().first = i;
+      buffer.publish();
+      Frame read = buffer.acquire();
+
+      assertNotSame(read, buffer.getWriteBuffer());
+      assertEquals(i, read.first);
+    }
+  }
+
+  @Test
+  void concurrentWriterAndReader_shouldNeverSeeATornOrOlderBuffer() throws InterruptedException {
+    TripleBuffer<Frame> buffer = new TripleBuffer<>(Frame::new);
+    int frames = 200_000;
+
+    Thread writer =
+        new Thread(
+            () -> {
+              for (long i = 1; i <= frames; i++) {
+                Frame frame = buffer.getWriteBuffer();
+                frame.first = i;
+                frame.second = i;
+                buffer.publish();
+              }
+            });
+    writer.start();
+
+    long lastSeen = 0;
+    while (lastSeen < frames) {
+      Frame frame = buffer.acquire();
+      assertEquals(frame.first, frame.second, "Read a buffer while it was being written");
+      assertTrue(frame.first >= lastSeen, "Read an older buffer after a newer one");
+      lastSeen = frame.first;
+    }
+    writer.join();
+  }
+}
@@ -0,0 +1,156 @@
+package com.zekecode.hakai.engine.replay;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zekecode.hakai.components.physics.PositionComponent;
+import com.zekecode.hakai.components.physics.VelocityComponent;
+import com.zekecode.hakai.config.GameConfig;
+import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.RandomService;
+import com.zekecode.hakai.engine.headless.AutopilotInput;
+import com.zekecode.hakai.engine.game.GameState;
+import com.zekecode.hakai.engine.headless.HeadlessSimulation;
+import com.zekecode.hakai.engine.input.InputManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javafx.scene.input.KeyCode;
+import org.junit.jupiter.api.Test;
+
+class ReplayTest {
+
+  @Test
+  void writeThenRead_shouldRestoreEveryTick() throws IOException {
+    byte[] masks = new byte[1000];
+    for (int i = 0; i < masks.length; i++) {
+      masks[i] = (byte) (i < 300 ? 0 : i < 700 ? 0b10000 : i % 3);
+    }
+    Replay replay = new Replay("level_2.yml", 42L, masks);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    replay.write(out);
+    Replay read = Replay.read(new ByteArrayInputStream(out.toByteArray()));
+
+    assertEquals("level_2.yml", read.getLevelFile());
+    assertEquals(42L, read.getSeed());
+    assertEquals(masks.length, read.getTickCount());
+    for (int i = 0; i < masks.length; i++) {
+      assertEquals(masks[i], read.getMask(i), "Tick " + i);
+    }
+  }
+
+  @Test
+  void write_shouldRunLengthEncodeHeldKeys() throws IOException {
+    Replay replay = new Replay("level_1.yml", 0L, new byte[20 * 60 * GameConfig.SIMULATION_RATE]);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    replay.write(out);
+
+    assertTrue(out.size() < 64, "Twenty idle minutes took " + out.size() + " bytes");
+  }
+
+  @Test
+  void read_withInvalidData_shouldThrow() {
+    assertThrows(
+        IOException.class, () -> Replay.read(new ByteArrayInputStream(new byte[] {1, 2, 3, 4})));
+  }
+
+  @Test
+  void inputMask_shouldRoundTripTheKeysReadByTheGame() {
+    InputManager source = new InputManager();
+    source.pressKey(KeyCode.A);
+    source.pressKey(KeyCode.UP);
+    source.pressKey(KeyCode.SPACE); // Not read by the game, so not recorded
+
+    InputManager target = new InputManager();
+    target.pressKey(KeyCode.RIGHT);
+    InputMask.apply(InputMask.capture(source), target);
+
+    assertTrue(target.isKeyPressed(KeyCode.A));
+    assertTrue(target.isKeyPressed(KeyCode.UP));
+    assertFalse(target.isKeyPressed(KeyCode.RIGHT));
+    assertFalse(target.isKeyPressed(KeyCode.SPACE));
+  }
+
+  @Test
+  void recorder_shouldLatchTheLiveInputIntoTheSimulation() {
+    InputManager liveInput = new InputManager();
+    InputManager simulationInput = new InputManager();
+    ReplayRecorder recorder =
+        new ReplayRecorder("level_1.yml", new RandomService(7L), liveInput, simulationInput);
+
+    liveInput.pressKey(KeyCode.LEFT);
+    recorder.update(List.of(), 1.0 / GameConfig.SIMULATION_RATE);
+    liveInput.releaseKey(KeyCode.LEFT); // Mid-step: must wait for the next tick
+
+    assertTrue(simulationInput.isKeyPressed(KeyCode.LEFT));
+    recorder.update(List.of(), 1.0 / GameConfig.SIMULATION_RATE);
+    assertFalse(simulationInput.isKeyPressed(KeyCode.LEFT));
+
+    Replay replay = recorder.toReplay();
+    assertEquals(2, replay.getTickCount());
+    assertEquals(7L, replay.getSeed());
+    assertNotEquals(0, replay.getMask(0));
+    assertEquals(0, replay.getMask(1));
+  }
+
+  @Test
+  void playback_shouldReproduceARecordedSession() throws IOException {
+    int ticks = 30 * GameConfig.SIMULATION_RATE;
+    int undone = 2 * GameConfig.SIMULATION_RATE;
+
+    // Record a session played by the autopilot, with extra balls launched at random angles.
+    HeadlessSimulation original = HeadlessSimulation.recorded("level_1.yml", 1234L);
+    original.setInputDriver(new AutopilotInput(original.getWorld()));
+    original.addBalls(10);
+    original.runUntil(ticks - undone);
+    long keptTicks = original.getTick();
+    double[] keptState = movingState(original);
+    GameState keptGameState = original.getState();
+
+    // Play on, then forget the last ticks, as when the game is rewound to the kept state.
+    original.runUntil(ticks);
+    ReplayRecorder recorder = original.getReplayRecorder();
+    assertEquals(original.getTick(), recorder.getTickCount());
+    recorder.dropLastTicks((int) (original.getTick() - keptTicks));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    recorder.toReplay().write(out);
+    Replay replay = Replay.read(new ByteArrayInputStream(out.toByteArray()));
+    assertEquals(keptTicks, replay.getTickCount());
+
+    // Play it back into a fresh world.
+    HeadlessSimulation copy = new HeadlessSimulation(replay.getLevelFile(), replay.getSeed());
+    copy.setInputDriver(new ReplayInput(replay));
+    copy.addBalls(10);
+    copy.runUntil(replay.getTickCount());
+
+    assertEquals(keptTicks, copy.getTick());
+    assertEquals(keptGameState, copy.getState());
+    assertArrayEquals(keptState, movingState(copy));
+  }
+
+  /** Returns the position and velocity of every moving entity, in entity order. */
+  private static double[] movingState(HeadlessSimulation simulation) {
+    List<Double> values = new ArrayList<>();
+    for (Entity entity : simulation.getWorld().getEntities()) {
+      VelocityComponent velocity = entity.getComponent(VelocityComponent.class).orElse(null);
+      if (velocity == null) {
+        continue;
+      }
+      PositionComponent position = entity.getComponent(PositionComponent.class).get();
+      values.add(position.x);
+      values.add(position.y);
+      values.add(velocity.x);
+      values.add(velocity.y);
+    }
+    return values.stream().mapToDouble(Double::doubleValue).toArray();
+  }
+}
@@ -0,0 +1,234 @@
+package com.zekecode.hakai.engine.rewind;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zekecode.hakai.config.GameConfig;
+import com.zekecode.hakai.core.SnapshotBuffer;
+import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.core.WorldSnapshot;
+import com.zekecode.hakai.engine.headless.AutopilotInput;
+import com.zekecode.hakai.engine.headless.HeadlessSimulation;
+import com.zekecode.hakai.engine.snapshot.GameSnapshots;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WorldHistoryTest {
+
+  private static final int FRAMES = 3 * GameConfig.SIMULATION_RATE;
+  private static final int KEYFRAME_INTERVAL = 60;
+
+  private final WorldSnapshot snapshot = GameSnapshots.create();
+  private HeadlessSimulation simulation;
+  private CollisionTrace trace;
+
+  @BeforeEach
+  void setUp() {
+    simulation = new HeadlessSimulation("level_1.yml");
+    simulation.setInputDriver(new AutopilotInput(simulation.getWorld()));
+    simulation.addBalls(8);
+    trace = new CollisionTrace();
+    simulation.getSystems().getCollisionSystem().setObserver(trace);
+  }
+
+  @Test
+  void restore_shouldGiveBackEveryRecordedFrame() {
+    WorldHistory history = new WorldHistory(snapshot, FRAMES, KEYFRAME_INTERVAL, 1 << 24);
+    List<byte[]> frames = record(history, FRAMES);
+
+    // Backwards, one frame at a time, then forwards, then jumping around.
+    for (int frame = FRAMES - 1; frame >= 0; frame -= 7) {
+      assertRestores(history, frame, frames.get(frame));
+    }
+    for (int frame = 0; frame < FRAMES; frame += 5) {
+      assertRestores(history, frame, frames.get(frame));
+    }
+    assertRestores(history, 200, frames.get(200));
+    assertRestores(history, 201, frames.get(201));
+    assertRestores(history, 13, frames.get(13));
+  }
+
+  @Test
+  void record_shouldStoreDeltasMuchSmallerThanSnapshots() {
+    WorldHistory history = new WorldHistory(snapshot, FRAMES, KEYFRAME_INTERVAL, 1 << 24);
+    List<byte[]> frames = record(history, FRAMES);
+
+    long fullSize = 0;
+    for (byte[] frame : frames) {
+      fullSize += frame.length;
+    }
+    assertTrue(
+        history.getUsedBytes() * 4 < fullSize,
+        "History uses " + history.getUsedBytes() + " bytes for " + fullSize + " bytes of frames");
+  }
+
+  @Test
+  void record_shouldStayWithinItsCapacities() {
+    int byteCapacity = 64 * 1024;
+    WorldHistory history = new WorldHistory(snapshot, 200, KEYFRAME_INTERVAL, byteCapacity);
+    List<byte[]> frames = record(history, FRAMES);
+
+    assertEquals(FRAMES - 1, history.getNewestFrame());
+    assertTrue(history.size() > 0 && history.size() <= 200);
+    assertTrue(history.getUsedBytes() <= byteCapacity);
+    assertTrue(history.isKeyframe(history.getOldestFrame()));
+    long oldest = history.getOldestFrame();
+    assertRestores(history, oldest, frames.get((int) oldest));
+    assertThrows(IndexOutOfBoundsException.class, () -> history.restore(oldest - 1, world()));
+  }
+
+  @Test
+  void record_frameLargerThanTheByteRing_shouldDisableTheHistoryOnce() {
+    WorldHistory history = new WorldHistory(snapshot, 200, KEYFRAME_INTERVAL, 64);
+    ByteArrayOutputStream errors = new ByteArrayOutputStream();
+    PrintStream stderr = System.err;
+    System.setErr(new PrintStream(errors, true));
+    try {
+      record(history, 10);
+    } finally {
+      System.setErr(stderr);
+    }
+
+    assertEquals(0, history.size());
+    assertEquals(1, errors.toString().lines().count(), errors.toString());
+  }
+
+  @Test
+  void truncateAfter_thenRecord_shouldContinueLikeTheOriginalRun() {
+    WorldHistory history = new WorldHistory(snapshot, FRAMES, KEYFRAME_INTERVAL, 1 << 24);
+    List<byte[]> frames = record(history, FRAMES);
+
+    // Go back a second and play it again: the simulation is deterministic.
+    int resumeFrame = FRAMES - 1 - GameConfig.SIMULATION_RATE;
+    history.restore(resumeFrame, world());
+    history.truncateAfter(resumeFrame);
+    assertEquals(resumeFrame, history.getNewestFrame());
+
+    List<byte[]> replayed = record(history, GameConfig.SIMULATION_RATE);
+    assertArrayEquals(frames.get(FRAMES - 1), replayed.get(replayed.size() - 1));
+    for (int frame = resumeFrame + 1; frame < FRAMES; frame += 11) {
+      assertRestores(history, frame, frames.get(frame));
+    }
+  }
+
+  @Test
+  void readCollisions_shouldGiveBackThePairsOfEachFrame() {
+    WorldHistory history = new WorldHistory(snapshot, FRAMES, KEYFRAME_INTERVAL, 1 << 24);
+    List<Integer> pairCounts = new ArrayList<>();
+    List<Integer> firstIds = new ArrayList<>();
+    for (int i = 0; i < FRAMES; i++) {
+      simulation.step();
+      pairCounts.add(trace.size());
+      firstIds.add(trace.size() > 0 ? trace.getId(0, CollisionTrace.FIRST) : -1);
+      history.record(world(), trace);
+      trace.clear();
+    }
+    assertTrue(pairCounts.stream().anyMatch(count -> count > 0), "Nothing ever collided");
+
+    CollisionTrace read = new CollisionTrace();
+    for (int frame = 0; frame < FRAMES; frame++) {
+      history.readCollisions(frame, read);
+      assertEquals(pairCounts.get(frame), read.size());
+      if (read.size() > 0) {
+        assertEquals(firstIds.get(frame), read.getId(0, CollisionTrace.FIRST));
+        assertTrue(read.getWidth(0, CollisionTrace.SECOND) > 0);
+      }
+    }
+  }
+
+  @Test
+  void controller_shouldStepBackAndResumeFromTheFrameShown() {
+    WorldHistory history = new WorldHistory(snapshot, FRAMES, KEYFRAME_INTERVAL, 1 << 24);
+    RewindController controller = new RewindController(world(), history);
+    simulation.getSystems().getCollisionSystem().setObserver(controller.getTrace());
+    List<Integer> dropped = new ArrayList<>();
+    controller.addListener(dropped::add);
+    int[] restores = new int[1];
+    controller.addListener(
+        new RewindController.Listener() {
+          @Override
+          public void onFramesDropped(int droppedFrames) {}
+
+          @Override
+          public void onWorldRestored() {
+            restores[0]++;
+          }
+        });
+    List<byte[]> frames = new ArrayList<>();
+    for (int i = 0; i < FRAMES; i++) {
+      simulation.step();
+      controller.record();
+      frames.add(capture());
+    }
+
+    controller.requestRewind();
+    assertTrue(controller.applyRequests());
+    assertTrue(controller.isRewinding());
+    assertEquals(0, restores[0], "The newest frame is the world as it is");
+    controller.requestStep(-30);
+    controller.requestStep(10);
+    assertTrue(controller.applyRequests());
+    assertEquals(20, controller.getFramesBack());
+    assertEquals(1, restores[0]);
+    assertShows(frames.get(FRAMES - 21), "Frame " + (FRAMES - 21));
+
+    // Stepping past the oldest frame stops on it.
+    controller.requestStep(-10 * FRAMES);
+    controller.applyRequests();
+    assertEquals(FRAMES - 1, controller.getFramesBack());
+    assertShows(frames.get(0), "Frame 0");
+
+    controller.requestStep(FRAMES / 2);
+    controller.requestResume();
+    assertTrue(controller.applyRequests());
+    assertFalse(controller.isRewinding());
+    assertEquals(List.of(FRAMES - 1 - FRAMES / 2), dropped);
+    assertEquals(FRAMES / 2, history.getNewestFrame());
+  }
+
+  /** Runs the simulation and records each frame, returning the full snapshot of each frame. */
+  private List<byte[]> record(WorldHistory history, int count) {
+    List<byte[]> frames = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      simulation.step();
+      history.record(world(), trace);
+      trace.clear();
+      frames.add(capture());
+    }
+    return frames;
+  }
+
+  private void assertRestores(WorldHistory history, long frame, byte[] expected) {
+    history.restore(frame, world());
+    assertShows(expected, "Frame " + frame);
+  }
+
+  /**
+   * Checks that the world holds the state of a snapshot. Archetypes created after the snapshot was
+   * taken stay in the world, empty, so the snapshot is restored again to compare the bytes.
+   */
+  private void assertShows(byte[] expected, String message) {
+    byte[] actual = capture();
+    SnapshotBuffer buffer = new SnapshotBuffer();
+    buffer.load(expected, 0, expected.length);
+    snapshot.restore(world(), buffer);
+    assertArrayEquals(capture(), actual, message);
+  }
+
+  private byte[] capture() {
+    SnapshotBuffer buffer = new SnapshotBuffer();
+    snapshot.capture(world(), buffer);
+    return buffer.toByteArray();
+  }
+
+  private World world() {
+    return simulation.getWorld();
+  }
+}
@@ -0,0 +1,156 @@
+package com.zekecode.hakai.engine.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.zekecode.hakai.AllocationBudget;
+import com.zekecode.hakai.components.entities.PlayerStateComponent;
+import com.zekecode.hakai.components.physics.PositionComponent;
+import com.zekecode.hakai.components.powerups.ActiveEffectsComponent;
+import com.zekecode.hakai.config.GameConfig;
+import com.zekecode.hakai.core.Component;
+import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.SnapshotBuffer;
+import com.zekecode.hakai.core.World;
+import com.zekecode.hakai.core.WorldSnapshot;
+import com.zekecode.hakai.engine.headless.AutopilotInput;
+import com.zekecode.hakai.engine.headless.HeadlessSimulation;
+import com.zekecode.hakai.powerups.PowerUpType;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class WorldSnapshotTest {
+
+  private static final int FIVE_SECONDS = 5 * GameConfig.SIMULATION_RATE;
+
+  private final WorldSnapshot snapshot = GameSnapshots.create();
+
+  @Test
+  void restore_thenCapture_shouldGiveTheSameSnapshot() {
+    HeadlessSimulation simulation = playedSimulation();
+    SnapshotBuffer original = new SnapshotBuffer();
+    snapshot.capture(simulation.getWorld(), original);
+
+    simulation.runUntil(simulation.getTick() + FIVE_SECONDS);
+    snapshot.restore(simulation.getWorld(), original);
+    SnapshotBuffer restored = new SnapshotBuffer();
+    snapshot.capture(simulation.getWorld(), restored);
+
+    assertArrayEquals(original.toByteArray(), restored.toByteArray());
+  }
+
+  @Test
+  void restore_intoAnotherWorld_shouldRecreateTheEntities() {
+    World original = playedSimulation().getWorld();
+    SnapshotBuffer buffer = new SnapshotBuffer();
+    snapshot.capture(original, buffer);
+
+    World copy = new HeadlessSimulation("level_1.yml").getWorld();
+    snapshot.restore(copy, buffer);
+
+    assertEquals(original.getEntities().size(), copy.getEntities().size());
+    for (int i = 0; i < original.getEntities().size(); i++) {
+      Entity expected = original.getEntities().get(i);
+      Entity actual = copy.getEntities().get(i);
+      assertEquals(expected.getId(), actual.getId());
+      PositionComponent position = expected.getComponent(PositionComponent.class).orElse(null);
+      if (position != null) {
+        assertEquals(position.x, actual.getComponent(PositionComponent.class).get().x);
+        assertEquals(position.y, actual.getComponent(PositionComponent.class).get().y);
+      }
+    }
+  }
+
+  @Test
+  void restore_inPlace_shouldReplayTheSameFrames() {
+    HeadlessSimulation simulation = playedSimulation();
+    SnapshotBuffer checkpoint = new SnapshotBuffer();
+    snapshot.capture(simulation.getWorld(), checkpoint);
+
+    simulation.runUntil(simulation.getTick() + FIVE_SECONDS);
+    SnapshotBuffer firstRun = new SnapshotBuffer();
+    snapshot.capture(simulation.getWorld(), firstRun);
+
+    // Retry from the checkpoint: the same ticks must lead to the same world.
+    snapshot.restore(simulation.getWorld(), checkpoint);
+    for (int i = 0; i < FIVE_SECONDS; i++) {
+      simulation.step();
+    }
+    SnapshotBuffer secondRun = new SnapshotBuffer();
+    snapshot.capture(simulation.getWorld(), secondRun);
+
+    assertArrayEquals(firstRun.toByteArray(), secondRun.toByteArray());
+  }
+
+  @Test
+  void restore_shouldBringBackEffectTimersAndPlayerState() {
+    World world = new World();
+    Entity player = world.createEntity();
+    player.addComponent(new PlayerStateComponent(2));
+    ActiveEffectsComponent effects = new ActiveEffectsComponent();
+    effects.activeEffects.put(PowerUpType.PADDLE_SLOW, 4.5);
+    player.addComponent(effects);
+    player.addComponent(new PositionComponent(10, 20));
+    SnapshotBuffer buffer = new SnapshotBuffer();
+    snapshot.capture(world, buffer);
+
+    player.getComponent(PlayerStateComponent.class).get().lives = 0;
+    effects.activeEffects.remove(PowerUpType.PADDLE_SLOW);
+    world.createEntity().addComponent(new PositionComponent(0, 0));
+    snapshot.restore(world, buffer);
+
+    assertEquals(1, world.getEntities().size());
+    Entity restored = world.getEntities().get(0);
+    assertEquals(player.getId(), restored.getId());
+    assertEquals(2, restored.getComponent(PlayerStateComponent.class).get().lives);
+    ActiveEffectsComponent restoredEffects =
+        restored.getComponent(ActiveEffectsComponent.class).get();
+    assertEquals(1, restoredEffects.activeEffects.size());
+    assertEquals(4.5, restoredEffects.activeEffects.get(PowerUpType.PADDLE_SLOW));
+    assertEquals(1, world.query(PositionComponent.class).size());
+    assertEquals(player.getId() + 1, world.createEntity().getId(), "Ids go on from the snapshot");
+  }
+
+  @Test
+  void capture_withAComponentWithoutCodec_shouldThrow() {
+    World world = new World();
+    world.createEntity().addComponent(new UnknownComponent());
+
+    assertThrows(IllegalStateException.class, () -> snapshot.capture(world, new SnapshotBuffer()));
+  }
+
+  @Test
+  void restore_withAnotherSchema_shouldThrow() {
+    World world = new World();
+    world.createEntity().addComponent(new PositionComponent(1, 2));
+    SnapshotBuffer buffer = new SnapshotBuffer();
+    snapshot.capture(world, buffer);
+
+    WorldSnapshot other = new WorldSnapshot(List.of(GameSnapshots.CODECS.get(0)));
+
+    assertThrows(IllegalStateException.class, () -> other.restore(world, buffer));
+    assertEquals(1, world.getEntities().size(), "A rejected snapshot must leave the world alone");
+  }
+
+  @Test
+  void capture_inSteadyState_shouldNotAllocate() {
+    HeadlessSimulation simulation = playedSimulation();
+    SnapshotBuffer buffer = new SnapshotBuffer();
+    Runnable capture = () -> snapshot.capture(simulation.getWorld(), buffer);
+    AllocationBudget.warmUp(capture); // Also grows the buffer to its final size
+
+    AllocationBudget.assertWithinBudget("WorldSnapshot.capture", capture);
+  }
+
+  /** Returns a level played for a few seconds, with balls in flight and bricks broken. */
+  private static HeadlessSimulation playedSimulation() {
+    HeadlessSimulation simulation = new HeadlessSimulation("level_1.yml", 99L);
+    simulation.setInputDriver(new AutopilotInput(simulation.getWorld()));
+    simulation.addBalls(5);
+    simulation.runUntil(FIVE_SECONDS);
+    return simulation;
+  }
+
+  private static class UnknownComponent implements Component {}
+}
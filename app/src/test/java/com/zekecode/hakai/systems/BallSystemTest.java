@@ -10,6 +10,7 @@ import com.zekecode.hakai.components.graphics.RenderComponent;
 import com.zekecode.hakai.components.physics.PositionComponent;
 import com.zekecode.hakai.components.physics.VelocityComponent;
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.World;
 import com.zekecode.hakai.engine.input.InputManager;
 import com.zekecode.hakai.entities.EntityFactory;
 import com.zekecode.hakai.events.ball.ResetBallEvent;
@@ -27,22 +28,24 @@ class BallSystemTest {
   @Mock private InputManager inputManager;
   @Mock private EntityFactory entityFactory;
 
+  private World world;
   private BallSystem ballSystem;
   private Entity paddle;
   private Entity ball;
 
   @BeforeEach
   void setUp() {
-    ballSystem = new BallSystem(inputManager, entityFactory);
+    world = new World();
+    ballSystem = new BallSystem(world, inputManager, entityFactory);
 
     // Create a paddle for the ball to stick to
-    paddle = new Entity(1);
+    paddle = world.createEntity();
     paddle.addComponent(new InputComponent()); // Identifies it as the paddle
     paddle.addComponent(new PositionComponent(350, 550)); // Center of 800x600 screen
     paddle.addComponent(new RenderComponent(100, 20, null));
 
     // Create a ball that should be stuck to the paddle
-    ball = new Entity(2);
+    ball = world.createEntity();
     ball.addComponent(new BallComponent());
     ball.addComponent(new BallStuckToPaddleComponent());
     ball.addComponent(new PositionComponent(0, 0)); // Start at a dummy position
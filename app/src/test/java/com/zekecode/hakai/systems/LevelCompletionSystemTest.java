@@ -8,7 +8,6 @@ import com.zekecode.hakai.core.Entity;
 import com.zekecode.hakai.core.World;
 import com.zekecode.hakai.events.LevelClearEvent;
 import com.zekecode.hakai.events.brick.BrickDestroyedEvent;
-import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,26 +17,25 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class LevelCompletionSystemTest {
 
-  @Mock private World world;
   @Mock private EventBus eventBus;
 
+  private World world;
   private LevelCompletionSystem system;
   private Entity brick1;
-  private Entity brick2;
 
   @BeforeEach
   void setUp() {
+    world = new World();
     system = new LevelCompletionSystem(world, eventBus);
-    brick1 = new Entity(1);
+    brick1 = world.createEntity();
     brick1.addComponent(new BrickComponent(1));
-    brick2 = new Entity(2);
-    brick2.addComponent(new BrickComponent(1));
   }
 
   @Test
   void onBrickDestroyed_whenBricksRemain_shouldNotPostLevelClearEvent() {
     // ARRANGE: Simulate a world where two bricks still exist
-    when(world.getEntities()).thenReturn(List.of(brick1, brick2));
+    Entity brick2 = world.createEntity();
+    brick2.addComponent(new BrickComponent(1));
     BrickDestroyedEvent event = new BrickDestroyedEvent(brick1);
 
     // ACT
@@ -52,7 +50,6 @@ class LevelCompletionSystemTest {
     // ARRANGE: Simulate a world where only one brick is left.
     // The check happens after the brick is marked dead, but before it's removed,
     // so the count of remaining bricks will be 1.
-    when(world.getEntities()).thenReturn(List.of(brick1));
     BrickDestroyedEvent event = new BrickDestroyedEvent(brick1);
 
     // ACT
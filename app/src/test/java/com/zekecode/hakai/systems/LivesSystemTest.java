@@ -25,17 +25,18 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class LivesSystemTest {
 
-  @Mock private World world;
   @Mock private EventBus eventBus;
 
+  private World world;
   private LivesSystem livesSystem;
   private Entity gameStateEntity;
   private PlayerStateComponent playerStateComponent;
 
   @BeforeEach
   void setUp() {
+    world = new World();
     livesSystem = new LivesSystem(world, eventBus);
-    gameStateEntity = new Entity(0);
+    gameStateEntity = world.createEntity();
     playerStateComponent = new PlayerStateComponent(GameConfig.PLAYER_STARTING_LIVES);
     gameStateEntity.addComponent(playerStateComponent);
   }
@@ -43,13 +44,11 @@ class LivesSystemTest {
   @Test
   void onBallLost_whenItIsTheLastBall_shouldDecrementLifeAndResetBall() {
     // ARRANGE
-    Entity ballEntity = new Entity(1);
+    Entity ballEntity = world.createEntity();
     ballEntity.addComponent(new BallComponent());
     BallLostEvent event = new BallLostEvent(ballEntity);
 
     // After the ball is marked as dead, there will be 0 balls left.
-    // So we mock the world state to reflect the moment *before* the check.
-    when(world.getEntities()).thenReturn(List.of(gameStateEntity, ballEntity));
 
     // ACT
     livesSystem.onBallLost(event);
@@ -76,14 +75,13 @@ class LivesSystemTest {
   @Test
   void onBallLost_whenOtherBallsExist_shouldNotDecrementLife() {
     // ARRANGE
-    Entity lostBall = new Entity(1);
+    Entity lostBall = world.createEntity();
     lostBall.addComponent(new BallComponent());
-    Entity remainingBall = new Entity(2);
+    Entity remainingBall = world.createEntity();
     remainingBall.addComponent(new BallComponent());
     BallLostEvent event = new BallLostEvent(lostBall);
 
     // In this scenario, the world contains two balls.
-    when(world.getEntities()).thenReturn(List.of(gameStateEntity, lostBall, remainingBall));
 
     // ACT
     livesSystem.onBallLost(event);
@@ -106,12 +104,10 @@ class LivesSystemTest {
   void onBallLost_whenLastLifeIsLost_shouldTriggerGameOver() {
     // ARRANGE
     playerStateComponent.lives = 1; // Set player to their last life.
-    Entity ballEntity = new Entity(1);
+    Entity ballEntity = world.createEntity();
     ballEntity.addComponent(new BallComponent());
     BallLostEvent event = new BallLostEvent(ballEntity);
 
-    when(world.getEntities()).thenReturn(List.of(gameStateEntity, ballEntity));
-
     // ACT
     livesSystem.onBallLost(event);
 
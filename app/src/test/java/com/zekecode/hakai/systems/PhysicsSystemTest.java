@@ -1,16 +1,24 @@
 package com.zekecode.hakai.systems;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 import com.google.common.eventbus.EventBus;
 import com.zekecode.hakai.components.ball.BallComponent;
+import com.zekecode.hakai.components.entities.BrickComponent;
 import com.zekecode.hakai.components.graphics.RenderComponent;
+import com.zekecode.hakai.components.physics.CollidableComponent;
+import com.zekecode.hakai.components.physics.CollisionLayer;
 import com.zekecode.hakai.components.physics.PositionComponent;
 import com.zekecode.hakai.components.physics.VelocityComponent;
 import com.zekecode.hakai.config.GameConfig;
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.World;
 import com.zekecode.hakai.events.ball.BallLostEvent;
+import com.zekecode.hakai.events.brick.BrickHitEvent;
+import com.zekecode.hakai.systems.collisions.BallBrickCollisionSystem;
+import com.zekecode.hakai.systems.collisions.CollisionSystem;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -89,4 +97,39 @@ class PhysicsSystemTest {
     // No event should be posted.
     verifyNoInteractions(eventBus);
   }
+
+  @Test
+  void update_whenFastBallWouldTunnelThroughBrick_shouldHitTheBrick() {
+    // ARRANGE: a real world, so that the collision system knows the brick
+    World world = new World();
+    CollisionSystem collisionSystem = new CollisionSystem(world, eventBus);
+    collisionSystem.registerHandler(
+        CollisionLayer.BALL, CollisionLayer.BRICK, new BallBrickCollisionSystem(eventBus));
+    physicsSystem = new PhysicsSystem(SCREEN_WIDTH, SCREEN_HEIGHT, eventBus, collisionSystem);
+
+    Entity brick = world.createEntity();
+    brick.addComponent(new BrickComponent(1));
+    brick.addComponent(new PositionComponent(280, 200));
+    brick.addComponent(new RenderComponent(60, 20, null));
+    brick.addComponent(new CollidableComponent(CollisionLayer.BRICK));
+
+    // In one long frame (0.1s) the ball moves 300px, far beyond the 20px brick.
+    Entity ball = world.createEntity();
+    ball.addComponent(new BallComponent());
+    ball.addComponent(new PositionComponent(300, 400));
+    ball.addComponent(new VelocityComponent(0, -3000));
+    ball.addComponent(new RenderComponent(15, 15, null));
+    CollidableComponent ballCollider = new CollidableComponent(CollisionLayer.BALL);
+    ballCollider.continuous = true;
+    ball.addComponent(ballCollider);
+    collisionSystem.update(world.getEntities(), 0.1);
+
+    // ACT
+    physicsSystem.update(world.getEntities(), 0.1);
+
+    // ASSERT: the ball bounced off the bottom of the brick instead of going through it
+    verify(eventBus, times(1)).post(any(BrickHitEvent.class));
+    assertEquals(3000, ball.getComponent(VelocityComponent.class).get().y);
+    assertTrue(ball.getComponent(PositionComponent.class).get().y > 220);
+  }
 }
@@ -9,7 +9,6 @@ import com.zekecode.hakai.core.Entity;
 import com.zekecode.hakai.core.World;
 import com.zekecode.hakai.events.ScoreChangedEvent;
 import com.zekecode.hakai.events.brick.BrickDestroyedEvent;
-import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,22 +19,23 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class ScoreSystemTest {
 
-  @Mock private World world;
   @Mock private EventBus eventBus;
 
+  private World world;
   private ScoreSystem scoreSystem;
 
   @BeforeEach
   void setUp() {
     // This runs before each test, ensuring a clean state
+    world = new World();
     scoreSystem = new ScoreSystem(world, eventBus);
   }
 
   @Test
   void onBrickDestroyed_shouldIncreaseScoreAndPostEvent() {
     // --- 1. ARRANGE ---
-    // Create a fake entity to represent the game state
-    Entity gameStateEntity = new Entity(1);
+    // Create an entity in the world to represent the game state
+    Entity gameStateEntity = world.createEntity();
     ScoreComponent scoreComponent = new ScoreComponent(); // Starts at 0
     scoreComponent.score = 50; // Start with a non-zero score
     gameStateEntity.addComponent(scoreComponent);
@@ -44,9 +44,6 @@ class ScoreSystemTest {
     Entity brickEntity = new Entity(2);
     BrickDestroyedEvent event = new BrickDestroyedEvent(brickEntity);
 
-    // Tell our mock World to return the fake game state entity when asked.
-    when(world.getEntities()).thenReturn(List.of(gameStateEntity));
-
     // --- 2. ACT ---
     // Manually call the event handler method on our system instance
     scoreSystem.onBrickDestroyed(event);
@@ -70,8 +67,7 @@ class ScoreSystemTest {
   @Test
   void onBrickDestroyed_shouldDoNothingIfNoScoreEntityExists() {
     // --- ARRANGE ---
-    // Simulate a world with no game state entity
-    when(world.getEntities()).thenReturn(List.of());
+    // The world is empty, so there is no game state entity
     BrickDestroyedEvent event = new BrickDestroyedEvent(new Entity(1));
 
     // --- ACT ---
@@ -4,14 +4,12 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import com.google.common.eventbus.EventBus;
-import com.zekecode.hakai.components.*;
 import com.zekecode.hakai.components.ball.BallComponent;
 import com.zekecode.hakai.components.entities.BrickComponent;
 import com.zekecode.hakai.components.graphics.RenderComponent;
 import com.zekecode.hakai.components.physics.PositionComponent;
 import com.zekecode.hakai.components.physics.VelocityComponent;
 import com.zekecode.hakai.core.Entity;
-import com.zekecode.hakai.events.CollisionEvent;
 import com.zekecode.hakai.events.brick.BrickHitEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,14 +45,15 @@ class BallBrickCollisionSystemTest {
   }
 
   @Test
-  void onCollision_withBallAndBrick_shouldBounceBallAndPostBrickHitEvent() {
+  void onContacts_withBallAndBrick_shouldBounceBallAndPostBrickHitEvent() {
     // ARRANGE
     VelocityComponent ballVelocity = ball.getComponent(VelocityComponent.class).get();
     double initialYVelocity = ballVelocity.y;
-    CollisionEvent event = new CollisionEvent(ball, brick);
+    CollisionContacts contacts = new CollisionContacts();
+    contacts.add(ball, brick);
 
     // ACT
-    collisionSystem.onCollision(event);
+    collisionSystem.onContacts(contacts);
 
     // ASSERT
     // 1. Verify the physics: The ball's velocity should be reversed on the primary axis of
@@ -78,19 +77,23 @@ class BallBrickCollisionSystemTest {
   }
 
   @Test
-  void onCollision_withEntitiesOtherThanBallAndBrick_shouldDoNothing() {
-    // ARRANGE
-    Entity paddle = new Entity(3);
-    paddle.addComponent(new InputComponent());
-
-    // A collision between a brick and a paddle should be ignored by this system.
-    CollisionEvent event = new CollisionEvent(brick, paddle);
+  void onContacts_ballTouchingTwoBricks_shouldBounceOnceAndHitBoth() {
+    // ARRANGE: a second brick right next to the first one
+    Entity otherBrick = new Entity(3);
+    otherBrick.addComponent(new BrickComponent(1));
+    otherBrick.addComponent(new PositionComponent(55, 105));
+    otherBrick.addComponent(new RenderComponent(50, 20, null));
+    VelocityComponent ballVelocity = ball.getComponent(VelocityComponent.class).get();
+    double initialYVelocity = ballVelocity.y;
+    CollisionContacts contacts = new CollisionContacts();
+    contacts.add(ball, brick);
+    contacts.add(ball, otherBrick);
 
     // ACT
-    collisionSystem.onCollision(event);
+    collisionSystem.onContacts(contacts);
 
-    // ASSERT
-    // The system should not post any events.
-    verifyNoInteractions(eventBus);
+    // ASSERT: bouncing on each brick would have cancelled the bounce out
+    assertEquals(-initialYVelocity, ballVelocity.y);
+    verify(eventBus, times(2)).post(any(BrickHitEvent.class));
   }
 }
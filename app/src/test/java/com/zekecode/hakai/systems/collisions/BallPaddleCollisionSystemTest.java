@@ -11,7 +11,6 @@ import com.zekecode.hakai.components.graphics.RenderComponent;
 import com.zekecode.hakai.components.physics.PositionComponent;
 import com.zekecode.hakai.components.physics.VelocityComponent;
 import com.zekecode.hakai.core.Entity;
-import com.zekecode.hakai.events.CollisionEvent;
 import com.zekecode.hakai.events.PaddleHitEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -46,14 +45,15 @@ class BallPaddleCollisionSystemTest {
   }
 
   @Test
-  void onCollision_whenBallHitsPaddleFromAbove_shouldBounceUpAndPostEvent() {
+  void onContacts_whenBallHitsPaddleFromAbove_shouldBounceUpAndPostEvent() {
     // ARRANGE
     VelocityComponent ballVelocity = ball.getComponent(VelocityComponent.class).get();
     assertTrue(ballVelocity.y > 0, "Pre-condition: Ball must be moving downwards.");
-    CollisionEvent event = new CollisionEvent(ball, paddle);
+    CollisionContacts contacts = new CollisionContacts();
+    contacts.add(ball, paddle);
 
     // ACT
-    collisionSystem.onCollision(event);
+    collisionSystem.onContacts(contacts);
 
     // ASSERT
     // The ball's vertical velocity should be reversed.
@@ -66,16 +66,17 @@ class BallPaddleCollisionSystemTest {
   }
 
   @Test
-  void onCollision_whenBallHitsRightOfPaddleCenter_shouldIncreasePositiveXVelocity() {
+  void onContacts_whenBallHitsRightOfPaddleCenter_shouldIncreasePositiveXVelocity() {
     // ARRANGE
     // Move ball to the right side of the paddle
     ball.getComponent(PositionComponent.class).get().x = 420; // Paddle center is 400
     VelocityComponent ballVelocity = ball.getComponent(VelocityComponent.class).get();
     double initialXVelocity = ballVelocity.x;
-    CollisionEvent event = new CollisionEvent(ball, paddle);
+    CollisionContacts contacts = new CollisionContacts();
+    contacts.add(ball, paddle);
 
     // ACT
-    collisionSystem.onCollision(event);
+    collisionSystem.onContacts(contacts);
 
     // ASSERT
     // The ball's horizontal velocity should increase due to "spin".
@@ -85,16 +86,17 @@ class BallPaddleCollisionSystemTest {
   }
 
   @Test
-  void onCollision_whenBallHitsLeftOfPaddleCenter_shouldIncreaseNegativeXVelocity() {
+  void onContacts_whenBallHitsLeftOfPaddleCenter_shouldIncreaseNegativeXVelocity() {
     // ARRANGE
     // Move ball to the left side of the paddle
     ball.getComponent(PositionComponent.class).get().x = 360; // Paddle center is 400
     VelocityComponent ballVelocity = ball.getComponent(VelocityComponent.class).get();
     double initialXVelocity = ballVelocity.x; // Is 20
-    CollisionEvent event = new CollisionEvent(ball, paddle);
+    CollisionContacts contacts = new CollisionContacts();
+    contacts.add(ball, paddle);
 
     // ACT
-    collisionSystem.onCollision(event);
+    collisionSystem.onContacts(contacts);
 
     // ASSERT
     // The ball's horizontal velocity should decrease (become more negative or less positive).
@@ -1,15 +1,23 @@
 package com.zekecode.hakai.systems.collisions;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 import com.google.common.eventbus.EventBus;
+import com.zekecode.hakai.components.ball.BallComponent;
+import com.zekecode.hakai.components.entities.BrickComponent;
+import com.zekecode.hakai.components.entities.DeadComponent;
 import com.zekecode.hakai.components.graphics.RenderComponent;
 import com.zekecode.hakai.components.physics.CollidableComponent;
+import com.zekecode.hakai.components.physics.CollisionLayer;
 import com.zekecode.hakai.components.physics.PositionComponent;
 import com.zekecode.hakai.components.physics.VelocityComponent;
 import com.zekecode.hakai.core.Entity;
+import com.zekecode.hakai.core.World;
 import com.zekecode.hakai.events.CollisionEvent;
+import com.zekecode.hakai.events.brick.BrickHitEvent;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,22 +31,24 @@ class CollisionSystemTest {
 
   @Mock private EventBus eventBus;
 
+  private World world;
   private CollisionSystem collisionSystem;
   private Entity entityA;
   private Entity entityB;
 
   @BeforeEach
   void setUp() {
-    collisionSystem = new CollisionSystem(eventBus);
+    world = new World();
+    collisionSystem = new CollisionSystem(world, eventBus);
 
     // Setup two basic collidable entities (A and B)
-    entityA = createCollidableEntity(1, 0, 0, 10, 10);
-    entityB = createCollidableEntity(2, 5, 5, 10, 10);
+    entityA = createCollidableEntity(0, 0, 10, 10);
+    entityB = createCollidableEntity(5, 5, 10, 10);
   }
 
   /** Helper to create an entity with Position, Render, and Collidable components. */
-  private Entity createCollidableEntity(int id, double x, double y, double width, double height) {
-    Entity entity = new Entity(id);
+  private Entity createCollidableEntity(double x, double y, double width, double height) {
+    Entity entity = world.createEntity();
     entity.addComponent(new PositionComponent(x, y));
     entity.addComponent(new RenderComponent(width, height, null));
     entity.addComponent(new CollidableComponent());
@@ -54,7 +64,7 @@ class CollisionSystemTest {
     // ARRANGE: entities are overlapping (A: 0,0, B: 5,5)
 
     // ACT
-    collisionSystem.update(List.of(entityA, entityB), 0.0);
+    collisionSystem.update(world.getEntities(), 0.0);
 
     // ASSERT
     ArgumentCaptor<CollisionEvent> eventCaptor = ArgumentCaptor.forClass(CollisionEvent.class);
@@ -76,7 +86,7 @@ class CollisionSystemTest {
     entityB.getComponent(PositionComponent.class).get().y = 0;
 
     // ACT
-    collisionSystem.update(List.of(entityA, entityB), 0.0);
+    collisionSystem.update(world.getEntities(), 0.0);
 
     // ASSERT: Barely touching counts as colliding.
     verify(eventBus, times(1)).post(any(CollisionEvent.class));
@@ -93,7 +103,7 @@ class CollisionSystemTest {
     entityB.getComponent(PositionComponent.class).get().y = 50;
 
     // ACT
-    collisionSystem.update(List.of(entityA, entityB), 0.0);
+    collisionSystem.update(world.getEntities(), 0.0);
 
     // ASSERT
     verifyNoInteractions(eventBus);
@@ -101,29 +111,174 @@ class CollisionSystemTest {
 
   @Test
   void update_entityChecksSelf_shouldNotPostCollisionEvent() {
-    // ARRANGE: List contains two references to the same entity.
-    Entity selfColliding = createCollidableEntity(10, 100, 100, 10, 10);
-    selfColliding.addComponent(new VelocityComponent(1, 1));
+    // ARRANGE: a world holding a single moving entity, so the only box it overlaps in the grids
+    // is its own.
+    world = new World();
+    collisionSystem = new CollisionSystem(world, eventBus);
+    Entity selfColliding = createCollidableEntity(100, 100, 10, 10);
 
     // ACT
-    collisionSystem.update(List.of(selfColliding, selfColliding), 0.0);
+    collisionSystem.update(world.getEntities(), 0.0);
+    collisionSystem.sweep(selfColliding, 1.0);
 
-    // ASSERT
+    // ASSERT: neither the overlap test nor the sweep pairs the entity with itself
     verifyNoInteractions(eventBus);
+    assertEquals(101.0, selfColliding.getComponent(PositionComponent.class).get().x);
   }
 
   @Test
   void update_onlyStaticEntitiesExist_shouldNotRunChecks() {
     // ARRANGE: Entities have Collidable, but no VelocityComponent (like two bricks)
-    Entity staticA = createCollidableEntity(1, 0, 0, 10, 10);
-    staticA.removeComponent(VelocityComponent.class);
-    Entity staticB = createCollidableEntity(2, 5, 5, 10, 10);
-    staticB.removeComponent(VelocityComponent.class);
+    entityA.removeComponent(VelocityComponent.class);
+    entityB.removeComponent(VelocityComponent.class);
 
     // ACT
-    collisionSystem.update(List.of(staticA, staticB), 0.0);
+    collisionSystem.update(world.getEntities(), 0.0);
 
     // ASSERT: Only entities with Velocity should be checked against the collision pair.
     verifyNoInteractions(eventBus);
   }
+
+  @Test
+  void update_destroyedStaticEntity_shouldNoLongerCollide() {
+    // ARRANGE: B is a static brick overlapping A, then gets destroyed
+    entityB.removeComponent(VelocityComponent.class);
+    collisionSystem.update(world.getEntities(), 0.0);
+    verify(eventBus, times(1)).post(any(CollisionEvent.class));
+
+    entityB.addComponent(new DeadComponent());
+    world.update(0.0); // Removes the dead brick from the world
+
+    // ACT
+    collisionSystem.update(world.getEntities(), 0.0);
+
+    // ASSERT: no collision was reported after the brick was removed
+    verify(eventBus, times(1)).post(any(CollisionEvent.class));
+  }
+
+  // --- Collision Layers ---
+
+  @Test
+  void update_layersThatDoNotInteract_shouldNotPostCollisionEvent() {
+    // ARRANGE: A is a falling drop overlapping B, a brick
+    entityA.addComponent(new CollidableComponent(CollisionLayer.DROP));
+    entityB.addComponent(new CollidableComponent(CollisionLayer.BRICK));
+    entityB.removeComponent(VelocityComponent.class);
+
+    // ACT
+    collisionSystem.update(world.getEntities(), 0.0);
+
+    // ASSERT: drops and bricks do not interact in the default matrix
+    verifyNoInteractions(eventBus);
+  }
+
+  /** Copies a batch of contacts, which is only valid while it is being handled. */
+  private static void record(CollisionContacts contacts, List<Entity[]> handled) {
+    for (int i = 0; i < contacts.size(); i++) {
+      handled.add(new Entity[] {contacts.getFirst(i), contacts.getSecond(i)});
+    }
+  }
+
+  @Test
+  void update_layersWithRegisteredHandler_shouldCallHandlerInsteadOfEventBus() {
+    // ARRANGE: A is a ball overlapping B, a brick
+    entityA.addComponent(new CollidableComponent(CollisionLayer.BALL));
+    entityB.addComponent(new CollidableComponent(CollisionLayer.BRICK));
+    entityB.removeComponent(VelocityComponent.class);
+    List<Entity[]> handled = new ArrayList<>();
+    collisionSystem.registerHandler(
+        CollisionLayer.BRICK, CollisionLayer.BALL, contacts -> record(contacts, handled));
+
+    // ACT
+    collisionSystem.update(world.getEntities(), 0.0);
+
+    // ASSERT: the pair is ordered like the layers of the handler
+    assertEquals(1, handled.size());
+    assertEquals(entityB, handled.get(0)[0]);
+    assertEquals(entityA, handled.get(0)[1]);
+    verifyNoInteractions(eventBus);
+  }
+
+  // --- Continuous Collisions ---
+
+  /** Creates a fast ball above a thin brick: a plain move would take it through the brick. */
+  private Entity createBallAboveBrick() {
+    Entity ball = createCollidableEntity(100, 100, 15, 15);
+    ball.addComponent(new BallComponent());
+    CollidableComponent ballCollider = new CollidableComponent(CollisionLayer.BALL);
+    ballCollider.continuous = true;
+    ball.addComponent(ballCollider);
+    ball.addComponent(new VelocityComponent(0, 3000));
+
+    createThinBrick(95);
+    return ball;
+  }
+
+  private Entity createThinBrick(double x) {
+    Entity brick = createCollidableEntity(x, 150, 50, 20);
+    brick.addComponent(new BrickComponent(1));
+    brick.addComponent(new CollidableComponent(CollisionLayer.BRICK));
+    brick.removeComponent(VelocityComponent.class);
+    return brick;
+  }
+
+  @Test
+  void sweep_fastBall_shouldBounceOnThinBrickAndCarryOnWithTheRemainingMotion() {
+    // ARRANGE: in 0.05s the ball travels 150px, and hits the brick after 35px
+    Entity ball = createBallAboveBrick();
+    collisionSystem.registerHandler(
+        CollisionLayer.BALL, CollisionLayer.BRICK, new BallBrickCollisionSystem(eventBus));
+    collisionSystem.update(world.getEntities(), 0.0);
+
+    // ACT
+    collisionSystem.sweep(ball, 0.05);
+
+    // ASSERT: bounced at y = 135, then moved back up for the remaining 115px
+    verify(eventBus, times(1)).post(any(BrickHitEvent.class));
+    assertEquals(-3000, ball.getComponent(VelocityComponent.class).get().y);
+    assertEquals(20, ball.getComponent(PositionComponent.class).get().y, 1e-9);
+  }
+
+  @Test
+  void sweep_ballReachingTheSeamOfTwoBricks_shouldBounceOnceAndHitBoth() {
+    // ARRANGE: the ball straddles the seam at x = 145, so it reaches both bricks at the same time
+    Entity ball = createBallAboveBrick();
+    createThinBrick(145);
+    ball.getComponent(PositionComponent.class).get().x = 137;
+    List<Integer> batchSizes = new ArrayList<>();
+    BallBrickCollisionSystem ballBricks = new BallBrickCollisionSystem(eventBus);
+    collisionSystem.registerHandler(
+        CollisionLayer.BALL,
+        CollisionLayer.BRICK,
+        contacts -> {
+          batchSizes.add(contacts.size());
+          ballBricks.onContacts(contacts);
+        });
+    collisionSystem.update(world.getEntities(), 0.0);
+
+    // ACT
+    collisionSystem.sweep(ball, 0.05);
+
+    // ASSERT: one batch holding both bricks, a single bounce, and a hit on each brick
+    assertEquals(List.of(2), batchSizes);
+    verify(eventBus, times(2)).post(any(BrickHitEvent.class));
+    assertEquals(-3000, ball.getComponent(VelocityComponent.class).get().y);
+    assertEquals(20, ball.getComponent(PositionComponent.class).get().y, 1e-9);
+  }
+
+  @Test
+  void update_continuousCollider_shouldBeLeftToTheSweep() {
+    // ARRANGE: the ball overlaps the brick, but only sweeping may report it
+    Entity ball = createBallAboveBrick();
+    ball.getComponent(PositionComponent.class).get().y = 145;
+    List<Entity[]> handled = new ArrayList<>();
+    collisionSystem.registerHandler(
+        CollisionLayer.BALL, CollisionLayer.BRICK, contacts -> record(contacts, handled));
+
+    // ACT
+    collisionSystem.update(world.getEntities(), 0.0);
+
+    // ASSERT
+    assertTrue(handled.isEmpty());
+  }
 }
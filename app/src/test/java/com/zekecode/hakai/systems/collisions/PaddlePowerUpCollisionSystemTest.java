@@ -5,11 +5,9 @@ import static org.mockito.Mockito.*;
 
 import com.google.common.eventbus.EventBus;
 import com.zekecode.hakai.components.InputComponent;
-import com.zekecode.hakai.components.ball.BallComponent;
 import com.zekecode.hakai.components.entities.DeadComponent;
 import com.zekecode.hakai.components.powerups.PowerUpDropComponent;
 import com.zekecode.hakai.core.Entity;
-import com.zekecode.hakai.events.CollisionEvent;
 import com.zekecode.hakai.events.powerup.PowerUpCollectedEvent;
 import com.zekecode.hakai.powerups.EffectCategory;
 import com.zekecode.hakai.powerups.PowerUpType;
@@ -42,12 +40,13 @@ class PaddlePowerUpCollisionSystemTest {
   }
 
   @Test
-  void onCollision_withPaddleAndPowerUp_shouldMarkPowerUpDeadAndPostCollectedEvent() {
+  void onContacts_withPaddleAndPowerUp_shouldMarkPowerUpDeadAndPostCollectedEvent() {
     // ARRANGE
-    CollisionEvent event = new CollisionEvent(paddle, powerUp);
+    CollisionContacts contacts = new CollisionContacts();
+    contacts.add(paddle, powerUp);
 
     // ACT
-    collisionSystem.onCollision(event);
+    collisionSystem.onContacts(contacts);
 
     // ASSERT
     // 1. The power-up drop should be marked for removal from the world.
@@ -72,19 +71,17 @@ class PaddlePowerUpCollisionSystemTest {
   }
 
   @Test
-  void onCollision_withBallAndPowerUp_shouldDoNothing() {
+  void onContacts_withAlreadyCollectedPowerUp_shouldDoNothing() {
     // ARRANGE
-    // A ball cannot collect a power-up, only the paddle can.
-    Entity ball = new Entity(3);
-    ball.addComponent(new BallComponent());
-    CollisionEvent event = new CollisionEvent(ball, powerUp);
+    // A drop touching the paddle twice, or already collected, must not be collected again.
+    powerUp.addComponent(new DeadComponent());
+    CollisionContacts contacts = new CollisionContacts();
+    contacts.add(paddle, powerUp);
 
     // ACT
-    collisionSystem.onCollision(event);
+    collisionSystem.onContacts(contacts);
 
     // ASSERT
-    // The power-up should not be marked as dead.
-    assertFalse(powerUp.hasComponent(DeadComponent.class));
     // The system should not post any events.
     verifyNoInteractions(eventBus);
   }
@@ -0,0 +1,124 @@
+package com.zekecode.hakai.systems.collisions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.zekecode.hakai.core.Entity;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SpatialGridTest {
+
+  private SpatialGrid grid;
+  private List<Entity> result;
+
+  @BeforeEach
+  void setUp() {
+    // 4x3 cells of 10x10
+    grid = new SpatialGrid(40, 30, 10);
+    result = new ArrayList<>();
+  }
+
+  @Test
+  void query_shouldOnlyReturnEntitiesInOverlappedCells() {
+    // ARRANGE
+    Entity near = new Entity(1);
+    Entity far = new Entity(2);
+    grid.insert(near, 2, 2, 5, 5);
+    grid.insert(far, 32, 22, 5, 5);
+
+    // ACT
+    grid.query(0, 0, 8, 8, result);
+
+    // ASSERT
+    assertEquals(List.of(near), result);
+  }
+
+  @Test
+  void query_entitySpanningSeveralCells_shouldBeReportedOnce() {
+    // ARRANGE: this entity covers the four top-left cells
+    Entity wide = new Entity(1);
+    grid.insert(wide, 5, 5, 10, 10);
+
+    // ACT
+    grid.query(0, 0, 20, 20, result);
+
+    // ASSERT
+    assertEquals(List.of(wide), result);
+  }
+
+  @Test
+  void query_outsideOfTheGrid_shouldUseBorderCells() {
+    // ARRANGE: a ball that has fallen below the screen
+    Entity lost = new Entity(1);
+    grid.insert(lost, 15, 100, 5, 5);
+
+    // ACT
+    grid.query(15, 25, 5, 5, result);
+
+    // ASSERT
+    assertEquals(List.of(lost), result);
+  }
+
+  @Test
+  void remove_shouldTakeEntityOutOfAllItsCells() {
+    // ARRANGE
+    Entity removed = new Entity(1);
+    Entity kept = new Entity(2);
+    grid.insert(removed, 5, 5, 10, 10);
+    grid.insert(kept, 5, 5, 1, 1);
+
+    // ACT
+    assertTrue(grid.remove(removed));
+
+    // ASSERT
+    grid.query(0, 0, 40, 30, result);
+    assertEquals(List.of(kept), result);
+    assertFalse(grid.remove(removed), "Removing twice should fail.");
+  }
+
+  @Test
+  void clear_shouldEmptyTheGrid() {
+    // ARRANGE
+    grid.insert(new Entity(1), 0, 0, 5, 5);
+    grid.insert(new Entity(2), 25, 25, 5, 5);
+
+    // ACT
+    grid.clear();
+
+    // ASSERT
+    grid.query(0, 0, 40, 30, result);
+    assertTrue(result.isEmpty());
+  }
+
+  @Test
+  void insertAndRemove_manyShortLivedEntities_shouldReuseSlots() {
+    // ARRANGE: a long session, where every entity gets a new id but only a few live at once
+    List<Entity> alive = new ArrayList<>();
+    Entity kept = new Entity(0);
+    grid.insert(kept, 35, 25, 1, 1);
+
+    // ACT
+    for (int id = 1; id <= 10_000; id++) {
+      Entity entity = new Entity(id);
+      grid.insert(entity, id % 40, id % 30, 2, 2);
+      alive.add(entity);
+      if (alive.size() > 5) {
+        assertTrue(grid.remove(alive.remove(0)));
+      }
+    }
+
+    // ASSERT: the grid only grew for the entities alive together, and still finds all of them
+    assertTrue(grid.getSlotCapacity() <= 16, "Slots: " + grid.getSlotCapacity());
+    grid.query(0, 0, 40, 30, result);
+    assertEquals(6, result.size());
+    assertTrue(result.contains(kept));
+    assertTrue(result.containsAll(alive));
+    for (Entity entity : alive) {
+      assertTrue(grid.remove(entity));
+    }
+    assertTrue(grid.remove(kept));
+    assertFalse(grid.remove(kept));
+  }
+}
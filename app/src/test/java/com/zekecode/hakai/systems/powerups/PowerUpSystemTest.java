@@ -11,7 +11,6 @@ import com.zekecode.hakai.components.powerups.ActiveEffectsComponent;
 import com.zekecode.hakai.components.powerups.PowerUpComponent;
 import com.zekecode.hakai.config.data.PowerUpData;
 import com.zekecode.hakai.core.Entity;
-import com.zekecode.hakai.core.World;
 import com.zekecode.hakai.entities.EntityFactory;
 import com.zekecode.hakai.events.brick.BrickDestroyedEvent;
 import com.zekecode.hakai.events.powerup.PowerUpCollectedEvent;
@@ -32,7 +31,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class PowerUpSystemTest {
 
-  @Mock private World world;
   @Mock private EntityFactory entityFactory;
   @Mock private EffectRegistry effectRegistry;
 
@@ -41,7 +39,7 @@ class PowerUpSystemTest {
 
   @BeforeEach
   void setUp() {
-    powerUpSystem = new PowerUpSystem(world, entityFactory, effectRegistry);
+    powerUpSystem = new PowerUpSystem(entityFactory, effectRegistry);
     effectManagementSystem = new EffectManagementSystem(effectRegistry);
   }
 
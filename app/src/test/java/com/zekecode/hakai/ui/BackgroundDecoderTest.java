@@ -0,0 +1,41 @@
+package com.zekecode.hakai.ui;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.junit.jupiter.api.Test;
+
+class BackgroundDecoderTest {
+
+  private byte[] load(String path) throws IOException {
+    try (InputStream stream = getClass().getClassLoader().getResourceAsStream(path)) {
+      assertNotNull(stream, "Missing test resource: " + path);
+      return stream.readAllBytes();
+    }
+  }
+
+  @Test
+  void animatedGif_shouldDecodeEveryFrameScaledWithItsDelay() throws IOException {
+    BackgroundDecoder decoder = new BackgroundDecoder(load("backgrounds/space_loop.gif"), 80, 60);
+    int[] pixels = new int[decoder.getPixelCount()];
+
+    assertEquals(10, decoder.getFrameCount());
+    assertEquals(80 * 60, pixels.length);
+    for (int i = 0; i < decoder.getFrameCount() + 1; i++) { // One more to loop back to the start
+      assertEquals(100_000_000L, decoder.decodeNext(pixels));
+      assertEquals(0xFF, pixels[pixels.length / 2] >>> 24, "Frames should be opaque");
+    }
+    decoder.dispose();
+  }
+
+  @Test
+  void staticImage_shouldHaveASingleFrame() throws IOException {
+    BackgroundDecoder decoder =
+        new BackgroundDecoder(load("backgrounds/black_background.png"), 80, 60);
+
+    assertEquals(1, decoder.getFrameCount());
+    decoder.decodeNext(new int[decoder.getPixelCount()]);
+    decoder.dispose();
+  }
+}
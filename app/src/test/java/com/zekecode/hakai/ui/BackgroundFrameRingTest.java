@@ -0,0 +1,54 @@
+package com.zekecode.hakai.ui;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class BackgroundFrameRingTest {
+
+  @Test
+  void residentRing_shouldLoopOverTheFramesOnceAllAreDecoded() {
+    BackgroundFrameRing ring = new BackgroundFrameRing(3, 4, 1);
+    assertTrue(ring.isResident());
+
+    for (int i = 0; i < 3; i++) {
+      assertTrue(ring.hasRoom(i));
+      ring.getWriteBuffer(i)[0] = i;
+      ring.publish(i, 10 + i);
+    }
+
+    assertTrue(ring.isComplete());
+    assertFalse(ring.hasRoom(3));
+    assertTrue(ring.isReady(4));
+    assertEquals(1, ring.getPixels(4)[0]);
+    assertEquals(11, ring.getDelay(4));
+  }
+
+  @Test
+  void streamingRing_shouldWaitForTheReaderBeforeReusingASlot() {
+    BackgroundFrameRing ring = new BackgroundFrameRing(5, 2, 1);
+    assertFalse(ring.isResident());
+
+    ring.publish(0, 1);
+    ring.publish(1, 1);
+    assertFalse(ring.hasRoom(2));
+    assertFalse(ring.isReady(2));
+
+    ring.release(0);
+
+    assertTrue(ring.hasRoom(2));
+    assertFalse(ring.hasRoom(3));
+    assertFalse(ring.isComplete());
+  }
+
+  @Test
+  void release_inResidentRing_shouldDropThePixels() {
+    BackgroundFrameRing ring = new BackgroundFrameRing(1, 4, 1);
+    ring.getWriteBuffer(0);
+    ring.publish(0, 1);
+
+    ring.release(0);
+
+    assertNull(ring.getPixels(0));
+  }
+}
@@ -0,0 +1,41 @@
+package com.zekecode.hakai.ui;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class DigitFormatterTest {
+
+  private String join(DigitFormatter formatter) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < formatter.length(); i++) {
+      builder.append(formatter.digitAt(i));
+    }
+    return builder.toString();
+  }
+
+  @Test
+  void format_shouldMatchStringFormat() {
+    DigitFormatter formatter = new DigitFormatter(6);
+    for (int value : new int[] {0, 7, 42, 123456, 1234567, Integer.MAX_VALUE}) {
+      formatter.format(value);
+      assertEquals(String.format("%06d", value), join(formatter));
+    }
+  }
+
+  @Test
+  void format_shouldReturnTheNumberOfDigits() {
+    DigitFormatter formatter = new DigitFormatter(3);
+
+    assertEquals(3, formatter.format(5));
+    assertEquals(5, formatter.format(10000));
+  }
+
+  @Test
+  void format_negativeNumber_shouldFormatZero() {
+    DigitFormatter formatter = new DigitFormatter(2);
+    formatter.format(-15);
+
+    assertEquals("00", join(formatter));
+  }
+}